@@ -0,0 +1,133 @@
+package app.clinic.benchmark;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import app.clinic.domain.model.DomainException;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
+
+/**
+ * Decisión de acceso tal como la hace un caso de uso: rol del usuario autenticado más comprobación del
+ * recurso. stringPath reproduce el camino anterior (autoridad "ROLE_..." a Role, nombre del recurso a
+ * enum y EnumSet por rol); matrix usa el rol guardado en la autenticación y la matriz de bits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessControlBenchmark {
+
+    // Mezcla de llamadas permitidas de los casos de uso más frecuentes
+    private static final Role[] ROLES = {Role.MEDICO, Role.ENFERMERA, Role.PERSONAL_ADMINISTRATIVO, Role.SOPORTE_DE_INFORMACION};
+    private static final Resource[] RESOURCES = {Resource.ORDER, Resource.PATIENT, Resource.APPOINTMENT, Resource.MEDICATION};
+    private static final String[] RESOURCE_NAMES = {"order", "PATIENT", "appointment", "MEDICATION"};
+
+    private RoleBasedAccessService matrix;
+    private StringAccess stringAccess;
+    private Authentication[] legacyAuthentications;
+    private Authentication[] roleAuthentications;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        matrix = new RoleBasedAccessService();
+        stringAccess = new StringAccess();
+        legacyAuthentications = new Authentication[ROLES.length];
+        roleAuthentications = new Authentication[ROLES.length];
+        for (int i = 0; i < ROLES.length; i++) {
+            legacyAuthentications[i] = new UsernamePasswordAuthenticationToken("user", null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + ROLES[i].name())));
+            roleAuthentications[i] = new RoleAuthenticationToken("user", new AuthenticatedUser(new Id(String.valueOf(1000000000L + i)), ROLES[i]));
+        }
+    }
+
+    @Benchmark
+    public Role stringPath() {
+        int i = next++ & 3;
+        Role role = StringAccess.roleOf(legacyAuthentications[i]);
+        stringAccess.checkAccess(role, RESOURCE_NAMES[i]);
+        return role;
+    }
+
+    @Benchmark
+    public Role matrix() {
+        int i = next++ & 3;
+        Role role = RoleAuthenticationToken.roleOf(roleAuthentications[i]);
+        matrix.checkAccess(role, RESOURCES[i], Operation.READ);
+        return role;
+    }
+
+    /**
+     * RoleBasedAccessService y los controladores antes de la matriz de permisos.
+     */
+    private static final class StringAccess {
+        private final Map<Role, Set<Resource>> rolePermissions = new EnumMap<>(Role.class);
+
+        StringAccess() {
+            rolePermissions.put(Role.RECURSOS_HUMANOS, EnumSet.of(Resource.USER));
+            rolePermissions.put(Role.PERSONAL_ADMINISTRATIVO, EnumSet.of(Resource.PATIENT, Resource.APPOINTMENT,
+                Resource.BILLING, Resource.INSURANCE, Resource.USER));
+            rolePermissions.put(Role.SOPORTE_DE_INFORMACION, EnumSet.of(Resource.INVENTORY, Resource.MEDICATION,
+                Resource.PROCEDURE, Resource.DIAGNOSTIC_AID, Resource.DATA_INTEGRITY));
+            rolePermissions.put(Role.ENFERMERA, EnumSet.of(Resource.PATIENT, Resource.VITAL_SIGNS,
+                Resource.MEDICATION_ADMINISTRATION, Resource.PROCEDURE_ADMINISTRATION, Resource.MEDICAL_RECORD, Resource.ORDER));
+            rolePermissions.put(Role.MEDICO, EnumSet.allOf(Resource.class));
+        }
+
+        static Role roleOf(Authentication authentication) {
+            String roleString = authentication.getAuthorities().iterator().next().getAuthority();
+            if (roleString.startsWith("ROLE_")) {
+                roleString = roleString.substring(5);
+            }
+            return Role.valueOf(roleString);
+        }
+
+        void checkAccess(Role userRole, String resource) {
+            if (userRole == null) {
+                throw new DomainException("User role cannot be null");
+            }
+            if (resource == null || resource.trim().isEmpty()) {
+                throw new DomainException("Resource cannot be null or empty");
+            }
+            Resource resourceEnum;
+            try {
+                resourceEnum = Resource.valueOf(resource.toUpperCase().replace("-", "_"));
+            } catch (IllegalArgumentException e) {
+                throw new DomainException("Unknown resource: " + resource);
+            }
+            Set<Resource> allowedResources = rolePermissions.get(userRole);
+            if (allowedResources == null || !allowedResources.contains(resourceEnum)) {
+                throw new DomainException(String.format("Acceso denegado para el rol %s al recurso %s", userRole, resource));
+            }
+            if (resourceEnum == Resource.PATIENT && (userRole == Role.RECURSOS_HUMANOS || userRole == Role.SOPORTE_DE_INFORMACION)) {
+                throw new DomainException("Recursos Humanos y Soporte de Información no pueden acceder a datos de pacientes");
+            }
+        }
+    }
+}
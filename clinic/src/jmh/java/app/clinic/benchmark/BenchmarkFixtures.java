@@ -0,0 +1,96 @@
+package app.clinic.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import app.clinic.domain.model.entities.Billing;
+import app.clinic.domain.model.entities.DiagnosticAidOrder;
+import app.clinic.domain.model.entities.MedicationOrder;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.Patient;
+import app.clinic.domain.model.entities.ProcedureOrder;
+import app.clinic.domain.model.entities.User;
+import app.clinic.domain.model.valueobject.Address;
+import app.clinic.domain.model.valueobject.Credentials;
+import app.clinic.domain.model.valueobject.DateOfBirth;
+import app.clinic.domain.model.valueobject.Email;
+import app.clinic.domain.model.valueobject.EmergencyContact;
+import app.clinic.domain.model.valueobject.Gender;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.OrderNumber;
+import app.clinic.domain.model.valueobject.Password;
+import app.clinic.domain.model.valueobject.Phone;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.model.valueobject.Username;
+import app.clinic.domain.model.entities.Insurance;
+
+/**
+ * Datos de prueba compartidos por los benchmarks, equivalentes a los del script V2.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Patient patient() {
+        return new Patient(
+            new Id("1111111111"),
+            "Roberto Silva",
+            new DateOfBirth("15/07/1985"),
+            Gender.MASCULINO,
+            new Address("Calle 45 #67-89"),
+            new Phone("3101234567"),
+            new Email("roberto.silva@clinica.com"),
+            new EmergencyContact("María Silva", "Esposa", new Phone("3117654321")),
+            new Insurance("Seguros Salud Plus", "POL001234", true, LocalDate.now().plusYears(1)));
+    }
+
+    static User doctor() {
+        return new User(
+            new Credentials(new Username("jperez"), new Password("Password123!")),
+            "Dr. Juan Pérez",
+            new Id("1234567890"),
+            new Email("juan.perez@clinica.com"),
+            new Phone("3001234567"),
+            new DateOfBirth("15/05/1980"),
+            new Address("Calle 123 #45-67"),
+            Role.MEDICO);
+    }
+
+    /**
+     * Order with the given number of medication and procedure lines.
+     */
+    static Order order(int lineItems) {
+        OrderNumber orderNumber = new OrderNumber("000001");
+        Order order = new Order(orderNumber, "1111111111", "1234567890", LocalDate.now(), "Hipertensión");
+        for (int item = 1; item <= lineItems; item++) {
+            if (item % 2 == 0) {
+                order.addProcedure(new ProcedureOrder(orderNumber, item, new Id(String.valueOf(item)), "1", "Diaria", false, null, 80000.0));
+            } else {
+                order.addMedication(new MedicationOrder(orderNumber, item, new Id(String.valueOf(item)), "500mg", "7 días", 15000.0));
+            }
+        }
+        return order;
+    }
+
+    static Order diagnosticOrder(int lineItems) {
+        OrderNumber orderNumber = new OrderNumber("000002");
+        Order order = new Order(orderNumber, "1111111111", "1234567890", LocalDate.now());
+        for (int item = 1; item <= lineItems; item++) {
+            order.addDiagnosticAid(new DiagnosticAidOrder(orderNumber, item, new Id(String.valueOf(item)), "1", false, null, 120000.0));
+        }
+        return order;
+    }
+
+    static Billing billing(Order order) {
+        double totalCost = Billing.calculateTotalCostFromOrder(order);
+        return new Billing(
+            order.getOrderNumber(), "Roberto Silva", 40, "1111111111", "Dr. Juan Pérez",
+            "Seguros Salud Plus", "POL001234", 365, LocalDate.now().plusYears(1),
+            totalCost, 50000.0, totalCost - 50000.0,
+            Billing.formatAppliedMedications(order),
+            Billing.formatAppliedProcedures(order),
+            Billing.formatAppliedDiagnosticAids(order),
+            LocalDateTime.now(), "1122334455");
+    }
+}
@@ -0,0 +1,67 @@
+package app.clinic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.clinic.domain.model.entities.Billing;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.infrastructure.service.BillingServiceImpl;
+
+/**
+ * Cálculo de costos, copago y factura imprimible según el número de ítems de la orden.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BillingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lineItems;
+
+    private Order order;
+    private Billing billing;
+    private BillingServiceImpl billingService;
+    private double annualCopayTotal = 250000.0;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkFixtures.order(lineItems);
+        billing = BenchmarkFixtures.billing(order);
+        // generatePrintableInvoice no usa los repositorios
+        billingService = new BillingServiceImpl(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public double calculateTotalCostFromOrder() {
+        return Billing.calculateTotalCostFromOrder(order);
+    }
+
+    @Benchmark
+    public double calculateCopay() {
+        return Billing.calculateCopay(Billing.calculateTotalCostFromOrder(order), true, annualCopayTotal);
+    }
+
+    @Benchmark
+    public String formatAppliedItems() {
+        return Billing.formatAppliedMedications(order) + Billing.formatAppliedProcedures(order);
+    }
+
+    @Benchmark
+    public String generatePrintableInvoice() {
+        return billingService.generatePrintableInvoice(billing);
+    }
+}
@@ -0,0 +1,91 @@
+package app.clinic.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import app.clinic.domain.model.entities.User;
+import app.clinic.infrastructure.config.JwtAuthenticationFilter;
+import app.clinic.infrastructure.config.JwtProperties;
+import app.clinic.infrastructure.config.TokenRevocationProperties;
+import app.clinic.infrastructure.persistence.revocation.RotatingBloomFilter;
+import app.clinic.infrastructure.service.JwtService;
+import jakarta.servlet.ServletException;
+
+/**
+ * Firma del token en el login y verificación del token en cada petición autenticada. revocationCheck es
+ * lo que añade a esa verificación la consulta de sesiones revocadas cuando la sesión no lo está: el
+ * filtro de Bloom con la configuración por defecto y lleno hasta expected-revocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private User user;
+    private String sessionId;
+    private MockHttpServletRequest request;
+    private RotatingBloomFilter revokedSessions;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        jwtService = new JwtService(properties);
+        filter = new JwtAuthenticationFilter(properties);
+        user = BenchmarkFixtures.doctor();
+        sessionId = jwtService.generateSessionId();
+
+        request = new MockHttpServletRequest("GET", "/api/patients");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user, sessionId));
+
+        TokenRevocationProperties revocation = new TokenRevocationProperties();
+        revokedSessions = new RotatingBloomFilter(revocation.getGenerations(), revocation.getExpectedRevocations(),
+            revocation.getFalsePositiveRate());
+        for (int generation = 0; generation < revocation.getGenerations(); generation++) {
+            for (int i = 0; i < revocation.getExpectedRevocations(); i++) {
+                revokedSessions.put(jwtService.generateSessionId());
+            }
+            revokedSessions.rotate();
+        }
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(user, sessionId);
+    }
+
+    @Benchmark
+    public Authentication verify() throws ServletException, IOException {
+        // El filtro es OncePerRequestFilter: se limpia el atributo y el contexto en cada invocación
+        request.clearAttributes();
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean revocationCheck() {
+        return revokedSessions.mightContain(sessionId);
+    }
+}
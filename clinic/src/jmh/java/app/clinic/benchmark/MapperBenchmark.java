@@ -0,0 +1,122 @@
+package app.clinic.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.clinic.application.mapper.AppointmentMapper;
+import app.clinic.application.mapper.BillingMapper;
+import app.clinic.application.mapper.MedicalRecordMapper;
+import app.clinic.application.mapper.OrderMapper;
+import app.clinic.application.mapper.PatientMapper;
+import app.clinic.application.mapper.SupportTicketMapper;
+import app.clinic.application.mapper.UserMapper;
+import app.clinic.application.mapper.VitalSignsMapper;
+import app.clinic.domain.model.entities.Appointment;
+import app.clinic.domain.model.entities.Billing;
+import app.clinic.domain.model.entities.MedicalRecord;
+import app.clinic.domain.model.entities.MedicationEntry;
+import app.clinic.domain.model.entities.DiagnosisEntry;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.Patient;
+import app.clinic.domain.model.entities.SupportTicket;
+import app.clinic.domain.model.entities.User;
+import app.clinic.domain.model.entities.VitalSigns;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.SupportTicketId;
+import app.clinic.infrastructure.dto.AppointmentDTO;
+import app.clinic.infrastructure.dto.BillingDTO;
+import app.clinic.infrastructure.dto.MedicalRecordDTO;
+import app.clinic.infrastructure.dto.OrderDTO;
+import app.clinic.infrastructure.dto.PatientDTO;
+import app.clinic.infrastructure.dto.SupportTicketDTO;
+import app.clinic.infrastructure.dto.UserDTO;
+import app.clinic.infrastructure.dto.VitalSignsDTO;
+
+/**
+ * Conversión dominio → DTO de los mappers en application/mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private Patient patient;
+    private User doctor;
+    private Order order;
+    private Billing billing;
+    private VitalSigns vitalSigns;
+    private Appointment appointment;
+    private SupportTicket supportTicket;
+    private MedicalRecord medicalRecord;
+    private LocalDate recordDate;
+
+    @Setup
+    public void setUp() {
+        patient = BenchmarkFixtures.patient();
+        doctor = BenchmarkFixtures.doctor();
+        order = BenchmarkFixtures.order(6);
+        billing = BenchmarkFixtures.billing(order);
+        vitalSigns = new VitalSigns("1111111111", LocalDateTime.now(), "120/80", 36.8, 72, 97);
+        appointment = new Appointment(new Id("1111111111"), new Id("1234567890"), LocalDateTime.now().plusDays(1), "Control");
+        supportTicket = new SupportTicket(new SupportTicketId("1"), "9988776655", "No carga la agenda", LocalDateTime.now());
+        recordDate = LocalDate.now();
+        medicalRecord = new MedicalRecord("1111111111");
+        medicalRecord.addDiagnosisEntry(new DiagnosisEntry(recordDate, "1234567890", "Hipertensión", "Cefalea"));
+        medicalRecord.addMedicationEntry(new MedicationEntry(recordDate, "1234567890", "000001", "1", "500mg", "7 días"));
+    }
+
+    @Benchmark
+    public PatientDTO patient() {
+        return PatientMapper.toDTO(patient);
+    }
+
+    @Benchmark
+    public UserDTO user() {
+        return UserMapper.toDTO(doctor);
+    }
+
+    @Benchmark
+    public OrderDTO order() {
+        return OrderMapper.toDTO(order);
+    }
+
+    @Benchmark
+    public BillingDTO billing() {
+        return BillingMapper.toDTO(billing);
+    }
+
+    @Benchmark
+    public VitalSignsDTO vitalSigns() {
+        return VitalSignsMapper.toDTO(vitalSigns);
+    }
+
+    @Benchmark
+    public AppointmentDTO appointment() {
+        return AppointmentMapper.toDTO(appointment, "Roberto Silva", "1122334455", "Carlos Rodríguez", "Dr. Juan Pérez", "SCHEDULED");
+    }
+
+    @Benchmark
+    public SupportTicketDTO supportTicket() {
+        return SupportTicketMapper.toDTO(supportTicket);
+    }
+
+    @Benchmark
+    public MedicalRecordDTO medicalRecord() {
+        return MedicalRecordMapper.toDTO(medicalRecord, recordDate);
+    }
+}
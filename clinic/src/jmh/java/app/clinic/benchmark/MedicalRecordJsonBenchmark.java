@@ -0,0 +1,103 @@
+package app.clinic.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import app.clinic.domain.model.entities.MedicalRecord;
+import app.clinic.infrastructure.persistence.jpa.MedicalRecordJpaEntity;
+import app.clinic.infrastructure.persistence.jpa.MedicalRecordJpaRepository;
+import app.clinic.infrastructure.persistence.jpa.MedicalRecordRepositoryImpl;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
+
+/**
+ * Conversión JSON de la historia clínica en MedicalRecordRepositoryImpl, sin base de datos:
+ * el repositorio JPA se sustituye por un proxy que devuelve filas ya cargadas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MedicalRecordJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int historyEntries;
+
+    private MedicalRecordRepositoryImpl repository;
+    private MedicalRecord medicalRecord;
+
+    @Setup
+    public void setUp() {
+        List<MedicalRecordJpaEntity> rows = new ArrayList<>(historyEntries);
+        LocalDate date = LocalDate.now();
+        for (int i = 0; i < historyEntries; i++) {
+            MedicalRecordJpaEntity row = new MedicalRecordJpaEntity();
+            row.setId((long) i);
+            row.setPatientId("1111111111");
+            row.setDoctorId("1234567890");
+            row.setConsultationDate(date.minusDays(i));
+            row.setReason("Control");
+            row.setSymptoms("Cefalea");
+            row.setDiagnosis("Hipertensión");
+            row.setPrescriptions("{\"orderNumber\":\"" + i + "\",\"medicationId\":\"1\",\"dosage\":\"500mg\",\"duration\":\"7 días\"}");
+            row.setProcedures("{\"orderNumber\":\"" + i + "\",\"procedureId\":\"2\",\"quantity\":\"1\",\"frequency\":\"Diaria\",\"requiresSpecialist\":false}");
+            row.setOrderNumber(String.valueOf(i));
+            rows.add(row);
+        }
+
+        MedicalRecordJpaRepository jpaRepository = (MedicalRecordJpaRepository) Proxy.newProxyInstance(
+            MedicalRecordJpaRepository.class.getClassLoader(),
+            new Class<?>[] {MedicalRecordJpaRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findByPatientIdOrderByConsultationDateDesc" -> rows;
+                case "save" -> args[0];
+                case "flush" -> null;
+                case "existsByPatientId" -> true;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "MedicalRecordJpaRepositoryStub";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        // Sin base de datos: el resumen del paciente no se recalcula
+        PatientSummaryRepository summaries = new PatientSummaryRepository(null) {
+            @Override
+            public void refresh(String patientId) {
+            }
+        };
+        repository = new MedicalRecordRepositoryImpl(jpaRepository, objectMapper, summaries);
+        medicalRecord = repository.findByPatientIdentificationNumber("1111111111").orElseThrow();
+    }
+
+    @Benchmark
+    public Optional<MedicalRecord> readHistory() {
+        return repository.findByPatientIdentificationNumber("1111111111");
+    }
+
+    @Benchmark
+    public MedicalRecord writeHistory() {
+        repository.save(medicalRecord);
+        return medicalRecord;
+    }
+}
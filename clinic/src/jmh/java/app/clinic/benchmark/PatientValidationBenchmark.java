@@ -0,0 +1,128 @@
+package app.clinic.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.clinic.domain.model.entities.Insurance;
+import app.clinic.domain.model.entities.Patient;
+import app.clinic.domain.model.entities.VitalSigns;
+import app.clinic.domain.model.valueobject.Address;
+import app.clinic.domain.model.valueobject.DateOfBirth;
+import app.clinic.domain.model.valueobject.Email;
+import app.clinic.domain.model.valueobject.EmergencyContact;
+import app.clinic.domain.model.valueobject.Gender;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.Phone;
+import app.clinic.domain.repository.PatientRepository;
+import app.clinic.domain.service.PatientService;
+import app.clinic.domain.service.RoleBasedAccessService;
+
+/**
+ * Registro de un paciente (validación + construcción) y rehidratación de una fila ya persistida,
+ * con un repositorio en memoria que no hace nada para aislar el costo de validación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatientValidationBenchmark {
+
+    private final PatientService patientService = new PatientService(new NoOpPatientRepository(), new RoleBasedAccessService());
+
+    // Fila tal como la guarda PatientRepositoryImpl
+    private String id = "1111111111";
+    private String fullName = "Roberto Silva";
+    private String dateOfBirth = "15/07/1985";
+    private String address = "Calle 45 #67-89";
+    private String phone = "3101234567";
+    private String email = "roberto.silva@clinica.com";
+    private String emergencyPhone = "3117654321";
+
+    @Benchmark
+    public void validatePatientData() {
+        patientService.validatePatientData(id, fullName, dateOfBirth, "MASCULINO", address, phone, email,
+            "María Silva", "Esposa", emergencyPhone, "Seguros Salud Plus", "POL001234", true, "31/12/2030");
+    }
+
+    @Benchmark
+    public Patient registerPatient() {
+        return patientService.registerPatient(id, fullName, dateOfBirth, "MASCULINO", address, phone, email,
+            "María Silva", "Esposa", emergencyPhone, "Seguros Salud Plus", "POL001234", true, "31/12/2030");
+    }
+
+    /**
+     * Rehidratación revalidando cada campo con los constructores públicos.
+     */
+    @Benchmark
+    public Patient rehydrateValidated() {
+        return new Patient(
+            new Id(id), fullName, new DateOfBirth(dateOfBirth), Gender.MASCULINO, new Address(address),
+            new Phone(phone), new Email(email),
+            new EmergencyContact("María Silva", "Esposa", new Phone(emergencyPhone)),
+            new Insurance("Seguros Salud Plus", "POL001234", true, null));
+    }
+
+    /**
+     * Lo que hace PatientRepositoryImpl.toDomain por cada fila leída.
+     */
+    @Benchmark
+    public Patient rehydrateTrusted() {
+        return new Patient(
+            Id.ofTrusted(id), fullName, DateOfBirth.ofTrusted(dateOfBirth), Gender.MASCULINO, new Address(address),
+            Phone.ofTrusted(phone), Email.ofTrusted(email),
+            new EmergencyContact("María Silva", "Esposa", Phone.ofTrusted(emergencyPhone)),
+            new Insurance("Seguros Salud Plus", "POL001234", true, null));
+    }
+
+    private static final class NoOpPatientRepository implements PatientRepository {
+        @Override
+        public void save(Patient patient) {
+        }
+
+        @Override
+        public Optional<Patient> findByIdentificationNumber(Id identificationNumber) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Patient> findAll() {
+            return List.of();
+        }
+
+        @Override
+        public boolean existsByIdentificationNumber(Id identificationNumber) {
+            return false;
+        }
+
+        @Override
+        public boolean existsByUsername(String username) {
+            return false;
+        }
+
+        @Override
+        public void deleteByIdentificationNumber(Id identificationNumber) {
+        }
+
+        @Override
+        public void saveVitalSigns(VitalSigns vitalSigns) {
+        }
+
+        @Override
+        public List<VitalSigns> findVitalSignsByPatientId(Id patientId) {
+            return List.of();
+        }
+    }
+}
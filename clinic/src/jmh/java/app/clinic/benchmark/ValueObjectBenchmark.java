@@ -0,0 +1,62 @@
+package app.clinic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.clinic.domain.model.valueobject.DateOfBirth;
+import app.clinic.domain.model.valueobject.Email;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.Password;
+import app.clinic.domain.model.valueobject.Phone;
+
+/**
+ * Construcción y validación de los value objects usados en registro y en cada lectura desde BD.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValueObjectBenchmark {
+
+    private String id = " 1111111111 ";
+    private String email = "roberto.silva@clinica.com";
+    private String phone = "(310) 123-4567";
+    private String dateOfBirth = "15/07/1985";
+    private String password = "Password123!";
+
+    @Benchmark
+    public Id id() {
+        return new Id(id);
+    }
+
+    @Benchmark
+    public Email email() {
+        return new Email(email);
+    }
+
+    @Benchmark
+    public Phone phone() {
+        return new Phone(phone);
+    }
+
+    @Benchmark
+    public DateOfBirth dateOfBirth() {
+        return new DateOfBirth(dateOfBirth);
+    }
+
+    @Benchmark
+    public Password password() {
+        return new Password(password);
+    }
+}
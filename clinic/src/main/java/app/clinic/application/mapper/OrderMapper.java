@@ -0,0 +1,20 @@
+package app.clinic.application.mapper;
+
+import app.clinic.domain.model.entities.Order;
+import app.clinic.infrastructure.dto.OrderDTO;
+
+public class OrderMapper {
+
+    public static OrderDTO toDTO(Order order) {
+        OrderDTO dto = new OrderDTO();
+        dto.setOrderNumber(order.getOrderNumber().getValue());
+        dto.setPatientId(order.getPatientIdentificationNumber());
+        dto.setDoctorId(order.getDoctorIdentificationNumber());
+        dto.setDate(order.getDate());
+        dto.setDiagnosis(order.getDiagnosis());
+        dto.setMedications(order.getMedications().stream().map(m -> String.valueOf(m.getItem())).toList());
+        dto.setProcedures(order.getProcedures().stream().map(p -> String.valueOf(p.getItem())).toList());
+        dto.setDiagnosticAids(order.getDiagnosticAids().stream().map(d -> String.valueOf(d.getItem())).toList());
+        return dto;
+    }
+}
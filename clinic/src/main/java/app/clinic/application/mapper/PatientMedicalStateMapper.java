@@ -0,0 +1,19 @@
+package app.clinic.application.mapper;
+
+import app.clinic.domain.model.entities.PatientMedicalState;
+import app.clinic.infrastructure.dto.PatientMedicalStateDTO;
+
+public class PatientMedicalStateMapper {
+
+    public static PatientMedicalStateDTO toDTO(PatientMedicalState state) {
+        PatientMedicalStateDTO dto = new PatientMedicalStateDTO();
+        dto.setPatientId(state.getPatientId());
+        dto.setCurrentDiagnosis(state.getCurrentDiagnosis().getValue());
+        dto.setCurrentMedications(state.getCurrentMedications().getValue());
+        dto.setCurrentProcedures(state.getCurrentProcedures());
+        dto.setCurrentDiagnosticAids(state.getCurrentDiagnosticAids());
+        dto.setHospitalized(state.isHospitalized());
+        dto.setHospitalizationDetails(state.getHospitalizationDetails().getDetails());
+        return dto;
+    }
+}
@@ -11,6 +11,8 @@ public class SupportTicketMapper {
         dto.setUserId(supportTicket.getUserId());
         dto.setIssueDescription(supportTicket.getIssueDescription());
         dto.setCreatedAt(supportTicket.getCreatedAt());
+        dto.setPriority(supportTicket.getPriority());
+        dto.setTeam(supportTicket.getTeam());
         dto.setStatus(supportTicket.getStatus());
         dto.setAssignedTo(supportTicket.getAssignedTo());
         dto.setUpdatedAt(supportTicket.getUpdatedAt());
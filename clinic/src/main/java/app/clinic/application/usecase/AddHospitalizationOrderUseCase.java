@@ -3,16 +3,23 @@ package app.clinic.application.usecase;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.PatientMedicalState;
+import app.clinic.domain.model.valueobject.HospitalizationDetails;
+import app.clinic.domain.repository.PatientMedicalStateRepository;
 import app.clinic.domain.service.OrderService;
 
 @Service
+@Transactional
 public class AddHospitalizationOrderUseCase {
     private final OrderService orderService;
+    private final PatientMedicalStateRepository patientMedicalStateRepository;
 
-    public AddHospitalizationOrderUseCase(OrderService orderService) {
+    public AddHospitalizationOrderUseCase(OrderService orderService, PatientMedicalStateRepository patientMedicalStateRepository) {
         this.orderService = orderService;
+        this.patientMedicalStateRepository = patientMedicalStateRepository;
     }
 
     public Order execute(String patientId, String doctorId, String hospitalizationDetails) {
@@ -20,6 +27,12 @@ public class AddHospitalizationOrderUseCase {
         // Note: This would need to be created through the OrderService with proper OrderNumber
         // For now, we'll use the existing createProcedureOrder method
         // The actual implementation would create a hospitalization-specific order
-        return orderService.createProcedureOrder(patientId, doctorId, List.of());
+        Order order = orderService.createProcedureOrder(patientId, doctorId, List.of());
+
+        PatientMedicalState state = patientMedicalStateRepository.findByPatientId(patientId)
+            .orElseGet(() -> new PatientMedicalState(patientId));
+        state.updateHospitalizationDetails(new HospitalizationDetails(true, hospitalizationDetails));
+        patientMedicalStateRepository.save(state);
+        return order;
     }
-}
\ No newline at end of file
+}
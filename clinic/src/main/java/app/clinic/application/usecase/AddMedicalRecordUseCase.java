@@ -1,10 +1,12 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.service.MedicalRecordService;
 
 @Service
+@Transactional
 public class AddMedicalRecordUseCase {
     private final MedicalRecordService medicalRecordService;
 
@@ -2,12 +2,17 @@ package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Component;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import app.clinic.domain.model.entities.Medication;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.InventoryService;
 import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 @Component
+@Transactional
 public class AddMedicationUseCase {
 
     private final InventoryService inventoryService;
@@ -20,7 +25,7 @@ public class AddMedicationUseCase {
 
     public Medication execute(Role userRole, String id, String name, double cost, boolean requiresSpecialist, String specialistType) {
         if (userRole != null) {
-            roleBasedAccessService.checkAccess(userRole, "MEDICATION");
+            roleBasedAccessService.checkAccess(userRole, Resource.MEDICATION, Operation.WRITE);
         }
         return inventoryService.addMedication(id, name, cost, requiresSpecialist, specialistType);
     }
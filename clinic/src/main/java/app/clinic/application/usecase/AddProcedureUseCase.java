@@ -2,12 +2,17 @@ package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Component;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import app.clinic.domain.model.entities.Procedure;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.InventoryService;
 import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 @Component
+@Transactional
 public class AddProcedureUseCase {
 
     private final InventoryService inventoryService;
@@ -20,7 +25,7 @@ public class AddProcedureUseCase {
 
     public Procedure execute(Role userRole, String id, String name, double cost, boolean requiresSpecialist, String specialistType) {
         if (userRole != null) {
-            roleBasedAccessService.checkAccess(userRole, "PROCEDURE");
+            roleBasedAccessService.checkAccess(userRole, Resource.PROCEDURE, Operation.WRITE);
         }
         return inventoryService.addProcedure(id, name, cost, requiresSpecialist, specialistType);
     }
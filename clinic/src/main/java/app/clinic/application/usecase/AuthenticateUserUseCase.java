@@ -3,6 +3,8 @@ package app.clinic.application.usecase;
 import app.clinic.domain.model.entities.User;
 import app.clinic.domain.service.UserService;
 
+// Sin transacción: la comprobación del hash tarda lo que su coste y no debe retener una conexión; la
+// consulta del usuario y, si hace falta, la actualización del hash usan cada una la suya
 public class AuthenticateUserUseCase {
     private final UserService userService;
 
@@ -22,8 +24,7 @@ public class AuthenticateUserUseCase {
         if (user == null) {
             throw new IllegalArgumentException("Nombre de usuario o contraseña inválidos");
         }
-        // For development: simple password comparison (passwords are stored in plain text)
-        if (!user.getPassword().getValue().equals(password)) {
+        if (!userService.verifyPassword(user, password)) {
             throw new IllegalArgumentException("Nombre de usuario o contraseña inválidos");
         }
         return user;
@@ -1,10 +1,13 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.service.AppointmentService;
 
 @Service
+@Transactional
 public class CancelAppointmentUseCase {
     private final AppointmentService appointmentService;
 
@@ -12,7 +15,7 @@ public class CancelAppointmentUseCase {
         this.appointmentService = appointmentService;
     }
 
-    public void execute(String appointmentId, String adminId) {
-        appointmentService.cancelAppointment(appointmentId, adminId);
+    public void execute(String appointmentId, AuthenticatedUser admin) {
+        appointmentService.cancelAppointment(appointmentId, admin);
     }
 }
\ No newline at end of file
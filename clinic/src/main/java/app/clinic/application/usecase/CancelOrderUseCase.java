@@ -0,0 +1,39 @@
+package app.clinic.application.usecase;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.domain.model.InvalidOrderStateException;
+import app.clinic.domain.model.OrderNotFoundException;
+import app.clinic.domain.model.valueobject.OrderNumber;
+import app.clinic.domain.repository.MedicationStockRepository;
+import app.clinic.domain.repository.OrderRepository;
+
+@Service
+@Transactional
+public class CancelOrderUseCase {
+    private final OrderRepository orderRepository;
+    private final MedicationStockRepository medicationStockRepository;
+
+    public CancelOrderUseCase(OrderRepository orderRepository, MedicationStockRepository medicationStockRepository) {
+        this.orderRepository = orderRepository;
+        this.medicationStockRepository = medicationStockRepository;
+    }
+
+    /**
+     * Cancela una orden aún sin facturar: queda marcada como cancelada, ya no se puede facturar ni cuenta
+     * como abierta en el resumen del paciente, y sus medicamentos reservados vuelven a estar disponibles.
+     */
+    public void execute(String orderNumber) {
+        OrderNumber number = new OrderNumber(orderNumber);
+        if (!orderRepository.existsByOrderNumber(number)) {
+            throw new OrderNotFoundException("Order not found with number: " + orderNumber);
+        }
+        // La cancelación solo cambia la fila si la orden no está facturada ni cancelada (ver OrderJpaRepository.markCancelled)
+        if (!orderRepository.cancel(number)) {
+            throw new InvalidOrderStateException("La orden " + orderNumber
+                + (orderRepository.isBilled(number) ? " ya fue facturada" : " ya fue cancelada"));
+        }
+        medicationStockRepository.release(number);
+    }
+}
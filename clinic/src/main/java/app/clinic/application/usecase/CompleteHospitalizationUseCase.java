@@ -1,19 +1,27 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.repository.PatientMedicalStateRepository;
 import app.clinic.domain.service.VitalSignsService;
 
 @Service
+@Transactional
 public class CompleteHospitalizationUseCase {
     private final VitalSignsService vitalSignsService;
+    private final PatientMedicalStateRepository patientMedicalStateRepository;
 
-    public CompleteHospitalizationUseCase(VitalSignsService vitalSignsService) {
+    public CompleteHospitalizationUseCase(VitalSignsService vitalSignsService,
+                                          PatientMedicalStateRepository patientMedicalStateRepository) {
         this.vitalSignsService = vitalSignsService;
+        this.patientMedicalStateRepository = patientMedicalStateRepository;
     }
 
     public void execute(String patientId, String nurseId, String hospitalizationDetails) {
         // Record completion of hospitalization
         vitalSignsService.recordVitalSignsWithObservations(patientId, "N/A", 36.5, 70, 98, "Hospitalization completed: " + hospitalizationDetails);
+        // Al alta el paciente deja de tener estado de hospitalizado
+        patientMedicalStateRepository.deleteByPatientId(patientId);
     }
-}
\ No newline at end of file
+}
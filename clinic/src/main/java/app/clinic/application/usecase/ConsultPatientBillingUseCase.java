@@ -1,5 +1,7 @@
 package app.clinic.application.usecase;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import app.clinic.domain.model.entities.Billing;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.BillingService;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 
 @Component
+@Transactional(readOnly = true)
 public class ConsultPatientBillingUseCase {
 
     private final BillingService billingService;
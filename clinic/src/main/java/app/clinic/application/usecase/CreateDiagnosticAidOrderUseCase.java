@@ -3,12 +3,15 @@ package app.clinic.application.usecase;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.DiagnosticAidOrder;
 import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.service.OrderService;
 
 @Service
+@Transactional
 public class CreateDiagnosticAidOrderUseCase {
     private final OrderService orderService;
 
@@ -16,7 +19,7 @@ public class CreateDiagnosticAidOrderUseCase {
         this.orderService = orderService;
     }
 
-    public Order execute(String patientId, String doctorId, List<DiagnosticAidOrder> diagnosticAids) {
-        return orderService.createStandaloneDiagnosticAidOrder(patientId, doctorId, diagnosticAids);
+    public Order execute(String patientId, AuthenticatedUser doctor, List<DiagnosticAidOrder> diagnosticAids) {
+        return orderService.createStandaloneDiagnosticAidOrder(patientId, doctor, diagnosticAids);
     }
 }
\ No newline at end of file
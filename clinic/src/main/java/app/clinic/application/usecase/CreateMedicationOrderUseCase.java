@@ -3,12 +3,15 @@ package app.clinic.application.usecase;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.MedicationOrder;
 import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.service.OrderService;
 
 @Service
+@Transactional
 public class CreateMedicationOrderUseCase {
     private final OrderService orderService;
 
@@ -16,7 +19,7 @@ public class CreateMedicationOrderUseCase {
         this.orderService = orderService;
     }
 
-    public Order execute(String patientId, String doctorId, List<MedicationOrder> medications) {
-        return orderService.createMedicationOrder(patientId, doctorId, medications);
+    public Order execute(String patientId, AuthenticatedUser doctor, List<MedicationOrder> medications) {
+        return orderService.createMedicationOrder(patientId, doctor, medications);
     }
 }
\ No newline at end of file
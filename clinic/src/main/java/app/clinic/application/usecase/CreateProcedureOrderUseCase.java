@@ -3,12 +3,15 @@ package app.clinic.application.usecase;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Order;
 import app.clinic.domain.model.entities.ProcedureOrder;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.service.OrderService;
 
 @Service
+@Transactional
 public class CreateProcedureOrderUseCase {
     private final OrderService orderService;
 
@@ -16,7 +19,7 @@ public class CreateProcedureOrderUseCase {
         this.orderService = orderService;
     }
 
-    public Order execute(String patientId, String doctorId, List<ProcedureOrder> procedures) {
-        return orderService.createProcedureOrder(patientId, doctorId, procedures);
+    public Order execute(String patientId, AuthenticatedUser doctor, List<ProcedureOrder> procedures) {
+        return orderService.createProcedureOrder(patientId, doctor, procedures);
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.User;
 import app.clinic.domain.service.UserService;
 
 @Service
+@Transactional
 public class CreateUserUseCase {
     private final UserService userService;
 
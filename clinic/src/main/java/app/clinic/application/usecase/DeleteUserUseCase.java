@@ -1,18 +1,26 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.repository.SessionRevocationRepository;
 import app.clinic.domain.service.UserService;
 
 @Service
+@Transactional
 public class DeleteUserUseCase {
     private final UserService userService;
+    private final SessionRevocationRepository sessionRevocationRepository;
 
-    public DeleteUserUseCase(UserService userService) {
+    public DeleteUserUseCase(UserService userService, SessionRevocationRepository sessionRevocationRepository) {
         this.userService = userService;
+        this.sessionRevocationRepository = sessionRevocationRepository;
     }
 
     public void execute(String identificationNumber) {
         userService.deleteUser(identificationNumber);
+        // Sus tokens siguen firmados hasta caducar: se invalidan ya
+        sessionRevocationRepository.revokeUserSessions(new Id(identificationNumber));
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Billing;
 import app.clinic.domain.service.BillingService;
 
 @Service
+@Transactional
 public class GenerateBillingFromOrderUseCase {
     private final BillingService billingService;
 
@@ -1,5 +1,7 @@
 package app.clinic.application.usecase;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import app.clinic.domain.model.entities.Billing;
 import app.clinic.domain.model.entities.Order;
 import app.clinic.domain.model.entities.Patient;
@@ -11,6 +13,7 @@ import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
 import app.clinic.domain.service.BillingService;
 
+@Transactional
 public class GenerateBillingUseCase {
     private final BillingService billingService;
     private final OrderRepository orderRepository;
@@ -0,0 +1,25 @@
+package app.clinic.application.usecase;
+
+import org.springframework.stereotype.Service;
+
+import app.clinic.domain.model.entities.PatientMedicalState;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.repository.PatientMedicalStateRepository;
+
+/**
+ * Sin @Transactional: el estado de los hospitalizados se lee del almacén en memoria, no de la base de datos.
+ */
+@Service
+public class GetInpatientStateUseCase {
+    private final PatientMedicalStateRepository patientMedicalStateRepository;
+
+    public GetInpatientStateUseCase(PatientMedicalStateRepository patientMedicalStateRepository) {
+        this.patientMedicalStateRepository = patientMedicalStateRepository;
+    }
+
+    public PatientMedicalState execute(String patientId) {
+        Id id = new Id(patientId);
+        return patientMedicalStateRepository.findByPatientId(id.getValue())
+            .orElseThrow(() -> new IllegalArgumentException("Patient is not hospitalized"));
+    }
+}
@@ -0,0 +1,22 @@
+package app.clinic.application.usecase;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.repository.MedicationStockRepository;
+
+// Sin @Transactional: las existencias disponibles se leen de memoria, sin conexión a la base de datos
+@Service
+public class GetMedicationStockUseCase {
+    private final MedicationStockRepository medicationStockRepository;
+
+    public GetMedicationStockUseCase(MedicationStockRepository medicationStockRepository) {
+        this.medicationStockRepository = medicationStockRepository;
+    }
+
+    public Optional<Integer> execute(String medicationId) {
+        return medicationStockRepository.findAvailable(new Id(medicationId));
+    }
+}
@@ -1,12 +1,14 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Patient;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.PatientService;
 
 @Service
+@Transactional(readOnly = true)
 public class GetPatientUseCase {
     private final PatientService patientService;
 
@@ -1,8 +1,11 @@
 package app.clinic.application.usecase;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import app.clinic.domain.model.entities.User;
 import app.clinic.domain.service.UserService;
 
+@Transactional(readOnly = true)
 public class GetUserProfileUseCase {
     private final UserService userService;
 
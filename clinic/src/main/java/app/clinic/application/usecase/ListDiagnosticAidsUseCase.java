@@ -4,12 +4,17 @@ import java.util.List;
 
 import org.springframework.stereotype.Component;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import app.clinic.domain.model.entities.DiagnosticAid;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.InventoryService;
 import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 @Component
+@Transactional(readOnly = true)
 public class ListDiagnosticAidsUseCase {
 
     private final InventoryService inventoryService;
@@ -21,7 +26,7 @@ public class ListDiagnosticAidsUseCase {
     }
 
     public List<DiagnosticAid> execute(Role userRole) {
-        roleBasedAccessService.checkAccess(userRole, "DIAGNOSTIC_AID");
+        roleBasedAccessService.checkAccess(userRole, Resource.DIAGNOSTIC_AID, Operation.READ);
         return inventoryService.getAllDiagnosticAids();
     }
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package app.clinic.application.usecase;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import app.clinic.domain.model.entities.Medication;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.InventoryService;
 import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 @Component
+@Transactional(readOnly = true)
 public class ListMedicationsUseCase {
 
     private final InventoryService inventoryService;
@@ -20,7 +25,7 @@ public class ListMedicationsUseCase {
     }
 
     public List<Medication> execute(Role userRole) {
-        roleBasedAccessService.checkAccess(userRole, "MEDICATION");
+        roleBasedAccessService.checkAccess(userRole, Resource.MEDICATION, Operation.READ);
         return inventoryService.getAllMedications();
     }
 }
\ No newline at end of file
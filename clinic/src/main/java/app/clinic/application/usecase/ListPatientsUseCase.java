@@ -3,11 +3,13 @@ package app.clinic.application.usecase;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Patient;
 import app.clinic.domain.service.PatientService;
 
 @Service
+@Transactional(readOnly = true)
 public class ListPatientsUseCase {
     private final PatientService patientService;
 
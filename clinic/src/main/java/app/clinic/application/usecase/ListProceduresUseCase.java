@@ -4,12 +4,17 @@ import java.util.List;
 
 import org.springframework.stereotype.Component;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import app.clinic.domain.model.entities.Procedure;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.InventoryService;
 import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 @Component
+@Transactional(readOnly = true)
 public class ListProceduresUseCase {
 
     private final InventoryService inventoryService;
@@ -21,7 +26,7 @@ public class ListProceduresUseCase {
     }
 
     public List<Procedure> execute(Role userRole) {
-        roleBasedAccessService.checkAccess(userRole, "PROCEDURE");
+        roleBasedAccessService.checkAccess(userRole, Resource.PROCEDURE, Operation.READ);
         return inventoryService.getAllProcedures();
     }
 }
\ No newline at end of file
@@ -3,11 +3,13 @@ package app.clinic.application.usecase;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.User;
 import app.clinic.domain.service.UserService;
 
 @Service
+@Transactional(readOnly = true)
 public class ListUsersUseCase {
     private final UserService userService;
 
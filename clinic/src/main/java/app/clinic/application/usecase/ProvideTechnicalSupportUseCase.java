@@ -1,11 +1,14 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.SupportTicket;
+import app.clinic.domain.model.valueobject.SupportTicketPriority;
 import app.clinic.domain.service.TechnicalSupportService;
 
 @Service
+@Transactional
 public class ProvideTechnicalSupportUseCase {
     private final TechnicalSupportService technicalSupportService;
 
@@ -14,12 +17,17 @@ public class ProvideTechnicalSupportUseCase {
     }
 
     public SupportTicket execute(String userId, String issueDescription) {
-        // Create and save the support ticket
-        SupportTicket supportTicket = technicalSupportService.createSupportTicket(userId, issueDescription);
+        return execute(userId, issueDescription, SupportTicketPriority.NORMAL, SupportTicket.DEFAULT_TEAM);
+    }
+
+    public SupportTicket execute(String userId, String issueDescription, SupportTicketPriority priority, String team) {
+        // Create and save the support ticket; queued for dispatch once the transaction commits
+        SupportTicket supportTicket = technicalSupportService.createSupportTicket(userId, issueDescription, priority, team);
 
         // Log the support request with tracking number
         System.out.println("Support ticket created - ID: " + supportTicket.getId().getValue() +
-                          ", User: " + userId + ", Issue: " + issueDescription);
+                          ", User: " + userId + ", Priority: " + supportTicket.getPriority() +
+                          ", Team: " + supportTicket.getTeam() + ", Issue: " + issueDescription);
 
         // In a real implementation, this would also:
         // - Send notification to support team
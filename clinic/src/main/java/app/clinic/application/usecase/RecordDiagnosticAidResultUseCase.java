@@ -1,10 +1,13 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.service.VitalSignsService;
 
 @Service
+@Transactional
 public class RecordDiagnosticAidResultUseCase {
     private final VitalSignsService vitalSignsService;
 
@@ -12,7 +15,7 @@ public class RecordDiagnosticAidResultUseCase {
         this.vitalSignsService = vitalSignsService;
     }
 
-    public void execute(String patientId, String nurseId, String orderNumber, int item, String resultDetails) {
-        vitalSignsService.recordDiagnosticAidResult(patientId, nurseId, orderNumber, item, resultDetails);
+    public void execute(String patientId, AuthenticatedUser nurse, String orderNumber, int item, String resultDetails) {
+        vitalSignsService.recordDiagnosticAidResult(patientId, nurse, orderNumber, item, resultDetails);
     }
 }
\ No newline at end of file
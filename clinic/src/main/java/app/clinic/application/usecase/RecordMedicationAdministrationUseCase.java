@@ -1,10 +1,13 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.service.VitalSignsService;
 
 @Service
+@Transactional
 public class RecordMedicationAdministrationUseCase {
     private final VitalSignsService vitalSignsService;
 
@@ -12,7 +15,7 @@ public class RecordMedicationAdministrationUseCase {
         this.vitalSignsService = vitalSignsService;
     }
 
-    public void execute(String patientId, String nurseId, String orderNumber, int item, String administrationDetails) {
-        vitalSignsService.recordMedicationAdministration(patientId, nurseId, orderNumber, item, administrationDetails);
+    public void execute(String patientId, AuthenticatedUser nurse, String orderNumber, int item, String administrationDetails) {
+        vitalSignsService.recordMedicationAdministration(patientId, nurse, orderNumber, item, administrationDetails);
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.service.VitalSignsService;
 
 @Service
+@Transactional
 public class RecordProcedureRealizationUseCase {
     private final VitalSignsService vitalSignsService;
 
@@ -12,7 +15,7 @@ public class RecordProcedureRealizationUseCase {
         this.vitalSignsService = vitalSignsService;
     }
 
-    public void execute(String patientId, String nurseId, String orderNumber, int item, String realizationDetails) {
-        vitalSignsService.recordProcedureRealization(patientId, nurseId, orderNumber, item, realizationDetails);
+    public void execute(String patientId, AuthenticatedUser nurse, String orderNumber, int item, String realizationDetails) {
+        vitalSignsService.recordProcedureRealization(patientId, nurse, orderNumber, item, realizationDetails);
     }
 }
\ No newline at end of file
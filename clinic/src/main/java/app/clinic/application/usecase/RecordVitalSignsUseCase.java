@@ -1,11 +1,13 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.VitalSigns;
 import app.clinic.domain.service.VitalSignsService;
 
 @Service
+@Transactional
 public class RecordVitalSignsUseCase {
     private final VitalSignsService vitalSignsService;
 
@@ -1,11 +1,13 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Patient;
 import app.clinic.domain.service.PatientService;
 
 @Service
+@Transactional
 public class RegisterEmergencyContactUseCase {
     private final PatientService patientService;
 
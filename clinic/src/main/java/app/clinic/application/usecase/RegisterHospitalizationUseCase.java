@@ -1,22 +1,44 @@
 package app.clinic.application.usecase;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.PatientMedicalState;
+import app.clinic.domain.model.entities.ProcedureOrder;
+import app.clinic.domain.model.valueobject.CurrentDiagnosis;
+import app.clinic.domain.model.valueobject.HospitalizationDetails;
+import app.clinic.domain.repository.PatientMedicalStateRepository;
 import app.clinic.domain.service.OrderService;
 
 @Service
+@Transactional
 public class RegisterHospitalizationUseCase {
     private final OrderService orderService;
+    private final PatientMedicalStateRepository patientMedicalStateRepository;
 
-    public RegisterHospitalizationUseCase(OrderService orderService) {
+    public RegisterHospitalizationUseCase(OrderService orderService, PatientMedicalStateRepository patientMedicalStateRepository) {
         this.orderService = orderService;
+        this.patientMedicalStateRepository = patientMedicalStateRepository;
     }
 
-    public Order execute(String patientId, String doctorId, List<app.clinic.domain.model.entities.ProcedureOrder> procedures) {
+    public Order execute(String patientId, String doctorId, List<ProcedureOrder> procedures) {
         // Hospitalization is treated as a special procedure
-        return orderService.createProcedureOrder(patientId, doctorId, procedures);
+        Order order = orderService.createProcedureOrder(patientId, doctorId, procedures);
+
+        PatientMedicalState state = patientMedicalStateRepository.findByPatientId(patientId)
+            .orElseGet(() -> new PatientMedicalState(patientId));
+        state.updateHospitalizationDetails(new HospitalizationDetails(true, "Orden " + order.getOrderNumber().getValue()));
+        state.updateCurrentProcedures(procedures.stream()
+            .map(procedure -> procedure.getProcedureId().getValue())
+            .collect(Collectors.joining(",")));
+        if (order.getDiagnosis() != null && !order.getDiagnosis().isBlank()) {
+            state.updateCurrentDiagnosis(new CurrentDiagnosis(order.getDiagnosis()));
+        }
+        patientMedicalStateRepository.save(state);
+        return order;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package app.clinic.application.usecase;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.repository.InventoryRepository;
+import app.clinic.domain.repository.MedicationStockRepository;
+
+@Service
+@Transactional
+public class RestockMedicationUseCase {
+    private final InventoryRepository inventoryRepository;
+    private final MedicationStockRepository medicationStockRepository;
+
+    public RestockMedicationUseCase(InventoryRepository inventoryRepository, MedicationStockRepository medicationStockRepository) {
+        this.inventoryRepository = inventoryRepository;
+        this.medicationStockRepository = medicationStockRepository;
+    }
+
+    /**
+     * Suma unidades a las existencias; el primer ingreso de un medicamento empieza a controlar sus existencias.
+     */
+    public int execute(String medicationId, int units) {
+        Id id = new Id(medicationId);
+        if (!inventoryRepository.existsMedicationById(id)) {
+            throw new IllegalArgumentException("Medication not found in inventory");
+        }
+        medicationStockRepository.restock(id, units);
+        return units;
+    }
+}
@@ -3,11 +3,14 @@ package app.clinic.application.usecase;
 import java.time.LocalDateTime;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Appointment;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.service.AppointmentService;
 
 @Service
+@Transactional
 public class ScheduleAppointmentUseCase {
     private final AppointmentService appointmentService;
 
@@ -15,7 +18,7 @@ public class ScheduleAppointmentUseCase {
         this.appointmentService = appointmentService;
     }
 
-    public Appointment execute(String patientId, String adminId, String doctorId, LocalDateTime dateTime, String reason) {
-        return appointmentService.scheduleAppointment(patientId, adminId, doctorId, dateTime, reason);
+    public Appointment execute(String patientId, AuthenticatedUser admin, String doctorId, LocalDateTime dateTime, String reason) {
+        return appointmentService.scheduleAppointment(patientId, admin, doctorId, dateTime, reason);
     }
 }
\ No newline at end of file
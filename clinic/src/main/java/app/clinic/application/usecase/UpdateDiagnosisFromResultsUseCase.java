@@ -3,11 +3,13 @@ package app.clinic.application.usecase;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Order;
 import app.clinic.domain.service.OrderService;
 
 @Service
+@Transactional
 public class UpdateDiagnosisFromResultsUseCase {
     private final OrderService orderService;
 
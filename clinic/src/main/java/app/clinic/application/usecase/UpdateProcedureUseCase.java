@@ -1,12 +1,14 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.Procedure;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.service.InventoryService;
 
 @Service
+@Transactional
 public class UpdateProcedureUseCase {
     private final InventoryService inventoryService;
 
@@ -1,21 +1,32 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.model.entities.User;
+import app.clinic.domain.repository.SessionRevocationRepository;
 import app.clinic.domain.service.UserService;
 
 @Service
+@Transactional
 public class UpdateUserUseCase {
     private final UserService userService;
+    private final SessionRevocationRepository sessionRevocationRepository;
 
-    public UpdateUserUseCase(UserService userService) {
+    public UpdateUserUseCase(UserService userService, SessionRevocationRepository sessionRevocationRepository) {
         this.userService = userService;
+        this.sessionRevocationRepository = sessionRevocationRepository;
     }
 
     public User execute(String identificationNumber, String fullName, String email, String phone,
                        String dateOfBirth, String address, String role) {
+        User previous = userService.findUserById(identificationNumber);
         userService.updateUser(identificationNumber, fullName, email, phone, dateOfBirth, address, role);
-        return userService.findUserById(identificationNumber);
+        User updated = userService.findUserById(identificationNumber);
+        // Los tokens ya emitidos llevan el rol anterior: se invalidan y el usuario vuelve a iniciar sesión
+        if (previous.getRole() != updated.getRole()) {
+            sessionRevocationRepository.revokeUserSessions(updated.getIdentificationNumber());
+        }
+        return updated;
     }
 }
\ No newline at end of file
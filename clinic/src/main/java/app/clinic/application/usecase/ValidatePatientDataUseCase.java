@@ -1,10 +1,12 @@
 package app.clinic.application.usecase;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import app.clinic.domain.service.PatientService;
 
 @Service
+@Transactional(readOnly = true)
 public class ValidatePatientDataUseCase {
     private final PatientService patientService;
 
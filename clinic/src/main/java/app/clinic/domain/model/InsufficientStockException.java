@@ -0,0 +1,7 @@
+package app.clinic.domain.model;
+
+public class InsufficientStockException extends DomainException {
+    public InsufficientStockException(String medicationId, int requested, int available) {
+        super("Existencias insuficientes de " + medicationId + ": se piden " + requested + ", quedan " + available);
+    }
+}
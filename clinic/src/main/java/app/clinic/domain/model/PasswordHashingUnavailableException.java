@@ -0,0 +1,7 @@
+package app.clinic.domain.model;
+
+public class PasswordHashingUnavailableException extends DomainException {
+    public PasswordHashingUnavailableException() {
+        super("El servicio de autenticación está ocupado, intente de nuevo en unos segundos");
+    }
+}
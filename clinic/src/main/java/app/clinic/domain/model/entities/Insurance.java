@@ -30,6 +30,13 @@ public class Insurance {
     }
 
     public boolean isActive() {
+        return isActive(active, validityDate);
+    }
+
+    /**
+     * Una póliza marcada como activa deja de estarlo al vencer su fecha de vigencia.
+     */
+    public static boolean isActive(boolean active, LocalDate validityDate) {
         return active && (validityDate == null || validityDate.isAfter(LocalDate.now()));
     }
 
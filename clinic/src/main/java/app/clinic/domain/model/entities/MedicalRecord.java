@@ -128,6 +128,40 @@ public class MedicalRecord {
         // Para order number, se podría agregar a una entrada separada si es necesario
     }
 
+    /**
+     * Anota en la historia una orden de ayudas diagnósticas: el diagnóstico, si lo tiene, y cada ayuda solicitada.
+     */
+    public void addDiagnosticAidOrder(Order order) {
+        addOrderToRecord(order.getDate(), order.getOrderNumber().getValue(), order.getDiagnosis());
+
+        for (DiagnosticAidOrder aid : order.getDiagnosticAids()) {
+            addDiagnosticAidToRecord(order.getDate(), aid.getOrderNumber().getValue(),
+                    aid.getDiagnosticAidId().getValue(), aid.getQuantity(),
+                    aid.isRequiresSpecialist(), aid.getSpecialistId() != null ? aid.getSpecialistId().getValue() : null);
+        }
+    }
+
+    /**
+     * Anota en la historia la consulta post-diagnóstico con sus medicamentos y procedimientos.
+     */
+    public void addPostDiagnosticOrder(Order order) {
+        addRecord(order.getDate(), order.getDoctorIdentificationNumber(),
+                "Consulta post-diagnóstico", "", order.getDiagnosis());
+
+        addOrderToRecord(order.getDate(), order.getOrderNumber().getValue(), order.getDiagnosis());
+
+        for (MedicationOrder med : order.getMedications()) {
+            addMedicationToRecord(order.getDate(), med.getOrderNumber().getValue(),
+                    med.getMedicationId().getValue(), med.getDosage(), med.getDuration());
+        }
+
+        for (ProcedureOrder proc : order.getProcedures()) {
+            addProcedureToRecord(order.getDate(), proc.getOrderNumber().getValue(),
+                    proc.getProcedureId().getValue(), proc.getQuantity(), proc.getFrequency(),
+                    proc.isRequiresSpecialist(), proc.getSpecialistId() != null ? proc.getSpecialistId().getValue() : null);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
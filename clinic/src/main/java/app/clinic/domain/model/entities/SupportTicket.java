@@ -3,22 +3,38 @@ package app.clinic.domain.model.entities;
 import java.time.LocalDateTime;
 
 import app.clinic.domain.model.valueobject.SupportTicketId;
+import app.clinic.domain.model.valueobject.SupportTicketPriority;
 import app.clinic.domain.model.valueobject.SupportTicketStatus;
 
 public class SupportTicket {
+    public static final String DEFAULT_TEAM = "general";
+
     private final SupportTicketId id;
     private final String userId;
     private final String issueDescription;
     private final LocalDateTime createdAt;
+    private final SupportTicketPriority priority;
+    private final String team;
     private SupportTicketStatus status;
     private String assignedTo;
     private LocalDateTime updatedAt;
 
     public SupportTicket(SupportTicketId id, String userId, String issueDescription, LocalDateTime createdAt) {
+        this(id, userId, issueDescription, createdAt, SupportTicketPriority.NORMAL, DEFAULT_TEAM);
+    }
+
+    public SupportTicket(SupportTicketId id, String userId, String issueDescription, LocalDateTime createdAt,
+                         SupportTicketPriority priority, String team) {
         this.id = id;
         this.userId = userId;
         this.issueDescription = issueDescription;
         this.createdAt = createdAt;
+        this.priority = priority != null ? priority : SupportTicketPriority.NORMAL;
+        // El equipo identifica la cola de reparto: sin distinguir mayúsculas ni espacios
+        this.team = team != null && !team.isBlank() ? team.trim().toLowerCase() : DEFAULT_TEAM;
+        if (this.team.length() > 30) {
+            throw new IllegalArgumentException("Support team must be maximum 30 characters");
+        }
         this.status = SupportTicketStatus.OPEN;
         this.updatedAt = createdAt;
     }
@@ -39,6 +55,14 @@ public class SupportTicket {
         return createdAt;
     }
 
+    public SupportTicketPriority getPriority() {
+        return priority;
+    }
+
+    public String getTeam() {
+        return team;
+    }
+
     public SupportTicketStatus getStatus() {
         return status;
     }
@@ -82,6 +106,8 @@ public class SupportTicket {
                 ", userId='" + userId + '\'' +
                 ", issueDescription='" + issueDescription + '\'' +
                 ", createdAt=" + createdAt +
+                ", priority=" + priority +
+                ", team='" + team + '\'' +
                 ", status=" + status +
                 ", assignedTo='" + assignedTo + '\'' +
                 ", updatedAt=" + updatedAt +
@@ -0,0 +1,50 @@
+package app.clinic.domain.model.valueobject;
+
+import java.util.Objects;
+
+/**
+ * Quién hace la petición, ya resuelto: la identidad y el rol que el token firmado garantiza. Los
+ * servicios de dominio comprueban permisos con este rol en lugar de volver a buscar al usuario.
+ */
+public final class AuthenticatedUser {
+    private final Id identificationNumber;
+    private final Role role;
+
+    public AuthenticatedUser(Id identificationNumber, Role role) {
+        this.identificationNumber = Objects.requireNonNull(identificationNumber, "Identification number cannot be null");
+        this.role = Objects.requireNonNull(role, "Role cannot be null");
+    }
+
+    public Id getIdentificationNumber() {
+        return identificationNumber;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * Si el identificador que trae la petición es el de este usuario; sin identificador se entiende que sí.
+     */
+    public boolean isSameUser(String declaredId) {
+        return declaredId == null || declaredId.trim().equals(identificationNumber.getValue());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuthenticatedUser that = (AuthenticatedUser) o;
+        return identificationNumber.equals(that.identificationNumber) && role == that.role;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(identificationNumber, role);
+    }
+
+    @Override
+    public String toString() {
+        return identificationNumber.getValue() + " (" + role + ")";
+    }
+}
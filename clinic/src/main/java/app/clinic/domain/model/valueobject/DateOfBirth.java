@@ -1,8 +1,11 @@
 package app.clinic.domain.model.valueobject;
 
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Objects;
 
 public class DateOfBirth {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
@@ -13,17 +16,72 @@ public class DateOfBirth {
             throw new IllegalArgumentException("Date of birth cannot be null");
         }
         try {
-            LocalDate date = LocalDate.parse(dateString, FORMATTER);
-            LocalDate now = LocalDate.now();
-            if (date.isAfter(now) || date.isBefore(now.minusYears(150))) {
-                throw new IllegalArgumentException("Date of birth must be within the last 150 years and not in the future");
-            }
-            this.value = date;
+            this.value = validateRange(parse(dateString));
         } catch (DateTimeParseException e) {
             throw new IllegalArgumentException("Invalid date format. Expected dd/MM/yyyy");
         }
     }
 
+    public DateOfBirth(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date of birth cannot be null");
+        }
+        this.value = validateRange(date);
+    }
+
+    private DateOfBirth(LocalDate date, boolean validated) {
+        this.value = date;
+    }
+
+    /**
+     * Para fechas ya validadas antes de persistirse (rehidratación desde BD): no se vuelve a
+     * comprobar el rango de 150 años, que además dependería de la fecha en que se lee la fila.
+     */
+    public static DateOfBirth ofTrusted(String dateString) {
+        return new DateOfBirth(parse(Objects.requireNonNull(dateString, "Date of birth cannot be null")), true);
+    }
+
+    /**
+     * Interpreta dd/MM/yyyy igual que DateTimeFormatter.ofPattern("dd/MM/yyyy") (ResolverStyle.SMART,
+     * que ajusta 30/02 al último día del mes). El caso habitual se resuelve a mano; cualquier entrada
+     * fuera de ese caso se delega al formatter para conservar sus mismos errores.
+     *
+     * @throws DateTimeParseException si el texto no es una fecha válida
+     */
+    public static LocalDate parse(String text) {
+        if (text.length() == 10 && text.charAt(2) == '/' && text.charAt(5) == '/') {
+            int day = digits(text, 0, 2);
+            int month = digits(text, 3, 5);
+            int year = digits(text, 6, 10);
+            if (day >= 1 && day <= 31 && month >= 1 && month <= 12 && year >= 1) {
+                int monthLength = Month.of(month).length(Year.isLeap(year));
+                return LocalDate.of(year, month, Math.min(day, monthLength));
+            }
+        }
+        return LocalDate.parse(text, FORMATTER);
+    }
+
+    // -1 si algún carácter no es dígito ASCII
+    private static int digits(String text, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static LocalDate validateRange(LocalDate date) {
+        LocalDate now = LocalDate.now();
+        if (date.isAfter(now) || date.isBefore(now.minusYears(150))) {
+            throw new IllegalArgumentException("Date of birth must be within the last 150 years and not in the future");
+        }
+        return date;
+    }
+
     public LocalDate getValue() {
         return value;
     }
@@ -1,12 +1,10 @@
 package app.clinic.domain.model.valueobject;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Objects;
 
 public class Email {
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-    private static final List<String> VALID_DOMAINS = Arrays.asList(
+    private static final List<String> VALID_DOMAINS = List.of(
         "gmail.com", "yahoo.com", "hotmail.com", "outlook.com", "icloud.com",
         "aol.com", "protonmail.com", "mail.com", "yandex.com", "zoho.com",
         "example.com","clinica.com"
@@ -15,24 +13,83 @@ public class Email {
     private final String value;
 
     public Email(String value) {
+        this(validate(value), true);
+    }
+
+    private Email(String value, boolean validated) {
+        this.value = value;
+    }
+
+    /**
+     * Para valores ya normalizados por el constructor antes de persistirse (rehidratación desde BD).
+     */
+    public static Email ofTrusted(String value) {
+        return new Email(Objects.requireNonNull(value, "Email cannot be null"), true);
+    }
+
+    private static String validate(String value) {
         if (value == null || value.trim().isEmpty()) {
             throw new IllegalArgumentException("Email cannot be null or empty");
         }
-        if (!EMAIL_PATTERN.matcher(value).matches()) {
+        if (!isWellFormed(value)) {
             throw new IllegalArgumentException("Invalid email format - must contain @ and domain");
         }
 
         String trimmedValue = value.trim().toLowerCase();
         validateDomain(trimmedValue);
+        return trimmedValue;
+    }
+
+    /**
+     * Equivalente a ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$ en una sola pasada y sin Matcher.
+     * Como el dominio no admite '@' ni otros caracteres, el sufijo de letras solo puede ir tras el último punto.
+     */
+    public static boolean isWellFormed(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (!isAlphanumeric(c) && c != '+' && c != '_' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        int lastDot = -1;
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isAlphanumeric(c) && c != '-') {
+                return false;
+            }
+        }
+        // Al menos un carácter entre '@' y el último punto, y 2 o más letras después
+        if (lastDot <= at + 1 || email.length() - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z'))) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        this.value = trimmedValue;
+    private static boolean isAlphanumeric(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
     }
 
-    private void validateDomain(String email) {
-        String domain = email.substring(email.indexOf('@') + 1);
-        if (!VALID_DOMAINS.contains(domain)) {
-            throw new IllegalArgumentException("Email domain not supported: " + domain);
+    private static void validateDomain(String email) {
+        int domainStart = email.indexOf('@') + 1;
+        int domainLength = email.length() - domainStart;
+        for (String domain : VALID_DOMAINS) {
+            if (domain.length() == domainLength && email.startsWith(domain, domainStart)) {
+                return;
+            }
         }
+        throw new IllegalArgumentException("Email domain not supported: " + email.substring(domainStart));
     }
 
     public String getValue() {
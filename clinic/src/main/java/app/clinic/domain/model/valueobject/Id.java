@@ -1,20 +1,49 @@
 package app.clinic.domain.model.valueobject;
 
-import java.util.regex.Pattern;
+import java.util.Objects;
 
 public class Id {
-    private static final Pattern CEDULA_PATTERN = Pattern.compile("^\\d{1,10}$");
+    private static final int MAX_LENGTH = 10;
     private final String value;
 
     public Id(String value) {
-        if (value == null || value.trim().isEmpty()) {
+        this(validate(value), true);
+    }
+
+    private Id(String value, boolean validated) {
+        this.value = value;
+    }
+
+    /**
+     * Para valores que ya pasaron por el constructor antes de persistirse (rehidratación desde BD).
+     */
+    public static Id ofTrusted(String value) {
+        return new Id(Objects.requireNonNull(value, "ID cannot be null"), true);
+    }
+
+    // Equivalente a ^\d{1,10}$ sobre el valor sin espacios, sin regex ni Matcher
+    private static String validate(String value) {
+        if (value == null) {
             throw new IllegalArgumentException("ID cannot be null or empty");
         }
         String trimmed = value.trim();
-        if (!CEDULA_PATTERN.matcher(trimmed).matches()) {
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("ID cannot be null or empty");
+        }
+        if (trimmed.length() > MAX_LENGTH || !isDigits(trimmed)) {
             throw new IllegalArgumentException("ID must contain only digits and be 1-10 characters long");
         }
-        this.value = trimmed;
+        return trimmed;
+    }
+
+    static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     public String getValue() {
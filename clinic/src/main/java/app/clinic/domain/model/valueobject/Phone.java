@@ -1,18 +1,33 @@
 package app.clinic.domain.model.valueobject;
 
-import java.util.regex.Pattern;
+import java.util.Objects;
 
 public class Phone {
-    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\d{1,10}$");
+    private static final int MAX_LENGTH = 10;
     private final String value;
 
     public Phone(String value) {
+        this(validate(value), true);
+    }
+
+    private Phone(String value, boolean validated) {
+        this.value = value;
+    }
+
+    /**
+     * Para valores ya normalizados por el constructor antes de persistirse (rehidratación desde BD).
+     */
+    public static Phone ofTrusted(String value) {
+        return new Phone(Objects.requireNonNull(value, "Phone cannot be null"), true);
+    }
+
+    private static String validate(String value) {
         if (value == null || value.trim().isEmpty()) {
             throw new IllegalArgumentException("Phone cannot be null or empty");
         }
 
-        String cleanValue = value.replaceAll("[\\s\\-\\(\\)]", "");
-        if (!PHONE_PATTERN.matcher(cleanValue).matches()) {
+        String cleanValue = stripSeparators(value);
+        if (cleanValue.isEmpty() || cleanValue.length() > MAX_LENGTH || !Id.isDigits(cleanValue)) {
             throw new IllegalArgumentException("Phone must contain only digits and be 1-10 characters long");
         }
 
@@ -20,11 +35,35 @@ public class Phone {
         if (cleanValue.length() == 10 && !isValidColombianPhone(cleanValue)) {
             throw new IllegalArgumentException("Invalid Colombian phone number format");
         }
+        return cleanValue;
+    }
+
+    // Quita espacios, guiones y paréntesis ([\s\-\(\)]); sin separadores devuelve la misma instancia
+    private static String stripSeparators(String value) {
+        int first = 0;
+        while (first < value.length() && !isSeparator(value.charAt(first))) {
+            first++;
+        }
+        if (first == value.length()) {
+            return value;
+        }
+        StringBuilder clean = new StringBuilder(value.length());
+        clean.append(value, 0, first);
+        for (int i = first + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isSeparator(c)) {
+                clean.append(c);
+            }
+        }
+        return clean.toString();
+    }
 
-        this.value = cleanValue;
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r'
+            || c == '-' || c == '(' || c == ')';
     }
 
-    private boolean isValidColombianPhone(String phone) {
+    private static boolean isValidColombianPhone(String phone) {
         // Móviles empiezan con 3, líneas fijas con 60
         // Para tests y datos de ejemplo, permitir números que empiecen con otros dígitos
         return phone.startsWith("3") || phone.startsWith("60") || phone.startsWith("1") ||
@@ -3,7 +3,7 @@ package app.clinic.domain.model.valueobject;
 import java.util.regex.Pattern;
 
 public class SupportTicketId {
-    private static final Pattern SUPPORT_TICKET_ID_PATTERN = Pattern.compile("^\\d{1,10}$");
+    private static final Pattern SUPPORT_TICKET_ID_PATTERN = Pattern.compile("^[A-Za-z0-9]{1,50}$");
     private final String value;
 
     public SupportTicketId(String value) {
@@ -11,7 +11,7 @@ public class SupportTicketId {
             throw new IllegalArgumentException("Support ticket ID cannot be null or empty");
         }
         if (!SUPPORT_TICKET_ID_PATTERN.matcher(value).matches()) {
-            throw new IllegalArgumentException("Support ticket ID must contain only digits and be maximum 10 characters");
+            throw new IllegalArgumentException("Support ticket ID must be alphanumeric and be maximum 50 characters");
         }
         this.value = value.trim();
     }
@@ -0,0 +1,8 @@
+package app.clinic.domain.model.valueobject;
+
+public enum SupportTicketPriority {
+    URGENT,
+    HIGH,
+    NORMAL,
+    LOW
+}
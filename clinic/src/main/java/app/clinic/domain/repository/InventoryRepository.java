@@ -1,26 +1,35 @@
 package app.clinic.domain.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import app.clinic.domain.model.entities.DiagnosticAid;
 import app.clinic.domain.model.entities.Medication;
 import app.clinic.domain.model.entities.Procedure;
 import app.clinic.domain.model.valueobject.Id;
 
+/**
+ * Los find*ExistingIds comprueban varias líneas de una orden con una sola consulta y devuelven las
+ * que existen; los exists*ById quedan para comprobar un único elemento.
+ */
 public interface InventoryRepository {
     void saveMedication(Medication medication);
     Optional<Medication> findMedicationById(Id id);
     List<Medication> findAllMedications();
     boolean existsMedicationById(Id id);
+    Set<Id> findExistingMedicationIds(Collection<Id> ids);
 
     void saveProcedure(Procedure procedure);
     Optional<Procedure> findProcedureById(Id id);
     List<Procedure> findAllProcedures();
     boolean existsProcedureById(Id id);
+    Set<Id> findExistingProcedureIds(Collection<Id> ids);
 
     void saveDiagnosticAid(DiagnosticAid diagnosticAid);
     Optional<DiagnosticAid> findDiagnosticAidById(Id id);
     List<DiagnosticAid> findAllDiagnosticAids();
     boolean existsDiagnosticAidById(Id id);
+    Set<Id> findExistingDiagnosticAidIds(Collection<Id> ids);
 }
\ No newline at end of file
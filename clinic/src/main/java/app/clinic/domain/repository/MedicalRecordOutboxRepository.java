@@ -0,0 +1,12 @@
+package app.clinic.domain.repository;
+
+import app.clinic.domain.model.entities.Order;
+
+/**
+ * Eventos pendientes de aplicar a la historia clínica. Se escriben en la misma transacción que la
+ * orden y un proceso en segundo plano los aplica después, en orden por paciente.
+ */
+public interface MedicalRecordOutboxRepository {
+    void enqueueDiagnosticAidOrder(Order order);
+    void enqueuePostDiagnosticOrder(Order order);
+}
@@ -6,6 +6,8 @@ import app.clinic.domain.model.entities.MedicalRecord;
 
 public interface MedicalRecordRepository {
     void save(MedicalRecord medicalRecord);
+    // Añade las entradas de newEntries a la historia del paciente sin reescribir las existentes
+    void append(MedicalRecord newEntries);
     Optional<MedicalRecord> findByPatientIdentificationNumber(String patientId);
     boolean existsByPatientIdentificationNumber(String patientId);
 }
\ No newline at end of file
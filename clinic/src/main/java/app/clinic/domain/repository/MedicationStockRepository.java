@@ -0,0 +1,24 @@
+package app.clinic.domain.repository;
+
+import java.util.Optional;
+
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.OrderNumber;
+
+/**
+ * Existencias de medicamentos. Cada orden reserva sus medicamentos al crearse; la reserva se confirma
+ * al facturar la orden y se libera si se cancela. Los medicamentos sin existencias registradas no
+ * se controlan.
+ */
+public interface MedicationStockRepository {
+    /**
+     * Reserva una unidad por línea de medicamento de la orden, o ninguna si alguno no alcanza
+     * (InsufficientStockException).
+     */
+    void reserve(Order order);
+    void commit(OrderNumber orderNumber);
+    void release(OrderNumber orderNumber);
+    void restock(Id medicationId, int units);
+    Optional<Integer> findAvailable(Id medicationId);
+}
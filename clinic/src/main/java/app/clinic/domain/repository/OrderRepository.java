@@ -12,4 +12,10 @@ public interface OrderRepository {
     List<Order> findByPatientIdentificationNumber(String patientId);
     List<Order> findByDoctorIdentificationNumber(String doctorId);
     boolean existsByOrderNumber(OrderNumber orderNumber);
+    boolean cancel(OrderNumber orderNumber);
+    boolean isCancelled(OrderNumber orderNumber);
+    boolean markBilled(OrderNumber orderNumber);
+    boolean isBilled(OrderNumber orderNumber);
+    long nextOrderNumber();
+    boolean existsDiagnosticAidOnlyOrderByPatient(String patientId);
 }
\ No newline at end of file
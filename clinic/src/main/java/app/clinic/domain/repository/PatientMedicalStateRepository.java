@@ -0,0 +1,16 @@
+package app.clinic.domain.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import app.clinic.domain.model.entities.PatientMedicalState;
+
+/**
+ * Estado médico actual de los pacientes hospitalizados. Al dar de alta al paciente su estado se borra.
+ */
+public interface PatientMedicalStateRepository {
+    Optional<PatientMedicalState> findByPatientId(String patientId);
+    List<PatientMedicalState> findHospitalized();
+    void save(PatientMedicalState state);
+    void deleteByPatientId(String patientId);
+}
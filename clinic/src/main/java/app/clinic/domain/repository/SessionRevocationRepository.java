@@ -0,0 +1,14 @@
+package app.clinic.domain.repository;
+
+import app.clinic.domain.model.valueobject.Id;
+
+/**
+ * Sesiones abiertas que dejan de valer antes de que caduque su token.
+ */
+public interface SessionRevocationRepository {
+    /**
+     * Invalida los tokens emitidos hasta ahora para el usuario, p. ej. porque cambió su rol o se eliminó:
+     * el rol que llevan ya no es el suyo. Los que se emitan después siguen valiendo.
+     */
+    void revokeUserSessions(Id identificationNumber);
+}
@@ -0,0 +1,29 @@
+package app.clinic.domain.repository;
+
+import java.util.Optional;
+
+import app.clinic.domain.model.entities.SupportTicket;
+import app.clinic.domain.model.valueobject.SupportTicketId;
+
+/**
+ * Tickets abiertos pendientes de asignar, en colas por equipo ordenadas por vencimiento del plazo de atención.
+ * Si hay una transacción en curso, los cambios en las colas se aplican al confirmarse.
+ */
+public interface SupportTicketQueue {
+    /**
+     * Pone en cola un ticket abierto.
+     */
+    void enqueue(SupportTicket supportTicket);
+
+    /**
+     * Saca de la cola un ticket asignado a mano o cerrado. Si no estaba en cola no tiene efecto.
+     */
+    void remove(SupportTicketId id);
+
+    /**
+     * Asigna al agente el ticket que vence antes en la cola de su equipo o, si está vacía, en la de otro
+     * equipo. Devuelve el ticket asignado, o vacío si no queda ninguno en cola. Si la transacción se deshace,
+     * el ticket vuelve a su cola.
+     */
+    Optional<SupportTicketId> dispatchNext(String agentId, String team);
+}
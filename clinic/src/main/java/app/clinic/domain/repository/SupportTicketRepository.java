@@ -5,11 +5,14 @@ import java.util.Optional;
 
 import app.clinic.domain.model.entities.SupportTicket;
 import app.clinic.domain.model.valueobject.SupportTicketId;
+import app.clinic.domain.model.valueobject.SupportTicketStatus;
 
 public interface SupportTicketRepository {
     void save(SupportTicket supportTicket);
     Optional<SupportTicket> findById(SupportTicketId id);
     List<SupportTicket> findByUserId(String userId);
     List<SupportTicket> findAll();
+    List<SupportTicket> findByStatus(SupportTicketStatus status);
+    List<SupportTicket> findByAssignedToAndStatus(String assignedTo, SupportTicketStatus status);
     boolean existsById(SupportTicketId id);
 }
\ No newline at end of file
@@ -14,4 +14,5 @@ public interface UserRepository {
     List<User> findAll();
     boolean existsByIdentificationNumber(Id identificationNumber);
     void deleteByIdentificationNumber(Id identificationNumber);
+    void updatePasswordHash(Id identificationNumber, String passwordHash);
 }
\ No newline at end of file
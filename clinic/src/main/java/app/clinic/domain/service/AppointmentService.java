@@ -4,11 +4,14 @@ import java.time.LocalDateTime;
 
 import app.clinic.domain.model.entities.Appointment;
 import app.clinic.domain.model.entities.User;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.repository.AppointmentRepository;
 import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 public class AppointmentService {
     private final AppointmentRepository appointmentRepository;
@@ -24,7 +27,11 @@ public class AppointmentService {
     }
 
     public Appointment scheduleAppointment(String patientId, String adminId, String doctorId, LocalDateTime dateTime, String reason) {
-        validateAdminRole(adminId);
+        return scheduleAppointment(patientId, findAdmin(adminId), doctorId, dateTime, reason);
+    }
+
+    public Appointment scheduleAppointment(String patientId, AuthenticatedUser admin, String doctorId, LocalDateTime dateTime, String reason) {
+        validateAdminRole(admin);
         Id patientIdObj = new Id(patientId);
         if (!patientRepository.existsByIdentificationNumber(patientIdObj)) {
             throw new IllegalArgumentException("Patient not found");
@@ -42,14 +49,23 @@ public class AppointmentService {
         return appointment;
     }
 
-    private void validateAdminRole(String adminId) {
-        Id adminIdObj = new Id(adminId);
-        User admin = userRepository.findByIdentificationNumber(adminIdObj).orElseThrow(() -> new IllegalArgumentException("Admin not found"));
-        roleBasedAccessService.checkAccess(admin.getRole(), "appointment");
+    // Solo para quien llama sin token (procesos internos); la petición HTTP ya trae al administrador resuelto
+    private AuthenticatedUser findAdmin(String adminId) {
+        Id id = new Id(adminId);
+        User admin = userRepository.findByIdentificationNumber(id).orElseThrow(() -> new IllegalArgumentException("Admin not found"));
+        return new AuthenticatedUser(id, admin.getRole());
+    }
+
+    private void validateAdminRole(AuthenticatedUser admin) {
+        roleBasedAccessService.checkAccess(admin.getRole(), Resource.APPOINTMENT, Operation.WRITE);
     }
 
     public void cancelAppointment(String appointmentId, String adminId) {
-        validateAdminRole(adminId);
+        cancelAppointment(appointmentId, findAdmin(adminId));
+    }
+
+    public void cancelAppointment(String appointmentId, AuthenticatedUser admin) {
+        validateAdminRole(admin);
         Id appointmentIdObj = new Id(appointmentId);
         appointmentRepository.findById(appointmentIdObj).orElseThrow(() -> new IllegalArgumentException("Appointment not found"));
         appointmentRepository.delete(appointmentIdObj);
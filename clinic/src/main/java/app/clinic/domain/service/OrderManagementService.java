@@ -4,22 +4,21 @@ import java.time.LocalDate;
 import java.util.List;
 
 import app.clinic.domain.model.entities.DiagnosticAidOrder;
-import app.clinic.domain.model.entities.MedicalRecord;
 import app.clinic.domain.model.entities.MedicationOrder;
 import app.clinic.domain.model.entities.Order;
 import app.clinic.domain.model.entities.ProcedureOrder;
 import app.clinic.domain.model.valueobject.OrderNumber;
-import app.clinic.domain.repository.MedicalRecordRepository;
+import app.clinic.domain.repository.MedicalRecordOutboxRepository;
 import app.clinic.domain.repository.OrderRepository;
 
 public class OrderManagementService {
     private final OrderRepository orderRepository;
-    private final MedicalRecordRepository medicalRecordRepository;
+    private final MedicalRecordOutboxRepository medicalRecordOutboxRepository;
     private final RoleBasedAccessService roleBasedAccessService;
 
-    public OrderManagementService(OrderRepository orderRepository, MedicalRecordRepository medicalRecordRepository, RoleBasedAccessService roleBasedAccessService) {
+    public OrderManagementService(OrderRepository orderRepository, MedicalRecordOutboxRepository medicalRecordOutboxRepository, RoleBasedAccessService roleBasedAccessService) {
         this.orderRepository = orderRepository;
-        this.medicalRecordRepository = medicalRecordRepository;
+        this.medicalRecordOutboxRepository = medicalRecordOutboxRepository;
         this.roleBasedAccessService = roleBasedAccessService;
     }
 
@@ -36,7 +35,8 @@ public class OrderManagementService {
         }
 
         orderRepository.save(order);
-        updateMedicalRecord(patientId, order);
+        // La historia clínica se actualiza en segundo plano (ver MedicalRecordOutboxRepository)
+        medicalRecordOutboxRepository.enqueueDiagnosticAidOrder(order);
 
         return order;
     }
@@ -59,61 +59,17 @@ public class OrderManagementService {
         }
 
         orderRepository.save(order);
-        updateMedicalRecordWithDiagnosis(patientId, order, diagnosis);
+        medicalRecordOutboxRepository.enqueuePostDiagnosticOrder(order);
 
         return order;
     }
 
-    private void updateMedicalRecord(String patientId, Order order) {
-        MedicalRecord record = medicalRecordRepository.findByPatientIdentificationNumber(patientId)
-                .orElse(new MedicalRecord(patientId));
-
-        record.addOrderToRecord(order.getDate(), order.getOrderNumber().getValue(), order.getDiagnosis());
-
-        // Add individual orders to record
-        for (DiagnosticAidOrder aid : order.getDiagnosticAids()) {
-            record.addDiagnosticAidToRecord(order.getDate(), aid.getOrderNumber().getValue(),
-                    aid.getDiagnosticAidId().getValue(), aid.getQuantity(),
-                    aid.isRequiresSpecialist(), aid.getSpecialistId() != null ? aid.getSpecialistId().getValue() : null);
-        }
-
-        medicalRecordRepository.save(record);
-    }
-
-    private void updateMedicalRecordWithDiagnosis(String patientId, Order order, String diagnosis) {
-        MedicalRecord record = medicalRecordRepository.findByPatientIdentificationNumber(patientId)
-                .orElse(new MedicalRecord(patientId));
-
-        record.addRecord(order.getDate(), order.getDoctorIdentificationNumber(),
-                "Consulta post-diagnóstico", "", diagnosis);
-
-        record.addOrderToRecord(order.getDate(), order.getOrderNumber().getValue(), diagnosis);
-
-        // Add medications and procedures
-        for (MedicationOrder med : order.getMedications()) {
-            record.addMedicationToRecord(order.getDate(), med.getOrderNumber().getValue(),
-                    med.getMedicationId().getValue(), med.getDosage(), med.getDuration());
-        }
-
-        for (ProcedureOrder proc : order.getProcedures()) {
-            record.addProcedureToRecord(order.getDate(), proc.getOrderNumber().getValue(),
-                    proc.getProcedureId().getValue(), proc.getQuantity(), proc.getFrequency(),
-                    proc.isRequiresSpecialist(), proc.getSpecialistId() != null ? proc.getSpecialistId().getValue() : null);
-        }
-
-        medicalRecordRepository.save(record);
-    }
-
+    // Siguiente valor de la secuencia de órdenes: único aunque se creen órdenes a la vez
     private OrderNumber generateUniqueOrderNumber() {
-        int attempt = 1;
-        while (attempt <= 999999) {
-            String orderNumberStr = String.format("%06d", attempt);
-            OrderNumber orderNumber = new OrderNumber(orderNumberStr);
-            if (!orderRepository.existsByOrderNumber(orderNumber)) {
-                return orderNumber;
-            }
-            attempt++;
+        long next = orderRepository.nextOrderNumber();
+        if (next > 999999) {
+            throw new RuntimeException("No se pudo generar un número de orden único.");
         }
-        throw new RuntimeException("No se pudo generar un número de orden único.");
+        return new OrderNumber(String.format("%06d", next));
     }
 }
\ No newline at end of file
@@ -1,19 +1,24 @@
 package app.clinic.domain.service;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import app.clinic.domain.model.entities.DiagnosticAidOrder;
 import app.clinic.domain.model.entities.MedicationOrder;
 import app.clinic.domain.model.entities.Order;
 import app.clinic.domain.model.entities.ProcedureOrder;
 import app.clinic.domain.model.entities.User;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.model.valueobject.OrderNumber;
 import app.clinic.domain.repository.InventoryRepository;
 import app.clinic.domain.repository.OrderRepository;
 import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 public class OrderService {
     private final OrderRepository orderRepository;
@@ -37,10 +42,8 @@ public class OrderService {
         }
         OrderNumber orderNumber = generateUniqueOrderNumber();
         Order order = new Order(orderNumber, patientId, doctorId, LocalDate.now(), null, new app.clinic.domain.model.entities.DiagnosticAidOrderStrategy());
+        validateDiagnosticAidsExist(diagnosticAids);
         for (DiagnosticAidOrder aid : diagnosticAids) {
-            if (!inventoryRepository.existsDiagnosticAidById(aid.getDiagnosticAidId())) {
-                throw new IllegalArgumentException("Diagnostic aid not found in inventory");
-            }
             order.addDiagnosticAid(aid);
         }
         orderRepository.save(order);
@@ -63,16 +66,12 @@ public class OrderService {
 
         OrderNumber orderNumber = generateUniqueOrderNumber();
         Order order = new Order(orderNumber, patientId, doctorId, LocalDate.now(), diagnosis);
+        validateMedicationsExist(medications);
         for (MedicationOrder med : medications) {
-            if (!inventoryRepository.existsMedicationById(med.getMedicationId())) {
-                throw new IllegalArgumentException("Medication not found in inventory");
-            }
             order.addMedication(med);
         }
+        validateProceduresExist(procedures);
         for (ProcedureOrder proc : procedures) {
-            if (!inventoryRepository.existsProcedureById(proc.getProcedureId())) {
-                throw new IllegalArgumentException("Procedure not found in inventory");
-            }
             order.addProcedure(proc);
         }
         orderRepository.save(order);
@@ -80,35 +79,43 @@ public class OrderService {
     }
 
     public Order createMedicationOrder(String patientId, String doctorId, List<MedicationOrder> medications) {
-        validateDoctorRole(doctorId);
+        return createMedicationOrder(patientId, findDoctor(doctorId), medications);
+    }
+
+    public Order createMedicationOrder(String patientId, AuthenticatedUser doctor, List<MedicationOrder> medications) {
+        validateDoctorRole(doctor);
+        String doctorId = doctor.getIdentificationNumber().getValue();
         Id patientIdObj = new Id(patientId);
         if (!patientRepository.existsByIdentificationNumber(patientIdObj)) {
             throw new IllegalArgumentException("Patient not found");
         }
         OrderNumber orderNumber = generateUniqueOrderNumber();
-        Order order = new Order(orderNumber, patientId, doctorId, LocalDate.now(), null, new app.clinic.domain.model.entities.DiagnosticAidOrderStrategy());
+        Order order = new Order(orderNumber, patientId, doctorId, LocalDate.now());
+        validateMedicationsExist(medications);
         for (MedicationOrder med : medications) {
-            if (!inventoryRepository.existsMedicationById(med.getMedicationId())) {
-                throw new IllegalArgumentException("Medication not found in inventory");
-            }
-            order.addMedication(med);
+            // El número de orden se asigna aquí: quien pide la orden aún no lo conoce
+            order.addMedication(new MedicationOrder(orderNumber, med.getItem(), med.getMedicationId(),
+                med.getDosage(), med.getDuration(), med.getCost()));
         }
         orderRepository.save(order);
         return order;
     }
 
     public Order createProcedureOrder(String patientId, String doctorId, List<ProcedureOrder> procedures) {
-        validateDoctorRole(doctorId);
+        return createProcedureOrder(patientId, findDoctor(doctorId), procedures);
+    }
+
+    public Order createProcedureOrder(String patientId, AuthenticatedUser doctor, List<ProcedureOrder> procedures) {
+        validateDoctorRole(doctor);
+        String doctorId = doctor.getIdentificationNumber().getValue();
         Id patientIdObj = new Id(patientId);
         if (!patientRepository.existsByIdentificationNumber(patientIdObj)) {
             throw new IllegalArgumentException("Patient not found");
         }
         OrderNumber orderNumber = generateUniqueOrderNumber();
         Order order = new Order(orderNumber, patientId, doctorId, LocalDate.now());
+        validateProceduresExist(procedures);
         for (ProcedureOrder proc : procedures) {
-            if (!inventoryRepository.existsProcedureById(proc.getProcedureId())) {
-                throw new IllegalArgumentException("Procedure not found in inventory");
-            }
             order.addProcedure(proc);
         }
         orderRepository.save(order);
@@ -116,27 +123,35 @@ public class OrderService {
     }
 
     public Order createStandaloneDiagnosticAidOrder(String patientId, String doctorId, List<DiagnosticAidOrder> diagnosticAids) {
-        validateDoctorRole(doctorId);
+        return createStandaloneDiagnosticAidOrder(patientId, findDoctor(doctorId), diagnosticAids);
+    }
+
+    public Order createStandaloneDiagnosticAidOrder(String patientId, AuthenticatedUser doctor, List<DiagnosticAidOrder> diagnosticAids) {
+        validateDoctorRole(doctor);
+        String doctorId = doctor.getIdentificationNumber().getValue();
         Id patientIdObj = new Id(patientId);
         if (!patientRepository.existsByIdentificationNumber(patientIdObj)) {
             throw new IllegalArgumentException("Patient not found");
         }
         OrderNumber orderNumber = generateUniqueOrderNumber();
         Order order = new Order(orderNumber, patientId, doctorId, LocalDate.now());
+        validateDiagnosticAidsExist(diagnosticAids);
         for (DiagnosticAidOrder aid : diagnosticAids) {
-            if (!inventoryRepository.existsDiagnosticAidById(aid.getDiagnosticAidId())) {
-                throw new IllegalArgumentException("Diagnostic aid not found in inventory");
-            }
             order.addDiagnosticAid(aid);
         }
         orderRepository.save(order);
         return order;
     }
 
-    private void validateDoctorRole(String doctorId) {
-        Id doctorIdObj = new Id(doctorId);
-        User doctor = userRepository.findByIdentificationNumber(doctorIdObj).orElseThrow(() -> new IllegalArgumentException("Doctor not found"));
-        roleBasedAccessService.checkAccess(doctor.getRole(), "order");
+    // Solo para quien llama sin token (procesos internos); la petición HTTP ya trae al médico resuelto
+    private AuthenticatedUser findDoctor(String doctorId) {
+        Id id = new Id(doctorId);
+        User doctor = userRepository.findByIdentificationNumber(id).orElseThrow(() -> new IllegalArgumentException("Doctor not found"));
+        return new AuthenticatedUser(id, doctor.getRole());
+    }
+
+    private void validateDoctorRole(AuthenticatedUser doctor) {
+        roleBasedAccessService.checkAccess(doctor.getRole(), Resource.ORDER, Operation.WRITE);
     }
 
     private void validateDiagnosticResultsAvailable(String patientId) {
@@ -144,27 +159,50 @@ public class OrderService {
         // This is a simplified check - in practice, you'd check for actual results
         // For now, we assume that if there are diagnostic aid orders, they have results
         // In a real implementation, you'd check the medical record for completed diagnostic results
-        List<Order> patientOrders = orderRepository.findByPatientIdentificationNumber(patientId);
+        // Una consulta de existencia: no se cargan las órdenes del paciente ni sus ítems
+        if (!orderRepository.existsDiagnosticAidOnlyOrderByPatient(patientId)) {
+            throw new IllegalArgumentException("Cannot prescribe medication or procedures without diagnostic aid results");
+        }
+    }
 
-        boolean hasDiagnosticAids = patientOrders.stream()
-            .anyMatch(order -> order.isDiagnosticAidOnly());
+    // Comprueba todas las líneas de un tipo con una sola consulta, sea cual sea su número
+    private void validateMedicationsExist(List<MedicationOrder> medications) {
+        Set<Id> ids = new HashSet<>();
+        for (MedicationOrder med : medications) {
+            ids.add(med.getMedicationId());
+        }
+        if (!ids.isEmpty() && !inventoryRepository.findExistingMedicationIds(ids).containsAll(ids)) {
+            throw new IllegalArgumentException("Medication not found in inventory");
+        }
+    }
 
-        if (!hasDiagnosticAids) {
-            throw new IllegalArgumentException("Cannot prescribe medication or procedures without diagnostic aid results");
+    private void validateProceduresExist(List<ProcedureOrder> procedures) {
+        Set<Id> ids = new HashSet<>();
+        for (ProcedureOrder proc : procedures) {
+            ids.add(proc.getProcedureId());
+        }
+        if (!ids.isEmpty() && !inventoryRepository.findExistingProcedureIds(ids).containsAll(ids)) {
+            throw new IllegalArgumentException("Procedure not found in inventory");
         }
     }
 
+    private void validateDiagnosticAidsExist(List<DiagnosticAidOrder> diagnosticAids) {
+        Set<Id> ids = new HashSet<>();
+        for (DiagnosticAidOrder aid : diagnosticAids) {
+            ids.add(aid.getDiagnosticAidId());
+        }
+        if (!ids.isEmpty() && !inventoryRepository.findExistingDiagnosticAidIds(ids).containsAll(ids)) {
+            throw new IllegalArgumentException("Diagnostic aid not found in inventory");
+        }
+    }
+
+    // Siguiente valor de la secuencia de órdenes: único aunque se creen órdenes a la vez
     private OrderNumber generateUniqueOrderNumber() {
-        int attempt = 1;
-        while (attempt <= 999999) {
-            String orderNumberStr = String.format("%06d", attempt);
-            OrderNumber orderNumber = new OrderNumber(orderNumberStr);
-            if (!orderRepository.existsByOrderNumber(orderNumber)) {
-                return orderNumber;
-            }
-            attempt++;
-        }
-        throw new RuntimeException("No se pudo generar un número de orden único.");
+        long next = orderRepository.nextOrderNumber();
+        if (next > 999999) {
+            throw new RuntimeException("No se pudo generar un número de orden único.");
+        }
+        return new OrderNumber(String.format("%06d", next));
     }
 
     public List<Order> findOrdersByPatientId(String patientId) {
@@ -0,0 +1,18 @@
+package app.clinic.domain.service;
+
+/**
+ * Hash de contraseñas. Las implementaciones pueden rechazar el trabajo cuando están saturadas
+ * (PasswordHashingUnavailableException) en lugar de hacer esperar indefinidamente al llamador.
+ */
+public interface PasswordHasher {
+    String hash(String plainPassword);
+
+    /**
+     * Compara la contraseña con el hash guardado. Si coincide y el hash guardado es de un formato o
+     * coste anterior, upgradedHash trae el hash nuevo que debe reemplazarlo.
+     */
+    Verification verify(String plainPassword, String storedHash);
+
+    record Verification(boolean matches, String upgradedHash) {
+    }
+}
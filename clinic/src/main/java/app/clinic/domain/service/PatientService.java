@@ -1,6 +1,7 @@
 package app.clinic.domain.service;
 
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 
 import app.clinic.domain.model.entities.Insurance;
 import app.clinic.domain.model.entities.Patient;
@@ -22,22 +23,41 @@ public class PatientService {
         this.roleBasedAccessService = roleBasedAccessService;
     }
 
+    /**
+     * Valores ya interpretados por validate(): registerPatient los reutiliza en lugar de volver a
+     * parsear fechas, el género o los teléfonos al construir el paciente.
+     */
+    private record ValidatedPatientData(Id id, LocalDate birthDate, Gender gender, Phone phone, Phone emergencyPhone, LocalDate validityDate) {}
+
     public Patient registerPatient(String identificationNumber, String fullName, String dateOfBirth, String gender, String address, String phone, String email, String emergencyName, String emergencyRelation, String emergencyPhone, String companyName, String policyNumber, boolean insuranceActive, String validityDate) {
         // Validar todos los datos del paciente
-        validatePatientData(identificationNumber, fullName, dateOfBirth, gender, address, phone, email, emergencyName, emergencyRelation, emergencyPhone, companyName, policyNumber, insuranceActive, validityDate);
+        ValidatedPatientData data = validate(identificationNumber, fullName, dateOfBirth, gender, address, phone, email, emergencyName, emergencyRelation, emergencyPhone, companyName, policyNumber, validityDate, true);
 
-        EmergencyContact emergencyContact = new EmergencyContact(emergencyName, emergencyRelation, new Phone(emergencyPhone));
-        Insurance insurance = new Insurance(companyName, policyNumber, insuranceActive, java.time.LocalDate.parse(validityDate, java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-        Patient patient = new Patient(new Id(identificationNumber), fullName, new DateOfBirth(dateOfBirth), Gender.valueOf(gender.toUpperCase()), new Address(address), new Phone(phone), new Email(email), emergencyContact, insurance);
+        Patient patient = toPatient(data, fullName, address, email, emergencyName, emergencyRelation, companyName, policyNumber, insuranceActive);
         patientRepository.save(patient);
         return patient;
     }
 
+    /**
+     * Mismas validaciones que registerPatient salvo la cédula única, sin consultar ni guardar nada.
+     * Para la importación masiva, que comprueba las cédulas existentes con una consulta por lote.
+     */
+    public Patient buildPatient(String identificationNumber, String fullName, String dateOfBirth, String gender, String address, String phone, String email, String emergencyName, String emergencyRelation, String emergencyPhone, String companyName, String policyNumber, boolean insuranceActive, String validityDate) {
+        ValidatedPatientData data = validate(identificationNumber, fullName, dateOfBirth, gender, address, phone, email, emergencyName, emergencyRelation, emergencyPhone, companyName, policyNumber, validityDate, false);
+        return toPatient(data, fullName, address, email, emergencyName, emergencyRelation, companyName, policyNumber, insuranceActive);
+    }
+
+    private static Patient toPatient(ValidatedPatientData data, String fullName, String address, String email, String emergencyName, String emergencyRelation, String companyName, String policyNumber, boolean insuranceActive) {
+        EmergencyContact emergencyContact = new EmergencyContact(emergencyName, emergencyRelation, data.emergencyPhone());
+        Insurance insurance = new Insurance(companyName, policyNumber, insuranceActive, data.validityDate());
+        return new Patient(data.id(), fullName, new DateOfBirth(data.birthDate()), data.gender(), new Address(address), data.phone(), new Email(email), emergencyContact, insurance);
+    }
+
     public void updatePatient(String identificationNumber, String fullName, String dateOfBirth, String gender, String address, String phone, String email, String emergencyName, String emergencyRelation, String emergencyPhone, String companyName, String policyNumber, boolean insuranceActive, String validityDate) {
         Id id = new Id(identificationNumber);
         patientRepository.findByIdentificationNumber(id).orElseThrow(() -> new IllegalArgumentException("Patient not found"));
         EmergencyContact emergencyContact = new EmergencyContact(emergencyName, emergencyRelation, new Phone(emergencyPhone));
-        Insurance insurance = new Insurance(companyName, policyNumber, insuranceActive, java.time.LocalDate.parse(validityDate, DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        Insurance insurance = new Insurance(companyName, policyNumber, insuranceActive, DateOfBirth.parse(validityDate));
         Patient updatedPatient = new Patient(id, fullName, new DateOfBirth(dateOfBirth), Gender.valueOf(gender.toUpperCase()), new Address(address), new Phone(phone), new Email(email), emergencyContact, insurance);
         patientRepository.save(updatedPatient);
     }
@@ -75,11 +95,20 @@ public class PatientService {
                                    String address, String phone, String email, String emergencyName, String emergencyRelation,
                                    String emergencyPhone, String companyName, String policyNumber, boolean insuranceActive,
                                    String validityDate) {
+        validate(identificationNumber, fullName, dateOfBirth, gender, address, phone, email, emergencyName, emergencyRelation,
+            emergencyPhone, companyName, policyNumber, validityDate, true);
+    }
+
+    private ValidatedPatientData validate(String identificationNumber, String fullName, String dateOfBirth, String gender,
+                                          String address, String phone, String email, String emergencyName, String emergencyRelation,
+                                          String emergencyPhone, String companyName, String policyNumber, String validityDate,
+                                          boolean checkUnique) {
         // Validar cédula única
         if (identificationNumber == null || identificationNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Identification number is required");
         }
-        if (patientRepository.existsByIdentificationNumber(new Id(identificationNumber))) {
+        Id id = new Id(identificationNumber);
+        if (checkUnique && patientRepository.existsByIdentificationNumber(id)) {
             throw new IllegalArgumentException("Identification number already exists: " + identificationNumber);
         }
 
@@ -92,22 +121,23 @@ public class PatientService {
         if (dateOfBirth == null || dateOfBirth.trim().isEmpty()) {
             throw new IllegalArgumentException("Date of birth is required");
         }
+        LocalDate birthDate;
         try {
-            java.time.LocalDate birthDate = java.time.LocalDate.parse(dateOfBirth, java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-            java.time.LocalDate minDate = java.time.LocalDate.now().minusYears(150);
-            if (birthDate.isBefore(minDate)) {
-                throw new IllegalArgumentException("Date of birth cannot be more than 150 years ago");
-            }
-        } catch (java.time.format.DateTimeParseException e) {
+            birthDate = DateOfBirth.parse(dateOfBirth);
+        } catch (DateTimeParseException e) {
             throw new IllegalArgumentException("Invalid date format. Use DD/MM/YYYY");
         }
+        if (birthDate.isBefore(LocalDate.now().minusYears(150))) {
+            throw new IllegalArgumentException("Date of birth cannot be more than 150 years ago");
+        }
 
         // Validar género
         if (gender == null || gender.trim().isEmpty()) {
             throw new IllegalArgumentException("Gender is required");
         }
+        Gender parsedGender;
         try {
-            Gender.valueOf(gender.toUpperCase());
+            parsedGender = Gender.valueOf(gender.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid gender. Must be MASCULINO, FEMENINO, or OTRO");
         }
@@ -121,13 +151,13 @@ public class PatientService {
         if (phone == null || phone.trim().isEmpty()) {
             throw new IllegalArgumentException("Phone is required");
         }
-        if (!phone.matches("\\d{10}")) {
+        if (!isTenDigits(phone)) {
             throw new IllegalArgumentException("Phone must contain exactly 10 digits");
         }
 
         // Validar email (opcional)
         if (email != null && !email.trim().isEmpty()) {
-            if (!email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
+            if (!Email.isWellFormed(email)) {
                 throw new IllegalArgumentException("Invalid email format");
             }
         }
@@ -142,7 +172,7 @@ public class PatientService {
         if (emergencyPhone == null || emergencyPhone.trim().isEmpty()) {
             throw new IllegalArgumentException("Emergency contact phone is required");
         }
-        if (!emergencyPhone.matches("\\d{10}")) {
+        if (!isTenDigits(emergencyPhone)) {
             throw new IllegalArgumentException("Emergency contact phone must contain exactly 10 digits");
         }
 
@@ -156,11 +186,28 @@ public class PatientService {
         if (validityDate == null || validityDate.trim().isEmpty()) {
             throw new IllegalArgumentException("Policy validity date is required");
         }
+        LocalDate parsedValidityDate;
         try {
-            java.time.LocalDate.parse(validityDate, java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-        } catch (java.time.format.DateTimeParseException e) {
+            parsedValidityDate = DateOfBirth.parse(validityDate);
+        } catch (DateTimeParseException e) {
             throw new IllegalArgumentException("Invalid policy validity date format. Use DD/MM/YYYY");
         }
+
+        // 10 dígitos exactos es más estricto que Phone, así que no hace falta volver a validarlos
+        return new ValidatedPatientData(id, birthDate, parsedGender, Phone.ofTrusted(phone), Phone.ofTrusted(emergencyPhone), parsedValidityDate);
+    }
+
+    private static boolean isTenDigits(String value) {
+        if (value.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     public java.util.List<Patient> getAllPatients() {
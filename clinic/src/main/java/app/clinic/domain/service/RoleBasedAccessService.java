@@ -8,6 +8,14 @@ import java.util.Set;
 import app.clinic.domain.model.DomainException;
 import app.clinic.domain.model.valueobject.Role;
 
+/**
+ * Permisos por rol, recurso y operación.
+ *
+ * La tabla de permisos se declara como conjuntos de recursos por rol y operación, y el constructor la
+ * compila a una máscara de bits (un long) por cada par rol-operación: decidir un acceso es leer una
+ * posición de un arreglo y probar un bit, sin convertir texto ni recorrer colecciones. Los mensajes de
+ * error solo se construyen cuando se deniega el acceso.
+ */
 public class RoleBasedAccessService {
 
     // Enum para recursos para mejor mantenibilidad y evitar errores de tipeo
@@ -27,56 +35,98 @@ public class RoleBasedAccessService {
         PROCEDURE_ADMINISTRATION,
         MEDICAL_RECORD,
         FULL_MEDICAL_RECORD,
-        ORDER
+        ORDER,
+        SUPPORT_TICKET
     }
 
-    // Mapa de permisos por rol para mejor rendimiento y mantenibilidad
-    private final Map<Role, Set<Resource>> rolePermissions;
+    public enum Operation {
+        READ,
+        WRITE
+    }
+
+    private static final Role[] ROLES = Role.values();
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    static {
+        // Cada recurso es un bit de un long
+        if (Resource.values().length > Long.SIZE) {
+            throw new IllegalStateException("Too many resources for the permission matrix");
+        }
+    }
+
+    // permissions[rol * operaciones + operación]: bit i encendido si el rol puede hacer la operación sobre el recurso i
+    private final long[] permissions = new long[ROLES.length * OPERATIONS.length];
 
     public RoleBasedAccessService() {
-        rolePermissions = new EnumMap<>(Role.class);
+        Map<Role, Set<Resource>> readWrite = new EnumMap<>(Role.class);
+        Map<Role, Set<Resource>> readOnly = new EnumMap<>(Role.class);
 
         // Recursos Humanos: solo usuarios (NO pacientes, medicamentos, procedimientos)
-        rolePermissions.put(Role.RECURSOS_HUMANOS, EnumSet.of(Resource.USER));
+        readWrite.put(Role.RECURSOS_HUMANOS, EnumSet.of(Resource.USER));
 
-        // Personal Administrativo: pacientes, citas, facturación, seguros, usuarios
-        rolePermissions.put(Role.PERSONAL_ADMINISTRATIVO, EnumSet.of(
+        // Personal Administrativo: pacientes, citas, facturación, seguros, usuarios y asignación de tickets
+        readWrite.put(Role.PERSONAL_ADMINISTRATIVO, EnumSet.of(
             Resource.PATIENT, Resource.APPOINTMENT, Resource.BILLING,
-            Resource.INSURANCE, Resource.USER
+            Resource.INSURANCE, Resource.USER, Resource.SUPPORT_TICKET
         ));
 
-        // Soporte de Información: inventarios y datos técnicos (NO pacientes)
-        rolePermissions.put(Role.SOPORTE_DE_INFORMACION, EnumSet.of(
+        // Soporte de Información: inventarios, datos técnicos y tickets de soporte (NO pacientes)
+        readWrite.put(Role.SOPORTE_DE_INFORMACION, EnumSet.of(
             Resource.INVENTORY, Resource.MEDICATION, Resource.PROCEDURE,
-            Resource.DIAGNOSTIC_AID, Resource.DATA_INTEGRITY
+            Resource.DIAGNOSTIC_AID, Resource.DATA_INTEGRITY, Resource.SUPPORT_TICKET
         ));
 
-        // Enfermeras: acceso limitado a pacientes y registros médicos
-        rolePermissions.put(Role.ENFERMERA, EnumSet.of(
+        // Enfermeras: acceso limitado a pacientes y registros médicos; las órdenes solo las consultan
+        readWrite.put(Role.ENFERMERA, EnumSet.of(
             Resource.PATIENT, Resource.VITAL_SIGNS, Resource.MEDICATION_ADMINISTRATION,
-            Resource.PROCEDURE_ADMINISTRATION, Resource.MEDICAL_RECORD, Resource.ORDER
+            Resource.PROCEDURE_ADMINISTRATION, Resource.MEDICAL_RECORD
         ));
+        readOnly.put(Role.ENFERMERA, EnumSet.of(Resource.ORDER));
 
         // Médicos: acceso completo
-        rolePermissions.put(Role.MEDICO, EnumSet.allOf(Resource.class));
+        readWrite.put(Role.MEDICO, EnumSet.allOf(Resource.class));
+
+        readWrite.forEach((role, resources) -> {
+            grant(role, Operation.READ, resources);
+            grant(role, Operation.WRITE, resources);
+        });
+        readOnly.forEach((role, resources) -> grant(role, Operation.READ, resources));
     }
 
-    public void checkAccess(Role userRole, String resource) {
-        validateParameters(userRole, resource);
+    private void grant(Role role, Operation operation, Set<Resource> resources) {
+        for (Resource resource : resources) {
+            permissions[index(role, operation)] |= 1L << resource.ordinal();
+        }
+    }
 
-        Resource resourceEnum = parseResource(resource);
-        Set<Resource> allowedResources = rolePermissions.get(userRole);
+    private static int index(Role role, Operation operation) {
+        return role.ordinal() * OPERATIONS.length + operation.ordinal();
+    }
 
-        if (allowedResources == null || !allowedResources.contains(resourceEnum)) {
+    public boolean isAllowed(Role userRole, Resource resource, Operation operation) {
+        return (permissions[index(userRole, operation)] & (1L << resource.ordinal())) != 0;
+    }
+
+    public void checkAccess(Role userRole, Resource resource, Operation operation) {
+        if (userRole == null) {
+            throw new DomainException("User role cannot be null");
+        }
+        if (resource == null || operation == null) {
+            throw new DomainException("Resource cannot be null or empty");
+        }
+        if (!isAllowed(userRole, resource, operation)) {
             throw new DomainException(
                 String.format("Acceso denegado para el rol %s al recurso %s", userRole, resource)
             );
         }
+    }
 
-        // Validaciones adicionales específicas
-        if (resourceEnum == Resource.PATIENT && (userRole == Role.RECURSOS_HUMANOS || userRole == Role.SOPORTE_DE_INFORMACION)) {
-            throw new DomainException("Recursos Humanos y Soporte de Información no pueden acceder a datos de pacientes");
-        }
+    /**
+     * Variante para nombres de recurso que llegan como texto; el código de la aplicación usa el enum.
+     */
+    public void checkAccess(Role userRole, String resource) {
+        validateParameters(userRole, resource);
+        checkAccess(userRole, parseResource(resource), Operation.READ);
     }
 
     private void validateParameters(Role userRole, String resource) {
@@ -121,29 +171,18 @@ public class RoleBasedAccessService {
             throw new DomainException("User role cannot be null");
         }
 
-        // Restricción crítica: RRHH y Soporte no pueden acceder a datos de pacientes
-        if (userRole == Role.SOPORTE_DE_INFORMACION || userRole == Role.RECURSOS_HUMANOS) {
+        // Restricción crítica: RRHH y Soporte no tienen el recurso PATIENT
+        if (!isAllowed(userRole, Resource.PATIENT, Operation.READ)) {
             throw new DomainException(
                 String.format("%s no puede acceder a información de pacientes", userRole)
             );
         }
 
-        // Restricción adicional: Solo médicos pueden acceder a registros médicos completos
-        if (isFullRecord && userRole != Role.MEDICO) {
+        // Restricción adicional: solo médicos tienen el registro médico completo
+        if (isFullRecord && !isAllowed(userRole, Resource.FULL_MEDICAL_RECORD, Operation.READ)) {
             throw new DomainException(
                 String.format("%s no puede acceder a registros médicos completos", userRole)
             );
         }
-
-        if (isFullRecord) {
-            if (userRole == Role.PERSONAL_ADMINISTRATIVO || userRole == Role.ENFERMERA) {
-                throw new DomainException(
-                    String.format("%s no puede acceder a registros médicos completos", userRole)
-                );
-            }
-        } else {
-            // Para acceso no completo, verificar permisos generales
-            checkAccess(userRole, "patient");
-        }
     }
-}
\ No newline at end of file
+}
@@ -5,22 +5,36 @@ import java.util.List;
 import java.util.Optional;
 
 import app.clinic.domain.model.entities.SupportTicket;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.model.valueobject.SupportTicketId;
+import app.clinic.domain.model.valueobject.SupportTicketPriority;
+import app.clinic.domain.model.valueobject.SupportTicketStatus;
+import app.clinic.domain.repository.SupportTicketQueue;
 import app.clinic.domain.repository.SupportTicketRepository;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 public class TechnicalSupportService {
     private final SupportTicketRepository supportTicketRepository;
     private final RoleBasedAccessService roleBasedAccessService;
+    private final SupportTicketQueue supportTicketQueue;
 
-    public TechnicalSupportService(SupportTicketRepository supportTicketRepository, RoleBasedAccessService roleBasedAccessService) {
+    public TechnicalSupportService(SupportTicketRepository supportTicketRepository, RoleBasedAccessService roleBasedAccessService,
+                                   SupportTicketQueue supportTicketQueue) {
         this.supportTicketRepository = supportTicketRepository;
         this.roleBasedAccessService = roleBasedAccessService;
+        this.supportTicketQueue = supportTicketQueue;
     }
 
     public SupportTicket createSupportTicket(String userId, String issueDescription) {
+        return createSupportTicket(userId, issueDescription, SupportTicketPriority.NORMAL, SupportTicket.DEFAULT_TEAM);
+    }
+
+    public SupportTicket createSupportTicket(String userId, String issueDescription, SupportTicketPriority priority, String team) {
         SupportTicketId id = generateSupportTicketId();
-        SupportTicket supportTicket = new SupportTicket(id, userId, issueDescription, LocalDateTime.now());
+        SupportTicket supportTicket = new SupportTicket(id, userId, issueDescription, LocalDateTime.now(), priority, team);
         supportTicketRepository.save(supportTicket);
+        supportTicketQueue.enqueue(supportTicket);
         return supportTicket;
     }
 
@@ -36,15 +50,36 @@ public class TechnicalSupportService {
         return supportTicketRepository.findAll();
     }
 
+    public List<SupportTicket> getSupportTicketsByStatus(SupportTicketStatus status) {
+        return supportTicketRepository.findByStatus(status);
+    }
+
+    public List<SupportTicket> getAssignedSupportTickets(String assignedTo) {
+        return supportTicketRepository.findByAssignedToAndStatus(assignedTo, SupportTicketStatus.IN_PROGRESS);
+    }
+
+    /**
+     * Asigna al agente el siguiente ticket pendiente, empezando por la cola de su equipo.
+     */
+    public Optional<SupportTicket> takeNextSupportTicket(AuthenticatedUser agent, String team) {
+        // Tomar un ticket es asignárselo: mismo permiso que la asignación manual
+        roleBasedAccessService.checkAccess(agent.getRole(), Resource.SUPPORT_TICKET, Operation.WRITE);
+
+        String agentTeam = team != null && !team.isBlank() ? team.trim().toLowerCase() : SupportTicket.DEFAULT_TEAM;
+        return supportTicketQueue.dispatchNext(agent.getIdentificationNumber().getValue(), agentTeam)
+            .flatMap(supportTicketRepository::findById);
+    }
+
     public void assignSupportTicket(SupportTicketId id, String assignedTo, app.clinic.domain.model.valueobject.Role currentUserRole) {
         // Validar que solo administradores pueden asignar tickets
-        roleBasedAccessService.checkAccess(currentUserRole, "support_ticket");
+        roleBasedAccessService.checkAccess(currentUserRole, Resource.SUPPORT_TICKET, Operation.WRITE);
 
         Optional<SupportTicket> ticketOpt = supportTicketRepository.findById(id);
         if (ticketOpt.isPresent()) {
             SupportTicket ticket = ticketOpt.get();
             ticket.assignTo(assignedTo);
             supportTicketRepository.save(ticket);
+            supportTicketQueue.remove(id);
         }
     }
 
@@ -54,6 +89,7 @@ public class TechnicalSupportService {
             SupportTicket ticket = ticketOpt.get();
             ticket.close();
             supportTicketRepository.save(ticket);
+            supportTicketQueue.remove(id);
         }
     }
 
@@ -11,16 +11,21 @@ import app.clinic.domain.model.valueobject.Phone;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.model.valueobject.Username;
 import app.clinic.domain.repository.UserRepository;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 public class UserService {
     private final UserRepository userRepository;
     private final UserValidationService validationService;
     private final RoleBasedAccessService roleBasedAccessService;
+    private final PasswordHasher passwordHasher;
 
-    public UserService(UserRepository userRepository, UserValidationService validationService, RoleBasedAccessService roleBasedAccessService) {
+    public UserService(UserRepository userRepository, UserValidationService validationService, RoleBasedAccessService roleBasedAccessService,
+                       PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
         this.validationService = validationService;
         this.roleBasedAccessService = roleBasedAccessService;
+        this.passwordHasher = passwordHasher;
     }
 
     public User createUser(String fullName, String identificationNumber, String email, String phone, String dateOfBirth, String address, String role, String username, String password) {
@@ -35,7 +40,9 @@ public class UserService {
         }
 
         Id id = new Id(identificationNumber);
-        Credentials credentials = new Credentials(new Username(username), new Password(password));
+        // Valida el formato antes de guardar solo el hash
+        new Password(password);
+        Credentials credentials = new Credentials(new Username(username), new Password(passwordHasher.hash(password), true));
 
         // Validar unicidad de credenciales
         validationService.validateCredentialsUniqueness(credentials);
@@ -43,7 +50,7 @@ public class UserService {
         User user = new User(credentials, fullName, id, new Email(email), new Phone(phone), new DateOfBirth(dateOfBirth), new Address(address), Role.valueOf(role));
 
         // Solo RRHH puede crear usuarios
-        roleBasedAccessService.checkAccess(Role.RECURSOS_HUMANOS, "user");
+        roleBasedAccessService.checkAccess(Role.RECURSOS_HUMANOS, Resource.USER, Operation.WRITE);
 
         userRepository.save(user);
         return user;
@@ -66,6 +73,19 @@ public class UserService {
         userRepository.deleteByIdentificationNumber(id);
     }
 
+    /**
+     * Comprueba la contraseña del usuario. Si coincide y lo guardado es texto plano (usuarios de antes
+     * del hash) o un hash de coste anterior, se reemplaza por uno nuevo: la migración ocurre sola al
+     * iniciar sesión.
+     */
+    public boolean verifyPassword(User user, String plainPassword) {
+        PasswordHasher.Verification verification = passwordHasher.verify(plainPassword, user.getPassword().getValue());
+        if (verification.matches() && verification.upgradedHash() != null) {
+            userRepository.updatePasswordHash(user.getIdentificationNumber(), verification.upgradedHash());
+        }
+        return verification.matches();
+    }
+
     public User findUserById(String identificationNumber) {
         Id id = new Id(identificationNumber);
         return userRepository.findByIdentificationNumber(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -4,9 +4,12 @@ import java.time.LocalDateTime;
 
 import app.clinic.domain.model.entities.User;
 import app.clinic.domain.model.entities.VitalSigns;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 public class VitalSignsService {
     private final PatientRepository patientRepository;
@@ -34,7 +37,11 @@ public class VitalSignsService {
     }
 
     public void recordMedicationAdministration(String patientId, String nurseId, String orderNumber, int item, String administrationDetails) {
-        validateNurseRole(nurseId);
+        recordMedicationAdministration(patientId, findNurse(nurseId), orderNumber, item, administrationDetails);
+    }
+
+    public void recordMedicationAdministration(String patientId, AuthenticatedUser nurse, String orderNumber, int item, String administrationDetails) {
+        validateNurseRole(nurse);
         Id patientIdObj = new Id(patientId);
         if (!patientRepository.existsByIdentificationNumber(patientIdObj)) {
             throw new IllegalArgumentException("Patient not found");
@@ -47,7 +54,11 @@ public class VitalSignsService {
     }
 
     public void recordProcedureRealization(String patientId, String nurseId, String orderNumber, int item, String realizationDetails) {
-        validateNurseRole(nurseId);
+        recordProcedureRealization(patientId, findNurse(nurseId), orderNumber, item, realizationDetails);
+    }
+
+    public void recordProcedureRealization(String patientId, AuthenticatedUser nurse, String orderNumber, int item, String realizationDetails) {
+        validateNurseRole(nurse);
         Id patientIdObj = new Id(patientId);
         if (!patientRepository.existsByIdentificationNumber(patientIdObj)) {
             throw new IllegalArgumentException("Patient not found");
@@ -60,7 +71,11 @@ public class VitalSignsService {
     }
 
     public void recordDiagnosticAidResult(String patientId, String nurseId, String orderNumber, int item, String resultDetails) {
-        validateNurseRole(nurseId);
+        recordDiagnosticAidResult(patientId, findNurse(nurseId), orderNumber, item, resultDetails);
+    }
+
+    public void recordDiagnosticAidResult(String patientId, AuthenticatedUser nurse, String orderNumber, int item, String resultDetails) {
+        validateNurseRole(nurse);
         Id patientIdObj = new Id(patientId);
         if (!patientRepository.existsByIdentificationNumber(patientIdObj)) {
             throw new IllegalArgumentException("Patient not found");
@@ -72,9 +87,14 @@ public class VitalSignsService {
         // patientRepository.saveDiagnosticAidResult(patientId, nurseId, orderNumber, item, resultDetails, LocalDateTime.now());
     }
 
-    private void validateNurseRole(String nurseId) {
-        Id nurseIdObj = new Id(nurseId);
-        User nurse = userRepository.findByIdentificationNumber(nurseIdObj).orElseThrow(() -> new IllegalArgumentException("Nurse not found"));
-        roleBasedAccessService.checkAccess(nurse.getRole(), "medicationAdministration");
+    // Solo para quien llama sin token (procesos internos); la petición HTTP ya trae a la enfermera resuelta
+    private AuthenticatedUser findNurse(String nurseId) {
+        Id id = new Id(nurseId);
+        User nurse = userRepository.findByIdentificationNumber(id).orElseThrow(() -> new IllegalArgumentException("Nurse not found"));
+        return new AuthenticatedUser(id, nurse.getRole());
+    }
+
+    private void validateNurseRole(AuthenticatedUser nurse) {
+        roleBasedAccessService.checkAccess(nurse.getRole(), Resource.MEDICATION_ADMINISTRATION, Operation.WRITE);
     }
 }
\ No newline at end of file
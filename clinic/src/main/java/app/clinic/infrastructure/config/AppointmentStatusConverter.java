@@ -0,0 +1,23 @@
+package app.clinic.infrastructure.config;
+
+import app.clinic.domain.model.valueobject.AppointmentStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * appointments.status guarda el estado en minúsculas ('scheduled', 'completed', 'cancelled'), igual que
+ * los datos iniciales y el generador sintético.
+ */
+@Converter(autoApply = true)
+public class AppointmentStatusConverter implements AttributeConverter<AppointmentStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(AppointmentStatus status) {
+        return status == null ? null : status.name().toLowerCase();
+    }
+
+    @Override
+    public AppointmentStatus convertToEntityAttribute(String dbData) {
+        return dbData == null ? null : AppointmentStatus.valueOf(dbData.toUpperCase());
+    }
+}
@@ -0,0 +1,72 @@
+package app.clinic.infrastructure.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hilos de los trabajos en segundo plano: exportaciones, generador de datos, reconstrucción de resúmenes
+ * y comprobación de réplicas. Con spring.threads.virtual.enabled=true sobre JDK 21 (perfil
+ * virtual-threads) los pools se crean con hilos virtuales, igual que Tomcat y applicationTaskExecutor;
+ * si no, con hilos de plataforma daemon.
+ *
+ * El tamaño de cada pool se mantiene en ambos modos: sigue siendo el límite de concurrencia del trabajo
+ * contra la base de datos, no un límite de hilos.
+ */
+@Component
+public class BatchExecutors {
+    private final boolean virtualThreads;
+
+    @Autowired
+    public BatchExecutors(Environment environment) {
+        // La misma condición con la que Spring Boot pasa Tomcat y @Async a hilos virtuales
+        this(Threading.VIRTUAL.isActive(environment));
+    }
+
+    public BatchExecutors(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public static BatchExecutors platformThreads() {
+        return new BatchExecutors(false);
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Hilos llamados prefix-N; virtuales o de plataforma daemon según el modo.
+     */
+    public ThreadFactory threadFactory(String prefix) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor(prefix + "-").getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public ExecutorService newFixedThreadPool(String prefix, int threads) {
+        return Executors.newFixedThreadPool(Math.max(1, threads), threadFactory(prefix));
+    }
+
+    public ExecutorService newSingleThreadExecutor(String prefix) {
+        return Executors.newSingleThreadExecutor(threadFactory(prefix));
+    }
+
+    public ScheduledExecutorService newSingleThreadScheduledExecutor(String prefix) {
+        return Executors.newSingleThreadScheduledExecutor(threadFactory(prefix));
+    }
+}
@@ -0,0 +1,148 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Volúmenes del generador de datos sintéticos (perfil datagen).
+ * Los conteos son totales absolutos; el mismo seed produce exactamente los mismos datos.
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.datagen")
+public class DataGeneratorProperties {
+    private long seed = 42L;
+    private int users = 100; // mínimo 10 para cubrir todos los roles
+    private int patients = 10000;
+    private int appointments = 20000;
+    private int orders = 20000; // máximo 999999: el número de orden admite 6 dígitos
+    private int maxItemsPerOrder = 3;
+    private int diagnosticAidOrderPercent = 20; // el resto son órdenes de medicamentos/procedimientos
+    private int vitalSigns = 50000;
+    private int medicalRecords = 20000; // uno por orden como máximo
+    private int billings = 10000; // uno por orden como máximo
+    private int batchSize = 1000; // filas por executeBatch
+    private int chunkSize = 20000; // filas por transacción y por tarea paralela
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private String referenceDate; // yyyy-MM-dd; por defecto la fecha actual
+    private boolean exitOnCompletion = true; // cerrar la aplicación al terminar la carga
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getPatients() {
+        return patients;
+    }
+
+    public void setPatients(int patients) {
+        this.patients = patients;
+    }
+
+    public int getAppointments() {
+        return appointments;
+    }
+
+    public void setAppointments(int appointments) {
+        this.appointments = appointments;
+    }
+
+    public int getOrders() {
+        return orders;
+    }
+
+    public void setOrders(int orders) {
+        this.orders = orders;
+    }
+
+    public int getMaxItemsPerOrder() {
+        return maxItemsPerOrder;
+    }
+
+    public void setMaxItemsPerOrder(int maxItemsPerOrder) {
+        this.maxItemsPerOrder = maxItemsPerOrder;
+    }
+
+    public int getDiagnosticAidOrderPercent() {
+        return diagnosticAidOrderPercent;
+    }
+
+    public void setDiagnosticAidOrderPercent(int diagnosticAidOrderPercent) {
+        this.diagnosticAidOrderPercent = diagnosticAidOrderPercent;
+    }
+
+    public int getVitalSigns() {
+        return vitalSigns;
+    }
+
+    public void setVitalSigns(int vitalSigns) {
+        this.vitalSigns = vitalSigns;
+    }
+
+    public int getMedicalRecords() {
+        return medicalRecords;
+    }
+
+    public void setMedicalRecords(int medicalRecords) {
+        this.medicalRecords = medicalRecords;
+    }
+
+    public int getBillings() {
+        return billings;
+    }
+
+    public void setBillings(int billings) {
+        this.billings = billings;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public String getReferenceDate() {
+        return referenceDate;
+    }
+
+    public void setReferenceDate(String referenceDate) {
+        this.referenceDate = referenceDate;
+    }
+
+    public boolean isExitOnCompletion() {
+        return exitOnCompletion;
+    }
+
+    public void setExitOnCompletion(boolean exitOnCompletion) {
+        this.exitOnCompletion = exitOnCompletion;
+    }
+}
@@ -0,0 +1,101 @@
+package app.clinic.infrastructure.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import app.clinic.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Primario + réplicas de lectura. Sin clinic.datasource.routing.enabled=true no se registra nada y
+ * Spring Boot configura el datasource de siempre.
+ *
+ * Flyway solo migra el primario: las réplicas deben tener el mismo esquema. Cada pool publica sus
+ * métricas hikaricp.* con el tag pool=primary o el nombre de la réplica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "clinic.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 DataSourceRoutingProperties properties,
+                                                                 Environment environment, MeterRegistry registry,
+                                                                 BatchExecutors batchExecutors) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        primary.setMetricRegistry(registry);
+
+        LinkedHashMap<String, DataSource> replicas = new LinkedHashMap<>();
+        List<DataSourceRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = configured.get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(Math.max(250L, properties.getHealthCheckTimeout()));
+            pool.setInitializationFailTimeout(-1); // una réplica caída no impide arrancar
+            pool.setMetricRegistry(registry);
+            replicas.put(name, pool);
+        }
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas,
+            properties.getReadYourWritesWindow(), registry);
+        routing.startHealthChecks(properties.getHealthCheckInterval(),
+            (int) Math.max(1L, (properties.getHealthCheckTimeout() + 999L) / 1000L), batchExecutors);
+        return routing;
+    }
+
+    /**
+     * El proxy perezoso retrasa la elección del destino hasta la primera sentencia de la transacción.
+     * Sus valores por defecto (autocommit, aislamiento) se leen ahora del primario y no en la primera
+     * petición, donde contaría como una escritura del usuario.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+        dataSource.checkDefaultConnectionProperties();
+        return dataSource;
+    }
+
+    /**
+     * Con open-in-view el EntityManager vive toda la petición; por defecto retiene su conexión hasta
+     * el final, y una conexión de réplica obtenida en una consulta acabaría usándose para escribir.
+     * Liberándola al terminar cada transacción, cada una elige su destino.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReadOnlyRoutingAspect readOnlyRoutingAspect() {
+        return new ReadOnlyRoutingAspect();
+    }
+}
@@ -0,0 +1,102 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exportaciones masivas a archivos locales (ver ExportJobService).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.export")
+public class ExportProperties {
+    private String directory = "exports"; // relativo al directorio de trabajo si no es absoluto
+    private int threads = 2; // hilos para las particiones; los trabajos se ejecutan de a uno
+    private int maxPartitions = 16;
+    private int fetchSize = 1000; // filas por viaje al servidor en el cursor JDBC
+    private int bufferSize = 65536; // bytes acumulados antes de escribir en el FileChannel
+    private int maxRetainedJobs = 100; // trabajos terminados que se conservan en memoria (los archivos no se borran)
+    private String nightlyCron = "-"; // p. ej. "0 0 2 * * *"; "-" desactiva la exportación nocturna
+    private String nightlyFormat = "CSV";
+    private boolean nightlyCompressed = true;
+    private int nightlyPartitions = 2;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getMaxPartitions() {
+        return maxPartitions;
+    }
+
+    public void setMaxPartitions(int maxPartitions) {
+        this.maxPartitions = maxPartitions;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getMaxRetainedJobs() {
+        return maxRetainedJobs;
+    }
+
+    public void setMaxRetainedJobs(int maxRetainedJobs) {
+        this.maxRetainedJobs = maxRetainedJobs;
+    }
+
+    public String getNightlyCron() {
+        return nightlyCron;
+    }
+
+    public void setNightlyCron(String nightlyCron) {
+        this.nightlyCron = nightlyCron;
+    }
+
+    public String getNightlyFormat() {
+        return nightlyFormat;
+    }
+
+    public void setNightlyFormat(String nightlyFormat) {
+        this.nightlyFormat = nightlyFormat;
+    }
+
+    public boolean isNightlyCompressed() {
+        return nightlyCompressed;
+    }
+
+    public void setNightlyCompressed(boolean nightlyCompressed) {
+        this.nightlyCompressed = nightlyCompressed;
+    }
+
+    public int getNightlyPartitions() {
+        return nightlyPartitions;
+    }
+
+    public void setNightlyPartitions(int nightlyPartitions) {
+        this.nightlyPartitions = nightlyPartitions;
+    }
+}
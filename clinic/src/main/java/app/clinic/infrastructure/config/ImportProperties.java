@@ -0,0 +1,39 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Importaciones masivas de pacientes e inventario (ver BulkImportService).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.import")
+public class ImportProperties {
+    private String directory = "imports"; // copia del archivo subido hasta que la importación termina
+    private int chunkSize = 1000; // filas por transacción; una importación se reanuda desde el último bloque confirmado
+    private int parallelism = Runtime.getRuntime().availableProcessors(); // hilos del ForkJoinPool de validación
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
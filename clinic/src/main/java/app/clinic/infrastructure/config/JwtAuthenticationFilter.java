@@ -1,16 +1,19 @@
 package app.clinic.infrastructure.config;
 
 import java.io.IOException;
-import java.util.List;
+import java.time.Instant;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.infrastructure.persistence.revocation.RevokedSessionStore;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtParser;
@@ -28,23 +31,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final RedisTemplate<String, String> redisTemplate;
     private final JwtProperties jwtProperties;
+    private final RevokedSessionStore revokedSessions;
 
     public JwtAuthenticationFilter(RedisTemplate<String, String> redisTemplate, JwtProperties jwtProperties) {
         this.redisTemplate = redisTemplate;
         this.jwtProperties = jwtProperties;
-        String secretKey = jwtProperties.getSecretKey();
-        if (secretKey == null || secretKey.trim().isEmpty()) {
-            throw new IllegalStateException("JWT secret key must be configured");
-        }
-        if (secretKey.length() < 32) {
-            throw new IllegalStateException("JWT secret key must be at least 32 characters long");
-        }
+        this.revokedSessions = null;
+        validateSecretKey(jwtProperties);
     }
 
     // Constructor for development without Redis
     public JwtAuthenticationFilter(JwtProperties jwtProperties) {
         this.redisTemplate = null;
         this.jwtProperties = jwtProperties;
+        this.revokedSessions = null;
+        validateSecretKey(jwtProperties);
+    }
+
+    // El que usa Spring: la configuración jwt.* real y las sesiones revocadas al cerrar sesión
+    @Autowired
+    public JwtAuthenticationFilter(JwtProperties jwtProperties, RevokedSessionStore revokedSessions) {
+        this.redisTemplate = null;
+        this.jwtProperties = jwtProperties;
+        this.revokedSessions = revokedSessions;
+        validateSecretKey(jwtProperties);
+    }
+
+    // Default constructor
+    public JwtAuthenticationFilter() {
+        this.redisTemplate = null;
+        this.jwtProperties = new JwtProperties();
+        this.revokedSessions = null;
+        // Note: Validation will happen in doFilterInternal when needed
+    }
+
+    private static void validateSecretKey(JwtProperties jwtProperties) {
         String secretKey = jwtProperties.getSecretKey();
         if (secretKey == null || secretKey.trim().isEmpty()) {
             throw new IllegalStateException("JWT secret key must be configured");
@@ -54,13 +75,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
-    // Default constructor for Spring
-    public JwtAuthenticationFilter() {
-        this.redisTemplate = null;
-        this.jwtProperties = new JwtProperties();
-        // Note: Validation will happen in doFilterInternal when needed
-    }
-
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
@@ -71,29 +85,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             try {
-                JwtParser parser = Jwts.parser()
-                    .verifyWith(io.jsonwebtoken.security.Keys.hmacShaKeyFor(jwtProperties.getSecretKey().getBytes()))
-                    .build();
-                Claims claims = parser.parseSignedClaims(token).getPayload();
+                Claims claims = parseToken(token);
 
                 String username = claims.getSubject();
                 String role = claims.get("role", String.class);
                 String sessionId = claims.get("sessionId", String.class);
+                String identificationNumber = claims.get("identificationNumber", String.class);
+
+                // Sesión cerrada, o rol cambiado después de emitir el token: casi siempre se descarta con el filtro en memoria
+                if (revokedSessions != null && ((sessionId != null && revokedSessions.isRevoked(sessionId))
+                        || (identificationNumber != null && revokedSessions.isUserRevoked(identificationNumber, issuedAt(claims))))) {
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.setContentType("application/json");
+                    response.getWriter().write("{\"error\":\"Session revoked\",\"message\":\"Please login again\"}");
+                    return;
+                }
 
                 // Check if session is still valid in Redis (only if Redis is available)
                 if (username != null && role != null) {
+                    if (identificationNumber == null) {
+                        // Token anterior a la cédula en los claims: se pide iniciar sesión de nuevo
+                        throw new MalformedJwtException("Token without identification number");
+                    }
+                    // Identidad y rol quedan resueltos en la autenticación: nadie vuelve a buscar al usuario
+                    AuthenticatedUser user = new AuthenticatedUser(Id.ofTrusted(identificationNumber), Role.valueOf(role));
                     if (redisTemplate != null && sessionId != null) {
                         String storedUsername = redisTemplate.opsForValue().get("session:" + sessionId);
                         if (storedUsername != null && storedUsername.equals(username)) {
-                            // Create authentication token with proper role format
-                            UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(
-                                    username,
-                                    null,
-                                    List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                                );
-
-                            SecurityContextHolder.getContext().setAuthentication(authToken);
+                            SecurityContextHolder.getContext().setAuthentication(new RoleAuthenticationToken(username, user));
                         } else {
                             // Session expired or invalid
                             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -103,14 +122,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         }
                     } else {
                         // Redis not available (development mode), authenticate without session validation
-                        UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                username,
-                                null,
-                                List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                            );
-
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                        SecurityContextHolder.getContext().setAuthentication(new RoleAuthenticationToken(username, user));
                     }
                 }
             } catch (ExpiredJwtException e) {
@@ -128,4 +140,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Verifica la firma y la caducidad del token y devuelve sus claims; lanza las excepciones de jjwt.
+     */
+    public Claims parseToken(String token) {
+        JwtParser parser = Jwts.parser()
+            .verifyWith(io.jsonwebtoken.security.Keys.hmacShaKeyFor(jwtProperties.getSecretKey().getBytes()))
+            .build();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    // Un token sin iat se trata como el más antiguo posible
+    private static Instant issuedAt(Claims claims) {
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : Instant.EPOCH;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package app.clinic.infrastructure.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mide la latencia de cada *UseCase.execute (clinic.usecase) y de cada método de los
+ * puertos de repositorio del dominio (clinic.repository).
+ *
+ * Los tags son de baja cardinalidad: nombre de clase, método y outcome (success/error).
+ * Los Timer se resuelven una vez por clase/método y se guardan en caché para que el costo por
+ * llamada sea un lookup en un mapa más dos lecturas de reloj.
+ */
+@Aspect
+@Component
+public class LatencyMetricsAspect {
+
+    public static final String USE_CASE_METRIC = "clinic.usecase";
+    public static final String REPOSITORY_METRIC = "clinic.repository";
+
+    private record MethodKey(Class<?> type, Method method) {}
+
+    // [0] = success, [1] = error
+    private final Map<Class<?>, Timer[]> useCaseTimers = new ConcurrentHashMap<>();
+    private final Map<MethodKey, Timer[]> repositoryTimers = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public LatencyMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* app.clinic.application.usecase.*UseCase.execute(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> type = ClassUtils.getUserClass(joinPoint.getTarget());
+        Timer[] timers = useCaseTimers.computeIfAbsent(type, key -> new Timer[] {
+            useCaseTimer(key, "success"), useCaseTimer(key, "error")
+        });
+        return record(joinPoint, timers);
+    }
+
+    @Around("execution(* app.clinic.domain.repository.*Repository.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> type = ClassUtils.getUserClass(joinPoint.getTarget());
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer[] timers = repositoryTimers.computeIfAbsent(new MethodKey(type, method), key -> new Timer[] {
+            repositoryTimer(key, "success"), repositoryTimer(key, "error")
+        });
+        return record(joinPoint, timers);
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, Timer[] timers) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            timers[failed ? 1 : 0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer useCaseTimer(Class<?> type, String outcome) {
+        return Timer.builder(USE_CASE_METRIC)
+            .description("Latencia de los casos de uso de la aplicación")
+            .tag("usecase", type.getSimpleName())
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private Timer repositoryTimer(MethodKey key, String outcome) {
+        return Timer.builder(REPOSITORY_METRIC)
+            .description("Latencia de los puertos de repositorio del dominio")
+            .tag("repository", key.type().getSimpleName())
+            .tag("method", key.method().getName())
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacén del estado médico de pacientes hospitalizados (ver PatientMedicalStateStore).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.medical-state")
+public class MedicalStateProperties {
+    private String directory = "medical-state"; // relativo al directorio de trabajo si no es absoluto
+    private int segmentSize = 8 * 1024 * 1024; // bytes por segmento del log; al llenarse se abre el siguiente
+    private long snapshotInterval = 60000L; // ms entre snapshots; solo se escriben si hubo cambios
+    private boolean syncOnWrite = true; // forzar a disco cada registro antes de confirmar el cambio
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public long getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(long snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+}
@@ -0,0 +1,30 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reservas de existencias de medicamentos (ver MedicationStockStore).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.medication-stock")
+public class MedicationStockProperties {
+    private long flushInterval = 1000L; // ms entre volcados de reservas confirmadas a medication_stock
+    private int flushBatchSize = 500; // reservas volcadas por transacción
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getFlushBatchSize() {
+        return flushBatchSize;
+    }
+
+    public void setFlushBatchSize(int flushBatchSize) {
+        this.flushBatchSize = flushBatchSize;
+    }
+}
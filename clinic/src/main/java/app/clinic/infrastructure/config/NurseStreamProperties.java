@@ -0,0 +1,45 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "clinic.nurse-stream")
+public class NurseStreamProperties {
+    private int subscriberBufferSize = 256; // eventos pendientes por suscriptor antes de descartar los más antiguos
+    private int replayBufferSize = 4096; // eventos recientes disponibles para reanudar con Last-Event-ID
+    private long heartbeatInterval = 15000L; // 15 seconds in milliseconds
+    private long emitterTimeout = 1800000L; // 30 minutes in milliseconds, el cliente se reconecta con Last-Event-ID
+
+    public int getSubscriberBufferSize() {
+        return subscriberBufferSize;
+    }
+
+    public void setSubscriberBufferSize(int subscriberBufferSize) {
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    public int getReplayBufferSize() {
+        return replayBufferSize;
+    }
+
+    public void setReplayBufferSize(int replayBufferSize) {
+        this.replayBufferSize = replayBufferSize;
+    }
+
+    public long getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(long heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public long getEmitterTimeout() {
+        return emitterTimeout;
+    }
+
+    public void setEmitterTimeout(long emitterTimeout) {
+        this.emitterTimeout = emitterTimeout;
+    }
+}
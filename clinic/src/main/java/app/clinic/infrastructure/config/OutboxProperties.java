@@ -0,0 +1,39 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Proyección de órdenes a la historia clínica (ver MedicalRecordProjectionDispatcher).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.outbox")
+public class OutboxProperties {
+    private long pollInterval = 500L; // ms entre rondas del despachador cuando no quedan eventos
+    private int batchSize = 200; // eventos leídos por ronda; los de un mismo paciente se aplican en una transacción
+    private int maxAttempts = 10; // tras estos fallos el evento se deja de reintentar y queda con su last_error
+
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+}
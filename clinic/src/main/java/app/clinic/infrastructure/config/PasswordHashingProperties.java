@@ -0,0 +1,75 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hash de contraseñas con BCrypt (ver SecurityConfig.passwordEncoder y PasswordHashingService).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.password-hashing")
+public class PasswordHashingProperties {
+    private int strength = 0; // coste BCrypt (log2 de las rondas); 0 = el mayor que cumpla target-latency, medido al arrancar
+    private long targetLatency = 250L; // ms que debería tardar un hash en este equipo
+    private int minStrength = 10; // límites de la calibración
+    private int maxStrength = 14;
+    private int threads = 0; // hilos dedicados al hash; 0 = la mitad de los procesadores
+    private int queueCapacity = 64; // inicios de sesión en espera; con la cola llena se rechazan al momento
+    private long timeout = 5000L; // ms que una petición espera su turno y el hash antes de rendirse
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public void setStrength(int strength) {
+        this.strength = strength;
+    }
+
+    public long getTargetLatency() {
+        return targetLatency;
+    }
+
+    public void setTargetLatency(long targetLatency) {
+        this.targetLatency = targetLatency;
+    }
+
+    public int getMinStrength() {
+        return minStrength;
+    }
+
+    public void setMinStrength(int minStrength) {
+        this.minStrength = minStrength;
+    }
+
+    public int getMaxStrength() {
+        return maxStrength;
+    }
+
+    public void setMaxStrength(int maxStrength) {
+        this.maxStrength = maxStrength;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,48 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resumen de pacientes en patient_summaries (ver PatientSummaryRepository y PatientSummaryRebuildService).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.patient-summary")
+public class PatientSummaryProperties {
+    private int rebuildThreads = 4; // hilos que recalculan bloques en paralelo durante la reconstrucción
+    private int rebuildChunkSize = 1000; // pacientes por bloque; cada bloque se confirma en su propia transacción
+    private String rebuildCron = "-"; // p. ej. "0 30 3 * * *"; "-" desactiva la reconstrucción programada
+    private boolean rebuildOnStartup = true; // reconstruir al arrancar si hay pacientes sin resumen
+
+    public int getRebuildThreads() {
+        return rebuildThreads;
+    }
+
+    public void setRebuildThreads(int rebuildThreads) {
+        this.rebuildThreads = rebuildThreads;
+    }
+
+    public int getRebuildChunkSize() {
+        return rebuildChunkSize;
+    }
+
+    public void setRebuildChunkSize(int rebuildChunkSize) {
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    public String getRebuildCron() {
+        return rebuildCron;
+    }
+
+    public void setRebuildCron(String rebuildCron) {
+        this.rebuildCron = rebuildCron;
+    }
+
+    public boolean isRebuildOnStartup() {
+        return rebuildOnStartup;
+    }
+
+    public void setRebuildOnStartup(boolean rebuildOnStartup) {
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+}
@@ -4,6 +4,7 @@ import java.time.Duration;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
@@ -23,6 +24,7 @@ public class RateLimitConfig {
     }
 
     @Bean("authBucket")
+    @Lazy
     public Bucket createAuthBucket() {
         // Rate limiting más estricto para autenticación: 5 intentos por minuto
         Refill refill = Refill.intervally(5, Duration.ofMinutes(1));
@@ -33,6 +35,7 @@ public class RateLimitConfig {
     }
 
     @Bean("userManagementBucket")
+    @Lazy
     public Bucket createUserManagementBucket() {
         // Rate limiting para gestión de usuarios: 10 operaciones por hora
         Refill refill = Refill.intervally(10, Duration.ofHours(1));
@@ -43,6 +46,7 @@ public class RateLimitConfig {
     }
 
     @Bean("patientManagementBucket")
+    @Lazy
     public Bucket createPatientManagementBucket() {
         // Rate limiting para gestión de pacientes: 50 operaciones por hora
         Refill refill = Refill.intervally(50, Duration.ofHours(1));
@@ -53,6 +57,7 @@ public class RateLimitConfig {
     }
 
     @Bean("medicalOperationsBucket")
+    @Lazy
     public Bucket createMedicalOperationsBucket() {
         // Rate limiting para operaciones médicas: 200 operaciones por hora
         Refill refill = Refill.intervally(200, Duration.ofHours(1));
@@ -4,6 +4,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
@@ -17,23 +18,29 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class RateLimitInterceptor implements HandlerInterceptor {
 
+    // Los buckets de cada tipo de operación se crean con su primera petición, fuera del arranque
+
     @Autowired
     @Qualifier("generalBucket")
     private Bucket generalBucket;
 
     @Autowired
+    @Lazy
     @Qualifier("authBucket")
     private Bucket authBucket;
 
     @Autowired
+    @Lazy
     @Qualifier("userManagementBucket")
     private Bucket userManagementBucket;
 
     @Autowired
+    @Lazy
     @Qualifier("patientManagementBucket")
     private Bucket patientManagementBucket;
 
     @Autowired
+    @Lazy
     @Qualifier("medicalOperationsBucket")
     private Bucket medicalOperationsBucket;
 
@@ -0,0 +1,33 @@
+package app.clinic.infrastructure.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import app.clinic.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+
+/**
+ * Abre un ámbito de lectura alrededor de los casos de uso de consulta (Consult*, Get*, List*) y los
+ * *QueryService para que ReadWriteRoutingDataSource envíe a una réplica su transacción de solo
+ * lectura, que declaran ellos mismos con @Transactional(readOnly = true). Se aplica antes que la
+ * transacción. Solo se registra si clinic.datasource.routing.enabled=true (ver DataSourceRoutingConfig).
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadOnlyRoutingAspect {
+
+    @Around("execution(* app.clinic.application.usecase.Consult*UseCase.execute(..))"
+        + " || execution(* app.clinic.application.usecase.Get*UseCase.execute(..))"
+        + " || execution(* app.clinic.application.usecase.List*UseCase.execute(..))"
+        + " || execution(public * app.clinic.infrastructure.service.*QueryService.*(..))")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        ReadWriteRoutingDataSource.enterReadOnlyScope();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadWriteRoutingDataSource.exitReadOnlyScope();
+        }
+    }
+}
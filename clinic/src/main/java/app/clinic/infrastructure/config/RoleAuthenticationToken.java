@@ -0,0 +1,100 @@
+package app.clinic.infrastructure.config;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
+import app.clinic.domain.model.valueobject.Role;
+
+/**
+ * Autenticación de una petición con token. JwtAuthenticationFilter resuelve el rol una sola vez, al
+ * validar el token, y lo guarda como Role en este objeto; controladores y casos de uso lo leen con
+ * currentRole() en lugar de volver a interpretar la autoridad "ROLE_..." en cada llamada.
+ *
+ * También guarda un AuthenticatedUser con la cédula del token: los controladores lo pasan a los casos de
+ * uso con currentUser() y los servicios de dominio comprueban el rol sin buscar al usuario.
+ */
+public class RoleAuthenticationToken extends UsernamePasswordAuthenticationToken {
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    // Una lista inmutable por rol, compartida por todas las peticiones
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role.name())));
+        }
+    }
+
+    private final Role role;
+    private final AuthenticatedUser user;
+
+    public RoleAuthenticationToken(String username, AuthenticatedUser user) {
+        super(username, null, AUTHORITIES.get(user.getRole()));
+        this.role = user.getRole();
+        this.user = user;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public AuthenticatedUser getUser() {
+        return user;
+    }
+
+    /**
+     * Usuario autenticado en el hilo actual, o null si la petición no trae token.
+     */
+    public static AuthenticatedUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication instanceof RoleAuthenticationToken token ? token.getUser() : null;
+    }
+
+    /**
+     * Usuario autenticado, comprobando que el identificador que declara la petición (doctorId, adminId...)
+     * es el suyo: nadie actúa en nombre de otro.
+     */
+    public static AuthenticatedUser currentUser(String declaredId) {
+        AuthenticatedUser user = currentUser();
+        if (user == null) {
+            throw new AccessDeniedException("Authentication required");
+        }
+        if (!user.isSameUser(declaredId)) {
+            throw new IllegalArgumentException("The declared user does not match the authenticated user");
+        }
+        return user;
+    }
+
+    /**
+     * Rol del usuario autenticado en el hilo actual, o null si no hay autenticación.
+     */
+    public static Role currentRole() {
+        return roleOf(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    public static Role roleOf(Authentication authentication) {
+        if (authentication instanceof RoleAuthenticationToken token) {
+            return token.role;
+        }
+        // Autenticaciones creadas fuera del filtro (p. ej. en pruebas): se interpreta la autoridad
+        if (authentication == null) {
+            return null;
+        }
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        if (authorities == null || authorities.isEmpty()) {
+            return null;
+        }
+        String authority = authorities.iterator().next().getAuthority();
+        return Role.valueOf(authority.startsWith(ROLE_PREFIX) ? authority.substring(ROLE_PREFIX.length()) : authority);
+    }
+}
@@ -1,7 +1,10 @@
 package app.clinic.infrastructure.config;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,17 +13,23 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String BCRYPT = "bcrypt";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Value("${clinic.cors.allowed-origins:http://localhost:3000}")
@@ -40,12 +49,16 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Despachos asíncronos (SSE): la petición original ya fue autorizada
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Endpoints públicos
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
-                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
+                .requestMatchers("/actuator/prometheus").access(new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')"))
 
                 // Endpoints protegidos por roles
                 .requestMatchers("/api/users/**").hasAnyAuthority("ROLE_RECURSOS_HUMANOS", "ROLE_PERSONAL_ADMINISTRATIVO")
@@ -55,6 +68,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/medical/**").hasAuthority("ROLE_MEDICO")
                 .requestMatchers("/api/nurse/**").hasAuthority("ROLE_ENFERMERA")
                 .requestMatchers("/api/billing/**").hasAnyAuthority("ROLE_PERSONAL_ADMINISTRATIVO", "ROLE_MEDICO")
+                .requestMatchers("/api/exports/**").hasAuthority("ROLE_PERSONAL_ADMINISTRATIVO")
+                .requestMatchers("/api/imports/**").hasAnyAuthority("ROLE_PERSONAL_ADMINISTRATIVO", "ROLE_SOPORTE_DE_INFORMACION")
                 .requestMatchers("/api/support/**").hasAnyAuthority("ROLE_RECURSOS_HUMANOS", "ROLE_PERSONAL_ADMINISTRATIVO", "ROLE_MEDICO", "ROLE_ENFERMERA", "ROLE_SOPORTE_DE_INFORMACION")
 
                 // Cualquier otro endpoint requiere autenticación
@@ -89,8 +104,46 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * BCrypt con prefijo {bcrypt}. Lo guardado sin prefijo es texto plano de antes del hash: se acepta
+     * para poder iniciar sesión y upgradeEncoding pide reemplazarlo, igual que un hash de coste menor.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        int strength = properties.getStrength() > 0 ? properties.getStrength() : calibrateStrength(properties);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new PlainTextPasswordEncoder());
+        return encoder;
+    }
+
+    // Cada punto de coste dobla el tiempo: se mide el mínimo y se sube mientras quepa en target-latency
+    private static int calibrateStrength(PasswordHashingProperties properties) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(properties.getMinStrength());
+        probe.encode("calibration"); // primera llamada con carga de clases
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double millis = Math.max(0.001, (System.nanoTime() - start) / 1_000_000.0);
+        int strength = properties.getMinStrength();
+        while (strength < properties.getMaxStrength() && millis * 2 <= properties.getTargetLatency()) {
+            strength++;
+            millis *= 2;
+        }
+        System.out.println("Password hashing: BCrypt strength " + strength + " (~" + Math.round(millis) + " ms per hash, target "
+            + properties.getTargetLatency() + " ms)");
+        return strength;
+    }
+
+    private static final class PlainTextPasswordEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("Plain text passwords are only accepted to migrate them");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            // Comparación en tiempo constante, como la del hash
+            return MessageDigest.isEqual(rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                encodedPassword.getBytes(StandardCharsets.UTF_8));
+        }
     }
 }
\ No newline at end of file
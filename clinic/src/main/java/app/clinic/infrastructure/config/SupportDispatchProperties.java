@@ -0,0 +1,66 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reparto de tickets de soporte entre agentes (ver SupportTicketDispatcher). Tiempos en milisegundos.
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.support-dispatch")
+public class SupportDispatchProperties {
+    private long urgentSla = 900000L; // plazo de atención de un ticket URGENT desde su creación
+    private long highSla = 3600000L; // HIGH
+    private long normalSla = 14400000L; // NORMAL
+    private long lowSla = 86400000L; // LOW
+    private long tickInterval = 1000L; // precisión con la que se detecta un plazo vencido
+    private int wheelSize = 512; // ranuras de la rueda de plazos; una vuelta dura wheelSize * tickInterval
+
+    public long getUrgentSla() {
+        return urgentSla;
+    }
+
+    public void setUrgentSla(long urgentSla) {
+        this.urgentSla = urgentSla;
+    }
+
+    public long getHighSla() {
+        return highSla;
+    }
+
+    public void setHighSla(long highSla) {
+        this.highSla = highSla;
+    }
+
+    public long getNormalSla() {
+        return normalSla;
+    }
+
+    public void setNormalSla(long normalSla) {
+        this.normalSla = normalSla;
+    }
+
+    public long getLowSla() {
+        return lowSla;
+    }
+
+    public void setLowSla(long lowSla) {
+        this.lowSla = lowSla;
+    }
+
+    public long getTickInterval() {
+        return tickInterval;
+    }
+
+    public void setTickInterval(long tickInterval) {
+        this.tickInterval = tickInterval;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+}
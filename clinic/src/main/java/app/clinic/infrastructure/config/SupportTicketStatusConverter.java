@@ -0,0 +1,26 @@
+package app.clinic.infrastructure.config;
+
+import app.clinic.domain.model.valueobject.SupportTicketStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * support_tickets.status guarda el estado en minúsculas ('open', 'in_progress', 'closed'); 'resolved',
+ * que el dominio no distingue, se lee como cerrado.
+ */
+@Converter(autoApply = true)
+public class SupportTicketStatusConverter implements AttributeConverter<SupportTicketStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(SupportTicketStatus status) {
+        return status == null ? null : status.name().toLowerCase();
+    }
+
+    @Override
+    public SupportTicketStatus convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        return "resolved".equals(dbData) ? SupportTicketStatus.CLOSED : SupportTicketStatus.valueOf(dbData.toUpperCase());
+    }
+}
@@ -0,0 +1,48 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revocación de sesiones al cerrar sesión (ver RevokedSessionStore).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.token-revocation")
+public class TokenRevocationProperties {
+    private int generations = 4; // filtros que cubren juntos la vida del token (jwt.expiration-time)
+    private int expectedRevocations = 10000; // cierres de sesión previstos durante la vida de un token
+    private double falsePositiveRate = 0.001; // por filtro; un falso positivo solo cuesta una consulta
+    private long syncInterval = 1000L; // ms entre lecturas de las revocaciones hechas en otras instancias
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public void setGenerations(int generations) {
+        this.generations = generations;
+    }
+
+    public int getExpectedRevocations() {
+        return expectedRevocations;
+    }
+
+    public void setExpectedRevocations(int expectedRevocations) {
+        this.expectedRevocations = expectedRevocations;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+}
@@ -0,0 +1,57 @@
+package app.clinic.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calentamiento al arrancar, antes de que la instancia acepte tráfico (ver WarmupService).
+ */
+@Component
+@ConfigurationProperties(prefix = "clinic.warmup")
+public class WarmupProperties {
+    private boolean enabled = true; // false: la instancia queda lista en cuanto arranca, sin calentar
+    private int iterations = 300; // rondas de todas las llamadas, repartidas entre los hilos
+    private int threads = 4; // hilos que calientan en paralelo; cada uno ocupa una conexión del pool
+    private int patients = 20; // pacientes existentes sobre los que se hacen las consultas
+    private int samples = 20; // rondas sin concurrencia al final para medir la latencia en caliente
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getPatients() {
+        return patients;
+    }
+
+    public void setPatients(int patients) {
+        this.patients = patients;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public void setSamples(int samples) {
+        this.samples = samples;
+    }
+}
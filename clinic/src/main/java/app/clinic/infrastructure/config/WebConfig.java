@@ -1,6 +1,7 @@
 package app.clinic.infrastructure.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -13,8 +14,15 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private RateLimitInterceptor rateLimitInterceptor;
 
+    // Solo se desactiva para pruebas de carga locales (ver application-loadtest.properties)
+    @Value("${clinic.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        if (!rateLimitEnabled) {
+            return;
+        }
         registry.addInterceptor(rateLimitInterceptor)
                 .addPathPatterns("/api/**")
                 .excludePathPatterns("/api/public/**", "/h2-console/**", "/swagger-ui/**", "/api-docs/**", "/**/*.html", "/**/*.css", "/**/*.js");
@@ -3,8 +3,6 @@ package app.clinic.infrastructure.controller;
 import java.time.LocalDateTime;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,6 +14,7 @@ import app.clinic.domain.model.valueobject.AppointmentStatus;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.PatientService;
 import app.clinic.domain.service.UserService;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
 import app.clinic.infrastructure.dto.AppointmentDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -43,15 +42,7 @@ public class AppointmentController {
     }
 
     private Role getCurrentUserRole() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getAuthorities() != null) {
-            String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-            if (roleString.startsWith("ROLE_")) {
-                roleString = roleString.substring(5); // Remove "ROLE_" prefix
-            }
-            return Role.valueOf(roleString);
-        }
-        return null;
+        return RoleAuthenticationToken.currentRole();
     }
 
     @PostMapping
@@ -65,7 +56,7 @@ public class AppointmentController {
     })
     public ResponseEntity<AppointmentDTO> scheduleAppointment(@Valid @RequestBody ScheduleAppointmentRequest request) {
         var appointment = scheduleAppointmentUseCase.execute(
-            request.patientId, request.adminId, request.doctorId,
+            request.patientId, RoleAuthenticationToken.currentUser(request.adminId), request.doctorId,
             LocalDateTime.parse(request.dateTime), request.reason
         );
 
@@ -3,6 +3,7 @@ package app.clinic.infrastructure.controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -57,6 +58,20 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "Cerrar sesión", description = "Revoca la sesión del token; deja de aceptarse en todas las instancias")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Sesión cerrada", content = @Content),
+        @ApiResponse(responseCode = "400", description = "Falta el token", content = @Content)
+    })
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new IllegalArgumentException("El token de autorización es obligatorio");
+        }
+        authService.logout(authorization.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+
 
     public static class LoginRequest {
         @NotBlank(message = "El nombre de usuario no puede estar vacío")
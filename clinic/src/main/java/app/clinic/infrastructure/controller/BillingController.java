@@ -10,11 +10,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import app.clinic.application.usecase.GenerateBillingFromOrderUseCase;
 import app.clinic.domain.model.entities.Billing;
 import app.clinic.domain.service.BillingService;
 import app.clinic.infrastructure.dto.BillingDTO;
+import app.clinic.infrastructure.service.BillingQueryService;
+import app.clinic.infrastructure.service.JsonStreamingResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -29,11 +32,17 @@ public class BillingController {
 
     private final GenerateBillingFromOrderUseCase generateBillingFromOrderUseCase;
     private final BillingService billingService;
+    private final BillingQueryService billingQueryService;
+    private final JsonStreamingResponses jsonStreamingResponses;
 
     public BillingController(GenerateBillingFromOrderUseCase generateBillingFromOrderUseCase,
-                           BillingService billingService) {
+                           BillingService billingService,
+                           BillingQueryService billingQueryService,
+                           JsonStreamingResponses jsonStreamingResponses) {
         this.generateBillingFromOrderUseCase = generateBillingFromOrderUseCase;
         this.billingService = billingService;
+        this.billingQueryService = billingQueryService;
+        this.jsonStreamingResponses = jsonStreamingResponses;
     }
 
     @GetMapping("/order/{orderNumber}/print")
@@ -164,14 +173,26 @@ public class BillingController {
     })
     public ResponseEntity<java.util.List<BillingDTO>> listInvoices() {
         try {
-            // This would need a use case to list all invoices
-            // For now, return an empty list
-            return ResponseEntity.ok(new java.util.ArrayList<>());
+            return ResponseEntity.ok(billingQueryService.listInvoices());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @GetMapping(path = "/invoices", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('PERSONAL_ADMINISTRATIVO')")
+    @Operation(summary = "Listar facturas en streaming (NDJSON)", description = "Una factura por línea, leídas con un cursor y escritas a medida que llegan")
+    public ResponseEntity<StreamingResponseBody> streamInvoices() {
+        return jsonStreamingResponses.ndjson(billingQueryService.streamInvoices());
+    }
+
+    @GetMapping(path = "/invoices", params = "stream=true")
+    @PreAuthorize("hasRole('PERSONAL_ADMINISTRATIVO')")
+    @Operation(summary = "Listar facturas en streaming (arreglo JSON)", description = "Arreglo JSON enviado por chunks mientras se lee el cursor")
+    public ResponseEntity<StreamingResponseBody> streamInvoicesAsArray() {
+        return jsonStreamingResponses.jsonArray(billingQueryService.streamInvoices());
+    }
+
     public static class CreateInvoiceRequest {
         public String patientId;
         public String doctorName;
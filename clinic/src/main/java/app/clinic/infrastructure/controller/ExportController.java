@@ -0,0 +1,165 @@
+package app.clinic.infrastructure.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import app.clinic.infrastructure.dto.ExportJobDTO;
+import app.clinic.infrastructure.persistence.export.ExportDataset;
+import app.clinic.infrastructure.persistence.export.ExportFormat;
+import app.clinic.infrastructure.service.ExportJob;
+import app.clinic.infrastructure.service.ExportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/exports")
+@PreAuthorize("hasRole('PERSONAL_ADMINISTRATIVO')")
+@Tag(name = "Exports", description = "Exportaciones masivas de pacientes, órdenes, facturación y signos vitales")
+public class ExportController {
+
+    // Atributos con los que Tomcat (conector NIO) envía el archivo con sendfile después de que el servlet retorna
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportJobService exportJobService;
+
+    public ExportController(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Iniciar exportación", description = "Encola la exportación de una tabla a CSV o formato columnar, opcionalmente comprimida con gzip")
+    public ResponseEntity<ExportJobDTO> startExport(@RequestBody StartExportRequest request) {
+        ExportDataset dataset = ExportDataset.valueOf(request.dataset.toUpperCase());
+        ExportFormat format = request.format == null ? ExportFormat.CSV : ExportFormat.valueOf(request.format.toUpperCase());
+        int partitions = request.partitions == null ? 1 : request.partitions;
+        ExportJob job = exportJobService.start(dataset, format, request.compressed, partitions, getCurrentUsername());
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/exports/" + job.getId()))
+            .body(toDTO(job));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ExportJobDTO>> listExports() {
+        List<ExportJobDTO> dtos = exportJobService.list().stream()
+            .map(this::toDTO)
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(dtos);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobDTO> getExport(@PathVariable String id) {
+        return exportJobService.find(id)
+            .map(job -> ResponseEntity.ok(toDTO(job)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ExportJobDTO> cancelExport(@PathVariable String id) {
+        return exportJobService.cancel(id)
+            .map(job -> ResponseEntity.ok(toDTO(job)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteExport(@PathVariable String id) {
+        return exportJobService.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Descarga del archivo terminado sin copiarlo al heap: con sendfile si el conector lo admite,
+     * si no con FileChannel.transferTo hacia el stream de la respuesta.
+     */
+    @GetMapping("/{id}/file")
+    @Operation(summary = "Descargar exportación", description = "Devuelve el archivo de una exportación completada")
+    public void downloadExport(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ExportJob job = exportJobService.find(id).orElse(null);
+        if (job == null) {
+            // Sin sendError: el reenvío a /error exige autenticación y terminaría en 403
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (job.getStatus() != ExportJob.Status.COMPLETED || !Files.isRegularFile(job.getFile())) {
+            response.setStatus(HttpStatus.CONFLICT.value());
+            return;
+        }
+
+        long size = Files.size(job.getFile());
+        response.setContentType(job.isCompressed() ? "application/gzip"
+            : job.getFormat() == ExportFormat.CSV ? "text/csv; charset=UTF-8" : "application/octet-stream");
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"");
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, job.getFile().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        try (FileChannel source = FileChannel.open(job.getFile(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    private ExportJobDTO toDTO(ExportJob job) {
+        return new ExportJobDTO(
+            job.getId(),
+            job.getDataset().name(),
+            job.getFormat().name(),
+            job.isCompressed(),
+            job.getPartitions(),
+            job.getStatus().name(),
+            job.getRequestedBy(),
+            job.getCreatedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            job.getRowsWritten(),
+            job.getTotalRows(),
+            job.getFileName(),
+            job.getFileSize(),
+            job.getError()
+        );
+    }
+
+    private String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    public static class StartExportRequest {
+        public String dataset;
+        public String format;
+        public boolean compressed;
+        public Integer partitions;
+    }
+}
@@ -0,0 +1,101 @@
+package app.clinic.infrastructure.controller;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
+import app.clinic.infrastructure.dto.ImportErrorDTO;
+import app.clinic.infrastructure.dto.ImportJobDTO;
+import app.clinic.infrastructure.persistence.bulk.ImportFile;
+import app.clinic.infrastructure.persistence.bulk.ImportKind;
+import app.clinic.infrastructure.service.BulkImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/imports")
+@Tag(name = "Imports", description = "Importación masiva de pacientes e inventario desde CSV o NDJSON")
+public class ImportController {
+    private static final String TEXT_CSV = "text/csv";
+
+    private final BulkImportService bulkImportService;
+    private final RoleBasedAccessService roleBasedAccessService;
+
+    public ImportController(BulkImportService bulkImportService, RoleBasedAccessService roleBasedAccessService) {
+        this.bulkImportService = bulkImportService;
+        this.roleBasedAccessService = roleBasedAccessService;
+    }
+
+    private Role getCurrentUserRole() {
+        return RoleAuthenticationToken.currentRole();
+    }
+
+    /**
+     * @param kind patients, medications, procedures o diagnostic-aids
+     */
+    @PostMapping(value = "/{kind}", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar archivo", description = "Valida e inserta todas las filas del archivo; las rechazadas se consultan en /api/imports/{id}/errors")
+    public ResponseEntity<ImportJobDTO> importFile(@PathVariable String kind,
+                                                   @RequestParam(required = false) String fileName,
+                                                   @RequestBody byte[] content,
+                                                   HttpServletRequest request) {
+        ImportKind importKind = parseKind(kind);
+        roleBasedAccessService.checkAccess(getCurrentUserRole(), importKind.getResource(), RoleBasedAccessService.Operation.WRITE);
+        ImportFile.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+            ? ImportFile.Format.NDJSON : ImportFile.Format.CSV;
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        ImportJobDTO job = bulkImportService.importFile(importKind, format, fileName, content,
+            authentication != null ? authentication.getName() : null);
+        return ResponseEntity.created(URI.create("/api/imports/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getImport(@PathVariable String id) {
+        return bulkImportService.findJob(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<List<ImportErrorDTO>> getImportErrors(@PathVariable String id) {
+        if (bulkImportService.findJob(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(bulkImportService.findErrors(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    @Operation(summary = "Reanudar importación", description = "Continúa una importación fallida o interrumpida desde el último bloque confirmado")
+    public ResponseEntity<ImportJobDTO> resumeImport(@PathVariable String id) {
+        bulkImportService.findJob(id)
+            .ifPresent(job -> roleBasedAccessService.checkAccess(getCurrentUserRole(), ImportKind.valueOf(job.getKind()).getResource(),
+                RoleBasedAccessService.Operation.WRITE));
+        return bulkImportService.resume(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ImportKind parseKind(String kind) {
+        try {
+            return ImportKind.valueOf(kind.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown import type: " + kind);
+        }
+    }
+}
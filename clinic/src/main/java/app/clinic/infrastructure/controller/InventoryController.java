@@ -1,12 +1,9 @@
 package app.clinic.infrastructure.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,72 +16,59 @@ import org.springframework.web.bind.annotation.RestController;
 import app.clinic.application.usecase.AddDiagnosticAidUseCase;
 import app.clinic.application.usecase.AddMedicationUseCase;
 import app.clinic.application.usecase.AddProcedureUseCase;
-import app.clinic.application.usecase.ListDiagnosticAidsUseCase;
-import app.clinic.application.usecase.ListMedicationsUseCase;
-import app.clinic.application.usecase.ListProceduresUseCase;
+import app.clinic.application.usecase.GetMedicationStockUseCase;
+import app.clinic.application.usecase.RestockMedicationUseCase;
 import app.clinic.application.usecase.UpdateDiagnosticAidUseCase;
 import app.clinic.application.usecase.UpdateMedicationUseCase;
 import app.clinic.application.usecase.UpdateProcedureUseCase;
 import app.clinic.domain.model.valueobject.Role;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
 import app.clinic.infrastructure.dto.DiagnosticAidDTO;
 import app.clinic.infrastructure.dto.MedicationDTO;
+import app.clinic.infrastructure.dto.MedicationStockDTO;
 import app.clinic.infrastructure.dto.ProcedureDTO;
+import app.clinic.infrastructure.service.InventoryQueryService;
 
 @RestController
 @RequestMapping("/api/inventory")
 public class InventoryController {
     private final AddMedicationUseCase addMedicationUseCase;
     private final UpdateMedicationUseCase updateMedicationUseCase;
-    private final ListMedicationsUseCase listMedicationsUseCase;
     private final AddProcedureUseCase addProcedureUseCase;
     private final UpdateProcedureUseCase updateProcedureUseCase;
-    private final ListProceduresUseCase listProceduresUseCase;
     private final AddDiagnosticAidUseCase addDiagnosticAidUseCase;
     private final UpdateDiagnosticAidUseCase updateDiagnosticAidUseCase;
-    private final ListDiagnosticAidsUseCase listDiagnosticAidsUseCase;
+    private final InventoryQueryService inventoryQueryService;
+    private final RestockMedicationUseCase restockMedicationUseCase;
+    private final GetMedicationStockUseCase getMedicationStockUseCase;
 
     public InventoryController(AddMedicationUseCase addMedicationUseCase,
                              UpdateMedicationUseCase updateMedicationUseCase,
-                             ListMedicationsUseCase listMedicationsUseCase,
                              AddProcedureUseCase addProcedureUseCase,
                              UpdateProcedureUseCase updateProcedureUseCase,
-                             ListProceduresUseCase listProceduresUseCase,
                              AddDiagnosticAidUseCase addDiagnosticAidUseCase,
                              UpdateDiagnosticAidUseCase updateDiagnosticAidUseCase,
-                             ListDiagnosticAidsUseCase listDiagnosticAidsUseCase) {
+                             InventoryQueryService inventoryQueryService,
+                             RestockMedicationUseCase restockMedicationUseCase,
+                             GetMedicationStockUseCase getMedicationStockUseCase) {
         this.addMedicationUseCase = addMedicationUseCase;
         this.updateMedicationUseCase = updateMedicationUseCase;
-        this.listMedicationsUseCase = listMedicationsUseCase;
         this.addProcedureUseCase = addProcedureUseCase;
         this.updateProcedureUseCase = updateProcedureUseCase;
-        this.listProceduresUseCase = listProceduresUseCase;
         this.addDiagnosticAidUseCase = addDiagnosticAidUseCase;
         this.updateDiagnosticAidUseCase = updateDiagnosticAidUseCase;
-        this.listDiagnosticAidsUseCase = listDiagnosticAidsUseCase;
+        this.inventoryQueryService = inventoryQueryService;
+        this.restockMedicationUseCase = restockMedicationUseCase;
+        this.getMedicationStockUseCase = getMedicationStockUseCase;
     }
 
     // Medications
     @GetMapping("/medications")
     @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
     public ResponseEntity<List<MedicationDTO>> listMedications() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-        if (roleString.startsWith("ROLE_")) {
-            roleString = roleString.substring(5);
-        }
-        Role userRole = Role.valueOf(roleString);
-
-        var medications = listMedicationsUseCase.execute(userRole);
-
-        var medicationDTOs = medications.stream().map(medication -> new MedicationDTO(
-            medication.getId().getValue(),
-            medication.getName(),
-            medication.getCost(),
-            medication.isRequiresSpecialist(),
-            medication.getSpecialistType().getValue()
-        )).collect(Collectors.toList());
+        Role userRole = RoleAuthenticationToken.currentRole();
 
-        return ResponseEntity.ok(medicationDTOs);
+        return ResponseEntity.ok(inventoryQueryService.listMedications(userRole));
     }
 
     @PostMapping("/medications")
@@ -147,28 +131,31 @@ public class InventoryController {
         return ResponseEntity.ok(dto);
     }
 
+    // Unidades disponibles: existencias menos lo reservado por órdenes sin facturar o cancelar
+    @GetMapping("/medications/{id}/stock")
+    public ResponseEntity<MedicationStockDTO> getMedicationStock(@PathVariable String id) {
+        return getMedicationStockUseCase.execute(id)
+            .map(available -> ResponseEntity.ok(new MedicationStockDTO(id, available)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/medications/{id}/stock")
+    public ResponseEntity<MedicationStockDTO> restockMedication(@PathVariable String id, @RequestBody RestockRequest request) {
+        if (request.units <= 0) {
+            throw new IllegalArgumentException("Units must be positive");
+        }
+        restockMedicationUseCase.execute(id, request.units);
+        // Tras confirmar la reposición, ya reflejada en las existencias en memoria
+        return ResponseEntity.ok(new MedicationStockDTO(id, getMedicationStockUseCase.execute(id).orElse(request.units)));
+    }
+
     // Procedures
     @GetMapping("/procedures")
     @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
     public ResponseEntity<List<ProcedureDTO>> listProcedures() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-        if (roleString.startsWith("ROLE_")) {
-            roleString = roleString.substring(5);
-        }
-        Role userRole = Role.valueOf(roleString);
+        Role userRole = RoleAuthenticationToken.currentRole();
 
-        var procedures = listProceduresUseCase.execute(userRole);
-
-        var procedureDTOs = procedures.stream().map(procedure -> new ProcedureDTO(
-            procedure.getId().getValue(),
-            procedure.getName(),
-            procedure.getCost(),
-            procedure.isRequiresSpecialist(),
-            procedure.getSpecialistType().getValue()
-        )).collect(Collectors.toList());
-
-        return ResponseEntity.ok(procedureDTOs);
+        return ResponseEntity.ok(inventoryQueryService.listProcedures(userRole));
     }
 
     @PostMapping("/procedures")
@@ -207,24 +194,9 @@ public class InventoryController {
     @GetMapping("/diagnostic-aids")
     @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
     public ResponseEntity<List<DiagnosticAidDTO>> listDiagnosticAids() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-        if (roleString.startsWith("ROLE_")) {
-            roleString = roleString.substring(5);
-        }
-        Role userRole = Role.valueOf(roleString);
+        Role userRole = RoleAuthenticationToken.currentRole();
 
-        var diagnosticAids = listDiagnosticAidsUseCase.execute(userRole);
-
-        var diagnosticAidDTOs = diagnosticAids.stream().map(diagnosticAid -> new DiagnosticAidDTO(
-            diagnosticAid.getId().getValue(),
-            diagnosticAid.getName(),
-            diagnosticAid.getCost(),
-            diagnosticAid.isRequiresSpecialist(),
-            diagnosticAid.getSpecialistType().getValue()
-        )).collect(Collectors.toList());
-
-        return ResponseEntity.ok(diagnosticAidDTOs);
+        return ResponseEntity.ok(inventoryQueryService.listDiagnosticAids(userRole));
     }
 
     @PostMapping("/diagnostic-aids")
@@ -296,6 +268,10 @@ public class InventoryController {
         public String specialistType;
     }
 
+    public static class RestockRequest {
+        public int units;
+    }
+
     public static class AddProcedureRequest {
         public String id;
         public String name;
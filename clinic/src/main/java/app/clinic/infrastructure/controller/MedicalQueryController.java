@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import app.clinic.application.usecase.GetMedicalRecordUseCase;
 import app.clinic.domain.model.entities.MedicalRecord;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
 import app.clinic.infrastructure.dto.MedicalRecordDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -50,7 +52,8 @@ public class MedicalQueryController {
 
         try {
             LocalDate filterDate = parseDate(date);
-            MedicalRecord medicalRecord = getMedicalRecordUseCase.execute(patientId);
+            Role userRole = RoleAuthenticationToken.currentRole();
+            MedicalRecord medicalRecord = getMedicalRecordUseCase.execute(userRole, patientId);
 
             if (medicalRecord == null) {
                 return ResponseEntity.notFound().build();
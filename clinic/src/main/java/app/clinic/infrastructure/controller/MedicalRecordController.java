@@ -20,6 +20,8 @@ import app.clinic.domain.model.entities.DiagnosisEntry;
 import app.clinic.domain.model.entities.DiagnosticAidEntry;
 import app.clinic.domain.model.entities.MedicationEntry;
 import app.clinic.domain.model.entities.ProcedureEntry;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
 import app.clinic.infrastructure.dto.MedicalRecordDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -47,7 +49,8 @@ public class MedicalRecordController {
     @Operation(summary = "Obtener registro médico completo", description = "Obtiene el registro médico completo de un paciente")
     @PreAuthorize("hasAnyRole('MEDICO', 'ENFERMERA')")
     public ResponseEntity<MedicalRecordDTO> getMedicalRecord(@PathVariable @NotBlank String patientId) {
-        var medicalRecord = getMedicalRecordUseCase.execute(patientId);
+        Role userRole = RoleAuthenticationToken.currentRole();
+        var medicalRecord = getMedicalRecordUseCase.execute(userRole, patientId);
 
         // Convert domain entity to DTO with proper mapping
         MedicalRecordDTO dto = new MedicalRecordDTO();
@@ -133,7 +136,8 @@ public class MedicalRecordController {
     public ResponseEntity<MedicalRecordDTO> getMedicalRecordByDate(@PathVariable @NotBlank String patientId, @PathVariable @NotBlank String date) {
         // This would need a use case to get medical record by date
         // For now, return the full record (simplified implementation)
-        var medicalRecord = getMedicalRecordUseCase.execute(patientId);
+        Role userRole = RoleAuthenticationToken.currentRole();
+        var medicalRecord = getMedicalRecordUseCase.execute(userRole, patientId);
 
         // Convert domain entity to DTO with proper mapping
         MedicalRecordDTO dto = new MedicalRecordDTO();
@@ -1,59 +1,70 @@
 package app.clinic.infrastructure.controller;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import app.clinic.application.mapper.PatientMedicalStateMapper;
 import app.clinic.application.mapper.VitalSignsMapper;
-import app.clinic.application.usecase.GetPatientUseCase;
+import app.clinic.application.usecase.GetInpatientStateUseCase;
 import app.clinic.application.usecase.GetVitalSignsUseCase;
 import app.clinic.application.usecase.RecordMedicationAdministrationUseCase;
 import app.clinic.application.usecase.RecordProcedureRealizationUseCase;
 import app.clinic.application.usecase.RecordVitalSignsUseCase;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
+import app.clinic.domain.model.valueobject.DateOfBirth;
 import app.clinic.domain.model.valueobject.Role;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
 import app.clinic.infrastructure.dto.PatientDTO;
+import app.clinic.infrastructure.dto.PatientMedicalStateDTO;
 import app.clinic.infrastructure.dto.VitalSignsDTO;
+import app.clinic.infrastructure.service.JsonStreamingResponses;
+import app.clinic.infrastructure.service.NurseStationEventBroadcaster;
+import app.clinic.infrastructure.service.PatientQueryService;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/nurse")
 public class NurseController {
-    private final GetPatientUseCase getPatientUseCase;
+    private final PatientQueryService patientQueryService;
     private final GetVitalSignsUseCase getVitalSignsUseCase;
     private final RecordVitalSignsUseCase recordVitalSignsUseCase;
     private final RecordMedicationAdministrationUseCase recordMedicationAdministrationUseCase;
     private final RecordProcedureRealizationUseCase recordProcedureRealizationUseCase;
+    private final NurseStationEventBroadcaster nurseStationEventBroadcaster;
+    private final JsonStreamingResponses jsonStreamingResponses;
+    private final GetInpatientStateUseCase getInpatientStateUseCase;
 
-    public NurseController(GetPatientUseCase getPatientUseCase,
+    public NurseController(PatientQueryService patientQueryService,
                             GetVitalSignsUseCase getVitalSignsUseCase,
                             RecordVitalSignsUseCase recordVitalSignsUseCase,
                             RecordMedicationAdministrationUseCase recordMedicationAdministrationUseCase,
-                            RecordProcedureRealizationUseCase recordProcedureRealizationUseCase) {
-        this.getPatientUseCase = getPatientUseCase;
+                            RecordProcedureRealizationUseCase recordProcedureRealizationUseCase,
+                            NurseStationEventBroadcaster nurseStationEventBroadcaster,
+                            JsonStreamingResponses jsonStreamingResponses,
+                            GetInpatientStateUseCase getInpatientStateUseCase) {
+        this.patientQueryService = patientQueryService;
         this.getVitalSignsUseCase = getVitalSignsUseCase;
         this.recordVitalSignsUseCase = recordVitalSignsUseCase;
         this.recordMedicationAdministrationUseCase = recordMedicationAdministrationUseCase;
         this.recordProcedureRealizationUseCase = recordProcedureRealizationUseCase;
+        this.nurseStationEventBroadcaster = nurseStationEventBroadcaster;
+        this.jsonStreamingResponses = jsonStreamingResponses;
+        this.getInpatientStateUseCase = getInpatientStateUseCase;
     }
 
     private Role getCurrentUserRole() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getAuthorities() != null) {
-            String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-            if (roleString.startsWith("ROLE_")) {
-                roleString = roleString.substring(5); // Remove "ROLE_" prefix
-            }
-            return Role.valueOf(roleString);
-        }
-        return null;
+        return RoleAuthenticationToken.currentRole();
     }
 
     /**
@@ -73,29 +84,30 @@ public class NurseController {
             if (currentRole == null) {
                 return ResponseEntity.status(403).build(); // Forbidden
             }
-            var patient = getPatientUseCase.execute(id, currentRole);
-            var dto = new PatientDTO(
-                patient.getIdentificationNumber().getValue(),
-                patient.getFullName(),
-                patient.getDateOfBirth().getValue().toString(),
-                patient.getGender().toString(),
-                patient.getAddress().getValue(),
-                patient.getPhone().getValue(),
-                patient.getEmail().getValue(),
-                patient.getEmergencyContact().getName(),
-                patient.getEmergencyContact().getRelation(),
-                patient.getEmergencyContact().getPhone().getValue(),
-                patient.getInsurance() != null ? patient.getInsurance().getCompanyName() : "",
-                patient.getInsurance() != null ? patient.getInsurance().getPolicyNumber() : "",
-                patient.getInsurance() != null ? patient.getInsurance().isActive() : false,
-                patient.getInsurance() != null ? patient.getInsurance().getValidityDate().toString() : ""
-            );
+            var dto = patientQueryService.findPatientById(id, currentRole);
+            // Este endpoint siempre ha devuelto la fecha de nacimiento en ISO (yyyy-MM-dd)
+            dto.setDateOfBirth(DateOfBirth.parse(dto.getDateOfBirth()).toString());
             return ResponseEntity.ok(dto);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Current diagnosis, medications, procedures and hospitalization details of an inpatient.
+     * @param id The patient identification number
+     * @return PatientMedicalStateDTO, or 404 if the patient is not hospitalized
+     */
+    @GetMapping("/inpatients/{id}")
+    @PreAuthorize("hasRole('ENFERMERA')")
+    public ResponseEntity<PatientMedicalStateDTO> getInpatientState(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(PatientMedicalStateMapper.toDTO(getInpatientStateUseCase.execute(id)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Records new vital signs for a patient.
      * @param request The vital signs data to record
@@ -135,10 +147,12 @@ public class NurseController {
             return ResponseEntity.badRequest().build();
         }
 
+        // Fuera del try: si nurseId no es el de la enfermera autenticada, es un 400 y no un error interno
+        AuthenticatedUser nurse = RoleAuthenticationToken.currentUser(request.nurseId);
         try {
             recordMedicationAdministrationUseCase.execute(
                 request.patientId,
-                request.nurseId,
+                nurse,
                 request.orderNumber,
                 request.item,
                 request.administrationDetails
@@ -161,10 +175,12 @@ public class NurseController {
             return ResponseEntity.badRequest().build();
         }
 
+        // Fuera del try: si nurseId no es el de la enfermera autenticada, es un 400 y no un error interno
+        AuthenticatedUser nurse = RoleAuthenticationToken.currentUser(request.nurseId);
         try {
             recordProcedureRealizationUseCase.execute(
                 request.patientId,
-                request.nurseId,
+                nurse,
                 request.orderNumber,
                 request.item,
                 request.realizationDetails
@@ -198,6 +214,49 @@ public class NurseController {
         }
     }
 
+    /**
+     * Streams the vital signs history of a patient, oldest first, one JSON object per line.
+     * Rows are read from a database cursor and written as they arrive instead of building the whole list.
+     * @param patientId The identification number of the patient
+     * @return NDJSON body written by JsonStreamingResponses
+     */
+    @GetMapping(path = "/vital-signs", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ENFERMERA')")
+    public ResponseEntity<StreamingResponseBody> streamVitalSigns(@RequestParam String patientId) {
+        if (patientId == null || patientId.trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return jsonStreamingResponses.ndjson(patientQueryService.streamVitalSigns(patientId));
+    }
+
+    /**
+     * Same as {@link #streamVitalSigns(String)} but as a JSON array sent in chunks.
+     * @param patientId The identification number of the patient
+     * @return JSON array body written by JsonStreamingResponses
+     */
+    @GetMapping(path = "/vital-signs", params = "stream=true")
+    @PreAuthorize("hasRole('ENFERMERA')")
+    public ResponseEntity<StreamingResponseBody> streamVitalSignsAsArray(@RequestParam String patientId) {
+        if (patientId == null || patientId.trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return jsonStreamingResponses.jsonArray(patientQueryService.streamVitalSigns(patientId));
+    }
+
+    /**
+     * Opens a server-sent event stream with new vital signs, orders and alerts.
+     * Replaces polling of the vital signs and patient endpoints from the nurse station dashboards.
+     * @param patientIds Patients to follow; all patients when omitted
+     * @param lastEventId Last event received, sent by the browser on reconnect to resume the stream
+     * @return SseEmitter that stays open until the client disconnects or the emitter times out
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ENFERMERA')")
+    public SseEmitter streamEvents(@RequestParam(required = false) java.util.List<String> patientIds,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return nurseStationEventBroadcaster.subscribe(patientIds, lastEventId);
+    }
+
     /**
      * Registers a patient visit.
      * @param request The visit data to record
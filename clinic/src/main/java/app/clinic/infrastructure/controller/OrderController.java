@@ -1,5 +1,6 @@
 package app.clinic.infrastructure.controller;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
@@ -12,10 +13,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import app.clinic.application.usecase.AddHospitalizationOrderUseCase;
+import app.clinic.application.usecase.CancelOrderUseCase;
 import app.clinic.application.usecase.CreateDiagnosticAidOrderUseCase;
 import app.clinic.application.usecase.CreateMedicationOrderUseCase;
 import app.clinic.application.usecase.CreateProcedureOrderUseCase;
+import app.clinic.domain.model.entities.MedicationOrder;
 import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
+import app.clinic.infrastructure.dto.AddMedicationsRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -31,35 +37,43 @@ public class OrderController {
     private final CreateProcedureOrderUseCase createProcedureOrderUseCase;
     private final CreateDiagnosticAidOrderUseCase createDiagnosticAidOrderUseCase;
     private final AddHospitalizationOrderUseCase addHospitalizationOrderUseCase;
+    private final CancelOrderUseCase cancelOrderUseCase;
 
     public OrderController(CreateMedicationOrderUseCase createMedicationOrderUseCase,
                           CreateProcedureOrderUseCase createProcedureOrderUseCase,
                           CreateDiagnosticAidOrderUseCase createDiagnosticAidOrderUseCase,
-                          AddHospitalizationOrderUseCase addHospitalizationOrderUseCase) {
+                          AddHospitalizationOrderUseCase addHospitalizationOrderUseCase,
+                          CancelOrderUseCase cancelOrderUseCase) {
         this.createMedicationOrderUseCase = createMedicationOrderUseCase;
         this.createProcedureOrderUseCase = createProcedureOrderUseCase;
         this.createDiagnosticAidOrderUseCase = createDiagnosticAidOrderUseCase;
         this.addHospitalizationOrderUseCase = addHospitalizationOrderUseCase;
+        this.cancelOrderUseCase = cancelOrderUseCase;
     }
 
     @PostMapping("/medications")
     @Operation(summary = "Crear orden de medicamentos", description = "Crea una nueva orden de medicamentos para un paciente")
     public ResponseEntity<Order> createMedicationOrder(@Valid @RequestBody CreateMedicationOrderRequest request) {
-        Order order = createMedicationOrderUseCase.execute(request.patientId, request.doctorId, request.medications);
+        List<MedicationOrder> medications = new ArrayList<>();
+        for (AddMedicationsRequest medication : request.medications) {
+            medications.add(new MedicationOrder(null, medications.size() + 1, new Id(medication.getMedicationId()),
+                medication.getDosage(), medication.getDuration(), medication.getCost()));
+        }
+        Order order = createMedicationOrderUseCase.execute(request.patientId, RoleAuthenticationToken.currentUser(request.doctorId), medications);
         return ResponseEntity.ok(order);
     }
 
     @PostMapping("/procedures")
     @Operation(summary = "Crear orden de procedimientos", description = "Crea una nueva orden de procedimientos para un paciente")
     public ResponseEntity<Order> createProcedureOrder(@Valid @RequestBody CreateProcedureOrderRequest request) {
-        Order order = createProcedureOrderUseCase.execute(request.patientId, request.doctorId, request.procedures);
+        Order order = createProcedureOrderUseCase.execute(request.patientId, RoleAuthenticationToken.currentUser(request.doctorId), request.procedures);
         return ResponseEntity.ok(order);
     }
 
     @PostMapping("/diagnostic-aids")
     @Operation(summary = "Crear orden de ayudas diagnósticas", description = "Crea una nueva orden de ayudas diagnósticas para un paciente")
     public ResponseEntity<Order> createDiagnosticAidOrder(@Valid @RequestBody CreateDiagnosticAidOrderRequest request) {
-        Order order = createDiagnosticAidOrderUseCase.execute(request.patientId, request.doctorId, request.diagnosticAids);
+        Order order = createDiagnosticAidOrderUseCase.execute(request.patientId, RoleAuthenticationToken.currentUser(request.doctorId), request.diagnosticAids);
         return ResponseEntity.ok(order);
     }
 
@@ -70,6 +84,13 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    @PostMapping("/{orderNumber}/cancel")
+    @Operation(summary = "Cancelar orden", description = "Cancela una orden sin facturar y libera los medicamentos que reservó")
+    public ResponseEntity<Void> cancelOrder(@PathVariable String orderNumber) {
+        cancelOrderUseCase.execute(orderNumber);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/{orderId}/medications")
     @Operation(summary = "Agregar medicamentos a orden", description = "Agrega medicamentos a una orden existente")
     public ResponseEntity<Void> addMedicationsToOrder(@PathVariable String orderId, @RequestBody java.util.List<String> medicationIds) {
@@ -159,7 +180,7 @@ public class OrderController {
         public String doctorId;
 
         @NotEmpty(message = "La lista de medicamentos no puede estar vacía")
-        public List<app.clinic.domain.model.entities.MedicationOrder> medications;
+        public List<@Valid AddMedicationsRequest> medications;
     }
 
     public static class CreateProcedureOrderRequest {
@@ -3,10 +3,10 @@ package app.clinic.infrastructure.controller;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,9 +15,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import app.clinic.application.usecase.ConsultPatientOrdersUseCase;
-import app.clinic.application.usecase.ListPatientsUseCase;
 import app.clinic.application.usecase.RegisterPatientUseCase;
 import app.clinic.application.usecase.UpdatePatientUseCase;
 import app.clinic.domain.model.valueobject.Id;
@@ -25,9 +25,17 @@ import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.repository.AppointmentRepository;
 import app.clinic.domain.service.PatientService;
 import app.clinic.domain.service.UserService;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
 import app.clinic.infrastructure.dto.AppointmentDTO;
 import app.clinic.infrastructure.dto.OrderDTO;
 import app.clinic.infrastructure.dto.PatientDTO;
+import app.clinic.infrastructure.dto.PatientSummaryDTO;
+import app.clinic.infrastructure.dto.PatientSummaryRebuildDTO;
+import app.clinic.infrastructure.service.JsonStreamingResponses;
+import app.clinic.infrastructure.service.OrderQueryService;
+import app.clinic.infrastructure.service.PatientQueryService;
+import app.clinic.infrastructure.service.PatientSummaryQueryService;
+import app.clinic.infrastructure.service.PatientSummaryRebuildService;
 import jakarta.validation.Valid;
 
 @RestController
@@ -35,26 +43,42 @@ import jakarta.validation.Valid;
 public class PatientController {
     private final RegisterPatientUseCase registerPatientUseCase;
     private final UpdatePatientUseCase updatePatientUseCase;
-    private final ListPatientsUseCase listPatientsUseCase;
+    private final PatientQueryService patientQueryService;
     private final ConsultPatientOrdersUseCase consultPatientOrdersUseCase;
     private final AppointmentRepository appointmentRepository;
     private final PatientService patientService;
     private final UserService userService;
+    private final OrderQueryService orderQueryService;
+    private final JsonStreamingResponses jsonStreamingResponses;
+    private final PatientSummaryQueryService patientSummaryQueryService;
+    private final PatientSummaryRebuildService patientSummaryRebuildService;
 
     public PatientController(RegisterPatientUseCase registerPatientUseCase,
                              UpdatePatientUseCase updatePatientUseCase,
-                             ListPatientsUseCase listPatientsUseCase,
+                             PatientQueryService patientQueryService,
                              ConsultPatientOrdersUseCase consultPatientOrdersUseCase,
                              AppointmentRepository appointmentRepository,
                              PatientService patientService,
-                             UserService userService) {
+                             UserService userService,
+                             OrderQueryService orderQueryService,
+                             JsonStreamingResponses jsonStreamingResponses,
+                             PatientSummaryQueryService patientSummaryQueryService,
+                             PatientSummaryRebuildService patientSummaryRebuildService) {
         this.registerPatientUseCase = registerPatientUseCase;
         this.updatePatientUseCase = updatePatientUseCase;
-        this.listPatientsUseCase = listPatientsUseCase;
+        this.patientQueryService = patientQueryService;
         this.consultPatientOrdersUseCase = consultPatientOrdersUseCase;
         this.appointmentRepository = appointmentRepository;
         this.patientService = patientService;
         this.userService = userService;
+        this.orderQueryService = orderQueryService;
+        this.jsonStreamingResponses = jsonStreamingResponses;
+        this.patientSummaryQueryService = patientSummaryQueryService;
+        this.patientSummaryRebuildService = patientSummaryRebuildService;
+    }
+
+    private Role getCurrentUserRole() {
+        return RoleAuthenticationToken.currentRole();
     }
 
     @PostMapping
@@ -119,26 +143,23 @@ public class PatientController {
     @GetMapping
     @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
     public ResponseEntity<List<PatientDTO>> listPatients() {
-        var patients = listPatientsUseCase.execute();
+        return ResponseEntity.ok(patientQueryService.listPatients());
+    }
 
-        var patientDTOs = patients.stream().map(patient -> new PatientDTO(
-            patient.getIdentificationNumber().getValue(),
-            patient.getFullName(),
-            patient.getDateOfBirth().toString(),
-            patient.getGender().toString(),
-            patient.getAddress().getValue(),
-            patient.getPhone().getValue(),
-            patient.getEmail().getValue(),
-            patient.getEmergencyContact().getName(),
-            patient.getEmergencyContact().getRelation(),
-            patient.getEmergencyContact().getPhone().getValue(),
-            patient.getInsurance().getCompanyName(),
-            patient.getInsurance().getPolicyNumber(),
-            patient.getInsurance().isActive(),
-            patient.getInsurance().getValidityDate().toString()
-        )).collect(Collectors.toList());
+    /**
+     * Mismo listado en streaming: con Accept: application/x-ndjson un paciente por línea, con
+     * ?stream=true un arreglo JSON enviado por chunks. Ver JsonStreamingResponses.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
+    public ResponseEntity<StreamingResponseBody> streamPatients() {
+        return jsonStreamingResponses.ndjson(patientQueryService.streamPatients());
+    }
 
-        return ResponseEntity.ok(patientDTOs);
+    @GetMapping(params = "stream=true")
+    @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
+    public ResponseEntity<StreamingResponseBody> streamPatientsAsArray() {
+        return jsonStreamingResponses.jsonArray(patientQueryService.streamPatients());
     }
 
     @GetMapping("/{patientId}/appointments")
@@ -169,14 +190,7 @@ public class PatientController {
     @GetMapping("/{patientId}/orders")
     @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
     public ResponseEntity<List<OrderDTO>> getPatientOrders(@PathVariable String patientId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-        if (roleString.startsWith("ROLE_")) {
-            roleString = roleString.substring(5);
-        }
-        Role userRole = Role.valueOf(roleString);
-
-        var orders = consultPatientOrdersUseCase.execute(userRole, patientId);
+        var orders = consultPatientOrdersUseCase.execute(getCurrentUserRole(), patientId);
 
         var orderDTOs = orders.stream().map(order -> new OrderDTO(
             order.getOrderNumber().getValue(),
@@ -192,36 +206,49 @@ public class PatientController {
         return ResponseEntity.ok(orderDTOs);
     }
 
+    @GetMapping(path = "/{patientId}/orders", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
+    public ResponseEntity<StreamingResponseBody> streamPatientOrders(@PathVariable String patientId) {
+        return jsonStreamingResponses.ndjson(orderQueryService.streamPatientOrders(patientId, getCurrentUserRole()));
+    }
+
+    @GetMapping(path = "/{patientId}/orders", params = "stream=true")
+    @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
+    public ResponseEntity<StreamingResponseBody> streamPatientOrdersAsArray(@PathVariable String patientId) {
+        return jsonStreamingResponses.jsonArray(orderQueryService.streamPatientOrders(patientId, getCurrentUserRole()));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
     public ResponseEntity<PatientDTO> getPatientById(@PathVariable String id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-        if (roleString.startsWith("ROLE_")) {
-            roleString = roleString.substring(5);
-        }
-        Role userRole = Role.valueOf(roleString);
+        return ResponseEntity.ok(patientQueryService.findPatientById(id, getCurrentUserRole()));
+    }
 
-        var patient = patientService.findPatientById(id, userRole);
+    /**
+     * Datos básicos, últimos signos vitales, órdenes sin facturar, próxima cita, copago del año y
+     * último diagnóstico, leídos de una sola fila de patient_summaries.
+     */
+    @GetMapping("/{id}/summary")
+    @PreAuthorize("hasAnyRole('PERSONAL_ADMINISTRATIVO', 'MEDICO', 'ENFERMERA')")
+    public ResponseEntity<PatientSummaryDTO> getPatientSummary(@PathVariable String id) {
+        return ResponseEntity.ok(patientSummaryQueryService.findSummary(id, getCurrentUserRole()));
+    }
 
-        var dto = new PatientDTO(
-            patient.getIdentificationNumber().getValue(),
-            patient.getFullName(),
-            patient.getDateOfBirth().toString(),
-            patient.getGender().toString(),
-            patient.getAddress().getValue(),
-            patient.getPhone().getValue(),
-            patient.getEmail().getValue(),
-            patient.getEmergencyContact().getName(),
-            patient.getEmergencyContact().getRelation(),
-            patient.getEmergencyContact().getPhone().getValue(),
-            patient.getInsurance().getCompanyName(),
-            patient.getInsurance().getPolicyNumber(),
-            patient.getInsurance().isActive(),
-            patient.getInsurance().getValidityDate().toString()
-        );
+    /**
+     * Recalcula todos los resúmenes en segundo plano; 409 si ya hay una reconstrucción en curso.
+     */
+    @PostMapping("/summaries/rebuild")
+    @PreAuthorize("hasRole('PERSONAL_ADMINISTRATIVO')")
+    public ResponseEntity<PatientSummaryRebuildDTO> rebuildPatientSummaries() {
+        boolean started = patientSummaryRebuildService.start();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+            .body(patientSummaryRebuildService.getStatus());
+    }
 
-        return ResponseEntity.ok(dto);
+    @GetMapping("/summaries/rebuild")
+    @PreAuthorize("hasRole('PERSONAL_ADMINISTRATIVO')")
+    public ResponseEntity<PatientSummaryRebuildDTO> getPatientSummaryRebuild() {
+        return ResponseEntity.ok(patientSummaryRebuildService.getStatus());
     }
 
     @DeleteMapping("/{id}")
@@ -3,52 +3,60 @@ package app.clinic.infrastructure.controller;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import app.clinic.application.mapper.SupportTicketMapper;
 import app.clinic.application.usecase.ProvideTechnicalSupportUseCase;
 import app.clinic.domain.model.DomainException;
 import app.clinic.domain.model.entities.SupportTicket;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.model.valueobject.SupportTicketPriority;
+import app.clinic.domain.model.valueobject.SupportTicketStatus;
 import app.clinic.domain.service.TechnicalSupportService;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
 import app.clinic.infrastructure.dto.SupportTicketDTO;
+import app.clinic.infrastructure.service.JsonStreamingResponses;
+import app.clinic.infrastructure.service.SupportTicketQueryService;
 
 @RestController
 @RequestMapping("/api/support")
 public class SupportController {
     private final ProvideTechnicalSupportUseCase provideTechnicalSupportUseCase;
     private final TechnicalSupportService technicalSupportService;
+    private final SupportTicketQueryService supportTicketQueryService;
+    private final JsonStreamingResponses jsonStreamingResponses;
 
     public SupportController(ProvideTechnicalSupportUseCase provideTechnicalSupportUseCase,
-                            TechnicalSupportService technicalSupportService) {
+                            TechnicalSupportService technicalSupportService,
+                            SupportTicketQueryService supportTicketQueryService,
+                            JsonStreamingResponses jsonStreamingResponses) {
         this.provideTechnicalSupportUseCase = provideTechnicalSupportUseCase;
         this.technicalSupportService = technicalSupportService;
+        this.supportTicketQueryService = supportTicketQueryService;
+        this.jsonStreamingResponses = jsonStreamingResponses;
     }
 
     private Role getCurrentUserRole() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getAuthorities() != null) {
-            String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-            if (roleString.startsWith("ROLE_")) {
-                roleString = roleString.substring(5); // Remove "ROLE_" prefix
-            }
-            return Role.valueOf(roleString);
-        }
-        return null;
+        return RoleAuthenticationToken.currentRole();
     }
 
     @PostMapping("/tickets")
     public ResponseEntity<SupportTicketDTO> createSupportTicket(@RequestBody CreateSupportTicketRequest request) {
-        SupportTicket supportTicket = provideTechnicalSupportUseCase.execute(request.userId, request.issueDescription);
+        SupportTicketPriority priority = request.priority != null
+            ? SupportTicketPriority.valueOf(request.priority.toUpperCase()) : SupportTicketPriority.NORMAL;
+        SupportTicket supportTicket = provideTechnicalSupportUseCase.execute(request.userId, request.issueDescription,
+            priority, request.team);
 
         SupportTicketDTO dto = SupportTicketMapper.toDTO(supportTicket);
 
@@ -72,6 +80,16 @@ public class SupportController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping(path = "/tickets/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSupportTicketsByUser(@PathVariable String userId) {
+        return jsonStreamingResponses.ndjson(supportTicketQueryService.streamTicketsByUser(userId));
+    }
+
+    @GetMapping(path = "/tickets/user/{userId}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamSupportTicketsByUserAsArray(@PathVariable String userId) {
+        return jsonStreamingResponses.jsonArray(supportTicketQueryService.streamTicketsByUser(userId));
+    }
+
     @GetMapping("/tickets")
     public ResponseEntity<List<SupportTicketDTO>> getAllSupportTickets() {
         List<SupportTicket> tickets = technicalSupportService.getAllSupportTickets();
@@ -82,6 +100,51 @@ public class SupportController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping(path = "/tickets", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSupportTickets() {
+        return jsonStreamingResponses.ndjson(supportTicketQueryService.streamTickets());
+    }
+
+    @GetMapping(path = "/tickets", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllSupportTicketsAsArray() {
+        return jsonStreamingResponses.jsonArray(supportTicketQueryService.streamTickets());
+    }
+
+    @GetMapping("/tickets/status/{status}")
+    public ResponseEntity<List<SupportTicketDTO>> getSupportTicketsByStatus(@PathVariable String status) {
+        List<SupportTicket> tickets = technicalSupportService.getSupportTicketsByStatus(SupportTicketStatus.valueOf(status.toUpperCase()));
+        List<SupportTicketDTO> dtos = tickets.stream()
+            .map(SupportTicketMapper::toDTO)
+            .collect(Collectors.toList());
+
+        return ResponseEntity.ok(dtos);
+    }
+
+    @GetMapping("/tickets/assigned/{agentId}")
+    public ResponseEntity<List<SupportTicketDTO>> getAssignedSupportTickets(@PathVariable String agentId) {
+        List<SupportTicket> tickets = technicalSupportService.getAssignedSupportTickets(agentId);
+        List<SupportTicketDTO> dtos = tickets.stream()
+            .map(SupportTicketMapper::toDTO)
+            .collect(Collectors.toList());
+
+        return ResponseEntity.ok(dtos);
+    }
+
+    /**
+     * Asigna al agente autenticado el siguiente ticket pendiente de su equipo (o de otro si el suyo no tiene).
+     * 204 si no queda ninguno en cola.
+     */
+    @PostMapping("/tickets/next")
+    public ResponseEntity<SupportTicketDTO> takeNextSupportTicket(@RequestParam(required = false) String team) {
+        AuthenticatedUser agent = RoleAuthenticationToken.currentUser();
+        if (agent == null) {
+            throw new DomainException("Usuario no autenticado");
+        }
+        return technicalSupportService.takeNextSupportTicket(agent, team)
+            .map(ticket -> ResponseEntity.ok(SupportTicketMapper.toDTO(ticket)))
+            .orElse(ResponseEntity.noContent().build());
+    }
+
     @PutMapping("/tickets/{id}/assign")
     public ResponseEntity<Void> assignSupportTicket(@PathVariable String id, @RequestBody AssignTicketRequest request) {
         Role currentRole = getCurrentUserRole();
@@ -101,6 +164,8 @@ public class SupportController {
     public static class CreateSupportTicketRequest {
         public String userId;
         public String issueDescription;
+        public String priority; // URGENT, HIGH, NORMAL (por defecto) o LOW
+        public String team; // cola de reparto; por defecto "general"
     }
 
     public static class AssignTicketRequest {
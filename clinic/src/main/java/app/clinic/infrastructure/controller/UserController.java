@@ -7,8 +7,6 @@ import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -25,6 +23,9 @@ import app.clinic.application.usecase.UpdateUserUseCase;
 import app.clinic.domain.model.DomainException;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
+import app.clinic.infrastructure.config.RoleAuthenticationToken;
 import app.clinic.infrastructure.dto.UserDTO;
 import jakarta.validation.Valid;
 
@@ -50,15 +51,7 @@ public class UserController {
     }
 
     private Role getCurrentUserRole() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getAuthorities() != null) {
-            String roleString = authentication.getAuthorities().iterator().next().getAuthority();
-            if (roleString.startsWith("ROLE_")) {
-                roleString = roleString.substring(5); // Remove "ROLE_" prefix
-            }
-            return Role.valueOf(roleString);
-        }
-        return null;
+        return RoleAuthenticationToken.currentRole();
     }
 
     @PostMapping
@@ -125,16 +118,7 @@ public class UserController {
     @GetMapping("/can-view-patients")
     public ResponseEntity<Map<String, Boolean>> canViewPatients() {
         Role userRole = getCurrentUserRole();
-        boolean canView = false;
-
-        if (userRole != null) {
-            try {
-                roleBasedAccessService.checkAccess(userRole, "patient");
-                canView = true;
-            } catch (DomainException e) {
-                canView = false;
-            }
-        }
+        boolean canView = userRole != null && roleBasedAccessService.isAllowed(userRole, Resource.PATIENT, Operation.READ);
 
         Map<String, Boolean> response = new HashMap<>();
         response.put("canView", canView);
@@ -144,16 +128,7 @@ public class UserController {
     @GetMapping("/can-manage-users")
     public ResponseEntity<Map<String, Boolean>> canManageUsers() {
         Role userRole = getCurrentUserRole();
-        boolean canManage = false;
-
-        if (userRole != null) {
-            try {
-                roleBasedAccessService.checkAccess(userRole, "user");
-                canManage = true;
-            } catch (DomainException e) {
-                canManage = false;
-            }
-        }
+        boolean canManage = userRole != null && roleBasedAccessService.isAllowed(userRole, Resource.USER, Operation.WRITE);
 
         Map<String, Boolean> response = new HashMap<>();
         response.put("canManage", canManage);
@@ -182,16 +157,7 @@ public class UserController {
     @GetMapping("/can-register-patients")
     public ResponseEntity<Map<String, Boolean>> canRegisterPatients() {
         Role userRole = getCurrentUserRole();
-        boolean canRegister = false;
-
-        if (userRole != null) {
-            try {
-                roleBasedAccessService.checkAccess(userRole, "patient");
-                canRegister = true;
-            } catch (DomainException e) {
-                canRegister = false;
-            }
-        }
+        boolean canRegister = userRole != null && roleBasedAccessService.isAllowed(userRole, Resource.PATIENT, Operation.WRITE);
 
         Map<String, Boolean> response = new HashMap<>();
         response.put("canRegister", canRegister);
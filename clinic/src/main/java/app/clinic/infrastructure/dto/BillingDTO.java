@@ -24,4 +24,15 @@ public class BillingDTO {
     private String appliedDiagnosticAids;
     private LocalDateTime generatedAt;
     private String generatedBy;
+
+    /**
+     * Proyección de BillingJpaRepository con los mismos valores que arma BillingController.getBilling:
+     * el id es el número de orden y el paciente paga el copago.
+     */
+    public BillingDTO(String orderNumber, String patientId, String patientName, String doctorName, double totalCost,
+                      double copay, double insuranceCoverage, String appliedMedications, String appliedProcedures,
+                      String appliedDiagnosticAids, LocalDateTime generatedAt, String generatedBy) {
+        this(orderNumber, patientId, patientName, doctorName, orderNumber, totalCost, copay, insuranceCoverage, copay,
+            appliedMedications, appliedProcedures, appliedDiagnosticAids, generatedAt, generatedBy);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package app.clinic.infrastructure.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobDTO {
+    private String id;
+    private String dataset; // PATIENTS, ORDERS, BILLINGS, VITAL_SIGNS
+    private String format; // CSV, COLUMNAR
+    private boolean compressed;
+    private int partitions;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    private String requestedBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long rowsWritten;
+    private long totalRows; // -1 mientras no ha empezado
+    private String fileName;
+    private long fileSize;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package app.clinic.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+    private long line;
+    private String key; // cédula o código del ítem, si se pudo leer
+    private String message;
+}
@@ -0,0 +1,27 @@
+package app.clinic.infrastructure.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private String id;
+    private String kind; // PATIENTS, MEDICATIONS, PROCEDURES, DIAGNOSTIC_AIDS
+    private String format; // CSV, NDJSON
+    private String fileName;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private int totalRows;
+    private int chunkSize;
+    private int committedChunks;
+    private int importedRows;
+    private int rejectedRows;
+    private String error;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
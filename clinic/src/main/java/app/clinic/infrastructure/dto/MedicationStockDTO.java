@@ -0,0 +1,13 @@
+package app.clinic.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicationStockDTO {
+    private String medicationId;
+    private int available; // existencias menos unidades reservadas por órdenes pendientes
+}
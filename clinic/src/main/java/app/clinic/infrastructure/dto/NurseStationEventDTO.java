@@ -0,0 +1,16 @@
+package app.clinic.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NurseStationEventDTO {
+    private long id;
+    private String type; // vital-signs, order, alert
+    private String patientId;
+    private String occurredAt;
+    private Object payload;
+}
@@ -1,6 +1,7 @@
 package app.clinic.infrastructure.dto;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -19,4 +20,11 @@ public class OrderDTO {
     private List<String> medications;
     private List<String> procedures;
     private List<String> diagnosticAids;
+
+    /**
+     * Cabecera proyectada por OrderJpaRepository; los ítems los agrega OrderQueryService.
+     */
+    public OrderDTO(String orderNumber, String patientId, String doctorId, LocalDate date, String diagnosis) {
+        this(orderNumber, patientId, doctorId, date, diagnosis, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
 }
\ No newline at end of file
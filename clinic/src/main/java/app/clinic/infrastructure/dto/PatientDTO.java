@@ -1,5 +1,10 @@
 package app.clinic.infrastructure.dto;
 
+import java.time.LocalDate;
+
+import app.clinic.domain.model.entities.Insurance;
+import app.clinic.domain.model.valueobject.DateOfBirth;
+import app.clinic.domain.model.valueobject.Gender;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,4 +27,37 @@ public class PatientDTO {
     private String policyNumber;
     private boolean insuranceActive;
     private String validityDate;
-}
\ No newline at end of file
+
+    /**
+     * Usado por las consultas de proyección de PatientJpaRepository (SELECT new ...): recibe las
+     * columnas tal como están en BD y produce lo mismo que el mapeo desde el dominio. La vigencia
+     * se devuelve en ISO como LocalDate.toString() (algunas filas de V2 la guardan como dd/MM/yyyy)
+     * y un seguro vencido se informa como inactivo, igual que Insurance.isActive().
+     */
+    public PatientDTO(String identificationNumber, String fullName, String dateOfBirth, Gender gender, String address,
+                      String phone, String email, String emergencyName, String emergencyRelation, String emergencyPhone,
+                      String companyName, String policyNumber, boolean insuranceActive, String validityDate) {
+        this.identificationNumber = identificationNumber;
+        this.fullName = fullName;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender != null ? gender.toString() : null;
+        this.address = address;
+        this.phone = phone;
+        this.email = email;
+        this.emergencyName = emergencyName;
+        this.emergencyRelation = emergencyRelation;
+        this.emergencyPhone = emergencyPhone;
+        this.companyName = companyName;
+        this.policyNumber = policyNumber;
+        LocalDate validity = parseValidityDate(validityDate);
+        this.insuranceActive = Insurance.isActive(insuranceActive, validity);
+        this.validityDate = validity != null ? validity.toString() : null;
+    }
+
+    static LocalDate parseValidityDate(String date) {
+        if (date == null) {
+            return null;
+        }
+        return date.indexOf('/') >= 0 ? DateOfBirth.parse(date) : LocalDate.parse(date);
+    }
+}
@@ -0,0 +1,18 @@
+package app.clinic.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientMedicalStateDTO {
+    private String patientId;
+    private String currentDiagnosis;
+    private String currentMedications;
+    private String currentProcedures;
+    private String currentDiagnosticAids;
+    private boolean hospitalized;
+    private String hospitalizationDetails;
+}
@@ -0,0 +1,48 @@
+package app.clinic.infrastructure.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import app.clinic.domain.model.entities.Insurance;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vista general de un paciente en una sola lectura (tabla patient_summaries). Los datos personales y
+ * del seguro se presentan igual que en PatientDTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSummaryDTO {
+    private String identificationNumber;
+    private String fullName;
+    private String dateOfBirth;
+    private String gender;
+    private String phone;
+    private String email;
+    private String companyName;
+    private String policyNumber;
+    private boolean insuranceActive;
+    private String validityDate;
+    private VitalSignsDTO latestVitalSigns;
+    private int openOrders; // órdenes aún sin facturar ni cancelar
+    private String nextAppointmentId;
+    private LocalDateTime nextAppointmentAt;
+    private String nextAppointmentDoctorId;
+    private double copayYearToDate;
+    private String lastDiagnosis;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Género, vigencia y estado del seguro tal como están en BD, convertidos como en PatientDTO.
+     */
+    public void applyStoredValues(String storedGender, boolean storedInsuranceActive, String storedValidityDate) {
+        this.gender = storedGender != null ? storedGender.toUpperCase(Locale.ROOT) : null;
+        LocalDate validity = PatientDTO.parseValidityDate(storedValidityDate);
+        this.insuranceActive = Insurance.isActive(storedInsuranceActive, validity);
+        this.validityDate = validity != null ? validity.toString() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package app.clinic.infrastructure.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de la última reconstrucción de patient_summaries (ver PatientSummaryRebuildService).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSummaryRebuildDTO {
+    private boolean running;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long patients;
+    private long durationMs;
+    private String error;
+}
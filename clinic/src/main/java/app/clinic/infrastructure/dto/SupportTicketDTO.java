@@ -2,6 +2,7 @@ package app.clinic.infrastructure.dto;
 
 import java.time.LocalDateTime;
 
+import app.clinic.domain.model.valueobject.SupportTicketPriority;
 import app.clinic.domain.model.valueobject.SupportTicketStatus;
 
 public class SupportTicketDTO {
@@ -9,6 +10,8 @@ public class SupportTicketDTO {
     private String userId;
     private String issueDescription;
     private LocalDateTime createdAt;
+    private SupportTicketPriority priority;
+    private String team;
     private SupportTicketStatus status;
     private String assignedTo;
     private LocalDateTime updatedAt;
@@ -16,12 +19,14 @@ public class SupportTicketDTO {
     public SupportTicketDTO() {}
 
     public SupportTicketDTO(String id, String userId, String issueDescription,
-                           LocalDateTime createdAt, SupportTicketStatus status,
-                           String assignedTo, LocalDateTime updatedAt) {
+                           LocalDateTime createdAt, SupportTicketPriority priority, String team,
+                           SupportTicketStatus status, String assignedTo, LocalDateTime updatedAt) {
         this.id = id;
         this.userId = userId;
         this.issueDescription = issueDescription;
         this.createdAt = createdAt;
+        this.priority = priority;
+        this.team = team;
         this.status = status;
         this.assignedTo = assignedTo;
         this.updatedAt = updatedAt;
@@ -60,6 +65,22 @@ public class SupportTicketDTO {
         this.createdAt = createdAt;
     }
 
+    public SupportTicketPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(SupportTicketPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getTeam() {
+        return team;
+    }
+
+    public void setTeam(String team) {
+        this.team = team;
+    }
+
     public SupportTicketStatus getStatus() {
         return status;
     }
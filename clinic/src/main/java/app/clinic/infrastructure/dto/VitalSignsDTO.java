@@ -1,5 +1,7 @@
 package app.clinic.infrastructure.dto;
 
+import java.time.LocalDateTime;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,4 +16,12 @@ public class VitalSignsDTO {
     private int pulse;
     private int oxygenLevel;
     private String recordedAt;
+
+    /**
+     * Proyección de VitalSignsJpaRepository; recordedAt con el mismo formato que VitalSignsMapper.
+     */
+    public VitalSignsDTO(String patientId, String bloodPressure, double temperature, int pulse, int oxygenLevel,
+                         LocalDateTime recordedAt) {
+        this(patientId, bloodPressure, temperature, pulse, oxygenLevel, recordedAt.toString());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package app.clinic.infrastructure.persistence.bulk;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Repository;
+
+import app.clinic.infrastructure.dto.ImportErrorDTO;
+import app.clinic.infrastructure.dto.ImportJobDTO;
+
+/**
+ * Estado de las importaciones (import_jobs, import_errors) y escritura de cada bloque con JDBC.
+ *
+ * Cada bloque se confirma en una sola transacción junto con sus errores y el avance del trabajo
+ * (committed_chunks), así que tras una caída la importación se reanuda exactamente en el primer
+ * bloque no confirmado, sin filas ni errores repetidos.
+ */
+@Repository
+public class BulkImportRepository {
+
+    private static final String JOB_COLUMNS = "id, kind, format, file_name, status, total_rows, chunk_size, "
+        + "committed_chunks, imported_rows, rejected_rows, error, created_by, created_at, updated_at";
+
+    private final DataSource dataSource;
+
+    public BulkImportRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void createJob(String id, ImportKind kind, ImportFile.Format format, String fileName, int totalRows,
+                          int chunkSize, String createdBy) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO import_jobs (id, kind, format, "
+                 + "file_name, status, total_rows, chunk_size, created_by) VALUES (?, ?, ?, ?, 'RUNNING', ?, ?, ?)")) {
+            statement.setString(1, id);
+            statement.setString(2, kind.name());
+            statement.setString(3, format.name());
+            statement.setString(4, fileName);
+            statement.setInt(5, totalRows);
+            statement.setInt(6, chunkSize);
+            statement.setString(7, createdBy);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create import job", e);
+        }
+    }
+
+    public Optional<ImportJobDTO> findJob(String id) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT " + JOB_COLUMNS + " FROM import_jobs WHERE id = ?")) {
+            statement.setString(1, id);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? Optional.of(toJob(result)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read import job " + id, e);
+        }
+    }
+
+    public List<ImportErrorDTO> findErrors(String id) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT line_number, record_key, message FROM import_errors WHERE job_id = ? ORDER BY line_number")) {
+            statement.setString(1, id);
+            List<ImportErrorDTO> errors = new ArrayList<>();
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    errors.add(new ImportErrorDTO(result.getLong(1), result.getString(2), result.getString(3)));
+                }
+            }
+            return errors;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read import errors for " + id, e);
+        }
+    }
+
+    public void updateStatus(String id, String status, String error) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "UPDATE import_jobs SET status = ?, error = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?")) {
+            statement.setString(1, status);
+            statement.setString(2, error);
+            statement.setString(3, id);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not update import job " + id, e);
+        }
+    }
+
+    /**
+     * Inserta las filas válidas del bloque que no existan ya en la tabla (una sola consulta IN para
+     * todo el bloque) y registra las rechazadas.
+     * @param chunk índice del bloque; debe ser el siguiente al último confirmado
+     * @return filas insertadas
+     * @throws IllegalStateException si otro proceso ya confirmó este bloque
+     */
+    public int commitChunk(String jobId, ImportKind kind, int chunk, List<ImportRow> rows) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int imported;
+                try {
+                    imported = writeChunk(connection, jobId, kind, chunk, rows, false);
+                } catch (BatchUpdateException e) {
+                    // Alguna fila viola una restricción de la tabla: se repite el bloque fila a fila para rechazar solo esas
+                    connection.rollback();
+                    imported = writeChunk(connection, jobId, kind, chunk, rows, true);
+                }
+                connection.commit();
+                return imported;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not import chunk " + chunk + ": " + e.getMessage(), e);
+        }
+    }
+
+    private int writeChunk(Connection connection, String jobId, ImportKind kind, int chunk, List<ImportRow> rows,
+                           boolean rowByRow) throws SQLException {
+        Set<String> existing = findExistingKeys(connection, kind, rows);
+        List<ImportRow> rejected = new ArrayList<>();
+        int imported = 0;
+        try (PreparedStatement insert = connection.prepareStatement(kind.getInsertSql())) {
+            for (ImportRow row : rows) {
+                if (!row.isValid()) {
+                    rejected.add(row);
+                } else if (existing.contains(row.key())) {
+                    rejected.add(ImportRow.rejected(row.line(), row.key(), kind.duplicateMessage(row.key())));
+                } else if (rowByRow) {
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        kind.bind(insert, row.value());
+                        insert.executeUpdate();
+                        connection.releaseSavepoint(savepoint);
+                        imported++;
+                    } catch (SQLException e) {
+                        connection.rollback(savepoint);
+                        rejected.add(ImportRow.rejected(row.line(), row.key(), e.getMessage()));
+                    }
+                } else {
+                    kind.bind(insert, row.value());
+                    insert.addBatch();
+                    imported++;
+                }
+            }
+            if (!rowByRow && imported > 0) {
+                insert.executeBatch();
+            }
+        }
+        insertErrors(connection, jobId, rejected);
+        advance(connection, jobId, chunk, imported, rejected.size());
+        return imported;
+    }
+
+    private Set<String> findExistingKeys(Connection connection, ImportKind kind, List<ImportRow> rows) throws SQLException {
+        List<String> keys = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.isValid()) {
+                keys.add(row.key());
+            }
+        }
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        String sql = "SELECT " + kind.getKeyColumn() + " FROM " + kind.getTable() + " WHERE " + kind.getKeyColumn()
+            + " IN (" + String.join(", ", Collections.nCopies(keys.size(), "?")) + ")";
+        Set<String> existing = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < keys.size(); i++) {
+                statement.setString(i + 1, keys.get(i));
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    existing.add(result.getString(1));
+                }
+            }
+        }
+        return existing;
+    }
+
+    private void insertErrors(Connection connection, String jobId, List<ImportRow> rejected) throws SQLException {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO import_errors (job_id, line_number, record_key, message) VALUES (?, ?, ?, ?)")) {
+            for (ImportRow row : rejected) {
+                statement.setString(1, jobId);
+                statement.setLong(2, row.line());
+                statement.setString(3, truncate(row.key(), 100));
+                statement.setString(4, row.error());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void advance(Connection connection, String jobId, int chunk, int imported, int rejected) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE import_jobs SET committed_chunks = ?, "
+                + "imported_rows = imported_rows + ?, rejected_rows = rejected_rows + ?, updated_at = CURRENT_TIMESTAMP "
+                + "WHERE id = ? AND committed_chunks = ?")) {
+            statement.setInt(1, chunk + 1);
+            statement.setInt(2, imported);
+            statement.setInt(3, rejected);
+            statement.setString(4, jobId);
+            statement.setInt(5, chunk);
+            if (statement.executeUpdate() != 1) {
+                throw new IllegalStateException("Chunk " + chunk + " of import " + jobId + " was already committed");
+            }
+        }
+    }
+
+    private static ImportJobDTO toJob(ResultSet result) throws SQLException {
+        Timestamp createdAt = result.getTimestamp("created_at");
+        Timestamp updatedAt = result.getTimestamp("updated_at");
+        return new ImportJobDTO(
+            result.getString("id"),
+            result.getString("kind"),
+            result.getString("format"),
+            result.getString("file_name"),
+            result.getString("status"),
+            result.getInt("total_rows"),
+            result.getInt("chunk_size"),
+            result.getInt("committed_chunks"),
+            result.getInt("imported_rows"),
+            result.getInt("rejected_rows"),
+            result.getString("error"),
+            result.getString("created_by"),
+            createdAt != null ? createdAt.toLocalDateTime() : null,
+            updatedAt != null ? updatedAt.toLocalDateTime() : null
+        );
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length);
+    }
+}
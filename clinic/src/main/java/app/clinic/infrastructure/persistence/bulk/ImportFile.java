@@ -0,0 +1,215 @@
+package app.clinic.infrastructure.persistence.bulk;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Archivo subido partido en registros. Separar los registros es un recorrido secuencial (en CSV un
+ * salto de línea entre comillas no termina el registro), pero es barato; interpretar los campos de
+ * cada registro con fields(int) es independiente del resto y se hace en paralelo.
+ */
+public final class ImportFile {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final Format format;
+    private final ImportKind kind;
+    private final ObjectMapper objectMapper;
+    private final List<String> records = new ArrayList<>();
+    private final List<Long> lines = new ArrayList<>();
+    private int[] csvColumns; // posición en el CSV de cada campo de kind, -1 si no está
+    private int csvColumnCount;
+
+    private ImportFile(Format format, ImportKind kind, ObjectMapper objectMapper) {
+        this.format = format;
+        this.kind = kind;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el archivo está vacío o a la cabecera CSV le falta el campo clave
+     */
+    public static ImportFile parse(Format format, ImportKind kind, byte[] content, ObjectMapper objectMapper) {
+        String text = new String(content, StandardCharsets.UTF_8);
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+        ImportFile file = new ImportFile(format, kind, objectMapper);
+        if (format == Format.CSV) {
+            file.splitCsv(text);
+            if (file.records.isEmpty()) {
+                throw new IllegalArgumentException("The CSV file has no header");
+            }
+            file.readHeader(file.records.remove(0));
+            file.lines.remove(0);
+        } else {
+            file.splitLines(text);
+        }
+        return file;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Línea del archivo donde empieza el registro (desde 1).
+     */
+    public long line(int index) {
+        return lines.get(index);
+    }
+
+    /**
+     * Valores de los campos de ImportKind en este registro; null si el campo falta o está vacío.
+     * @throws IllegalArgumentException si el registro está mal formado
+     */
+    public Map<String, String> fields(int index) {
+        return format == Format.CSV ? csvFields(records.get(index)) : jsonFields(records.get(index));
+    }
+
+    private void splitLines(String text) {
+        int start = 0;
+        long line = 1;
+        while (start <= text.length()) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = text.length();
+            }
+            String record = text.substring(start, end).trim();
+            if (!record.isEmpty()) {
+                records.add(record);
+                lines.add(line);
+            }
+            start = end + 1;
+            line++;
+        }
+    }
+
+    private void splitCsv(String text) {
+        int start = 0;
+        long line = 1;
+        long recordLine = 1;
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\n') {
+                line++;
+                if (!quoted) {
+                    addCsvRecord(text, start, i, recordLine);
+                    start = i + 1;
+                    recordLine = line;
+                }
+            }
+        }
+        addCsvRecord(text, start, text.length(), recordLine);
+    }
+
+    private void addCsvRecord(String text, int start, int end, long line) {
+        if (end > start && text.charAt(end - 1) == '\r') {
+            end--;
+        }
+        if (end > start) {
+            records.add(text.substring(start, end));
+            lines.add(line);
+        }
+    }
+
+    private void readHeader(String header) {
+        List<String> names = splitCsvRecord(header);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            positions.put(names.get(i).trim(), i);
+        }
+        if (!positions.containsKey(kind.getKeyField())) {
+            throw new IllegalArgumentException("The CSV header must include the column " + kind.getKeyField());
+        }
+        csvColumns = new int[kind.getFields().size()];
+        for (int i = 0; i < csvColumns.length; i++) {
+            csvColumns[i] = positions.getOrDefault(kind.getFields().get(i), -1);
+        }
+        csvColumnCount = names.size();
+    }
+
+    private Map<String, String> csvFields(String record) {
+        List<String> values = splitCsvRecord(record);
+        if (values.size() != csvColumnCount) {
+            throw new IllegalArgumentException("Expected " + csvColumnCount + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < csvColumns.length; i++) {
+            if (csvColumns[i] >= 0) {
+                fields.put(kind.getFields().get(i), emptyToNull(values.get(csvColumns[i])));
+            }
+        }
+        return fields;
+    }
+
+    // RFC 4180: comillas dobles para citar, "" dentro de un campo citado es una comilla
+    static List<String> splitCsvRecord(String record) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private Map<String, String> jsonFields(String record) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Each line must be a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Map.Entry<String, JsonNode> entry : node.properties()) {
+            if (kind.getFields().contains(entry.getKey())) {
+                JsonNode value = entry.getValue();
+                fields.put(entry.getKey(), value.isNull() ? null : emptyToNull(value.isValueNode() ? value.asText() : value.toString()));
+            }
+        }
+        return fields;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,160 @@
+package app.clinic.infrastructure.persistence.bulk;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+import app.clinic.domain.model.entities.DiagnosticAid;
+import app.clinic.domain.model.entities.Medication;
+import app.clinic.domain.model.entities.Patient;
+import app.clinic.domain.model.entities.Procedure;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
+
+/**
+ * Qué se puede importar. Los campos tienen los mismos nombres que en las peticiones de
+ * POST /api/patients y POST /api/inventory/...; en CSV son los nombres de la cabecera.
+ */
+public enum ImportKind {
+    PATIENTS("patients", "identification_number", Resource.PATIENT, List.of(
+        "identificationNumber", "fullName", "dateOfBirth", "gender", "address", "phone", "email",
+        "emergencyName", "emergencyRelation", "emergencyPhone", "companyName", "policyNumber",
+        "insuranceActive", "validityDate"),
+        "INSERT INTO patients (identification_number, full_name, date_of_birth, gender, address, phone, email, "
+            + "emergency_contact_name, emergency_contact_relation, emergency_contact_phone, insurance_company_name, "
+            + "insurance_policy_number, insurance_active, insurance_validity_date, annual_copay_total) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+
+    MEDICATIONS("medications", "id", Resource.MEDICATION, CatalogFields.NAMES, CatalogFields.insert("medications")),
+
+    PROCEDURES("procedures", "id", Resource.PROCEDURE, CatalogFields.NAMES, CatalogFields.insert("procedures")),
+
+    DIAGNOSTIC_AIDS("diagnostic_aids", "id", Resource.DIAGNOSTIC_AID, CatalogFields.NAMES, CatalogFields.insert("diagnostic_aids"));
+
+    private final String table;
+    private final String keyColumn;
+    private final Resource resource;
+    private final List<String> fields;
+    private final String insertSql;
+
+    ImportKind(String table, String keyColumn, Resource resource, List<String> fields, String insertSql) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.resource = resource;
+        this.fields = fields;
+        this.insertSql = insertSql;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Recurso de RoleBasedAccessService que exige esta importación.
+     */
+    public Resource getResource() {
+        return resource;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Campo que identifica la fila (cédula o código del ítem): obligatorio en la cabecera CSV.
+     */
+    public String getKeyField() {
+        return fields.get(0);
+    }
+
+    String getKeyColumn() {
+        return keyColumn;
+    }
+
+    String getInsertSql() {
+        return insertSql;
+    }
+
+    // Mismos mensajes que PatientService.registerPatient e InventoryService.add*
+    String duplicateMessage(String key) {
+        switch (this) {
+            case PATIENTS:
+                return "Identification number already exists: " + key;
+            case MEDICATIONS:
+                return "Medication already exists";
+            case PROCEDURES:
+                return "Procedure already exists";
+            default:
+                return "Diagnostic aid already exists";
+        }
+    }
+
+    /**
+     * Mismas columnas y formatos que PatientRepositoryImpl.save e InventoryRepositoryImpl.
+     */
+    void bind(PreparedStatement statement, Object value) throws SQLException {
+        switch (this) {
+            case PATIENTS: {
+                Patient patient = (Patient) value;
+                statement.setString(1, patient.getIdentificationNumber().getValue());
+                statement.setString(2, patient.getFullName());
+                statement.setString(3, patient.getDateOfBirth().toString());
+                statement.setString(4, patient.getGender().name().toLowerCase());
+                statement.setString(5, patient.getAddress().getValue());
+                statement.setString(6, patient.getPhone().getValue());
+                statement.setString(7, patient.getEmail().getValue());
+                statement.setString(8, patient.getEmergencyContact().getName());
+                statement.setString(9, patient.getEmergencyContact().getRelation());
+                statement.setString(10, patient.getEmergencyContact().getPhone().getValue());
+                statement.setString(11, patient.getInsurance().getCompanyName());
+                statement.setString(12, patient.getInsurance().getPolicyNumber());
+                statement.setBoolean(13, patient.getInsurance().isActive());
+                LocalDate validityDate = patient.getInsurance().getValidityDate();
+                statement.setString(14, validityDate != null ? validityDate.toString() : null);
+                statement.setDouble(15, patient.getAnnualCopayTotal());
+                break;
+            }
+            case MEDICATIONS: {
+                Medication medication = (Medication) value;
+                CatalogFields.bind(statement, medication.getId(), medication.getName(), medication.getCost(),
+                    medication.isRequiresSpecialist(), medication.getSpecialistType());
+                break;
+            }
+            case PROCEDURES: {
+                Procedure procedure = (Procedure) value;
+                CatalogFields.bind(statement, procedure.getId(), procedure.getName(), procedure.getCost(),
+                    procedure.isRequiresSpecialist(), procedure.getSpecialistType());
+                break;
+            }
+            default: {
+                DiagnosticAid aid = (DiagnosticAid) value;
+                CatalogFields.bind(statement, aid.getId(), aid.getName(), aid.getCost(),
+                    aid.isRequiresSpecialist(), aid.getSpecialistType());
+                break;
+            }
+        }
+    }
+
+    private static final class CatalogFields {
+        static final List<String> NAMES = List.of("id", "name", "cost", "requiresSpecialist", "specialistType");
+
+        static String insert(String table) {
+            return "INSERT INTO " + table + " (id, name, cost, requires_specialist, specialist_type) VALUES (?, ?, ?, ?, ?)";
+        }
+
+        static void bind(PreparedStatement statement, Id id, String name, double cost, boolean requiresSpecialist,
+                         Id specialistType) throws SQLException {
+            statement.setString(1, id.getValue());
+            statement.setString(2, name);
+            statement.setDouble(3, cost);
+            statement.setBoolean(4, requiresSpecialist);
+            if (specialistType != null) {
+                statement.setString(5, specialistType.getValue());
+            } else {
+                statement.setNull(5, Types.VARCHAR);
+            }
+        }
+    }
+}
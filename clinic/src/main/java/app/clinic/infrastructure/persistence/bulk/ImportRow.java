@@ -0,0 +1,19 @@
+package app.clinic.infrastructure.persistence.bulk;
+
+/**
+ * Resultado de validar un registro: la entidad de dominio lista para insertar o el motivo del rechazo.
+ */
+public record ImportRow(long line, String key, Object value, String error) {
+
+    public static ImportRow valid(long line, String key, Object value) {
+        return new ImportRow(line, key, value, null);
+    }
+
+    public static ImportRow rejected(long line, String key, String error) {
+        return new ImportRow(line, key, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
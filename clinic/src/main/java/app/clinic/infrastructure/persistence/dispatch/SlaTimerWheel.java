@@ -0,0 +1,105 @@
+package app.clinic.infrastructure.persistence.dispatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rueda de temporizadores: cada plazo cae en la ranura de su tick (vencimiento / tickMillis) módulo el
+ * número de ranuras, y advance() solo recorre las ranuras de los ticks transcurridos. Programar y cancelar
+ * cuestan O(1) sin importar cuántos plazos haya pendientes; los que vencen dentro de más de una vuelta
+ * esperan en su ranura hasta la vuelta que les toca.
+ *
+ * La precisión es de un tick: un plazo se notifica en el primer advance() posterior al final de su tick.
+ */
+public class SlaTimerWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Timer>[] slots;
+    private final Map<String, Timer> timers = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public SlaTimerWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis < 1 || slotCount < 1) {
+            throw new IllegalArgumentException("Invalid timer wheel sizing");
+        }
+        // Potencia de dos para calcular la ranura con una máscara
+        int size = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = new List[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Programa el plazo de key, reemplazando el anterior si lo había. Un plazo ya vencido se notifica en el
+     * siguiente advance().
+     */
+    public synchronized void schedule(String key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(currentTick + 1, deadlineMillis / tickMillis + 1);
+        Timer timer = new Timer(key, tick);
+        timers.put(key, timer);
+        slots[(int) (tick & mask)].add(timer);
+    }
+
+    public synchronized boolean cancel(String key) {
+        Timer timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        // Se quita de su ranura cuando advance() la recorre
+        timer.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Avanza hasta nowMillis y devuelve las claves cuyo plazo venció, que dejan de estar programadas.
+     */
+    public synchronized List<String> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<String> expired = new ArrayList<>();
+        if (targetTick <= currentTick) {
+            return expired;
+        }
+        // Tras una pausa larga basta con recorrer cada ranura una vez
+        long firstTick = Math.max(currentTick + 1, targetTick - mask);
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Iterator<Timer> slot = slots[(int) (tick & mask)].iterator();
+            while (slot.hasNext()) {
+                Timer timer = slot.next();
+                if (timer.cancelled) {
+                    slot.remove();
+                } else if (timer.tick <= targetTick) {
+                    slot.remove();
+                    timers.remove(timer.key);
+                    expired.add(timer.key);
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    private static final class Timer {
+        private final String key;
+        private final long tick;
+        private boolean cancelled;
+
+        private Timer(String key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package app.clinic.infrastructure.persistence.dispatch;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.clinic.domain.model.entities.SupportTicket;
+import app.clinic.domain.model.valueobject.SupportTicketId;
+import app.clinic.domain.model.valueobject.SupportTicketPriority;
+import app.clinic.domain.repository.SupportTicketQueue;
+import app.clinic.infrastructure.config.SupportDispatchProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Tickets de soporte abiertos en memoria, en una cola de prioridad por equipo ordenada por el vencimiento
+ * de su plazo de atención (created_at + clinic.support-dispatch.{prioridad}-sla). Un agente que pide
+ * trabajo recibe la cabeza de la cola de su equipo en O(log n), sin consultar support_tickets; si su equipo
+ * no tiene nada pendiente, roba el ticket que vence antes entre las colas de los demás equipos.
+ *
+ * Tomar un ticket lo asigna en la tabla con un UPDATE condicionado a que siga abierto: si otra instancia
+ * lo tomó o alguien lo asignó o cerró mientras tanto, se descarta y se pasa al siguiente. Las colas son de
+ * esta instancia y se reconstruyen al arrancar con los tickets abiertos (idx_support_tickets_status); un
+ * ticket creado en otra instancia solo entra aquí al reiniciar, aunque nunca se asigna dos veces.
+ *
+ * Los plazos de los tickets en cola se vigilan con una SlaTimerWheel que avanza cada
+ * clinic.support-dispatch.tick-interval; un ticket que sale de la cola cancela su plazo.
+ *
+ * Dentro de una transacción las colas cambian al terminarla, igual que la fila: un ticket encolado entra al
+ * confirmar, uno asignado o cerrado sale al confirmar, y uno tomado por dispatchNext vuelve a su cola con su
+ * plazo si la transacción se deshace.
+ *
+ * Métricas: clinic.support.dispatch (result=own-team|stolen|empty), clinic.support.sla-breaches
+ * (priority=...) y clinic.support.queued (tickets pendientes de asignar).
+ */
+@Repository
+public class SupportTicketDispatcher implements SupportTicketQueue {
+    public static final String DISPATCH_METRIC = "clinic.support.dispatch";
+    public static final String SLA_BREACHES_METRIC = "clinic.support.sla-breaches";
+    public static final String QUEUED_METRIC = "clinic.support.queued";
+
+    private static final Comparator<QueuedTicket> BY_DEADLINE = Comparator
+        .comparingLong((QueuedTicket ticket) -> ticket.deadline)
+        .thenComparing(ticket -> ticket.id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SupportDispatchProperties properties;
+    private final Map<String, TeamQueue> teams = new ConcurrentHashMap<>();
+    // Tickets en cola por id; una entrada de una cola que ya no está aquí se descarta al llegar a la cabeza
+    private final Map<String, QueuedTicket> queued = new ConcurrentHashMap<>();
+    private final SlaTimerWheel slaTimers;
+    private final Counter ownTeam;
+    private final Counter stolen;
+    private final Counter empty;
+    private final Map<SupportTicketPriority, Counter> breaches = new EnumMap<>(SupportTicketPriority.class);
+
+    public SupportTicketDispatcher(JdbcTemplate jdbcTemplate, SupportDispatchProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.slaTimers = new SlaTimerWheel(properties.getTickInterval(), properties.getWheelSize(), System.currentTimeMillis());
+        this.ownTeam = Counter.builder(DISPATCH_METRIC).tag("result", "own-team")
+            .description("Tickets asignados de la cola del equipo del agente").register(registry);
+        this.stolen = Counter.builder(DISPATCH_METRIC).tag("result", "stolen")
+            .description("Tickets asignados de la cola de otro equipo").register(registry);
+        this.empty = Counter.builder(DISPATCH_METRIC).tag("result", "empty")
+            .description("Peticiones de trabajo sin tickets en cola").register(registry);
+        for (SupportTicketPriority priority : SupportTicketPriority.values()) {
+            breaches.put(priority, Counter.builder(SLA_BREACHES_METRIC).tag("priority", priority.name().toLowerCase())
+                .description("Tickets que siguen sin asignar al vencer su plazo de atención").register(registry));
+        }
+        Gauge.builder(QUEUED_METRIC, queued, Map::size)
+            .description("Tickets de soporte pendientes de asignar").register(registry);
+    }
+
+    /**
+     * Reconstruye las colas con los tickets abiertos; solo al arrancar.
+     */
+    @PostConstruct
+    public void load() {
+        jdbcTemplate.query("SELECT id, team, priority, created_at FROM support_tickets WHERE status = 'open'", result -> {
+            offer(result.getString(1), result.getString(2), SupportTicketPriority.valueOf(result.getString(3)),
+                result.getTimestamp(4).getTime());
+        });
+        System.out.println("Tickets de soporte en cola: " + queued.size() + " en " + teams.size() + " equipos");
+    }
+
+    @Override
+    public void enqueue(SupportTicket supportTicket) {
+        String id = supportTicket.getId().getValue();
+        String team = supportTicket.getTeam();
+        SupportTicketPriority priority = supportTicket.getPriority();
+        long createdAt = toMillis(supportTicket.getCreatedAt());
+        // Antes de confirmar, el UPDATE que lo asigna no vería la fila
+        onCompletion(() -> offer(id, team, priority, createdAt), null);
+    }
+
+    @Override
+    public void remove(SupportTicketId id) {
+        // Si la transacción se deshace el ticket sigue abierto en la tabla y debe seguir en cola
+        onCompletion(() -> {
+            if (queued.remove(id.getValue()) != null) {
+                slaTimers.cancel(id.getValue());
+            }
+        }, null);
+    }
+
+    @Override
+    public Optional<SupportTicketId> dispatchNext(String agentId, String team) {
+        while (true) {
+            TeamQueue home = teams.get(team);
+            QueuedTicket next = home != null ? home.poll() : null;
+            boolean fromOwnTeam = next != null;
+            if (next == null) {
+                next = steal(team);
+            }
+            if (next == null) {
+                empty.increment();
+                return Optional.empty();
+            }
+            if (queued.get(next.id) != next) {
+                // Sacado de la cola mientras tanto
+                continue;
+            }
+            QueuedTicket taken = next;
+            if (claim(taken.id, agentId)) {
+                // Fuera del montículo ya no lo toma nadie más; sale de queued y de los plazos al confirmar
+                onCompletion(() -> forget(taken), () -> requeue(taken));
+                (fromOwnTeam ? ownTeam : stolen).increment();
+                return Optional.of(new SupportTicketId(taken.id));
+            }
+            // Asignado o cerrado fuera de esta cola: la fila ya no está abierta, se confirme o no esta transacción
+            forget(taken);
+        }
+    }
+
+    private void forget(QueuedTicket ticket) {
+        if (queued.remove(ticket.id, ticket)) {
+            slaTimers.cancel(ticket.id);
+        }
+    }
+
+    // Vuelve a su cola con el mismo plazo, salvo que otro cambio ya confirmado lo haya sacado de queued
+    private void requeue(QueuedTicket ticket) {
+        if (queued.get(ticket.id) == ticket) {
+            teams.computeIfAbsent(ticket.team, name -> new TeamQueue()).offer(ticket);
+            slaTimers.schedule(ticket.id, ticket.deadline);
+        }
+    }
+
+    /**
+     * Aplica onCommit al confirmarse la transacción en curso y onRollback (si no es null) si no se confirma;
+     * sin transacción, onCommit de inmediato. Un estado desconocido al terminar se trata como deshecha: el
+     * UPDATE condicionado de claim descarta el ticket si en realidad se había asignado.
+     */
+    private static void onCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onCommit.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED && onRollback != null) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    // El ticket que vence antes entre las colas de los demás equipos; una cabeza ya tomada se reintenta
+    private QueuedTicket steal(String team) {
+        while (true) {
+            TeamQueue victim = null;
+            QueuedTicket best = null;
+            for (Map.Entry<String, TeamQueue> entry : teams.entrySet()) {
+                if (entry.getKey().equals(team)) {
+                    continue;
+                }
+                QueuedTicket head = entry.getValue().peek();
+                if (head != null && (best == null || BY_DEADLINE.compare(head, best) < 0)) {
+                    best = head;
+                    victim = entry.getValue();
+                }
+            }
+            if (victim == null) {
+                return null;
+            }
+            QueuedTicket taken = victim.pollIfHead(best);
+            if (taken != null) {
+                return taken;
+            }
+        }
+    }
+
+    private boolean claim(String id, String agentId) {
+        return jdbcTemplate.update("UPDATE support_tickets SET status = 'in_progress', assigned_to = ?, "
+            + "updated_at = ? WHERE id = ? AND status = 'open'", agentId, Timestamp.valueOf(LocalDateTime.now()), id) == 1;
+    }
+
+    private void offer(String id, String team, SupportTicketPriority priority, long createdAt) {
+        QueuedTicket ticket = new QueuedTicket(id, team, createdAt + slaFor(priority), priority);
+        if (queued.putIfAbsent(id, ticket) != null) {
+            return;
+        }
+        teams.computeIfAbsent(team, name -> new TeamQueue()).offer(ticket);
+        slaTimers.schedule(id, ticket.deadline);
+    }
+
+    private long slaFor(SupportTicketPriority priority) {
+        switch (priority) {
+            case URGENT:
+                return properties.getUrgentSla();
+            case HIGH:
+                return properties.getHighSla();
+            case LOW:
+                return properties.getLowSla();
+            case NORMAL:
+            default:
+                return properties.getNormalSla();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${clinic.support-dispatch.tick-interval:1000}",
+        fixedDelayString = "${clinic.support-dispatch.tick-interval:1000}")
+    public void advanceSlaTimers() {
+        try {
+            checkSlaDeadlines(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            System.err.println("Support ticket SLA check failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cuenta los tickets aún en cola cuyo plazo venció hasta nowMillis. Siguen en cola: al vencer antes
+     * que el resto quedan los primeros de su equipo.
+     */
+    public int checkSlaDeadlines(long nowMillis) {
+        List<String> expired = slaTimers.advance(nowMillis);
+        int breached = 0;
+        for (String id : expired) {
+            QueuedTicket ticket = queued.get(id);
+            if (ticket != null) {
+                breaches.get(ticket.priority).increment();
+                System.err.println("Support ticket " + id + " (" + ticket.priority + ") breached its SLA unassigned");
+                breached++;
+            }
+        }
+        return breached;
+    }
+
+    public int queuedTickets() {
+        return queued.size();
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        // Igual que Timestamp.valueOf en load(): la zona del sistema
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class QueuedTicket {
+        private final String id;
+        private final String team;
+        private final long deadline;
+        private final SupportTicketPriority priority;
+
+        private QueuedTicket(String id, String team, long deadline, SupportTicketPriority priority) {
+            this.id = id;
+            this.team = team;
+            this.deadline = deadline;
+            this.priority = priority;
+        }
+    }
+
+    // Montículo de un equipo; las entradas que ya no están en queued se descartan al llegar a la cabeza
+    private final class TeamQueue {
+        private final PriorityQueue<QueuedTicket> heap = new PriorityQueue<>(BY_DEADLINE);
+
+        synchronized void offer(QueuedTicket ticket) {
+            heap.offer(ticket);
+        }
+
+        synchronized QueuedTicket poll() {
+            discardStaleHead();
+            return heap.poll();
+        }
+
+        synchronized QueuedTicket peek() {
+            discardStaleHead();
+            return heap.peek();
+        }
+
+        synchronized QueuedTicket pollIfHead(QueuedTicket expected) {
+            discardStaleHead();
+            return heap.peek() == expected ? heap.poll() : null;
+        }
+
+        private void discardStaleHead() {
+            while (!heap.isEmpty() && queued.get(heap.peek().id) != heap.peek()) {
+                heap.poll();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package app.clinic.infrastructure.persistence.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * OutputStream que acumula bytes en un buffer propio y los escribe en un FileChannel en bloques,
+ * opcionalmente comprimidos con Deflate en formato gzip (cabecera, datos, CRC32 y tamaño).
+ *
+ * Al cerrarse termina el miembro gzip pero no cierra el canal: varias particiones se concatenan
+ * después en un mismo archivo y gzip admite miembros consecutivos.
+ */
+final class ChannelSink extends OutputStream {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final FileChannel channel;
+    private final byte[] buffer;
+    private int position;
+
+    // Solo con compresión
+    private final Deflater deflater;
+    private final CRC32 crc;
+    private final ByteBuffer compressed;
+    private long uncompressedSize;
+
+    ChannelSink(FileChannel channel, int bufferSize, boolean gzip) throws IOException {
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+        if (gzip) {
+            // Velocidad antes que ratio: en CSV la diferencia con el nivel por defecto es pequeña
+            this.deflater = new Deflater(Deflater.BEST_SPEED, true);
+            this.crc = new CRC32();
+            this.compressed = ByteBuffer.allocate(bufferSize);
+            writeFully(ByteBuffer.wrap(GZIP_HEADER));
+        } else {
+            this.deflater = null;
+            this.crc = null;
+            this.compressed = null;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int chunk = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+        if (deflater != null) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflateInto(compressed);
+            }
+            deflater.end();
+            ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            trailer.putInt((int) crc.getValue()).putInt((int) uncompressedSize).flip();
+            writeFully(trailer);
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        if (deflater == null) {
+            writeFully(ByteBuffer.wrap(buffer, 0, position));
+        } else {
+            crc.update(buffer, 0, position);
+            uncompressedSize += position;
+            deflater.setInput(buffer, 0, position);
+            while (!deflater.needsInput()) {
+                deflateInto(compressed);
+            }
+        }
+        position = 0;
+    }
+
+    private void deflateInto(ByteBuffer target) throws IOException {
+        target.clear();
+        deflater.deflate(target);
+        target.flip();
+        writeFully(target);
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
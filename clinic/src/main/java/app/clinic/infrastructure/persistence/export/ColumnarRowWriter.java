@@ -0,0 +1,236 @@
+package app.clinic.infrastructure.persistence.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Formato binario por columnas (.ccol). Enteros en varint (LEB128) y los valores con signo en zigzag.
+ *
+ * <pre>
+ * archivo  = "CCOL" versión:u8 nColumnas:varint columna* bloque* 0:varint
+ * columna  = nombre:string tipo:u8 [escala:u8 si DECIMAL]
+ * bloque   = nFilas:varint (nulos:bitmap longitud:varint valores:bytes)* por columna
+ * nulos    = ceil(nFilas / 8) bytes, bit i (LSB primero) = 1 si la fila i es nula
+ * valores  = solo filas no nulas:
+ *            STRING    longitud:varint + UTF-8
+ *            LONG      zigzag varint
+ *            DECIMAL   zigzag varint del valor sin escala (123.45 con escala 2 → 12345)
+ *            BOOLEAN   bitmap de nFilas bits (las filas nulas en 0)
+ *            DATE      zigzag varint de días desde 1970-01-01
+ *            TIMESTAMP zigzag varint de microsegundos desde 1970-01-01T00:00 (sin zona, como en BD)
+ * </pre>
+ *
+ * La longitud de cada columna permite a un lector saltarse las que no necesita.
+ */
+final class ColumnarRowWriter implements ExportRowWriter {
+
+    static final byte[] MAGIC = {'C', 'C', 'O', 'L'};
+    static final int VERSION = 1;
+    static final int BLOCK_ROWS = 4096;
+
+    private final List<ExportColumn> columns;
+    private final OutputStream out;
+    private final ColumnBuffer[] buffers;
+    private int rows;
+
+    ColumnarRowWriter(List<ExportColumn> columns, OutputStream out) {
+        this.columns = columns;
+        this.out = out;
+        this.buffers = new ColumnBuffer[columns.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new ColumnBuffer(columns.get(i));
+        }
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarLong(out, columns.size());
+        for (ExportColumn column : columns) {
+            byte[] name = column.name().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, name.length);
+            out.write(name);
+            out.write(column.type().ordinal());
+            if (column.type() == ExportColumn.Type.DECIMAL) {
+                out.write(column.scale());
+            }
+        }
+    }
+
+    @Override
+    public void writeRow(ResultSet row) throws SQLException, IOException {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i].append(row, i + 1, rows);
+        }
+        if (++rows == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void finishPartition() throws IOException {
+        if (rows > 0) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void writeTrailer() throws IOException {
+        writeVarLong(out, 0);
+    }
+
+    private void flushBlock() throws IOException {
+        writeVarLong(out, rows);
+        int bitmapLength = (rows + 7) / 8;
+        for (ColumnBuffer buffer : buffers) {
+            out.write(buffer.nulls, 0, bitmapLength);
+            if (buffer.column.type() == ExportColumn.Type.BOOLEAN) {
+                writeVarLong(out, bitmapLength);
+                out.write(buffer.booleans, 0, bitmapLength);
+            } else {
+                writeVarLong(out, buffer.length);
+                out.write(buffer.values, 0, buffer.length);
+            }
+            buffer.reset();
+        }
+        rows = 0;
+    }
+
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Valores de una columna para el bloque en curso.
+     */
+    private static final class ColumnBuffer {
+        private final ExportColumn column;
+        private final byte[] nulls = new byte[BLOCK_ROWS / 8];
+        private final byte[] booleans;
+        private byte[] values = new byte[1024];
+        private int length;
+
+        ColumnBuffer(ExportColumn column) {
+            this.column = column;
+            this.booleans = column.type() == ExportColumn.Type.BOOLEAN ? new byte[BLOCK_ROWS / 8] : null;
+        }
+
+        void append(ResultSet row, int index, int rowInBlock) throws SQLException {
+            switch (column.type()) {
+                case STRING: {
+                    String value = row.getString(index);
+                    if (value == null) {
+                        markNull(rowInBlock);
+                    } else {
+                        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        putVarLong(bytes.length);
+                        put(bytes);
+                    }
+                    break;
+                }
+                case LONG: {
+                    long value = row.getLong(index);
+                    if (row.wasNull()) {
+                        markNull(rowInBlock);
+                    } else {
+                        putVarLong(zigzag(value));
+                    }
+                    break;
+                }
+                case DECIMAL: {
+                    BigDecimal value = row.getBigDecimal(index);
+                    if (value == null) {
+                        markNull(rowInBlock);
+                    } else {
+                        putVarLong(zigzag(value.setScale(column.scale(), RoundingMode.HALF_UP).unscaledValue().longValueExact()));
+                    }
+                    break;
+                }
+                case BOOLEAN: {
+                    boolean value = row.getBoolean(index);
+                    if (row.wasNull()) {
+                        markNull(rowInBlock);
+                    } else if (value) {
+                        booleans[rowInBlock >>> 3] |= (byte) (1 << (rowInBlock & 7));
+                    }
+                    break;
+                }
+                case DATE: {
+                    Date value = row.getDate(index);
+                    if (value == null) {
+                        markNull(rowInBlock);
+                    } else {
+                        putVarLong(zigzag(value.toLocalDate().toEpochDay()));
+                    }
+                    break;
+                }
+                case TIMESTAMP: {
+                    Timestamp value = row.getTimestamp(index);
+                    if (value == null) {
+                        markNull(rowInBlock);
+                    } else {
+                        LocalDateTime dateTime = value.toLocalDateTime();
+                        long micros = dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+                        putVarLong(zigzag(micros));
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unsupported column type " + column.type());
+            }
+        }
+
+        private void markNull(int rowInBlock) {
+            nulls[rowInBlock >>> 3] |= (byte) (1 << (rowInBlock & 7));
+        }
+
+        private void putVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                values[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            values[length++] = (byte) value;
+        }
+
+        private void put(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, values, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, length + extra));
+            }
+        }
+
+        void reset() {
+            Arrays.fill(nulls, (byte) 0);
+            if (booleans != null) {
+                Arrays.fill(booleans, (byte) 0);
+            }
+            length = 0;
+        }
+    }
+}
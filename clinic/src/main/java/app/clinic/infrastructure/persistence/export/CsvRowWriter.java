@@ -0,0 +1,109 @@
+package app.clinic.infrastructure.persistence.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+final class CsvRowWriter implements ExportRowWriter {
+
+    private final List<ExportColumn> columns;
+    private final OutputStream out;
+
+    CsvRowWriter(List<ExportColumn> columns, OutputStream out) {
+        this.columns = columns;
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(columns.get(i).name());
+        }
+        out.write('\n');
+    }
+
+    @Override
+    public void writeRow(ResultSet row) throws SQLException, IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = text(row, i + 1, columns.get(i));
+            if (value != null) {
+                writeField(value);
+            }
+        }
+        out.write('\n');
+    }
+
+    @Override
+    public void finishPartition() {
+    }
+
+    @Override
+    public void writeTrailer() {
+    }
+
+    private static String text(ResultSet row, int index, ExportColumn column) throws SQLException {
+        switch (column.type()) {
+            case LONG: {
+                long value = row.getLong(index);
+                return row.wasNull() ? null : Long.toString(value);
+            }
+            case BOOLEAN: {
+                boolean value = row.getBoolean(index);
+                return row.wasNull() ? null : Boolean.toString(value);
+            }
+            case DECIMAL: {
+                BigDecimal value = row.getBigDecimal(index);
+                return value == null ? null : value.toPlainString();
+            }
+            case DATE: {
+                Date value = row.getDate(index);
+                return value == null ? null : value.toLocalDate().toString();
+            }
+            case TIMESTAMP: {
+                Timestamp value = row.getTimestamp(index);
+                return value == null ? null : value.toLocalDateTime().toString();
+            }
+            default:
+                return row.getString(index);
+        }
+    }
+
+    /**
+     * Entre comillas solo si contiene separador, comillas o saltos de línea; las comillas se duplican.
+     * El texto ASCII se escribe byte a byte sin pasar por getBytes.
+     */
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        boolean ascii = true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                quote = true;
+            } else if (c >= 0x80) {
+                ascii = false;
+            }
+        }
+        if (quote) {
+            value = '"' + value.replace("\"", "\"\"") + '"';
+        }
+        if (ascii) {
+            for (int i = 0; i < value.length(); i++) {
+                out.write(value.charAt(i));
+            }
+        } else {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package app.clinic.infrastructure.persistence.export;
+
+/**
+ * Columna exportada: nombre en la tabla y tipo con el que se codifica. Para DECIMAL, scale es el
+ * número de decimales de la columna en BD (el valor se guarda como entero sin escala).
+ */
+public record ExportColumn(String name, Type type, int scale) {
+
+    public enum Type {
+        STRING, LONG, DECIMAL, BOOLEAN, DATE, TIMESTAMP
+    }
+
+    static ExportColumn string(String name) {
+        return new ExportColumn(name, Type.STRING, 0);
+    }
+
+    static ExportColumn number(String name) {
+        return new ExportColumn(name, Type.LONG, 0);
+    }
+
+    static ExportColumn decimal(String name, int scale) {
+        return new ExportColumn(name, Type.DECIMAL, scale);
+    }
+
+    static ExportColumn bool(String name) {
+        return new ExportColumn(name, Type.BOOLEAN, 0);
+    }
+
+    static ExportColumn date(String name) {
+        return new ExportColumn(name, Type.DATE, 0);
+    }
+
+    static ExportColumn timestamp(String name) {
+        return new ExportColumn(name, Type.TIMESTAMP, 0);
+    }
+}
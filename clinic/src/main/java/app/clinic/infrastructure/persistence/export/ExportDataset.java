@@ -0,0 +1,105 @@
+package app.clinic.infrastructure.persistence.export;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tablas exportables (esquema de V1__Create_tables.sql). La primera columna de la clave primaria es
+ * la que se usa para partir la exportación en rangos; el orden de salida es el de la clave completa.
+ */
+public enum ExportDataset {
+    PATIENTS("patients", List.of("identification_number"), List.of(
+        ExportColumn.string("identification_number"),
+        ExportColumn.string("full_name"),
+        ExportColumn.string("date_of_birth"),
+        ExportColumn.string("gender"),
+        ExportColumn.string("address"),
+        ExportColumn.string("phone"),
+        ExportColumn.string("email"),
+        ExportColumn.string("emergency_contact_name"),
+        ExportColumn.string("emergency_contact_relation"),
+        ExportColumn.string("emergency_contact_phone"),
+        ExportColumn.string("insurance_company_name"),
+        ExportColumn.string("insurance_policy_number"),
+        ExportColumn.bool("insurance_active"),
+        ExportColumn.string("insurance_validity_date"),
+        ExportColumn.decimal("annual_copay_total", 2))),
+
+    ORDERS("orders", List.of("order_number"), List.of(
+        ExportColumn.string("order_number"),
+        ExportColumn.string("patient_identification_number"),
+        ExportColumn.string("doctor_identification_number"),
+        ExportColumn.date("date"),
+        ExportColumn.string("diagnosis"))),
+
+    BILLINGS("billings", List.of("order_number"), List.of(
+        ExportColumn.string("order_number"),
+        ExportColumn.string("patient_name"),
+        ExportColumn.number("age"),
+        ExportColumn.string("identification_number"),
+        ExportColumn.string("doctor_name"),
+        ExportColumn.string("company"),
+        ExportColumn.string("policy_number"),
+        ExportColumn.number("validity_days"),
+        ExportColumn.date("validity_date"),
+        ExportColumn.decimal("total_cost", 2),
+        ExportColumn.decimal("copay", 2),
+        ExportColumn.decimal("insurance_coverage", 2),
+        ExportColumn.string("applied_medications"),
+        ExportColumn.string("applied_procedures"),
+        ExportColumn.string("applied_diagnostic_aids"),
+        ExportColumn.timestamp("generated_at"),
+        ExportColumn.string("generated_by"))),
+
+    VITAL_SIGNS("vital_signs", List.of("patient_identification_number", "date_time"), List.of(
+        ExportColumn.string("patient_identification_number"),
+        ExportColumn.timestamp("date_time"),
+        ExportColumn.string("blood_pressure"),
+        ExportColumn.decimal("temperature", 1),
+        ExportColumn.number("pulse"),
+        ExportColumn.number("oxygen_level"),
+        ExportColumn.string("observations")));
+
+    private final String table;
+    private final List<String> primaryKey;
+    private final List<ExportColumn> columns;
+
+    ExportDataset(String table, List<String> primaryKey, List<ExportColumn> columns) {
+        this.table = table;
+        this.primaryKey = primaryKey;
+        this.columns = columns;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<ExportColumn> getColumns() {
+        return columns;
+    }
+
+    String partitionKey() {
+        return primaryKey.get(0);
+    }
+
+    // Columnas calificadas con el alias: "date" es palabra reservada en H2
+    String selectSql(boolean lowerBound, boolean upperBound) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+            .append(columns.stream().map(column -> "t." + column.name()).collect(Collectors.joining(", ")))
+            .append(" FROM ").append(table).append(" t");
+        if (lowerBound || upperBound) {
+            sql.append(" WHERE ");
+            if (lowerBound) {
+                sql.append("t.").append(partitionKey()).append(" >= ?");
+            }
+            if (lowerBound && upperBound) {
+                sql.append(" AND ");
+            }
+            if (upperBound) {
+                sql.append("t.").append(partitionKey()).append(" < ?");
+            }
+        }
+        sql.append(" ORDER BY ").append(primaryKey.stream().map(column -> "t." + column).collect(Collectors.joining(", ")));
+        return sql.toString();
+    }
+}
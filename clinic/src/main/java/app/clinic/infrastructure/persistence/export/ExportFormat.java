@@ -0,0 +1,30 @@
+package app.clinic.infrastructure.persistence.export;
+
+import java.io.OutputStream;
+import java.util.List;
+
+public enum ExportFormat {
+    /**
+     * RFC 4180 con cabecera, UTF-8 y fin de línea \n. Nulos como campo vacío, fechas en ISO-8601.
+     */
+    CSV("csv"),
+
+    /**
+     * Binario por columnas, ver ColumnarRowWriter.
+     */
+    COLUMNAR("ccol");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    ExportRowWriter newWriter(List<ExportColumn> columns, OutputStream out) {
+        return this == CSV ? new CsvRowWriter(columns, out) : new ColumnarRowWriter(columns, out);
+    }
+}
@@ -0,0 +1,26 @@
+package app.clinic.infrastructure.persistence.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Codifica filas de un ResultSet en el formato de la exportación. Cada partición tiene su propio
+ * writer; la cabecera la escribe solo la primera y el cierre del archivo solo la última.
+ */
+interface ExportRowWriter {
+
+    void writeHeader() throws IOException;
+
+    /**
+     * Fila actual del ResultSet, con las columnas en el orden de ExportDataset.getColumns().
+     */
+    void writeRow(ResultSet row) throws SQLException, IOException;
+
+    /**
+     * Escribe lo pendiente de esta partición (el último bloque en el formato columnar).
+     */
+    void finishPartition() throws IOException;
+
+    void writeTrailer() throws IOException;
+}
@@ -0,0 +1,232 @@
+package app.clinic.infrastructure.persistence.export;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+/**
+ * Exporta una tabla completa a un archivo leyendo con cursores JDBC forward-only, sin JPA: cada
+ * fila se codifica y se escribe en el buffer del archivo en cuanto sale del ResultSet.
+ *
+ * Con varias particiones la tabla se divide en rangos de la primera columna de la clave primaria
+ * con aproximadamente las mismas filas. Cada rango se escribe en paralelo a su propio archivo .partN
+ * (con su propio miembro gzip si hay compresión) y al final se concatenan en orden con
+ * FileChannel.transferTo, que copia dentro del kernel sin pasar por el heap.
+ */
+public class JdbcExporter {
+
+    // Filas entre actualizaciones del progreso y comprobaciones de cancelación
+    static final int PROGRESS_EVERY = 1000;
+
+    /**
+     * Seguimiento del trabajo que lanzó la exportación.
+     */
+    public interface Progress {
+        void rowsWritten(long rows);
+
+        boolean isCancelled();
+    }
+
+    private record KeyRange(Object lower, Object upper) {
+    }
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+    private final int bufferSize;
+
+    public JdbcExporter(DataSource dataSource, int fetchSize, int bufferSize) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+        this.bufferSize = bufferSize;
+    }
+
+    public long countRows(ExportDataset dataset) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + dataset.getTable())) {
+            result.next();
+            return result.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not count " + dataset.getTable(), e);
+        }
+    }
+
+    /**
+     * @param totalRows conteo previo (countRows) usado para elegir los límites de los rangos
+     * @return filas escritas
+     */
+    public long export(ExportDataset dataset, ExportFormat format, boolean compressed, int partitions, long totalRows,
+                       Path target, ExecutorService executor, Progress progress) throws IOException {
+        List<KeyRange> ranges = partition(dataset, partitions, totalRows);
+        List<Path> parts = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            parts.add(target.resolveSibling(target.getFileName() + ".part" + i));
+        }
+
+        try {
+            List<Future<Long>> tasks = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                int index = i;
+                tasks.add(executor.submit(() -> exportRange(dataset, format, compressed, ranges.get(index),
+                    index == 0, index == ranges.size() - 1, parts.get(index), progress)));
+            }
+            long rows = 0;
+            try {
+                for (Future<Long> task : tasks) {
+                    rows += task.get();
+                }
+            } catch (InterruptedException e) {
+                tasks.forEach(task -> task.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Export interrupted");
+            } catch (ExecutionException e) {
+                tasks.forEach(task -> task.cancel(true));
+                waitForAll(tasks);
+                if (e.getCause() instanceof CancellationException cancellation) {
+                    throw cancellation;
+                }
+                throw new IllegalStateException("Could not export " + dataset.getTable() + ": " + e.getCause().getMessage(), e.getCause());
+            }
+
+            concatenate(parts);
+            Files.move(parts.get(0), target, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } finally {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    /**
+     * Límites tomados de la propia clave (OFFSET sobre el índice de la clave primaria), así los rangos
+     * quedan balanceados aunque las claves no estén distribuidas uniformemente.
+     */
+    private List<KeyRange> partition(ExportDataset dataset, int partitions, long totalRows) {
+        List<Object> bounds = new ArrayList<>();
+        if (partitions > 1 && totalRows >= partitions) {
+            String sql = "SELECT t." + dataset.partitionKey() + " FROM " + dataset.getTable() + " t ORDER BY t."
+                + dataset.partitionKey() + " OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY";
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 1; i < partitions; i++) {
+                    statement.setLong(1, totalRows * i / partitions);
+                    try (ResultSet result = statement.executeQuery()) {
+                        if (result.next()) {
+                            Object bound = result.getObject(1);
+                            // Claves repetidas (signos vitales por paciente) pueden dar el mismo límite dos veces
+                            if (bounds.isEmpty() || !bounds.get(bounds.size() - 1).equals(bound)) {
+                                bounds.add(bound);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not compute key ranges for " + dataset.getTable(), e);
+            }
+        }
+        List<KeyRange> ranges = new ArrayList<>();
+        Object lower = null;
+        for (Object bound : bounds) {
+            ranges.add(new KeyRange(lower, bound));
+            lower = bound;
+        }
+        ranges.add(new KeyRange(lower, null));
+        return ranges;
+    }
+
+    private long exportRange(ExportDataset dataset, ExportFormat format, boolean compressed, KeyRange range,
+                             boolean first, boolean last, Path part, Progress progress) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection();
+             FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                 StandardOpenOption.WRITE)) {
+            // Sin autocommit para que los drivers que lo requieren (PostgreSQL) usen un cursor real
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    dataset.selectSql(range.lower() != null, range.upper() != null),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                int parameter = 1;
+                if (range.lower() != null) {
+                    statement.setObject(parameter++, range.lower());
+                }
+                if (range.upper() != null) {
+                    statement.setObject(parameter, range.upper());
+                }
+
+                long rows = 0;
+                try (ChannelSink sink = new ChannelSink(channel, bufferSize, compressed);
+                     ResultSet result = statement.executeQuery()) {
+                    ExportRowWriter writer = format.newWriter(dataset.getColumns(), sink);
+                    if (first) {
+                        writer.writeHeader();
+                    }
+                    while (result.next()) {
+                        writer.writeRow(result);
+                        if (++rows % PROGRESS_EVERY == 0) {
+                            progress.rowsWritten(PROGRESS_EVERY);
+                            if (progress.isCancelled() || Thread.currentThread().isInterrupted()) {
+                                throw new CancellationException("Export cancelled");
+                            }
+                        }
+                    }
+                    writer.finishPartition();
+                    if (last) {
+                        writer.writeTrailer();
+                    }
+                }
+                progress.rowsWritten(rows % PROGRESS_EVERY);
+                return rows;
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private static void concatenate(List<Path> parts) throws IOException {
+        if (parts.size() == 1) {
+            return;
+        }
+        try (FileChannel target = FileChannel.open(parts.get(0), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (Path part : parts.subList(1, parts.size())) {
+                try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = source.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void waitForAll(List<Future<Long>> tasks) {
+        for (Future<Long> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | CancellationException e) {
+                // ya se reporta el primer error
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package app.clinic.infrastructure.persistence.generator;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import app.clinic.Cs2Application;
+
+/**
+ * Punto de entrada de línea de comandos del generador: arranca la aplicación sin servidor web
+ * con el perfil datagen, aplica las migraciones, carga los datos y termina.
+ *
+ * Desde el jar:
+ *   java -cp clinic.jar -Dloader.main=app.clinic.infrastructure.persistence.generator.SyntheticDataCli \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher \
+ *        --spring.datasource.url=jdbc:h2:file:./scale_db --clinic.datagen.patients=1000000
+ */
+public class SyntheticDataCli {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(Cs2Application.class)
+            .profiles("datagen")
+            .web(WebApplicationType.NONE)
+            .run(args);
+    }
+}
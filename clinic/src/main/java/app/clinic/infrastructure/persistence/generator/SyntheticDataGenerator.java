@@ -0,0 +1,396 @@
+package app.clinic.infrastructure.persistence.generator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import app.clinic.domain.model.entities.Appointment;
+import app.clinic.domain.model.entities.Billing;
+import app.clinic.domain.model.entities.DiagnosticAidOrder;
+import app.clinic.domain.model.entities.DiagnosticAidOrderStrategy;
+import app.clinic.domain.model.entities.Insurance;
+import app.clinic.domain.model.entities.MedicationOrder;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.Patient;
+import app.clinic.domain.model.entities.ProcedureOrder;
+import app.clinic.domain.model.entities.User;
+import app.clinic.domain.model.entities.VitalSigns;
+import app.clinic.domain.model.valueobject.Address;
+import app.clinic.domain.model.valueobject.Credentials;
+import app.clinic.domain.model.valueobject.DateOfBirth;
+import app.clinic.domain.model.valueobject.Email;
+import app.clinic.domain.model.valueobject.EmergencyContact;
+import app.clinic.domain.model.valueobject.Gender;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.OrderNumber;
+import app.clinic.domain.model.valueobject.Password;
+import app.clinic.domain.model.valueobject.Phone;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.model.valueobject.Username;
+
+/**
+ * Genera entidades clínicas sintéticas a partir de un seed.
+ *
+ * Cada entidad se deriva solo de (seed, tipo, índice) con su propio SplittableRandom, así que
+ * cualquier rango se puede generar en cualquier hilo y en cualquier orden con el mismo resultado.
+ * Las entidades se construyen con los constructores del dominio, por lo que todo lo generado
+ * pasa las mismas validaciones de value objects que los datos reales.
+ */
+public class SyntheticDataGenerator {
+    public static final long USER_ID_BASE = 6_000_000_000L;
+    public static final long PATIENT_ID_BASE = 7_000_000_000L;
+    public static final long APPOINTMENT_ID_BASE = 5_000_000_000L;
+    public static final int MAX_ORDER_NUMBER = 999_999;
+    public static final String DEFAULT_PASSWORD = "Password123!";
+
+    /**
+     * Catálogo de inventario propio del generador. Los ids son numéricos porque las órdenes
+     * referencian el inventario con Id, que solo acepta dígitos.
+     */
+    public record CatalogItem(String id, String name, double cost, boolean requiresSpecialist) {
+    }
+
+    public static final List<CatalogItem> MEDICATIONS = List.of(
+        new CatalogItem("900001", "Acetaminofén 500mg", 2500.0, false),
+        new CatalogItem("900002", "Losartán 50mg", 3800.0, false),
+        new CatalogItem("900003", "Metformina 850mg", 4200.0, false),
+        new CatalogItem("900004", "Amoxicilina 500mg", 4500.0, false),
+        new CatalogItem("900005", "Atorvastatina 20mg", 6100.0, false),
+        new CatalogItem("900006", "Enoxaparina 40mg", 28000.0, true));
+
+    public static final List<CatalogItem> PROCEDURES = List.of(
+        new CatalogItem("910001", "Consulta de control", 45000.0, false),
+        new CatalogItem("910002", "Curación simple", 30000.0, false),
+        new CatalogItem("910003", "Terapia respiratoria", 65000.0, false),
+        new CatalogItem("910004", "Electrocardiograma", 80000.0, true));
+
+    public static final List<CatalogItem> DIAGNOSTIC_AIDS = List.of(
+        new CatalogItem("920001", "Hemograma completo", 35000.0, false),
+        new CatalogItem("920002", "Perfil lipídico", 42000.0, false),
+        new CatalogItem("920003", "Radiografía de tórax", 60000.0, false),
+        new CatalogItem("920004", "Ecografía abdominal", 120000.0, true));
+
+    /**
+     * Entrada de historia clínica tal como la persiste MedicalRecordRepositoryImpl (una fila por consulta).
+     */
+    public record MedicalRecordEntry(String patientId, LocalDate consultationDate, String doctorId, String reason,
+                                     String symptoms, String diagnosis, Map<String, Object> medication,
+                                     Map<String, Object> procedure, Map<String, Object> diagnosticAid, String orderNumber) {
+    }
+
+    /**
+     * La tabla appointments guarda el administrador que agenda, que no existe en el modelo de dominio.
+     */
+    public record ScheduledAppointment(Appointment appointment, String adminId) {
+    }
+
+    private static final String[] FIRST_NAMES = {"Santiago", "Valentina", "Mateo", "Isabella", "Sebastián", "Mariana",
+        "Samuel", "Gabriela", "Nicolás", "Daniela", "Alejandro", "Camila", "Juan", "Sofía", "Andrés", "Laura"};
+    private static final String[] LAST_NAMES = {"García", "Rodríguez", "Martínez", "López", "González", "Hernández",
+        "Pérez", "Sánchez", "Ramírez", "Torres", "Flórez", "Rivera", "Gómez", "Díaz", "Vargas", "Castro"};
+    private static final String[] STREETS = {"Calle", "Carrera", "Avenida", "Diagonal", "Transversal"};
+    private static final String[] RELATIONS = {"Madre", "Padre", "Esposo", "Esposa", "Hijo", "Hija", "Hermano", "Hermana"};
+    private static final String[] INSURERS = {"Sura", "Sanitas", "Compensar", "Nueva EPS", "Salud Total"};
+    private static final String[] EMAIL_DOMAINS = {"gmail.com", "hotmail.com", "outlook.com", "yahoo.com"};
+    private static final String[] REASONS = {"Control de rutina", "Dolor abdominal", "Cefalea persistente", "Tos y fiebre",
+        "Control de hipertensión", "Control de diabetes", "Dolor lumbar", "Revisión de exámenes"};
+    private static final String[] DIAGNOSES = {"Hipertensión esencial", "Diabetes mellitus tipo 2", "Infección respiratoria aguda",
+        "Gastritis crónica", "Lumbalgia mecánica", "Migraña sin aura", "Dislipidemia", "Paciente sano"};
+    private static final String[] SYMPTOMS = {"Sin síntomas", "Dolor leve", "Fiebre de 38°C", "Malestar general",
+        "Mareo ocasional", "Dolor moderado", "Tos seca"};
+
+    // Salts por tipo de entidad: índices iguales de tipos distintos no comparten secuencia aleatoria
+    private static final long USER = 1, PATIENT = 2, APPOINTMENT = 3, ORDER = 4, VITAL_SIGNS = 5, RECORD = 6, BILLING = 7;
+
+    private final long seed;
+    private final int users;
+    private final int patients;
+    private final int firstOrderNumber;
+    private final int maxItemsPerOrder;
+    private final int diagnosticAidOrderPercent;
+    private final LocalDate today;
+
+    /**
+     * @param referenceDate día de referencia para todas las fechas generadas; el mismo seed y fecha dan los mismos datos
+     */
+    public SyntheticDataGenerator(long seed, int users, int patients, int firstOrderNumber, int maxItemsPerOrder,
+                                  int diagnosticAidOrderPercent, LocalDate referenceDate) {
+        if (users < 10) {
+            throw new IllegalArgumentException("At least 10 users are required to cover every role");
+        }
+        if (patients < 1) {
+            throw new IllegalArgumentException("At least one patient is required");
+        }
+        if (firstOrderNumber < 1 || firstOrderNumber > MAX_ORDER_NUMBER) {
+            throw new IllegalArgumentException("First order number must be between 1 and " + MAX_ORDER_NUMBER);
+        }
+        if (maxItemsPerOrder < 1) {
+            throw new IllegalArgumentException("Orders need at least one item");
+        }
+        if (diagnosticAidOrderPercent < 0 || diagnosticAidOrderPercent > 100) {
+            throw new IllegalArgumentException("Diagnostic aid order percent must be between 0 and 100");
+        }
+        this.seed = seed;
+        this.users = users;
+        this.patients = patients;
+        this.firstOrderNumber = firstOrderNumber;
+        this.maxItemsPerOrder = maxItemsPerOrder;
+        this.diagnosticAidOrderPercent = diagnosticAidOrderPercent;
+        this.today = referenceDate;
+    }
+
+    public static String userId(long index) {
+        return String.valueOf(USER_ID_BASE + index);
+    }
+
+    public static String patientId(long index) {
+        return String.valueOf(PATIENT_ID_BASE + index);
+    }
+
+    public String orderNumber(long index) {
+        return String.format("%06d", firstOrderNumber + index);
+    }
+
+    /**
+     * Roles por bloques de 10 usuarios: 4 médicos, 3 enfermeras, 2 administrativos y 1 de RRHH o soporte.
+     */
+    public static Role roleOf(long index) {
+        int slot = (int) (index % 10);
+        if (slot < 4) {
+            return Role.MEDICO;
+        } else if (slot < 7) {
+            return Role.ENFERMERA;
+        } else if (slot < 9) {
+            return Role.PERSONAL_ADMINISTRATIVO;
+        }
+        return (index / 10) % 2 == 0 ? Role.RECURSOS_HUMANOS : Role.SOPORTE_DE_INFORMACION;
+    }
+
+    public User user(int index) {
+        SplittableRandom random = random(USER, index);
+        Role role = roleOf(index);
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String prefix = role == Role.MEDICO ? "Dr. " : "";
+        return new User(
+            new Credentials(new Username("usr" + index), new Password(DEFAULT_PASSWORD)),
+            prefix + firstName + " " + lastName,
+            new Id(userId(index)),
+            new Email("usuario" + index + "@clinica.com"),
+            mobilePhone(random),
+            dateOfBirth(random, 22, 65),
+            address(random),
+            role);
+    }
+
+    public Patient patient(int index) {
+        SplittableRandom random = random(PATIENT, index);
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES) + " " + pick(random, LAST_NAMES);
+        boolean insured = random.nextInt(100) < 85;
+        Insurance insurance = insured
+            ? new Insurance(pick(random, INSURERS), "POL" + (100000 + index), true, today.plusDays(30 + random.nextInt(1000)))
+            : new Insurance("Sin Seguro", "N/A", false, null);
+        return new Patient(
+            new Id(patientId(index)),
+            firstName + " " + lastName,
+            dateOfBirth(random, 0, 95),
+            random.nextInt(100) < 2 ? Gender.OTRO : (random.nextBoolean() ? Gender.MASCULINO : Gender.FEMENINO),
+            address(random),
+            mobilePhone(random),
+            new Email(stripAccents(firstName + "." + lastName.replace(' ', '.')).toLowerCase() + index + "@" + pick(random, EMAIL_DOMAINS)),
+            new EmergencyContact(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES), pick(random, RELATIONS), mobilePhone(random)),
+            insurance);
+    }
+
+    public ScheduledAppointment appointment(int index) {
+        SplittableRandom random = random(APPOINTMENT, index);
+        // Citas entre hace 180 días y dentro de 60 días, en franjas de 20 minutos en horario laboral
+        LocalDateTime dateTime = today.minusDays(180).plusDays(random.nextInt(240))
+            .atTime(7 + random.nextInt(11), random.nextInt(3) * 20);
+        Appointment appointment = new Appointment(
+            new Id(String.valueOf(APPOINTMENT_ID_BASE + index)),
+            new Id(patientId(random.nextInt(patients))),
+            new Id(doctorId(random)),
+            dateTime,
+            pick(random, REASONS));
+        if (dateTime.toLocalDate().isBefore(today)) {
+            if (random.nextInt(10) == 0) {
+                appointment.cancel();
+            } else {
+                appointment.confirm();
+                appointment.start();
+                appointment.complete();
+            }
+        } else if (random.nextInt(20) == 0) {
+            appointment.cancel();
+        }
+        return new ScheduledAppointment(appointment, adminId(random));
+    }
+
+    /**
+     * Órdenes de ayudas diagnósticas o de medicamentos/procedimientos, nunca mezcladas,
+     * respetando la regla de dominio de OrderStrategy.
+     */
+    public Order order(int index) {
+        SplittableRandom random = random(ORDER, index);
+        OrderNumber orderNumber = new OrderNumber(orderNumber(index));
+        String patientId = patientId(random.nextInt(patients));
+        String doctorId = doctorId(random);
+        LocalDate date = today.minusDays(random.nextInt(730));
+        String diagnosis = pick(random, DIAGNOSES);
+        int items = 1 + random.nextInt(maxItemsPerOrder);
+
+        if (random.nextInt(100) < diagnosticAidOrderPercent) {
+            Order order = new Order(orderNumber, patientId, doctorId, date, diagnosis, new DiagnosticAidOrderStrategy());
+            for (int item = 1; item <= items; item++) {
+                CatalogItem aid = DIAGNOSTIC_AIDS.get(random.nextInt(DIAGNOSTIC_AIDS.size()));
+                order.addDiagnosticAid(new DiagnosticAidOrder(orderNumber, item, new Id(aid.id()), String.valueOf(1 + random.nextInt(2)),
+                    aid.requiresSpecialist(), aid.requiresSpecialist() ? new Id(doctorId(random)) : null, aid.cost()));
+            }
+            return order;
+        }
+
+        Order order = new Order(orderNumber, patientId, doctorId, date, diagnosis);
+        for (int item = 1; item <= items; item++) {
+            if (random.nextInt(100) < 70) {
+                CatalogItem medication = MEDICATIONS.get(random.nextInt(MEDICATIONS.size()));
+                order.addMedication(new MedicationOrder(orderNumber, item, new Id(medication.id()),
+                    (1 + random.nextInt(2)) + " tableta(s) cada " + (6 + 2 * random.nextInt(4)) + " horas",
+                    (3 + random.nextInt(28)) + " días", medication.cost()));
+            } else {
+                CatalogItem procedure = PROCEDURES.get(random.nextInt(PROCEDURES.size()));
+                order.addProcedure(new ProcedureOrder(orderNumber, item, new Id(procedure.id()), String.valueOf(1 + random.nextInt(5)),
+                    random.nextBoolean() ? "Diaria" : "Semanal", procedure.requiresSpecialist(),
+                    procedure.requiresSpecialist() ? new Id(doctorId(random)) : null, procedure.cost()));
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Las tomas se reparten en ronda entre pacientes, una hora aparte por paciente, para no
+     * repetir la clave primaria (paciente, fecha).
+     */
+    public VitalSigns vitalSigns(int index) {
+        SplittableRandom random = random(VITAL_SIGNS, index);
+        int patient = index % patients;
+        int reading = index / patients;
+        LocalDateTime dateTime = today.atStartOfDay().minusHours(reading + 1L).plusMinutes(random.nextInt(60));
+        boolean abnormal = random.nextInt(100) < 5;
+        return new VitalSigns(
+            patientId(patient),
+            dateTime,
+            (100 + random.nextInt(50)) + "/" + (60 + random.nextInt(35)),
+            abnormal ? 38.5 + random.nextInt(15) / 10.0 : 36.0 + random.nextInt(13) / 10.0,
+            abnormal ? 115 + random.nextInt(20) : 60 + random.nextInt(40),
+            abnormal ? 85 + random.nextInt(5) : 94 + random.nextInt(7),
+            abnormal ? "Requiere seguimiento" : "Paciente estable");
+    }
+
+    /**
+     * Consulta asociada a la orden del mismo índice: mismo paciente, médico y fecha.
+     */
+    public MedicalRecordEntry medicalRecord(int index) {
+        SplittableRandom random = random(RECORD, index);
+        Order order = order(index);
+        Map<String, Object> medication = null;
+        Map<String, Object> procedure = null;
+        Map<String, Object> diagnosticAid = null;
+        if (!order.getMedications().isEmpty()) {
+            MedicationOrder first = order.getMedications().get(0);
+            medication = new LinkedHashMap<>();
+            medication.put("orderNumber", order.getOrderNumber().getValue());
+            medication.put("medicationId", first.getMedicationId().getValue());
+            medication.put("dosage", first.getDosage());
+            medication.put("duration", first.getDuration());
+        }
+        if (!order.getProcedures().isEmpty()) {
+            ProcedureOrder first = order.getProcedures().get(0);
+            procedure = new LinkedHashMap<>();
+            procedure.put("orderNumber", order.getOrderNumber().getValue());
+            procedure.put("procedureId", first.getProcedureId().getValue());
+            procedure.put("quantity", first.getQuantity());
+            procedure.put("frequency", first.getFrequency());
+        }
+        if (!order.getDiagnosticAids().isEmpty()) {
+            DiagnosticAidOrder first = order.getDiagnosticAids().get(0);
+            diagnosticAid = new LinkedHashMap<>();
+            diagnosticAid.put("orderNumber", order.getOrderNumber().getValue());
+            diagnosticAid.put("diagnosticAidId", first.getDiagnosticAidId().getValue());
+            diagnosticAid.put("quantity", first.getQuantity());
+        }
+        return new MedicalRecordEntry(order.getPatientIdentificationNumber(), order.getDate(), order.getDoctorIdentificationNumber(),
+            pick(random, REASONS), pick(random, SYMPTOMS), order.getDiagnosis(), medication, procedure, diagnosticAid,
+            order.getOrderNumber().getValue());
+    }
+
+    /**
+     * Factura de la orden del mismo índice con las reglas de copago del dominio
+     * (sin acumulado anual previo).
+     */
+    public Billing billing(int index) {
+        Order order = order(index);
+        Patient patient = patient((int) (Long.parseLong(order.getPatientIdentificationNumber()) - PATIENT_ID_BASE));
+        User doctor = user((int) (Long.parseLong(order.getDoctorIdentificationNumber()) - USER_ID_BASE));
+        Insurance insurance = patient.getInsurance();
+        double totalCost = Billing.calculateTotalCostFromOrder(order);
+        double copay = Billing.calculateCopay(totalCost, insurance.isActive(), 0.0);
+        LocalDate validityDate = insurance.isActive() ? insurance.getValidityDate() : null;
+        int validityDays = validityDate != null ? (int) java.time.temporal.ChronoUnit.DAYS.between(today, validityDate) : 0;
+        return new Billing(
+            order.getOrderNumber(),
+            patient.getFullName(),
+            patient.calculateAge(),
+            patient.getIdentificationNumber().getValue(),
+            doctor.getFullName(),
+            insurance.getCompanyName(),
+            insurance.getPolicyNumber(),
+            validityDays,
+            validityDate,
+            totalCost,
+            copay,
+            insurance.isActive() ? totalCost - copay : 0.0,
+            Billing.formatAppliedMedications(order),
+            Billing.formatAppliedProcedures(order),
+            Billing.formatAppliedDiagnosticAids(order),
+            order.getDate().atTime(18, 0),
+            adminId(random(BILLING, index)));
+    }
+
+    private SplittableRandom random(long type, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + type * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private String doctorId(SplittableRandom random) {
+        return userId(10L * random.nextInt(users / 10) + random.nextInt(4));
+    }
+
+    private String adminId(SplittableRandom random) {
+        return userId(10L * random.nextInt(users / 10) + 7 + random.nextInt(2));
+    }
+
+    private Phone mobilePhone(SplittableRandom random) {
+        return new Phone("3" + (100_000_000 + random.nextInt(900_000_000)));
+    }
+
+    private DateOfBirth dateOfBirth(SplittableRandom random, int minAge, int maxAge) {
+        LocalDate date = today.minusYears(minAge).minusDays(random.nextInt((maxAge - minAge) * 365 + 1));
+        return new DateOfBirth(String.format("%02d/%02d/%04d", date.getDayOfMonth(), date.getMonthValue(), date.getYear()));
+    }
+
+    private Address address(SplittableRandom random) {
+        return new Address(pick(random, STREETS) + " " + (1 + random.nextInt(150)) + " #" + (1 + random.nextInt(99)) + "-" + (1 + random.nextInt(99)));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String stripAccents(String value) {
+        return java.text.Normalizer.normalize(value, java.text.Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
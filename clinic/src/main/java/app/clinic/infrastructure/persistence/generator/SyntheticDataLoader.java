@@ -0,0 +1,518 @@
+package app.clinic.infrastructure.persistence.generator;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import app.clinic.domain.model.entities.Appointment;
+import app.clinic.domain.model.entities.Billing;
+import app.clinic.domain.model.entities.DiagnosticAidOrder;
+import app.clinic.domain.model.entities.MedicationOrder;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.Patient;
+import app.clinic.domain.model.entities.ProcedureOrder;
+import app.clinic.domain.model.entities.User;
+import app.clinic.domain.model.entities.VitalSigns;
+import app.clinic.infrastructure.config.BatchExecutors;
+import app.clinic.infrastructure.config.DataGeneratorProperties;
+import app.clinic.infrastructure.persistence.generator.SyntheticDataGenerator.CatalogItem;
+import app.clinic.infrastructure.persistence.generator.SyntheticDataGenerator.MedicalRecordEntry;
+import app.clinic.infrastructure.persistence.generator.SyntheticDataGenerator.ScheduledAppointment;
+
+/**
+ * Carga los datos de SyntheticDataGenerator con inserciones JDBC por lotes en paralelo.
+ *
+ * Las tablas se cargan en orden de dependencias (claves foráneas). Dentro de cada tabla el rango
+ * de índices se parte en bloques de chunkSize filas; cada bloque usa su propia conexión y transacción.
+ * Se evita JPA a propósito: a este volumen el contexto de persistencia y los SELECT previos a cada
+ * save dominarían el tiempo de carga.
+ */
+public class SyntheticDataLoader {
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(Connection connection, int from, int to) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final DataGeneratorProperties properties;
+    private final ObjectWriter jsonWriter;
+    private final BatchExecutors batchExecutors;
+
+    public SyntheticDataLoader(DataSource dataSource, DataGeneratorProperties properties, ObjectMapper objectMapper,
+                               BatchExecutors batchExecutors) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.batchExecutors = batchExecutors;
+    }
+
+    /**
+     * @return filas insertadas por tabla, en el orden de carga
+     */
+    public Map<String, Integer> load() {
+        validate();
+        int firstOrderNumber = nextOrderNumber();
+        if ((long) firstOrderNumber + properties.getOrders() - 1 > SyntheticDataGenerator.MAX_ORDER_NUMBER) {
+            throw new IllegalStateException("Not enough order numbers left: " + properties.getOrders()
+                + " orders starting at " + firstOrderNumber + " exceed " + SyntheticDataGenerator.MAX_ORDER_NUMBER);
+        }
+        if (alreadyLoaded()) {
+            throw new IllegalStateException("Synthetic data is already present in this database; use a fresh database");
+        }
+
+        LocalDate referenceDate = properties.getReferenceDate() == null || properties.getReferenceDate().isBlank()
+            ? LocalDate.now() : LocalDate.parse(properties.getReferenceDate());
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(properties.getSeed(), properties.getUsers(),
+            properties.getPatients(), firstOrderNumber, properties.getMaxItemsPerOrder(),
+            properties.getDiagnosticAidOrderPercent(), referenceDate);
+
+        Map<String, Integer> loaded = new LinkedHashMap<>();
+        ExecutorService executor = batchExecutors.newFixedThreadPool("datagen", properties.getThreads());
+        try {
+            loaded.put("inventory", loadCatalog());
+            loaded.put("users", loadInParallel(executor, "users", properties.getUsers(), (connection, from, to) -> writeUsers(connection, generator, from, to)));
+            loaded.put("patients", loadInParallel(executor, "patients", properties.getPatients(), (connection, from, to) -> writePatients(connection, generator, from, to)));
+            loaded.put("appointments", loadInParallel(executor, "appointments", properties.getAppointments(), (connection, from, to) -> writeAppointments(connection, generator, from, to)));
+            loaded.put("orders", loadInParallel(executor, "orders", properties.getOrders(), (connection, from, to) -> writeOrders(connection, generator, from, to)));
+            restartOrderNumberSequence();
+            loaded.put("vital_signs", loadInParallel(executor, "vital_signs", properties.getVitalSigns(), (connection, from, to) -> writeVitalSigns(connection, generator, from, to)));
+            loaded.put("medical_records", loadInParallel(executor, "medical_records", properties.getMedicalRecords(), (connection, from, to) -> writeMedicalRecords(connection, generator, from, to)));
+            loaded.put("billings", loadInParallel(executor, "billings", properties.getBillings(), (connection, from, to) -> writeBillings(connection, generator, from, to)));
+            markBilledOrders();
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded;
+    }
+
+    private void validate() {
+        if (properties.getUsers() < 10 || properties.getPatients() < 1) {
+            throw new IllegalArgumentException("clinic.datagen requires at least 10 users and 1 patient");
+        }
+        if (properties.getMedicalRecords() > properties.getOrders() || properties.getBillings() > properties.getOrders()) {
+            throw new IllegalArgumentException("Medical records and billings are derived from orders and cannot exceed the order count");
+        }
+        if (properties.getBatchSize() < 1 || properties.getChunkSize() < 1) {
+            throw new IllegalArgumentException("Batch and chunk sizes must be positive");
+        }
+    }
+
+    private int nextOrderNumber() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(CAST(order_number AS INT)), 0) + 1 FROM orders")) {
+            result.next();
+            return result.getInt(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the last order number", e);
+        }
+    }
+
+    // Las órdenes sintéticas llevan su número: las que se creen después siguen desde la mayor
+    private void restartOrderNumberSequence() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE order_number_seq RESTART WITH "
+                + "(SELECT COALESCE(MAX(CAST(order_number AS BIGINT)), 0) + 1 FROM orders)");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not restart the order number sequence", e);
+        }
+    }
+
+    // Las facturas se insertan directamente: sus órdenes quedan reclamadas como las que factura BillingServiceImpl
+    private void markBilledOrders() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE orders o SET billed_at = (SELECT b.generated_at FROM billings b WHERE b.order_number = o.order_number) "
+                + "WHERE o.billed_at IS NULL AND EXISTS (SELECT 1 FROM billings b WHERE b.order_number = o.order_number)");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not mark the generated billings on their orders", e);
+        }
+    }
+
+    private boolean alreadyLoaded() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE id = ?")) {
+            statement.setString(1, SyntheticDataGenerator.userId(0));
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getInt(1) > 0;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not check for existing synthetic data", e);
+        }
+    }
+
+    private int loadCatalog() {
+        int rows = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            rows += mergeCatalog(connection, "medications", SyntheticDataGenerator.MEDICATIONS);
+            rows += mergeCatalog(connection, "procedures", SyntheticDataGenerator.PROCEDURES);
+            rows += mergeCatalog(connection, "diagnostic_aids", SyntheticDataGenerator.DIAGNOSTIC_AIDS);
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not load the synthetic inventory", e);
+        }
+        return rows;
+    }
+
+    private int mergeCatalog(Connection connection, String table, List<CatalogItem> items) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "MERGE INTO " + table + " (id, name, cost, requires_specialist) KEY (id) VALUES (?, ?, ?, ?)")) {
+            for (CatalogItem item : items) {
+                statement.setString(1, item.id());
+                statement.setString(2, item.name());
+                statement.setDouble(3, item.cost());
+                statement.setBoolean(4, item.requiresSpecialist());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return items.size();
+    }
+
+    private int loadInParallel(ExecutorService executor, String table, int count, ChunkWriter writer) {
+        long start = System.nanoTime();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < count; from += properties.getChunkSize()) {
+            int chunkStart = from;
+            int chunkEnd = (int) Math.min((long) from + properties.getChunkSize(), count);
+            chunks.add(executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    try {
+                        writer.write(connection, chunkStart, chunkEnd);
+                        connection.commit();
+                    } catch (SQLException | RuntimeException e) {
+                        connection.rollback();
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + table, e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Could not load " + table + ": " + e.getCause().getMessage(), e.getCause());
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Datos sintéticos: " + count + " filas en " + table + " (" + millis + " ms)");
+        return count;
+    }
+
+    private void writeUsers(Connection connection, SyntheticDataGenerator generator, int from, int to) throws SQLException {
+        try (Batch users = batch(connection, "INSERT INTO users (id, full_name, email, phone, date_of_birth, address, role, "
+                + "username, password_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = from; i < to; i++) {
+                User user = generator.user(i);
+                PreparedStatement statement = users.statement();
+                statement.setString(1, user.getIdentificationNumber().getValue());
+                statement.setString(2, user.getFullName());
+                statement.setString(3, user.getEmail().getValue());
+                statement.setString(4, user.getPhone().getValue());
+                statement.setString(5, user.getDateOfBirth().toString());
+                statement.setString(6, user.getAddress().getValue());
+                statement.setString(7, user.getRole().toString());
+                statement.setString(8, user.getCredentials().getUsername().getValue());
+                statement.setString(9, user.getCredentials().getPassword().getValue());
+                users.add();
+            }
+        }
+    }
+
+    private void writePatients(Connection connection, SyntheticDataGenerator generator, int from, int to) throws SQLException {
+        try (Batch patients = batch(connection, "INSERT INTO patients (identification_number, full_name, date_of_birth, gender, "
+                + "address, phone, email, emergency_contact_name, emergency_contact_relation, emergency_contact_phone, "
+                + "insurance_company_name, insurance_policy_number, insurance_active, insurance_validity_date, annual_copay_total) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = from; i < to; i++) {
+                Patient patient = generator.patient(i);
+                PreparedStatement statement = patients.statement();
+                statement.setString(1, patient.getIdentificationNumber().getValue());
+                statement.setString(2, patient.getFullName());
+                statement.setString(3, patient.getDateOfBirth().toString());
+                statement.setString(4, patient.getGender().name().toLowerCase());
+                statement.setString(5, patient.getAddress().getValue());
+                statement.setString(6, patient.getPhone().getValue());
+                statement.setString(7, patient.getEmail().getValue());
+                statement.setString(8, patient.getEmergencyContact().getName());
+                statement.setString(9, patient.getEmergencyContact().getRelation());
+                statement.setString(10, patient.getEmergencyContact().getPhone().getValue());
+                statement.setString(11, patient.getInsurance().getCompanyName());
+                statement.setString(12, patient.getInsurance().getPolicyNumber());
+                statement.setBoolean(13, patient.getInsurance().isActive());
+                LocalDate validityDate = patient.getInsurance().getValidityDate();
+                statement.setString(14, validityDate != null ? validityDate.toString() : null);
+                statement.setDouble(15, patient.getAnnualCopayTotal());
+                patients.add();
+            }
+        }
+    }
+
+    private void writeAppointments(Connection connection, SyntheticDataGenerator generator, int from, int to) throws SQLException {
+        try (Batch appointments = batch(connection, "INSERT INTO appointments (id, patient_id, admin_id, doctor_id, "
+                + "appointment_date, reason, status) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = from; i < to; i++) {
+                ScheduledAppointment scheduled = generator.appointment(i);
+                Appointment appointment = scheduled.appointment();
+                PreparedStatement statement = appointments.statement();
+                statement.setString(1, appointment.getId().getValue());
+                statement.setString(2, appointment.getPatientId().getValue());
+                statement.setString(3, scheduled.adminId());
+                statement.setString(4, appointment.getDoctorId().getValue());
+                statement.setTimestamp(5, Timestamp.valueOf(appointment.getDateTime()));
+                statement.setString(6, appointment.getReason());
+                // La restricción CHECK de la tabla solo admite estos tres estados en minúscula
+                statement.setString(7, appointment.getStatus().name().toLowerCase());
+                appointments.add();
+            }
+        }
+    }
+
+    /**
+     * La cabecera de cada lote de órdenes se envía antes que sus ítems por las claves foráneas.
+     */
+    private void writeOrders(Connection connection, SyntheticDataGenerator generator, int from, int to) throws SQLException {
+        try (Batch orders = batch(connection, "INSERT INTO orders (order_number, patient_identification_number, "
+                + "doctor_identification_number, date, diagnosis) VALUES (?, ?, ?, ?, ?)");
+             Batch medications = unbounded(connection, "INSERT INTO medication_orders (order_number, item, medication_id, "
+                + "dosage, duration, cost) VALUES (?, ?, ?, ?, ?, ?)");
+             Batch procedures = unbounded(connection, "INSERT INTO procedure_orders (order_number, item, procedure_id, "
+                + "quantity, frequency, requires_specialist, specialist_id, cost) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+             Batch diagnosticAids = unbounded(connection, "INSERT INTO diagnostic_aid_orders (order_number, item, "
+                + "diagnostic_aid_id, quantity, requires_specialist, specialist_id, cost) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = from; i < to; i++) {
+                Order order = generator.order(i);
+                String orderNumber = order.getOrderNumber().getValue();
+                PreparedStatement header = orders.statement();
+                header.setString(1, orderNumber);
+                header.setString(2, order.getPatientIdentificationNumber());
+                header.setString(3, order.getDoctorIdentificationNumber());
+                header.setDate(4, Date.valueOf(order.getDate()));
+                header.setString(5, order.getDiagnosis());
+                orders.addWithoutFlush();
+
+                for (MedicationOrder medication : order.getMedications()) {
+                    PreparedStatement statement = medications.statement();
+                    statement.setString(1, orderNumber);
+                    statement.setInt(2, medication.getItem());
+                    statement.setString(3, medication.getMedicationId().getValue());
+                    statement.setString(4, medication.getDosage());
+                    statement.setString(5, medication.getDuration());
+                    statement.setDouble(6, medication.getCost());
+                    medications.add();
+                }
+                for (ProcedureOrder procedure : order.getProcedures()) {
+                    PreparedStatement statement = procedures.statement();
+                    statement.setString(1, orderNumber);
+                    statement.setInt(2, procedure.getItem());
+                    statement.setString(3, procedure.getProcedureId().getValue());
+                    statement.setString(4, procedure.getQuantity());
+                    statement.setString(5, procedure.getFrequency());
+                    statement.setBoolean(6, procedure.isRequiresSpecialist());
+                    setNullable(statement, 7, procedure.getSpecialistId() != null ? procedure.getSpecialistId().getValue() : null);
+                    statement.setDouble(8, procedure.getCost());
+                    procedures.add();
+                }
+                for (DiagnosticAidOrder aid : order.getDiagnosticAids()) {
+                    PreparedStatement statement = diagnosticAids.statement();
+                    statement.setString(1, orderNumber);
+                    statement.setInt(2, aid.getItem());
+                    statement.setString(3, aid.getDiagnosticAidId().getValue());
+                    statement.setString(4, aid.getQuantity());
+                    statement.setBoolean(5, aid.isRequiresSpecialist());
+                    setNullable(statement, 6, aid.getSpecialistId() != null ? aid.getSpecialistId().getValue() : null);
+                    statement.setDouble(7, aid.getCost());
+                    diagnosticAids.add();
+                }
+
+                if (orders.pending() >= properties.getBatchSize()) {
+                    orders.flush();
+                    medications.flush();
+                    procedures.flush();
+                    diagnosticAids.flush();
+                }
+            }
+            orders.flush();
+        }
+    }
+
+    private void writeVitalSigns(Connection connection, SyntheticDataGenerator generator, int from, int to) throws SQLException {
+        try (Batch vitalSigns = batch(connection, "INSERT INTO vital_signs (patient_identification_number, date_time, "
+                + "blood_pressure, temperature, pulse, oxygen_level, observations) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = from; i < to; i++) {
+                VitalSigns signs = generator.vitalSigns(i);
+                PreparedStatement statement = vitalSigns.statement();
+                statement.setString(1, signs.getPatientIdentificationNumber());
+                statement.setTimestamp(2, Timestamp.valueOf(signs.getDateTime()));
+                statement.setString(3, signs.getBloodPressure());
+                statement.setDouble(4, signs.getTemperature());
+                statement.setInt(5, signs.getPulse());
+                statement.setInt(6, signs.getOxygenLevel());
+                statement.setString(7, signs.getObservations());
+                vitalSigns.add();
+            }
+        }
+    }
+
+    private void writeMedicalRecords(Connection connection, SyntheticDataGenerator generator, int from, int to) throws SQLException {
+        try (Batch records = batch(connection, "INSERT INTO medical_records (patient_id, consultation_date, doctor_id, reason, "
+                + "symptoms, diagnosis, prescriptions, procedures, diagnostic_aids, order_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = from; i < to; i++) {
+                MedicalRecordEntry entry = generator.medicalRecord(i);
+                PreparedStatement statement = records.statement();
+                statement.setString(1, entry.patientId());
+                statement.setDate(2, Date.valueOf(entry.consultationDate()));
+                statement.setString(3, entry.doctorId());
+                statement.setString(4, entry.reason());
+                statement.setString(5, entry.symptoms());
+                statement.setString(6, entry.diagnosis());
+                setNullable(statement, 7, toJson(entry.medication()));
+                setNullable(statement, 8, toJson(entry.procedure()));
+                setNullable(statement, 9, toJson(entry.diagnosticAid()));
+                statement.setString(10, entry.orderNumber());
+                records.add();
+            }
+        }
+    }
+
+    private void writeBillings(Connection connection, SyntheticDataGenerator generator, int from, int to) throws SQLException {
+        try (Batch billings = batch(connection, "INSERT INTO billings (order_number, patient_name, age, identification_number, "
+                + "doctor_name, company, policy_number, validity_days, validity_date, total_cost, copay, insurance_coverage, "
+                + "applied_medications, applied_procedures, applied_diagnostic_aids, generated_at, generated_by) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = from; i < to; i++) {
+                Billing billing = generator.billing(i);
+                PreparedStatement statement = billings.statement();
+                statement.setString(1, billing.getOrderNumber().getValue());
+                statement.setString(2, billing.getPatientName());
+                statement.setInt(3, billing.getAge());
+                statement.setString(4, billing.getIdentificationNumber());
+                statement.setString(5, billing.getDoctorName());
+                statement.setString(6, billing.getCompany());
+                statement.setString(7, billing.getPolicyNumber());
+                statement.setInt(8, billing.getValidityDays());
+                if (billing.getValidityDate() != null) {
+                    statement.setDate(9, Date.valueOf(billing.getValidityDate()));
+                } else {
+                    statement.setNull(9, Types.DATE);
+                }
+                statement.setDouble(10, billing.getTotalCost());
+                statement.setDouble(11, billing.getCopay());
+                statement.setDouble(12, billing.getInsuranceCoverage());
+                statement.setString(13, billing.getAppliedMedications());
+                statement.setString(14, billing.getAppliedProcedures());
+                statement.setString(15, billing.getAppliedDiagnosticAids());
+                statement.setTimestamp(16, Timestamp.valueOf(billing.getGeneratedAt()));
+                statement.setString(17, billing.getGeneratedBy());
+                billings.add();
+            }
+        }
+    }
+
+    private String toJson(Map<String, Object> value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return jsonWriter.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize synthetic medical record", e);
+        }
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value != null) {
+            statement.setString(index, value);
+        } else {
+            statement.setNull(index, Types.VARCHAR);
+        }
+    }
+
+    private Batch batch(Connection connection, String sql) throws SQLException {
+        return new Batch(connection.prepareStatement(sql), properties.getBatchSize());
+    }
+
+    private Batch unbounded(Connection connection, String sql) throws SQLException {
+        return new Batch(connection.prepareStatement(sql), Integer.MAX_VALUE);
+    }
+
+    /**
+     * PreparedStatement con envío automático cada flushEvery filas y envío final al cerrar.
+     */
+    private static final class Batch implements AutoCloseable {
+        private final PreparedStatement statement;
+        private final int flushEvery;
+        private int pending;
+
+        Batch(PreparedStatement statement, int flushEvery) {
+            this.statement = statement;
+            this.flushEvery = flushEvery;
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+
+        void add() throws SQLException {
+            addWithoutFlush();
+            if (pending >= flushEvery) {
+                flush();
+            }
+        }
+
+        void addWithoutFlush() throws SQLException {
+            statement.addBatch();
+            pending++;
+        }
+
+        int pending() {
+            return pending;
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package app.clinic.infrastructure.persistence.generator;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.infrastructure.config.BatchExecutors;
+import app.clinic.infrastructure.config.DataGeneratorProperties;
+
+/**
+ * Carga el dataset sintético al arrancar con el perfil datagen (después de las migraciones de Flyway).
+ * Ejemplo: java -jar clinic.jar --spring.profiles.active=datagen --clinic.datagen.patients=1000000
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    private final DataSource dataSource;
+    private final DataGeneratorProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+    private final BatchExecutors batchExecutors;
+
+    public SyntheticDataRunner(DataSource dataSource, DataGeneratorProperties properties, ObjectMapper objectMapper,
+                               ConfigurableApplicationContext context, BatchExecutors batchExecutors) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.context = context;
+        this.batchExecutors = batchExecutors;
+    }
+
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+        Map<String, Integer> loaded = new SyntheticDataLoader(dataSource, properties, objectMapper, batchExecutors).load();
+        long seconds = (System.nanoTime() - start) / 1_000_000_000L;
+        System.out.println("Datos sintéticos cargados en " + seconds + " s (seed " + properties.getSeed() + "): " + loaded);
+
+        if (properties.isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package app.clinic.infrastructure.persistence.jpa;
 
 import java.time.LocalDateTime;
 
+import app.clinic.domain.model.valueobject.AppointmentStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -35,8 +36,9 @@ public class AppointmentJpaEntity {
     @Column(name = "reason")
     private String reason;
 
+    // En minúsculas, ver AppointmentStatusConverter
     @Column(name = "status")
-    private String status;
+    private AppointmentStatus status;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
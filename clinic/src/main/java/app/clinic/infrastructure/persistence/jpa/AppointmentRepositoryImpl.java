@@ -2,6 +2,7 @@ package app.clinic.infrastructure.persistence.jpa;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Repository;
@@ -10,13 +11,17 @@ import app.clinic.domain.model.entities.Appointment;
 import app.clinic.domain.model.valueobject.AppointmentStatus;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.repository.AppointmentRepository;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
 
 @Repository
 public class AppointmentRepositoryImpl implements AppointmentRepository {
     private final AppointmentJpaRepository appointmentJpaRepository;
+    private final PatientSummaryRepository patientSummaryRepository;
 
-    public AppointmentRepositoryImpl(AppointmentJpaRepository appointmentJpaRepository) {
+    public AppointmentRepositoryImpl(AppointmentJpaRepository appointmentJpaRepository,
+                                     PatientSummaryRepository patientSummaryRepository) {
         this.appointmentJpaRepository = appointmentJpaRepository;
+        this.patientSummaryRepository = patientSummaryRepository;
     }
 
     @Override
@@ -30,10 +35,11 @@ public class AppointmentRepositoryImpl implements AppointmentRepository {
         entity.setDoctorId(appointment.getDoctorId().getValue());
         entity.setAppointmentDate(appointment.getDateTime());
         entity.setReason(appointment.getReason());
-        entity.setStatus(appointment.getStatus().toString());
+        entity.setStatus(appointment.getStatus());
         entity.setCreatedAt(LocalDateTime.now());
         entity.setUpdatedAt(LocalDateTime.now());
-        appointmentJpaRepository.save(entity);
+        appointmentJpaRepository.saveAndFlush(entity);
+        patientSummaryRepository.refresh(entity.getPatientId());
     }
 
     @Override
@@ -74,7 +80,7 @@ public class AppointmentRepositoryImpl implements AppointmentRepository {
             entity.getReason()
         );
         // Set status from entity
-        AppointmentStatus status = AppointmentStatus.valueOf(entity.getStatus());
+        AppointmentStatus status = entity.getStatus();
         // Note: We can't directly set status, but we can use the methods to transition
         switch (status) {
             case CONFIRMED:
@@ -108,11 +114,15 @@ public class AppointmentRepositoryImpl implements AppointmentRepository {
 
     @Override
     public void delete(Id appointmentId) {
-        appointmentJpaRepository.deleteById(appointmentId.getValue());
+        appointmentJpaRepository.findById(appointmentId.getValue()).ifPresent(entity -> {
+            appointmentJpaRepository.delete(entity);
+            appointmentJpaRepository.flush();
+            patientSummaryRepository.refresh(entity.getPatientId());
+        });
     }
 
     private String generateAppointmentId() {
-        // Simple ID generation - in production, use a proper ID generation strategy
-        return "APPT-" + System.currentTimeMillis();
+        // Con el milisegundo como id, dos citas agendadas a la vez chocaban en la clave primaria
+        return "APPT-" + UUID.randomUUID();
     }
 }
\ No newline at end of file
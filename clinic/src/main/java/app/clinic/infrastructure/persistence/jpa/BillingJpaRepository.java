@@ -2,12 +2,31 @@ package app.clinic.infrastructure.persistence.jpa;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.infrastructure.dto.BillingDTO;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface BillingJpaRepository extends JpaRepository<BillingJpaEntity, String> {
     Optional<BillingJpaEntity> findByOrderNumber(String orderNumber);
     List<BillingJpaEntity> findByIdentificationNumber(String patientId);
-}
\ No newline at end of file
+
+    String BILLING_DTO_SELECT = "SELECT new app.clinic.infrastructure.dto.BillingDTO("
+        + "b.orderNumber, b.identificationNumber, b.patientName, b.doctorName, b.totalCost, b.copay, b.insuranceCoverage, "
+        + "b.appliedMedications, b.appliedProcedures, b.appliedDiagnosticAids, b.generatedAt, b.generatedBy) "
+        + "FROM BillingJpaEntity b ORDER BY b.orderNumber";
+
+    @Query(BILLING_DTO_SELECT)
+    List<BillingDTO> findAllAsDto();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(BILLING_DTO_SELECT)
+    Stream<BillingDTO> streamAllAsDto();
+}
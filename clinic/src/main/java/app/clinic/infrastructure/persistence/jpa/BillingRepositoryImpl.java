@@ -9,14 +9,17 @@ import org.springframework.stereotype.Repository;
 import app.clinic.domain.model.entities.Billing;
 import app.clinic.domain.model.valueobject.OrderNumber;
 import app.clinic.domain.repository.BillingRepository;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
 
 @Repository
 public class BillingRepositoryImpl implements BillingRepository {
 
     private final BillingJpaRepository billingJpaRepository;
+    private final PatientSummaryRepository patientSummaryRepository;
 
-    public BillingRepositoryImpl(BillingJpaRepository billingJpaRepository) {
+    public BillingRepositoryImpl(BillingJpaRepository billingJpaRepository, PatientSummaryRepository patientSummaryRepository) {
         this.billingJpaRepository = billingJpaRepository;
+        this.patientSummaryRepository = patientSummaryRepository;
     }
 
     @Override
@@ -40,7 +43,9 @@ public class BillingRepositoryImpl implements BillingRepository {
             billing.getGeneratedAt(),
             billing.getGeneratedBy()
         );
-        billingJpaRepository.save(entity);
+        // La factura cierra la orden y suma al copago del año
+        billingJpaRepository.saveAndFlush(entity);
+        patientSummaryRepository.refresh(billing.getIdentificationNumber());
     }
 
     @Override
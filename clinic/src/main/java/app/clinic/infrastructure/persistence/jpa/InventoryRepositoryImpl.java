@@ -1,7 +1,10 @@
 package app.clinic.infrastructure.persistence.jpa;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Repository;
@@ -56,6 +59,11 @@ public class InventoryRepositoryImpl implements InventoryRepository {
         return medicationJpaRepository.existsById(id.getValue());
     }
 
+    @Override
+    public Set<Id> findExistingMedicationIds(Collection<Id> ids) {
+        return ids.isEmpty() ? Set.of() : toIds(medicationJpaRepository.findExistingIds(values(ids)));
+    }
+
     @Override
     public void saveProcedure(Procedure procedure) {
         ProcedureJpaEntity entity = new ProcedureJpaEntity(
@@ -86,6 +94,11 @@ public class InventoryRepositoryImpl implements InventoryRepository {
         return procedureJpaRepository.existsById(id.getValue());
     }
 
+    @Override
+    public Set<Id> findExistingProcedureIds(Collection<Id> ids) {
+        return ids.isEmpty() ? Set.of() : toIds(procedureJpaRepository.findExistingIds(values(ids)));
+    }
+
     @Override
     public void saveDiagnosticAid(DiagnosticAid diagnosticAid) {
         DiagnosticAidJpaEntity entity = new DiagnosticAidJpaEntity(
@@ -116,6 +129,11 @@ public class InventoryRepositoryImpl implements InventoryRepository {
         return diagnosticAidJpaRepository.existsById(id.getValue());
     }
 
+    @Override
+    public Set<Id> findExistingDiagnosticAidIds(Collection<Id> ids) {
+        return ids.isEmpty() ? Set.of() : toIds(diagnosticAidJpaRepository.findExistingIds(values(ids)));
+    }
+
     private Medication toMedicationDomain(MedicationJpaEntity entity) {
         if (entity.getId() == null || entity.getSpecialistType() == null) {
             throw new IllegalArgumentException("MedicationJpaEntity has null required fields");
@@ -154,4 +172,21 @@ public class InventoryRepositoryImpl implements InventoryRepository {
             new Id(entity.getSpecialistType())
         );
     }
-}
\ No newline at end of file
+
+    private static Set<String> values(Collection<Id> ids) {
+        Set<String> values = new HashSet<>();
+        for (Id id : ids) {
+            values.add(id.getValue());
+        }
+        return values;
+    }
+
+    // Las claves vienen de la base de datos: sin volver a validarlas
+    private static Set<Id> toIds(List<String> values) {
+        Set<Id> ids = new HashSet<>();
+        for (String value : values) {
+            ids.add(Id.ofTrusted(value));
+        }
+        return ids;
+    }
+}
@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import app.clinic.domain.model.entities.MedicalRecord;
 import app.clinic.domain.repository.MedicalRecordRepository;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
 
 @Repository
 @org.springframework.context.annotation.Profile("!mongodb")
@@ -21,10 +22,13 @@ public class MedicalRecordRepositoryImpl implements MedicalRecordRepository {
 
     private final MedicalRecordJpaRepository jpaRepository;
     private final ObjectMapper objectMapper;
+    private final PatientSummaryRepository patientSummaryRepository;
 
-    public MedicalRecordRepositoryImpl(MedicalRecordJpaRepository jpaRepository, ObjectMapper objectMapper) {
+    public MedicalRecordRepositoryImpl(MedicalRecordJpaRepository jpaRepository, ObjectMapper objectMapper,
+                                       PatientSummaryRepository patientSummaryRepository) {
         this.jpaRepository = jpaRepository;
         this.objectMapper = objectMapper;
+        this.patientSummaryRepository = patientSummaryRepository;
     }
 
     @Override
@@ -137,6 +141,15 @@ public class MedicalRecordRepositoryImpl implements MedicalRecordRepository {
 
             jpaRepository.save(entity);
         }
+        // El último diagnóstico del resumen sale de la historia cuando el paciente no tiene órdenes con diagnóstico
+        jpaRepository.flush();
+        patientSummaryRepository.refresh(medicalRecord.getPatientIdentificationNumber());
+    }
+
+    // Cada fecha de la historia es una fila, así que guardar solo las entradas nuevas ya es añadirlas
+    @Override
+    public void append(MedicalRecord newEntries) {
+        save(newEntries);
     }
 
     @Override
@@ -1,8 +1,23 @@
 package app.clinic.infrastructure.persistence.jpa;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.infrastructure.dto.MedicationDTO;
+
 @Repository
 public interface MedicationJpaRepository extends JpaRepository<MedicationJpaEntity, String> {
+
+    // Proyección de solo lectura para los listados de inventario
+    @Query("SELECT new app.clinic.infrastructure.dto.MedicationDTO(m.id, m.name, m.cost, m.requiresSpecialist, m.specialistType) FROM MedicationJpaEntity m")
+    List<MedicationDTO> findAllAsDto();
+
+    // Cuáles de los IDs existen, con un solo IN sobre la clave primaria
+    @Query("SELECT m.id FROM MedicationJpaEntity m WHERE m.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
 }
\ No newline at end of file
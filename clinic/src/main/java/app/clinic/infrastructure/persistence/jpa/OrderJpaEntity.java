@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -30,6 +31,14 @@ public class OrderJpaEntity {
     @Column(name = "diagnosis")
     private String diagnosis;
 
+    // Solo la escribe OrderJpaRepository.markCancelled; NULL es una orden vigente
+    @Column(name = "cancelled_at", insertable = false, updatable = false)
+    private LocalDateTime cancelledAt;
+
+    // Solo la escribe OrderJpaRepository.markBilled; NULL es una orden sin facturar
+    @Column(name = "billed_at", insertable = false, updatable = false)
+    private LocalDateTime billedAt;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<MedicationOrderJpaEntity> medications;
 
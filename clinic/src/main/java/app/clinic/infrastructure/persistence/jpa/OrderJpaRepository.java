@@ -1,13 +1,21 @@
 package app.clinic.infrastructure.persistence.jpa;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.infrastructure.dto.OrderDTO;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, String> {
     Optional<OrderJpaEntity> findByOrderNumber(String orderNumber);
@@ -19,4 +27,58 @@ public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, String
     List<OrderJpaEntity> findByDoctorIdentificationNumber(@Param("doctorId") String doctorId);
 
     boolean existsByOrderNumber(String orderNumber);
-}
\ No newline at end of file
+
+    boolean existsByOrderNumberAndCancelledAtIsNotNull(String orderNumber);
+
+    boolean existsByOrderNumberAndBilledAtIsNotNull(String orderNumber);
+
+    // Condicionadas a que la orden no esté cancelada ni facturada: la comprobación y la escritura son la misma
+    // sentencia, así que de una cancelación y una facturación simultáneas solo una cambia la fila; la otra
+    // espera el bloqueo de fila, vuelve a evaluar el WHERE y devuelve 0.
+    @Modifying
+    @Query(value = "UPDATE orders SET cancelled_at = :cancelledAt WHERE order_number = :orderNumber "
+        + "AND cancelled_at IS NULL AND billed_at IS NULL", nativeQuery = true)
+    int markCancelled(@Param("orderNumber") String orderNumber, @Param("cancelledAt") LocalDateTime cancelledAt);
+
+    @Modifying
+    @Query(value = "UPDATE orders SET billed_at = :billedAt WHERE order_number = :orderNumber "
+        + "AND billed_at IS NULL AND cancelled_at IS NULL", nativeQuery = true)
+    int markBilled(@Param("orderNumber") String orderNumber, @Param("billedAt") LocalDateTime billedAt);
+
+    // La secuencia no es transaccional: dos creaciones simultáneas nunca reciben el mismo número
+    @Query(value = "SELECT NEXTVAL('order_number_seq')", nativeQuery = true)
+    long nextOrderNumber();
+
+    // Alguna orden del paciente solo con ayudas diagnósticas (Order.isDiagnosticAidOnly), sin cargar sus ítems
+    @Query("SELECT COUNT(o) > 0 FROM OrderJpaEntity o WHERE o.patientIdentificationNumber = :patientId "
+        + "AND EXISTS (SELECT d.id FROM DiagnosticAidOrderJpaEntity d WHERE d.orderNumber = o.orderNumber) "
+        + "AND NOT EXISTS (SELECT m.id FROM MedicationOrderJpaEntity m WHERE m.orderNumber = o.orderNumber) "
+        + "AND NOT EXISTS (SELECT p.id FROM ProcedureOrderJpaEntity p WHERE p.orderNumber = o.orderNumber)")
+    boolean existsDiagnosticAidOnlyByPatient(@Param("patientId") String patientId);
+
+    // Cursores para streaming: cabeceras e ítems vienen ordenados por número de orden para que
+    // OrderQueryService los combine sin cargar todas las órdenes del paciente en memoria.
+    // Cada fila de ítem es [orderNumber, item].
+    String PATIENT_ORDERS = "SELECT o.orderNumber FROM OrderJpaEntity o WHERE o.patientIdentificationNumber = :patientId";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new app.clinic.infrastructure.dto.OrderDTO(o.orderNumber, o.patientIdentificationNumber, "
+        + "o.doctorIdentificationNumber, o.date, o.diagnosis) FROM OrderJpaEntity o "
+        + "WHERE o.patientIdentificationNumber = :patientId ORDER BY o.orderNumber")
+    Stream<OrderDTO> streamDtoByPatientIdentificationNumber(@Param("patientId") String patientId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m.orderNumber, m.item FROM MedicationOrderJpaEntity m WHERE m.orderNumber IN (" + PATIENT_ORDERS + ") "
+        + "ORDER BY m.orderNumber, m.item")
+    Stream<Object[]> streamMedicationItemsByPatient(@Param("patientId") String patientId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.orderNumber, p.item FROM ProcedureOrderJpaEntity p WHERE p.orderNumber IN (" + PATIENT_ORDERS + ") "
+        + "ORDER BY p.orderNumber, p.item")
+    Stream<Object[]> streamProcedureItemsByPatient(@Param("patientId") String patientId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT d.orderNumber, d.item FROM DiagnosticAidOrderJpaEntity d WHERE d.orderNumber IN (" + PATIENT_ORDERS + ") "
+        + "ORDER BY d.orderNumber, d.item")
+    Stream<Object[]> streamDiagnosticAidItemsByPatient(@Param("patientId") String patientId);
+}
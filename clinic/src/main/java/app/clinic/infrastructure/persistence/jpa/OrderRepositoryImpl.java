@@ -1,11 +1,15 @@
 package app.clinic.infrastructure.persistence.jpa;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.domain.model.DuplicateOrderNumberException;
 import app.clinic.domain.model.entities.DiagnosticAidOrder;
 import app.clinic.domain.model.entities.MedicationOrder;
 import app.clinic.domain.model.entities.Order;
@@ -13,13 +17,16 @@ import app.clinic.domain.model.entities.ProcedureOrder;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.model.valueobject.OrderNumber;
 import app.clinic.domain.repository.OrderRepository;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
 
 @Repository
 public class OrderRepositoryImpl implements OrderRepository {
     private final OrderJpaRepository jpaRepository;
+    private final PatientSummaryRepository patientSummaryRepository;
 
-    public OrderRepositoryImpl(OrderJpaRepository jpaRepository) {
+    public OrderRepositoryImpl(OrderJpaRepository jpaRepository, PatientSummaryRepository patientSummaryRepository) {
         this.jpaRepository = jpaRepository;
+        this.patientSummaryRepository = patientSummaryRepository;
     }
 
     @Override
@@ -80,7 +87,17 @@ public class OrderRepositoryImpl implements OrderRepository {
         entity.setProcedures(procedureEntities);
         entity.setDiagnosticAids(diagnosticAidEntities);
 
-        jpaRepository.save(entity);
+        try {
+            jpaRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            // El número ya estaba ocupado por una orden que no salió de la secuencia
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw new DuplicateOrderNumberException(order.getOrderNumber().getValue());
+            }
+            throw e;
+        }
+        patientSummaryRepository.refresh(order.getPatientIdentificationNumber());
     }
 
     @Override
@@ -108,6 +125,49 @@ public class OrderRepositoryImpl implements OrderRepository {
         return jpaRepository.existsByOrderNumber(orderNumber.getValue());
     }
 
+    /**
+     * Marca la orden como cancelada y recalcula el resumen del paciente, que deja de contarla como abierta.
+     * @return false si la orden no existe, ya estaba cancelada o ya fue facturada
+     */
+    @Override
+    public boolean cancel(OrderNumber orderNumber) {
+        if (jpaRepository.markCancelled(orderNumber.getValue(), LocalDateTime.now()) == 0) {
+            return false;
+        }
+        jpaRepository.findByOrderNumber(orderNumber.getValue())
+            .ifPresent(entity -> patientSummaryRepository.refresh(entity.getPatientIdentificationNumber()));
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled(OrderNumber orderNumber) {
+        return jpaRepository.existsByOrderNumberAndCancelledAtIsNotNull(orderNumber.getValue());
+    }
+
+    /**
+     * Reclama la orden para facturarla; la fila queda bloqueada hasta que termine la transacción.
+     * @return false si la orden no existe, está cancelada o ya fue facturada
+     */
+    @Override
+    public boolean markBilled(OrderNumber orderNumber) {
+        return jpaRepository.markBilled(orderNumber.getValue(), LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    public boolean isBilled(OrderNumber orderNumber) {
+        return jpaRepository.existsByOrderNumberAndBilledAtIsNotNull(orderNumber.getValue());
+    }
+
+    @Override
+    public long nextOrderNumber() {
+        return jpaRepository.nextOrderNumber();
+    }
+
+    @Override
+    public boolean existsDiagnosticAidOnlyOrderByPatient(String patientId) {
+        return jpaRepository.existsDiagnosticAidOnlyByPatient(patientId);
+    }
+
     private Order toDomain(OrderJpaEntity entity) {
         Order order = new Order(
             new OrderNumber(entity.getOrderNumber()),
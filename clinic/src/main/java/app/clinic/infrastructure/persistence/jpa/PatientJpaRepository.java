@@ -1,12 +1,40 @@
 package app.clinic.infrastructure.persistence.jpa;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.infrastructure.dto.PatientDTO;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PatientJpaRepository extends JpaRepository<PatientJpaEntity, String> {
     Optional<PatientJpaEntity> findByIdentificationNumber(String identificationNumber);
     boolean existsByIdentificationNumber(String identificationNumber);
+
+    // Proyecciones de solo lectura: columnas → DTO sin pasar por la entidad ni el dominio
+    String PATIENT_DTO_SELECT = "SELECT new app.clinic.infrastructure.dto.PatientDTO("
+        + "p.identificationNumber, p.fullName, p.dateOfBirth, p.gender, p.address, p.phone, p.email, "
+        + "p.emergencyContactName, p.emergencyContactRelation, p.emergencyContactPhone, "
+        + "p.insuranceCompanyName, p.insurancePolicyNumber, p.insuranceActive, p.insuranceValidityDate) "
+        + "FROM PatientJpaEntity p";
+
+    @Query(PATIENT_DTO_SELECT)
+    List<PatientDTO> findAllAsDto();
+
+    @Query(PATIENT_DTO_SELECT + " WHERE p.identificationNumber = :identificationNumber")
+    Optional<PatientDTO> findDtoByIdentificationNumber(@Param("identificationNumber") String identificationNumber);
+
+    // Cursor para respuestas en streaming: se lee por bloques de fetch size y debe consumirse
+    // (y cerrarse) dentro de una transacción
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PATIENT_DTO_SELECT + " ORDER BY p.identificationNumber")
+    Stream<PatientDTO> streamAllAsDto();
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package app.clinic.infrastructure.persistence.jpa;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
@@ -19,15 +18,19 @@ import app.clinic.domain.model.valueobject.EmergencyContact;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.model.valueobject.Phone;
 import app.clinic.domain.repository.PatientRepository;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
 
 @Repository
 public class PatientRepositoryImpl implements PatientRepository {
     private final PatientJpaRepository patientJpaRepository;
     private final VitalSignsJpaRepository vitalSignsJpaRepository;
+    private final PatientSummaryRepository patientSummaryRepository;
 
-    public PatientRepositoryImpl(PatientJpaRepository patientJpaRepository, VitalSignsJpaRepository vitalSignsJpaRepository) {
+    public PatientRepositoryImpl(PatientJpaRepository patientJpaRepository, VitalSignsJpaRepository vitalSignsJpaRepository,
+                                 PatientSummaryRepository patientSummaryRepository) {
         this.patientJpaRepository = patientJpaRepository;
         this.vitalSignsJpaRepository = vitalSignsJpaRepository;
+        this.patientSummaryRepository = patientSummaryRepository;
     }
 
     @Override
@@ -49,7 +52,9 @@ public class PatientRepositoryImpl implements PatientRepository {
             patient.getInsurance().getValidityDate() != null ? patient.getInsurance().getValidityDate().toString() : null,
             patient.getAnnualCopayTotal()
         );
-        patientJpaRepository.save(entity);
+        // Volcado antes de recalcular: el resumen se calcula con SQL sobre las tablas
+        patientJpaRepository.saveAndFlush(entity);
+        patientSummaryRepository.refresh(entity.getIdentificationNumber());
     }
 
     @Override
@@ -79,6 +84,7 @@ public class PatientRepositoryImpl implements PatientRepository {
     @Override
     public void deleteByIdentificationNumber(Id identificationNumber) {
         patientJpaRepository.deleteById(identificationNumber.getValue());
+        patientSummaryRepository.delete(identificationNumber.getValue());
     }
 
     @Override
@@ -92,7 +98,8 @@ public class PatientRepositoryImpl implements PatientRepository {
             vitalSigns.getOxygenLevel(),
             vitalSigns.getObservations()
         );
-        vitalSignsJpaRepository.save(entity);
+        vitalSignsJpaRepository.saveAndFlush(entity);
+        patientSummaryRepository.refresh(vitalSigns.getPatientIdentificationNumber());
     }
 
     @Override
@@ -102,19 +109,20 @@ public class PatientRepositoryImpl implements PatientRepository {
             .collect(Collectors.toList());
     }
 
+    // Las filas se validaron al guardarse: se rehidratan con ofTrusted sin repetir las validaciones
     private Patient toDomain(PatientJpaEntity entity) {
         EmergencyContact emergencyContact = new EmergencyContact(
             entity.getEmergencyContactName(),
             entity.getEmergencyContactRelation(),
-            new Phone(entity.getEmergencyContactPhone())
+            Phone.ofTrusted(entity.getEmergencyContactPhone())
         );
 
         LocalDate validityDate = null;
         if (entity.getInsuranceValidityDate() != null) {
             try {
-                validityDate = LocalDate.parse(entity.getInsuranceValidityDate(), DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                validityDate = LocalDate.parse(entity.getInsuranceValidityDate());
             } catch (DateTimeParseException e) {
-                validityDate = LocalDate.parse(entity.getInsuranceValidityDate(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+                validityDate = DateOfBirth.parse(entity.getInsuranceValidityDate());
             }
         }
 
@@ -126,13 +134,13 @@ public class PatientRepositoryImpl implements PatientRepository {
         );
 
         return new Patient(
-            new Id(entity.getIdentificationNumber()),
+            Id.ofTrusted(entity.getIdentificationNumber()),
             entity.getFullName(),
-            new DateOfBirth(entity.getDateOfBirth()),
+            DateOfBirth.ofTrusted(entity.getDateOfBirth()),
             entity.getGender(),
             new Address(entity.getAddress()),
-            new Phone(entity.getPhone()),
-            new Email(entity.getEmail()),
+            Phone.ofTrusted(entity.getPhone()),
+            Email.ofTrusted(entity.getEmail()),
             emergencyContact,
             insurance
         );
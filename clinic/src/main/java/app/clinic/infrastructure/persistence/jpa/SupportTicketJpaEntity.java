@@ -32,6 +32,13 @@ public class SupportTicketJpaEntity {
     private LocalDateTime createdAt;
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "priority")
+    private app.clinic.domain.model.valueobject.SupportTicketPriority priority;
+
+    @Column(name = "team")
+    private String team;
+
+    // En minúsculas, ver SupportTicketStatusConverter
     @Column(name = "status")
     private app.clinic.domain.model.valueobject.SupportTicketStatus status;
 
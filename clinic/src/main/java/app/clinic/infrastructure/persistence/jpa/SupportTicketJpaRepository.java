@@ -1,11 +1,38 @@
 package app.clinic.infrastructure.persistence.jpa;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.domain.model.valueobject.SupportTicketStatus;
+import app.clinic.infrastructure.dto.SupportTicketDTO;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface SupportTicketJpaRepository extends JpaRepository<SupportTicketJpaEntity, String> {
     List<SupportTicketJpaEntity> findByUserId(String userId);
-}
\ No newline at end of file
+
+    // idx_support_tickets_status
+    List<SupportTicketJpaEntity> findByStatusOrderByCreatedAt(SupportTicketStatus status);
+
+    // idx_support_tickets_assigned_to_status
+    List<SupportTicketJpaEntity> findByAssignedToAndStatusOrderByCreatedAt(String assignedTo, SupportTicketStatus status);
+
+    String TICKET_DTO_SELECT = "SELECT new app.clinic.infrastructure.dto.SupportTicketDTO("
+        + "t.id, t.userId, t.issueDescription, t.createdAt, t.priority, t.team, t.status, t.assignedTo, t.updatedAt) "
+        + "FROM SupportTicketJpaEntity t";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TICKET_DTO_SELECT + " ORDER BY t.createdAt")
+    Stream<SupportTicketDTO> streamAllAsDto();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TICKET_DTO_SELECT + " WHERE t.userId = :userId ORDER BY t.createdAt")
+    Stream<SupportTicketDTO> streamDtoByUserId(@Param("userId") String userId);
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import app.clinic.domain.model.entities.SupportTicket;
 import app.clinic.domain.model.valueobject.SupportTicketId;
+import app.clinic.domain.model.valueobject.SupportTicketStatus;
 import app.clinic.domain.repository.SupportTicketRepository;
 
 @Repository
@@ -25,6 +26,8 @@ public class SupportTicketRepositoryImpl implements SupportTicketRepository {
             supportTicket.getUserId(),
             supportTicket.getIssueDescription(),
             supportTicket.getCreatedAt(),
+            supportTicket.getPriority(),
+            supportTicket.getTeam(),
             supportTicket.getStatus(),
             supportTicket.getAssignedTo(),
             supportTicket.getUpdatedAt()
@@ -52,6 +55,20 @@ public class SupportTicketRepositoryImpl implements SupportTicketRepository {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public List<SupportTicket> findByStatus(SupportTicketStatus status) {
+        return jpaRepository.findByStatusOrderByCreatedAt(status).stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<SupportTicket> findByAssignedToAndStatus(String assignedTo, SupportTicketStatus status) {
+        return jpaRepository.findByAssignedToAndStatusOrderByCreatedAt(assignedTo, status).stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public boolean existsById(SupportTicketId id) {
         return jpaRepository.existsById(id.getValue());
@@ -62,7 +79,9 @@ public class SupportTicketRepositoryImpl implements SupportTicketRepository {
             new SupportTicketId(entity.getId()),
             entity.getUserId(),
             entity.getIssueDescription(),
-            entity.getCreatedAt()
+            entity.getCreatedAt(),
+            entity.getPriority(),
+            entity.getTeam()
         );
 
         // Set additional fields if they exist
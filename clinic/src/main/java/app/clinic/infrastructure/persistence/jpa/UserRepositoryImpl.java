@@ -74,6 +74,14 @@ public class UserRepositoryImpl implements UserRepository {
         jpaRepository.deleteById(identificationNumber.getValue());
     }
 
+    @Override
+    public void updatePasswordHash(Id identificationNumber, String passwordHash) {
+        jpaRepository.findById(identificationNumber.getValue()).ifPresent(entity -> {
+            entity.setPassword(passwordHash);
+            jpaRepository.save(entity);
+        });
+    }
+
     private User toDomain(UserJpaEntity entity) {
         Credentials credentials = new Credentials(
             new Username(entity.getUsername()),
@@ -83,10 +91,10 @@ public class UserRepositoryImpl implements UserRepository {
         return new User(
             credentials,
             entity.getFullName(),
-            new Id(entity.getIdentificationNumber()),
-            new Email(entity.getEmail()),
-            new Phone(entity.getPhone()),
-            new DateOfBirth(entity.getDateOfBirth()),
+            Id.ofTrusted(entity.getIdentificationNumber()),
+            Email.ofTrusted(entity.getEmail()),
+            Phone.ofTrusted(entity.getPhone()),
+            DateOfBirth.ofTrusted(entity.getDateOfBirth()),
             new Address(entity.getAddress()),
             Role.valueOf(entity.getRole())
         );
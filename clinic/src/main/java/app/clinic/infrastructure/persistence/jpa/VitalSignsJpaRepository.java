@@ -1,11 +1,25 @@
 package app.clinic.infrastructure.persistence.jpa;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import app.clinic.infrastructure.dto.VitalSignsDTO;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface VitalSignsJpaRepository extends JpaRepository<VitalSignsJpaEntity, VitalSignsId> {
     List<VitalSignsJpaEntity> findByPatientIdentificationNumber(String patientIdentificationNumber);
-}
\ No newline at end of file
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new app.clinic.infrastructure.dto.VitalSignsDTO(v.patientIdentificationNumber, v.bloodPressure, "
+        + "v.temperature, v.pulse, v.oxygenLevel, v.dateTime) FROM VitalSignsJpaEntity v "
+        + "WHERE v.patientIdentificationNumber = :patientId ORDER BY v.dateTime")
+    Stream<VitalSignsDTO> streamDtoByPatientIdentificationNumber(@Param("patientId") String patientId);
+}
@@ -30,6 +30,15 @@ public class MedicalRecordMongoRepository implements MedicalRecordRepository {
         mongoTemplate.save(document);
     }
 
+    // La historia es un único documento por paciente: se fusionan las fechas nuevas y se reemplaza
+    @Override
+    public void append(MedicalRecord newEntries) {
+        MedicalRecord medicalRecord = findByPatientIdentificationNumber(newEntries.getPatientIdentificationNumber())
+            .orElse(new MedicalRecord(newEntries.getPatientIdentificationNumber()));
+        medicalRecord.getRecords().putAll(newEntries.getRecords());
+        save(medicalRecord);
+    }
+
     @Override
     public Optional<MedicalRecord> findByPatientIdentificationNumber(String patientId) {
         Query query = new Query(Criteria.where("_id").is(patientId));
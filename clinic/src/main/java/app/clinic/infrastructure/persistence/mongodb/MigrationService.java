@@ -5,8 +5,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -15,7 +18,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import app.clinic.infrastructure.persistence.jpa.MedicalRecordJpaEntity;
 import app.clinic.infrastructure.persistence.jpa.MedicalRecordJpaRepository;
-import jakarta.annotation.PostConstruct;
 
 @Service
 @Profile("mongodb")
@@ -33,7 +35,12 @@ public class MigrationService {
         this.objectMapper = objectMapper;
     }
 
-    @PostConstruct
+    /**
+     * Copia las historias clínicas a MongoDB en segundo plano una vez arrancada la aplicación: recorre
+     * toda la tabla y no debe retrasar el arranque.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
     public void migrateMedicalRecords() {
         System.out.println("Starting migration of medical records from JPA to MongoDB...");
 
@@ -0,0 +1,14 @@
+package app.clinic.infrastructure.persistence.outbox;
+
+import java.time.Instant;
+
+/**
+ * Fila pendiente de medical_record_outbox: qué orden hay que anotar en la historia de qué paciente.
+ */
+public record MedicalRecordEvent(long id, Type type, String patientId, String orderNumber, Instant createdAt, int attempts) {
+
+    public enum Type {
+        DIAGNOSTIC_AID_ORDER,
+        POST_DIAGNOSTIC_ORDER
+    }
+}
@@ -0,0 +1,82 @@
+package app.clinic.infrastructure.persistence.outbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.repository.MedicalRecordOutboxRepository;
+
+/**
+ * medical_record_outbox con JdbcTemplate, que participa en la transacción en curso: el evento se
+ * confirma o se deshace junto con la orden que lo produce.
+ */
+@Repository
+public class MedicalRecordOutboxJdbcRepository implements MedicalRecordOutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Eventos sin aplicar: los que aún se reintentan (pending, el más antiguo en oldest, null si no hay)
+     * y los que agotaron sus intentos (abandoned).
+     */
+    public record Backlog(long pending, Instant oldest, long abandoned) {
+    }
+
+    public MedicalRecordOutboxJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void enqueueDiagnosticAidOrder(Order order) {
+        enqueue(MedicalRecordEvent.Type.DIAGNOSTIC_AID_ORDER, order);
+    }
+
+    @Override
+    public void enqueuePostDiagnosticOrder(Order order) {
+        enqueue(MedicalRecordEvent.Type.POST_DIAGNOSTIC_ORDER, order);
+    }
+
+    private void enqueue(MedicalRecordEvent.Type type, Order order) {
+        jdbcTemplate.update("INSERT INTO medical_record_outbox (event_type, patient_id, order_number, created_at) VALUES (?, ?, ?, ?)",
+            type.name(), order.getPatientIdentificationNumber(), order.getOrderNumber().getValue(), Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * Eventos pendientes posteriores a afterId, en el orden en que se crearon.
+     */
+    public List<MedicalRecordEvent> findPending(long afterId, int limit, int maxAttempts) {
+        return jdbcTemplate.query("SELECT id, event_type, patient_id, order_number, created_at, attempts FROM medical_record_outbox "
+                + "WHERE processed_at IS NULL AND id > ? AND attempts < ? ORDER BY id LIMIT ?",
+            (result, row) -> new MedicalRecordEvent(result.getLong("id"),
+                MedicalRecordEvent.Type.valueOf(result.getString("event_type")), result.getString("patient_id"),
+                result.getString("order_number"), result.getTimestamp("created_at").toInstant(), result.getInt("attempts")),
+            afterId, maxAttempts, limit);
+    }
+
+    /**
+     * Marca el evento como aplicado si nadie lo había hecho; debe ejecutarse en la transacción que
+     * escribe la historia. Devuelve false si ya estaba aplicado.
+     */
+    public boolean markProcessed(long id, Instant processedAt) {
+        return jdbcTemplate.update("UPDATE medical_record_outbox SET processed_at = ? WHERE id = ? AND processed_at IS NULL",
+            Timestamp.from(processedAt), id) == 1;
+    }
+
+    public void recordFailure(long id, String error) {
+        jdbcTemplate.update("UPDATE medical_record_outbox SET attempts = attempts + 1, last_error = ? WHERE id = ?", error, id);
+    }
+
+    public Backlog backlog(int maxAttempts) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(CASE WHEN attempts < ? THEN 1 END), MIN(CASE WHEN attempts < ? THEN created_at END), "
+                + "COUNT(CASE WHEN attempts >= ? THEN 1 END) FROM medical_record_outbox WHERE processed_at IS NULL",
+            (result, row) -> {
+                Timestamp oldest = result.getTimestamp(2);
+                return new Backlog(result.getLong(1), oldest != null ? oldest.toInstant() : null, result.getLong(3));
+            },
+            maxAttempts, maxAttempts, maxAttempts);
+    }
+}
@@ -0,0 +1,195 @@
+package app.clinic.infrastructure.persistence.revocation;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.repository.SessionRevocationRepository;
+import app.clinic.infrastructure.config.JwtProperties;
+import app.clinic.infrastructure.config.TokenRevocationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Sesiones revocadas antes de que caduque su token, consultadas por JwtAuthenticationFilter en cada petición.
+ *
+ * La tabla revoked_sessions es la lista exacta; en memoria solo hay un RotatingBloomFilter con los
+ * identificadores de sesión. Una sesión que no está en el filtro no está revocada, y eso se sabe sin salir
+ * de la memoria: solo una coincidencia del filtro (revocada de verdad o falso positivo) consulta la tabla.
+ *
+ * Las generaciones del filtro cubren juntas jwt.expiration-time: cada una dura expiration-time /
+ * (generations - 1), así que una sesión revocada sigue en el filtro al menos hasta que caduca su token.
+ * La memoria queda fija según clinic.token-revocation.expected-revocations y false-positive-rate.
+ *
+ * También se revocan todos los tokens de un usuario emitidos hasta un momento (revokeUserSessions, al
+ * cambiar su rol o eliminarlo): la fila usa la clave "user:" + cédula y revoked_at hace de versión, de
+ * modo que los tokens emitidos antes se rechazan y los nuevos no.
+ *
+ * Cada instancia anota sus revocaciones en el filtro al momento y lee las de las demás de la tabla cada
+ * clinic.token-revocation.sync-interval; una sesión cerrada en otra instancia puede seguir entrando
+ * aquí durante ese intervalo. Las filas de tokens ya caducados se borran al rotar.
+ *
+ * Métricas: clinic.token-revocation.lookups (result=revoked|false-positive), consultas a la tabla tras
+ * una coincidencia del filtro; false-positive incluye los tokens de un usuario emitidos tras su revocación.
+ */
+@Repository
+public class RevokedSessionStore implements SessionRevocationRepository {
+    public static final String LOOKUPS_METRIC = "clinic.token-revocation.lookups";
+
+    private static final String USER_PREFIX = "user:";
+
+    // Las filas se leen de nuevo durante este margen por si una inserción confirma tarde con un revoked_at anterior
+    private static final long SYNC_OVERLAP_MILLIS = 5000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long tokenLifetime;
+    private final RotatingBloomFilter filter;
+    private final long rotationPeriod;
+    private final Counter revoked;
+    private final Counter falsePositives;
+    // Serializa sync: la lectura de la tabla y el borrado de caducadas se hacen con el lock tomado, y con hilos
+    // virtuales un monitor fijaría el hilo portador durante cada consulta
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private long nextRotation;
+    private Timestamp syncedUntil = new Timestamp(0);
+
+    public RevokedSessionStore(JdbcTemplate jdbcTemplate, JwtProperties jwtProperties,
+                               TokenRevocationProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenLifetime = jwtProperties.getExpirationTime();
+        int generations = Math.max(2, properties.getGenerations());
+        this.filter = new RotatingBloomFilter(generations, properties.getExpectedRevocations(), properties.getFalsePositiveRate());
+        this.rotationPeriod = Math.max(1L, jwtProperties.getExpirationTime() / (generations - 1));
+        this.nextRotation = System.currentTimeMillis() + rotationPeriod;
+        this.revoked = Counter.builder(LOOKUPS_METRIC).tag("result", "revoked")
+            .description("Peticiones rechazadas por sesión revocada").register(registry);
+        this.falsePositives = Counter.builder(LOOKUPS_METRIC).tag("result", "false-positive")
+            .description("Consultas a revoked_sessions por un falso positivo del filtro").register(registry);
+    }
+
+    /**
+     * Carga en el filtro las revocaciones cuyo token sigue vigente; solo al arrancar.
+     */
+    @PostConstruct
+    public void load() {
+        purgeExpired();
+        sync();
+        System.out.println("Sesiones revocadas cargadas: filtro de " + filter.generationCount() + " generaciones, "
+            + filter.sizeInBytes() / 1024 + " KB");
+    }
+
+    /**
+     * Revoca la sesión hasta expiresAt, la caducidad de su token. Repetir la revocación no tiene efecto.
+     */
+    public void revoke(String sessionId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO revoked_sessions (session_id, expires_at) VALUES (?, ?)",
+                sessionId, Timestamp.from(expiresAt));
+        } catch (DuplicateKeyException e) {
+            // Ya revocada, aquí o en otra instancia
+        }
+        filter.put(sessionId);
+    }
+
+    /**
+     * Revoca los tokens del usuario emitidos hasta ahora; los que aún no caducaron duran como mucho
+     * jwt.expiration-time. Revocar otra vez mueve la marca al momento actual.
+     */
+    @Override
+    public void revokeUserSessions(Id identificationNumber) {
+        String key = USER_PREFIX + identificationNumber.getValue();
+        Timestamp expiresAt = new Timestamp(System.currentTimeMillis() + tokenLifetime);
+        String update = "UPDATE revoked_sessions SET revoked_at = CURRENT_TIMESTAMP, expires_at = ? WHERE session_id = ?";
+        if (jdbcTemplate.update(update, expiresAt, key) == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO revoked_sessions (session_id, expires_at) VALUES (?, ?)", key, expiresAt);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(update, expiresAt, key);
+            }
+        }
+        filter.put(key);
+    }
+
+    public boolean isRevoked(String sessionId) {
+        if (!filter.mightContain(sessionId)) {
+            return false;
+        }
+        return lookup("SELECT COUNT(*) FROM revoked_sessions WHERE session_id = ? AND expires_at > CURRENT_TIMESTAMP", sessionId);
+    }
+
+    /**
+     * Si los tokens del usuario emitidos en issuedAt quedaron revocados. El iat del token va en segundos:
+     * un token del mismo segundo que la revocación se rechaza por si acaso.
+     */
+    public boolean isUserRevoked(String identificationNumber, Instant issuedAt) {
+        if (!filter.mightContain(USER_PREFIX, identificationNumber)) {
+            return false;
+        }
+        return lookup("SELECT COUNT(*) FROM revoked_sessions WHERE session_id = ? AND revoked_at >= ? "
+            + "AND expires_at > CURRENT_TIMESTAMP", USER_PREFIX + identificationNumber, Timestamp.from(issuedAt));
+    }
+
+    private boolean lookup(String sql, Object... args) {
+        Integer rows = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        boolean found = rows != null && rows > 0;
+        (found ? revoked : falsePositives).increment();
+        return found;
+    }
+
+    @Scheduled(initialDelayString = "${clinic.token-revocation.sync-interval:1000}",
+        fixedDelayString = "${clinic.token-revocation.sync-interval:1000}")
+    public void syncFromOtherInstances() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            System.err.println("Revoked session sync failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Añade al filtro las revocaciones registradas desde la última lectura, incluidas las de otras instancias,
+     * y rota el filtro cuando toca. Rotar tarde solo alarga la permanencia de las sesiones en el filtro.
+     */
+    public int sync() {
+        syncLock.lock();
+        try {
+            Timestamp from = new Timestamp(Math.max(0L, syncedUntil.getTime() - SYNC_OVERLAP_MILLIS));
+            int[] read = {0};
+            jdbcTemplate.query("SELECT session_id, revoked_at FROM revoked_sessions WHERE revoked_at >= ? "
+                + "AND expires_at > CURRENT_TIMESTAMP", result -> {
+                    filter.put(result.getString(1));
+                    Timestamp revokedAt = result.getTimestamp(2);
+                    if (revokedAt.after(syncedUntil)) {
+                        syncedUntil = revokedAt;
+                    }
+                    read[0]++;
+                }, from);
+            rotateIfDue();
+            return read[0];
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void rotateIfDue() {
+        if (System.currentTimeMillis() >= nextRotation) {
+            filter.rotate();
+            nextRotation += rotationPeriod;
+            purgeExpired();
+        }
+    }
+
+    private void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM revoked_sessions WHERE expires_at <= CURRENT_TIMESTAMP");
+    }
+}
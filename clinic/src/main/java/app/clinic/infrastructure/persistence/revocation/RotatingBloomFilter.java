@@ -0,0 +1,125 @@
+package app.clinic.infrastructure.persistence.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom por generaciones: las claves entran en la generación actual y rotate() descarta la más
+ * antigua. Una clave sigue presente al menos (generaciones - 1) rotaciones, así que la memoria no crece
+ * con el tiempo: cada generación tiene un tamaño fijo calculado para expectedInsertions claves.
+ *
+ * mightContain nunca da un falso negativo mientras la clave no haya salido por rotación; los falsos
+ * positivos rondan falsePositiveRate por generación. La consulta no bloquea: lee los bits con
+ * AtomicLongArray y la lista de generaciones se reemplaza entera al rotar.
+ */
+public class RotatingBloomFilter {
+
+    private final int bitMask;
+    private final int hashes;
+    private volatile AtomicLongArray[] generations;
+
+    public RotatingBloomFilter(int generations, int expectedInsertions, double falsePositiveRate) {
+        if (generations < 2) {
+            throw new IllegalArgumentException("At least two generations are required");
+        }
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing");
+        }
+        // m = -n ln p / (ln 2)^2 redondeado a potencia de dos para indexar con una máscara; k = -ln p / ln 2
+        double optimalBits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int bits = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(64, Math.ceil(optimalBits))) - 1) << 1;
+        this.bitMask = bits - 1;
+        this.hashes = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+        AtomicLongArray[] initial = new AtomicLongArray[generations];
+        for (int i = 0; i < generations; i++) {
+            initial[i] = new AtomicLongArray(bits >>> 6);
+        }
+        this.generations = initial;
+    }
+
+    public void put(String key) {
+        put("", key);
+    }
+
+    /**
+     * Equivale a put(prefix + key) sin construir la cadena.
+     */
+    public void put(String prefix, String key) {
+        long hash = hash(prefix, key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        AtomicLongArray current = generations[0];
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            long mask = 1L << bit;
+            current.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        return mightContain("", key);
+    }
+
+    /**
+     * Equivale a mightContain(prefix + key) sin construir la cadena.
+     */
+    public boolean mightContain(String prefix, String key) {
+        long hash = hash(prefix, key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (AtomicLongArray generation : generations) {
+            if (contains(generation, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(AtomicLongArray generation, int h1, int h2) {
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            if ((generation.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Abre una generación vacía y descarta la más antigua. Las inserciones concurrentes en la generación
+     * que deja de ser la actual no se pierden: sigue en la lista hasta su propia rotación.
+     */
+    public synchronized void rotate() {
+        AtomicLongArray[] current = generations;
+        AtomicLongArray[] rotated = new AtomicLongArray[current.length];
+        rotated[0] = new AtomicLongArray(current[0].length());
+        System.arraycopy(current, 0, rotated, 1, current.length - 1);
+        generations = rotated;
+    }
+
+    public int generationCount() {
+        return generations.length;
+    }
+
+    public long sizeInBytes() {
+        return (long) generations.length * (bitMask + 1) / 8;
+    }
+
+    // FNV-1a de 64 bits con la mezcla final de MurmurHash3: sin reservar memoria y en pocos nanosegundos
+    private static long hash(String prefix, String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < prefix.length(); i++) {
+            hash ^= prefix.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,352 @@
+package app.clinic.infrastructure.persistence.routing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.clinic.infrastructure.config.BatchExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Envía a una réplica las conexiones pedidas dentro de una transacción de solo lectura abierta en
+ * un ámbito de lectura (enterReadOnlyScope, ver ReadOnlyRoutingAspect); todo lo demás va al primario.
+ *
+ * - Lee-lo-que-escribiste: cuando un usuario autenticado confirma una transacción de lectura/escritura
+ *   que ejecutó alguna sentencia de escritura, sus lecturas siguen yendo al primario durante
+ *   readYourWritesWindow. Las lecturas en el primario (sin transacción o dentro de una transacción
+ *   que no escribe) no abren la ventana, y las marcas vencidas se descartan al consultarlas y al
+ *   registrar nuevas escrituras, así que el mapa no crece con usuarios que ya no escriben.
+ * - Las réplicas se comprueban periódicamente; una réplica caída (o que falla al dar una conexión)
+ *   deja de recibir lecturas hasta que vuelve a responder, y sin réplicas sanas se lee del primario.
+ * - clinic.datasource.route cuenta las conexiones por destino (target) y motivo (reason).
+ *
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy para que la conexión se pida al ejecutar la
+ * primera sentencia, cuando el indicador de solo lectura de la transacción ya está fijado.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String ROUTE_METRIC = "clinic.datasource.route";
+    public static final String REPLICA_UP_METRIC = "clinic.datasource.replica.up";
+
+    public static final String PRIMARY = "primary";
+
+    // Profundidad de ámbitos de lectura anidados en el hilo actual
+    private static final ThreadLocal<int[]> READ_ONLY_SCOPE = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long readYourWritesWindowNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>(); // usuario -> nanoTime de su última escritura
+    private volatile long lastSweep;
+    private final Counter primaryWrites;
+    private final Counter primaryNonTransactional;
+    private final Counter primaryReads;
+    private final Counter stickyReads;
+    private final Counter failoverReads;
+    private ScheduledExecutorService healthChecks;
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        final Counter reads;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+
+    /**
+     * @param replicas réplicas por nombre, en el orden en que se reparten las lecturas
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, LinkedHashMap<String, DataSource> replicas,
+                                      long readYourWritesWindowMillis, MeterRegistry registry) {
+        this(primary, replicas, readYourWritesWindowMillis, registry, System::nanoTime);
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, LinkedHashMap<String, DataSource> replicas,
+                               long readYourWritesWindowMillis, MeterRegistry registry, LongSupplier nanoClock) {
+        this.primary = primary;
+        this.readYourWritesWindowNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesWindowMillis);
+        this.nanoClock = nanoClock;
+        this.lastSweep = nanoClock.getAsLong();
+        this.primaryWrites = routeCounter(registry, PRIMARY, "write");
+        this.primaryNonTransactional = routeCounter(registry, PRIMARY, "non-transactional");
+        this.primaryReads = routeCounter(registry, PRIMARY, "read");
+        this.stickyReads = routeCounter(registry, PRIMARY, "read-your-writes");
+        this.failoverReads = routeCounter(registry, PRIMARY, "failover");
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            Replica replica = new Replica(entry.getKey(), entry.getValue(), routeCounter(registry, entry.getKey(), "read"));
+            Gauge.builder(REPLICA_UP_METRIC, replica, r -> r.healthy ? 1 : 0)
+                .description("1 si la réplica recibe lecturas, 0 si está fuera por fallar la comprobación")
+                .tag("replica", replica.name)
+                .register(registry);
+            this.replicas.add(replica);
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, String target, String reason) {
+        return Counter.builder(ROUTE_METRIC)
+            .description("Conexiones entregadas por el datasource de lectura/escritura")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    public static void enterReadOnlyScope() {
+        READ_ONLY_SCOPE.get()[0]++;
+    }
+
+    public static void exitReadOnlyScope() {
+        int[] depth = READ_ONLY_SCOPE.get();
+        if (--depth[0] <= 0) {
+            READ_ONLY_SCOPE.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Sin transacción no se sabe si se va a escribir (JDBC directo, autocommit): va al primario
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                primaryNonTransactional.increment();
+                return primary.getConnection();
+            }
+            primaryWrites.increment();
+            return trackWrites(primary.getConnection());
+        }
+        if (READ_ONLY_SCOPE.get()[0] == 0) {
+            // Lecturas de un caso de uso que escribe (p. ej. los find* de Spring Data): siempre del primario
+            primaryReads.increment();
+            return primary.getConnection();
+        }
+        String user = currentUser();
+        if (user != null && wroteRecently(user)) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        failoverReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per target datasource");
+    }
+
+    /**
+     * Comprueba cada réplica con Connection.isValid.
+     */
+    public void checkReplicas(int timeoutSeconds) {
+        for (Replica replica : replicas) {
+            String failure = null;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(timeoutSeconds)) {
+                    failure = "connection is not valid";
+                }
+            } catch (SQLException e) {
+                failure = e.getMessage();
+            }
+            if (failure != null) {
+                markDown(replica, failure);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                System.out.println("Read replica " + replica.name + " is back in rotation");
+            }
+        }
+    }
+
+    public synchronized void startHealthChecks(long intervalMillis, int timeoutSeconds, BatchExecutors batchExecutors) {
+        if (healthChecks != null || replicas.isEmpty()) {
+            return;
+        }
+        healthChecks = batchExecutors.newSingleThreadScheduledExecutor("replica-health-check");
+        healthChecks.scheduleWithFixedDelay(() -> checkReplicas(timeoutSeconds), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            System.err.println("Read replica " + replica.name + " taken out of rotation: " + reason);
+        }
+    }
+
+    private boolean wroteRecently(String user) {
+        Long writtenAt = lastWrites.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - writtenAt < readYourWritesWindowNanos) {
+            return true;
+        }
+        lastWrites.remove(user, writtenAt);
+        return false;
+    }
+
+    // Usuarios con marca de escritura, vencida o no; para las pruebas
+    int trackedWriters() {
+        return lastWrites.size();
+    }
+
+    /**
+     * La ventana empieza al confirmar la transacción, que es cuando la escritura se replica, y solo si
+     * por la conexión pasó alguna sentencia de escritura.
+     */
+    private Connection trackWrites(Connection connection) {
+        String user = currentUser();
+        if (user == null || readYourWritesWindowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        WriteTrackingConnection tracking = new WriteTrackingConnection(connection);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (tracking.wrote) {
+                    recordWrite(user);
+                }
+            }
+        });
+        return tracking.proxy();
+    }
+
+    /**
+     * Como mucho una vez por ventana se recorre el mapa para quitar las marcas vencidas de usuarios que
+     * no han vuelto a leer; sin esto solo se quitarían al consultarlas.
+     */
+    private void recordWrite(String user) {
+        long now = nanoClock.getAsLong();
+        lastWrites.put(user, now);
+        if (now - lastSweep >= readYourWritesWindowNanos) {
+            lastSweep = now;
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= readYourWritesWindowNanos);
+        }
+    }
+
+    /**
+     * Conexión del primario que anota si se preparó o ejecutó una sentencia de escritura. Se clasifica por
+     * la primera palabra del SQL; las sentencias preparadas devueltas son las del driver, sin envolver.
+     */
+    private static final class WriteTrackingConnection implements InvocationHandler {
+        private static final Pattern WRITE = Pattern.compile(
+            "^\\s*(/\\*.*?\\*/\\s*)*(INSERT|UPDATE|DELETE|MERGE|UPSERT|REPLACE|TRUNCATE|CREATE|ALTER|DROP|CALL)\\b",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+        private final Connection target;
+        volatile boolean wrote;
+
+        WriteTrackingConnection(Connection target) {
+            this.target = target;
+        }
+
+        Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if ((name.equals("prepareStatement") || name.equals("prepareCall")) && args[0] instanceof String sql) {
+                inspect(sql);
+            }
+            Object result = forward(target, method, args);
+            if (name.equals("createStatement")) {
+                Statement statement = (Statement) result;
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {Statement.class},
+                    (statementProxy, statementMethod, statementArgs) -> {
+                        if (statementArgs != null && statementArgs.length > 0 && statementArgs[0] instanceof String sql
+                            && (statementMethod.getName().startsWith("execute") || statementMethod.getName().equals("addBatch"))) {
+                            inspect(sql);
+                        }
+                        return forward(statement, statementMethod, statementArgs);
+                    });
+            }
+            return result;
+        }
+
+        private void inspect(String sql) {
+            if (!wrote && WRITE.matcher(sql).find()) {
+                wrote = true;
+            }
+        }
+
+        private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,206 @@
+package app.clinic.infrastructure.persistence.state;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escritura anticipada en segmentos mapeados en memoria, wal-<primera secuencia>.log.
+ *
+ * Cada registro es [longitud int][crc32 int][secuencia long][datos], donde la longitud cubre la secuencia
+ * y los datos; el resto del segmento queda en ceros. Añadir un registro es copiar bytes al
+ * MappedByteBuffer, y con sync se fuerza a disco solo el tramo escrito (msync), no el segmento entero.
+ *
+ * Los segmentos se crean al escribir el primer registro, así que tras reabrir el log nunca se escribe
+ * detrás de la cola de un segmento que quedó cortado por una caída: la lectura se detiene en el primer
+ * registro incompleto o con CRC inválido de cada segmento y sigue con el siguiente.
+ *
+ * Las escrituras se serializan con un ReentrantLock y no con un monitor: append espera el msync con el
+ * lock tomado, y con hilos virtuales un monitor fijaría el hilo portador durante toda la espera.
+ */
+public class MappedWriteAheadLog implements AutoCloseable {
+    private static final int HEADER = 4 + 4 + 8;
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long nextSequence;
+
+    public record Entry(long sequence, byte[] data) {
+    }
+
+    /**
+     * @param nextSequence secuencia del próximo registro: la última recuperada más uno
+     */
+    public MappedWriteAheadLog(Path directory, int segmentSize, boolean sync, long nextSequence) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Entrega en orden los registros posteriores a afterSequence y devuelve la última secuencia leída
+     * (afterSequence si no hay ninguno).
+     */
+    public static long replay(Path directory, long afterSequence, Consumer<Entry> consumer) throws IOException {
+        long last = afterSequence;
+        for (Path file : segments(directory)) {
+            try (FileChannel readChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                CRC32 crc = new CRC32();
+                while (buffer.remaining() >= HEADER) {
+                    int start = buffer.position();
+                    int length = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    if (length < 8 || length > buffer.remaining()) {
+                        break; // fin del segmento o registro cortado
+                    }
+                    crc.reset();
+                    crc.update(buffer.slice(start + 8, length));
+                    if ((int) crc.getValue() != checksum) {
+                        System.err.println("Write-ahead log " + file.getFileName() + " ends with a torn record at offset " + start);
+                        break;
+                    }
+                    long sequence = buffer.getLong();
+                    byte[] data = new byte[length - 8];
+                    buffer.get(data);
+                    if (sequence > afterSequence) {
+                        consumer.accept(new Entry(sequence, data));
+                        last = Math.max(last, sequence);
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Añade un registro y devuelve su secuencia; con sync vuelve cuando el registro ya está en disco.
+     */
+    public long append(byte[] data) {
+        int length = 8 + data.length;
+        lock.lock();
+        try {
+            long sequence = nextSequence;
+            if (segment == null || segment.remaining() < 8 + length) {
+                openSegment(sequence, 8 + length);
+            }
+            int start = segment.position();
+            segment.putInt(length);
+            segment.putInt(0); // CRC, se completa al final
+            segment.putLong(sequence);
+            segment.put(data);
+            CRC32 crc = new CRC32();
+            crc.update(segment.slice(start + 8, length));
+            segment.putInt(start + 4, (int) crc.getValue());
+            if (sync) {
+                segment.force(start, 8 + length);
+            }
+            nextSequence++;
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the write-ahead log in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cierra el segmento actual; el próximo registro abre uno nuevo. Devuelve la última secuencia escrita,
+     * a partir de la cual un snapshot puede descartar los segmentos anteriores (deleteThrough).
+     */
+    public long rollover() {
+        lock.lock();
+        try {
+            closeSegment();
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Borra los segmentos cerrados por un rollover que devolvió sequence: todos sus registros son
+     * anteriores o iguales a sequence, y los segmentos abiertos después empiezan en sequence + 1.
+     */
+    public void deleteThrough(long sequence) throws IOException {
+        lock.lock();
+        try {
+            for (Path file : segments(directory)) {
+                if (firstSequence(file) <= sequence) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closeSegment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openSegment(long firstSequence, int minimumSize) throws IOException {
+        closeSegment();
+        Files.createDirectories(directory);
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        // Un segmento con el mismo nombre solo puede tener un primer registro cortado: se reemplaza
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, minimumSize));
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        if (!sync) {
+            segment.force();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not close write-ahead log segment: " + e.getMessage());
+        }
+        segment = null;
+        channel = null;
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> file.getFileName().toString().startsWith(PREFIX) && file.getFileName().toString().endsWith(SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
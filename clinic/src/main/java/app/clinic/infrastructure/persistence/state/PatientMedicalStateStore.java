@@ -0,0 +1,404 @@
+package app.clinic.infrastructure.persistence.state;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.clinic.domain.model.entities.PatientMedicalState;
+import app.clinic.domain.model.valueobject.CurrentDiagnosis;
+import app.clinic.domain.model.valueobject.CurrentMedications;
+import app.clinic.domain.model.valueobject.HospitalizationDetails;
+import app.clinic.domain.repository.PatientMedicalStateRepository;
+import app.clinic.infrastructure.config.MedicalStateProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Estado médico de los hospitalizados en memoria, persistido en clinic.medical-state.directory.
+ *
+ * Las lecturas son un acceso al mapa (una copia del estado, sin tocar disco ni base de datos). Cada
+ * cambio se escribe primero en MappedWriteAheadLog y después se aplica al mapa; cada
+ * clinic.medical-state.snapshot-interval el mapa completo se vuelca a snapshot-<secuencia>.bin y se
+ * borran los segmentos del log que ya incluye. Al arrancar se carga el último snapshot y se
+ * reaplican los registros posteriores, así que la recuperación depende de los hospitalizados y del
+ * log pendiente, no del tamaño de la base de datos.
+ *
+ * Dentro de una transacción el cambio se escribe al confirmarla, para no dejar hospitalizado a un
+ * paciente cuya orden se deshizo. Esa escritura corre en el hilo de la petición y espera el fsync del log,
+ * así que los bloqueos son ReentrantLock: con hilos virtuales un monitor fijaría el hilo portador.
+ *
+ * Métricas: clinic.medical-state.inpatients y clinic.medical-state.log.records (registros del log
+ * aún no incluidos en un snapshot).
+ */
+@Repository
+public class PatientMedicalStateStore implements PatientMedicalStateRepository {
+    public static final String INPATIENTS_METRIC = "clinic.medical-state.inpatients";
+    public static final String LOG_RECORDS_METRIC = "clinic.medical-state.log.records";
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int SNAPSHOT_MAGIC = 0x504D5331; // "PMS1"
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final MedicalStateProperties properties;
+    private final Path directory;
+    private final Map<String, PatientMedicalState> states = new ConcurrentHashMap<>();
+    private final ReentrantLock stateLock = new ReentrantLock(); // log, mapa y secuencias
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private MappedWriteAheadLog log;
+    private long lastSequence;
+    private long snapshotSequence;
+
+    public PatientMedicalStateStore(MedicalStateProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+        Gauge.builder(INPATIENTS_METRIC, states, Map::size)
+            .description("Pacientes hospitalizados con estado médico en memoria").register(registry);
+        Gauge.builder(LOG_RECORDS_METRIC, this, store -> store.pendingLogRecords())
+            .description("Registros del log de estado médico posteriores al último snapshot").register(registry);
+    }
+
+    /**
+     * Último snapshot válido más los registros posteriores del log.
+     */
+    @PostConstruct
+    public void open() {
+        long started = System.nanoTime();
+        stateLock.lock();
+        try {
+            states.clear();
+            snapshotSequence = loadSnapshot();
+            int[] replayed = new int[1];
+            lastSequence = MappedWriteAheadLog.replay(directory, snapshotSequence, entry -> {
+                apply(entry.data());
+                replayed[0]++;
+            });
+            log = new MappedWriteAheadLog(directory, properties.getSegmentSize(), properties.isSyncOnWrite(), lastSequence + 1);
+            System.out.println("Estado médico de hospitalizados recuperado: " + states.size() + " pacientes (snapshot "
+                + snapshotSequence + ", " + replayed[0] + " registros del log) en "
+                + (System.nanoTime() - started) / 1_000_000 + " ms");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the medical state store from " + directory, e);
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<PatientMedicalState> findByPatientId(String patientId) {
+        PatientMedicalState state = states.get(patientId);
+        return state != null ? Optional.of(copyOf(state)) : Optional.empty();
+    }
+
+    @Override
+    public List<PatientMedicalState> findHospitalized() {
+        List<PatientMedicalState> hospitalized = new ArrayList<>(states.size());
+        for (PatientMedicalState state : states.values()) {
+            hospitalized.add(copyOf(state));
+        }
+        hospitalized.sort(Comparator.comparing(PatientMedicalState::getPatientId));
+        return hospitalized;
+    }
+
+    @Override
+    public void save(PatientMedicalState state) {
+        // Solo se guardan hospitalizados: un estado sin hospitalización equivale al alta
+        byte[] record = state.isHospitalized() ? encodePut(state) : encodeDelete(state.getPatientId());
+        afterCommit(() -> write(record));
+    }
+
+    @Override
+    public void deleteByPatientId(String patientId) {
+        byte[] record = encodeDelete(patientId);
+        afterCommit(() -> write(record));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // El log y el mapa avanzan juntos para que un snapshot nunca vea uno sin el otro
+    private void write(byte[] record) {
+        stateLock.lock();
+        try {
+            lastSequence = log.append(record);
+            apply(record);
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${clinic.medical-state.snapshot-interval:60000}")
+    public void snapshotIfChanged() {
+        if (pendingLogRecords() == 0) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            System.err.println("Medical state snapshot failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Vuelca el mapa a un snapshot nuevo y borra los segmentos del log y los snapshots que quedan cubiertos.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            writeSnapshot();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void writeSnapshot() {
+        List<byte[]> records = new ArrayList<>();
+        long sequence;
+        stateLock.lock();
+        try {
+            sequence = log.rollover();
+            for (PatientMedicalState state : states.values()) {
+                records.add(encodePut(state));
+            }
+        } finally {
+            stateLock.unlock();
+        }
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+            Path temporary = directory.resolve(target.getFileName() + ".tmp");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(records.size());
+            for (byte[] record : records) {
+                out.writeInt(record.length);
+                out.write(record);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+            // El snapshot debe estar en disco, con su nombre definitivo, antes de borrar el log que reemplaza:
+            // fsync del fichero antes de renombrarlo y del directorio después
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer content = ByteBuffer.wrap(bytes.toByteArray());
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+
+            stateLock.lock();
+            try {
+                snapshotSequence = Math.max(snapshotSequence, sequence);
+            } finally {
+                stateLock.unlock();
+            }
+            log.deleteThrough(sequence);
+            for (Path older : snapshots()) {
+                if (!older.equals(target) && snapshotSequenceOf(older) < sequence) {
+                    Files.deleteIfExists(older);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write a medical state snapshot to " + directory, e);
+        }
+    }
+
+    // Hace durable el renombrado. Windows no permite abrir un directorio como FileChannel; allí NTFS ya
+    // registra el renombrado en su journal
+    private void forceDirectory() throws IOException {
+        if (System.getProperty("os.name", "").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (log == null) {
+            return;
+        }
+        try {
+            snapshotIfChanged();
+        } finally {
+            log.close();
+        }
+    }
+
+    long pendingLogRecords() {
+        stateLock.lock();
+        try {
+            return lastSequence - snapshotSequence;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    // Devuelve la secuencia del snapshot cargado, o 0 si no hay ninguno válido
+    private long loadSnapshot() throws IOException {
+        List<Path> files = new ArrayList<>(snapshots());
+        files.sort(Comparator.reverseOrder());
+        for (Path file : files) {
+            byte[] content = Files.readAllBytes(file);
+            if (content.length < 24) {
+                continue;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(content, 0, content.length - 8);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+            if (in.readInt() != SNAPSHOT_MAGIC || ByteBuffer.wrap(content, content.length - 8, 8).getLong() != crc.getValue()) {
+                System.err.println("Ignoring corrupt medical state snapshot " + file.getFileName());
+                continue;
+            }
+            long sequence = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] record = new byte[in.readInt()];
+                in.readFully(record);
+                apply(record);
+            }
+            return sequence;
+        }
+        return 0;
+    }
+
+    private List<Path> snapshots() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> file.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                    && file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static long snapshotSequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    private void apply(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            byte type = in.readByte();
+            String patientId = readString(in);
+            switch (type) {
+                case PUT:
+                    PatientMedicalState state = new PatientMedicalState(patientId);
+                    state.updateCurrentDiagnosis(new CurrentDiagnosis(readString(in)));
+                    state.updateCurrentMedications(new CurrentMedications(readString(in)));
+                    state.updateCurrentProcedures(readString(in));
+                    state.updateCurrentDiagnosticAids(readString(in));
+                    boolean hospitalized = in.readBoolean();
+                    state.updateHospitalizationDetails(new HospitalizationDetails(hospitalized, readString(in)));
+                    states.put(patientId, state);
+                    break;
+                case DELETE:
+                    states.remove(patientId);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown medical state record type: " + type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt medical state record", e);
+        }
+    }
+
+    private static byte[] encodePut(PatientMedicalState state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PUT);
+            writeString(out, state.getPatientId());
+            writeString(out, state.getCurrentDiagnosis().getValue());
+            writeString(out, state.getCurrentMedications().getValue());
+            writeString(out, state.getCurrentProcedures());
+            writeString(out, state.getCurrentDiagnosticAids());
+            out.writeBoolean(state.isHospitalized());
+            writeString(out, state.getHospitalizationDetails().getDetails());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeDelete(String patientId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(DELETE);
+            writeString(out, patientId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // writeUTF limita a 64 KB; los diagnósticos y detalles pueden ser más largos
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static PatientMedicalState copyOf(PatientMedicalState state) {
+        PatientMedicalState copy = new PatientMedicalState(state.getPatientId());
+        copy.updateCurrentDiagnosis(state.getCurrentDiagnosis());
+        copy.updateCurrentMedications(state.getCurrentMedications());
+        copy.updateCurrentProcedures(state.getCurrentProcedures());
+        copy.updateCurrentDiagnosticAids(state.getCurrentDiagnosticAids());
+        copy.updateHospitalizationDetails(state.getHospitalizationDetails());
+        return copy;
+    }
+}
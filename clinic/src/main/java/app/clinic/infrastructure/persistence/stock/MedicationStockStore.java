@@ -0,0 +1,310 @@
+package app.clinic.infrastructure.persistence.stock;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.domain.model.InsufficientStockException;
+import app.clinic.domain.model.InvalidOrderStateException;
+import app.clinic.domain.model.entities.MedicationOrder;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.OrderNumber;
+import app.clinic.domain.repository.MedicationStockRepository;
+import app.clinic.infrastructure.config.MedicationStockProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Unidades disponibles por medicamento en memoria, con las reservas guardadas en stock_reservations.
+ *
+ * Reservar no toca medication_stock: cada medicamento tiene su propio contador y la reserva lo
+ * decrementa con compareAndSet solo si alcanza, así que dos órdenes solo compiten si piden el mismo
+ * medicamento y ni siquiera entonces esperan un bloqueo. La reserva se anota con una fila propia de la
+ * orden en su misma transacción; si la transacción se deshace, las unidades vuelven al contador.
+ *
+ * Al facturar la reserva pasa a COMMITTED y un volcado en segundo plano (clinic.medication-stock.flush-interval)
+ * la descuenta de medication_stock, una actualización por medicamento y lote. Al cancelar pasa a
+ * RELEASED y las unidades vuelven al contador. Al arrancar el contador se reconstruye como on_hand
+ * menos las reservas vigentes y las confirmadas aún sin volcar.
+ *
+ * Los contadores son de esta instancia: con varias instancias cada una tendría su propia vista.
+ *
+ * Métricas: clinic.medication-stock.reservations (result=reserved|rejected) y
+ * clinic.medication-stock.unapplied (reservas confirmadas pendientes de volcar, al último volcado).
+ */
+@Repository
+public class MedicationStockStore implements MedicationStockRepository {
+    public static final String RESERVATIONS_METRIC = "clinic.medication-stock.reservations";
+    public static final String UNAPPLIED_METRIC = "clinic.medication-stock.unapplied";
+
+    private static final String RECOVER_SQL = "SELECT s.medication_id, s.on_hand - COALESCE(SUM(r.quantity), 0) "
+        + "FROM medication_stock s LEFT JOIN stock_reservations r ON r.medication_id = s.medication_id "
+        + "AND (r.status = 'RESERVED' OR (r.status = 'COMMITTED' AND r.applied = FALSE)) "
+        + "GROUP BY s.medication_id, s.on_hand";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MedicationStockProperties properties;
+    private final Map<String, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final AtomicLong unapplied = new AtomicLong();
+    private final Counter reserved;
+    private final Counter rejected;
+
+    public MedicationStockStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                MedicationStockProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.reserved = Counter.builder(RESERVATIONS_METRIC).tag("result", "reserved")
+            .description("Órdenes con medicamentos reservados").register(registry);
+        this.rejected = Counter.builder(RESERVATIONS_METRIC).tag("result", "rejected")
+            .description("Órdenes rechazadas por falta de existencias").register(registry);
+        Gauge.builder(UNAPPLIED_METRIC, unapplied, AtomicLong::get)
+            .description("Reservas facturadas aún no descontadas de medication_stock").register(registry);
+    }
+
+    /**
+     * Reconstruye los contadores desde la base de datos; solo al arrancar, antes de recibir órdenes.
+     */
+    @PostConstruct
+    public void load() {
+        Map<String, AtomicInteger> levels = new ConcurrentHashMap<>();
+        jdbcTemplate.query(RECOVER_SQL, result -> {
+            levels.put(result.getString(1), new AtomicInteger(result.getInt(2)));
+        });
+        available.clear();
+        available.putAll(levels);
+        unapplied.set(countUnapplied());
+        System.out.println("Existencias de medicamentos cargadas: " + available.size() + " medicamentos, "
+            + unapplied.get() + " reservas facturadas pendientes de volcar");
+    }
+
+    @Override
+    public void reserve(Order order) {
+        String orderNumber = order.getOrderNumber().getValue();
+        // Las líneas no llevan cantidad: una unidad por línea; ordenado para que las filas salgan siempre igual
+        Map<String, Integer> requested = new TreeMap<>();
+        for (MedicationOrder medication : order.getMedications()) {
+            String medicationId = medication.getMedicationId().getValue();
+            if (available.containsKey(medicationId)) {
+                requested.merge(medicationId, 1, Integer::sum);
+            }
+        }
+        if (requested.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> taken = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> item : requested.entrySet()) {
+            AtomicInteger units = available.get(item.getKey());
+            if (!take(units, item.getValue())) {
+                giveBack(taken);
+                rejected.increment();
+                throw new InsufficientStockException(item.getKey(), item.getValue(), Math.max(0, units.get()));
+            }
+            taken.put(item.getKey(), item.getValue());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(taken.size());
+        for (Map.Entry<String, Integer> item : taken.entrySet()) {
+            rows.add(new Object[] {orderNumber, item.getKey(), item.getValue(), now});
+        }
+        String sql = "INSERT INTO stock_reservations (order_number, medication_id, quantity, status, applied, created_at) "
+            + "VALUES (?, ?, ?, 'RESERVED', FALSE, ?)";
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Si la orden no llega a confirmarse, sus unidades vuelven
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        giveBack(taken);
+                    }
+                }
+            });
+            jdbcTemplate.batchUpdate(sql, rows);
+        } else {
+            try {
+                jdbcTemplate.batchUpdate(sql, rows);
+            } catch (RuntimeException e) {
+                giveBack(taken);
+                throw e;
+            }
+        }
+        reserved.increment();
+    }
+
+    @Override
+    public void commit(OrderNumber orderNumber) {
+        String number = orderNumber.getValue();
+        if (hasReservations(number, "RELEASED")) {
+            throw new InvalidOrderStateException("La orden " + number + " fue cancelada");
+        }
+        // Las unidades ya salieron del contador al reservar; el volcado las descuenta de medication_stock
+        jdbcTemplate.update("UPDATE stock_reservations SET status = 'COMMITTED' WHERE order_number = ? AND status = 'RESERVED'", number);
+    }
+
+    @Override
+    public void release(OrderNumber orderNumber) {
+        String number = orderNumber.getValue();
+        if (hasReservations(number, "COMMITTED")) {
+            throw new InvalidOrderStateException("La orden " + number + " ya fue facturada");
+        }
+        List<Object[]> reservations = jdbcTemplate.query("SELECT medication_id, quantity FROM stock_reservations "
+                + "WHERE order_number = ? AND status = 'RESERVED'",
+            (result, row) -> new Object[] {result.getString(1), result.getInt(2)}, number);
+        Map<String, Integer> released = new LinkedHashMap<>();
+        for (Object[] reservation : reservations) {
+            // Solo devuelve las unidades quien cambia el estado: una cancelación simultánea no las duplica
+            if (jdbcTemplate.update("UPDATE stock_reservations SET status = 'RELEASED' WHERE order_number = ? "
+                    + "AND medication_id = ? AND status = 'RESERVED'", number, reservation[0]) == 1) {
+                released.put((String) reservation[0], (Integer) reservation[1]);
+            }
+        }
+        afterCommit(() -> giveBack(released));
+    }
+
+    @Override
+    public void restock(Id medicationId, int units) {
+        if (units <= 0) {
+            throw new IllegalArgumentException("Units to restock must be positive");
+        }
+        String id = medicationId.getValue();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update("UPDATE medication_stock SET on_hand = on_hand + ?, updated_at = ? WHERE medication_id = ?",
+                units, now, id) == 0) {
+            jdbcTemplate.update("INSERT INTO medication_stock (medication_id, on_hand, updated_at) VALUES (?, ?, ?)", id, units, now);
+        }
+        afterCommit(() -> available.computeIfAbsent(id, k -> new AtomicInteger()).addAndGet(units));
+    }
+
+    @Override
+    public Optional<Integer> findAvailable(Id medicationId) {
+        AtomicInteger units = available.get(medicationId.getValue());
+        return units != null ? Optional.of(units.get()) : Optional.empty();
+    }
+
+    @Scheduled(initialDelayString = "${clinic.medication-stock.flush-interval:1000}",
+        fixedDelayString = "${clinic.medication-stock.flush-interval:1000}")
+    public void flushCommitted() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("Medication stock flush failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Descuenta de medication_stock las reservas facturadas pendientes, lote a lote. Devuelve cuántas volcó.
+     */
+    public int flush() {
+        int total = 0;
+        int flushed;
+        do {
+            flushed = transactionTemplate.execute(status -> flushBatch());
+            total += flushed;
+        } while (flushed == properties.getFlushBatchSize());
+        return total;
+    }
+
+    private int flushBatch() {
+        int flushed = applyBatch();
+        if (flushed < properties.getFlushBatchSize()) {
+            // Último lote de la ronda: el pendiente se cuenta con la misma conexión
+            unapplied.set(countUnapplied());
+        }
+        return flushed;
+    }
+
+    private int applyBatch() {
+        List<Object[]> pending = jdbcTemplate.query("SELECT order_number, medication_id, quantity FROM stock_reservations "
+                + "WHERE status = 'COMMITTED' AND applied = FALSE LIMIT ?",
+            (result, row) -> new Object[] {result.getString(1), result.getString(2), result.getInt(3)}, properties.getFlushBatchSize());
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> keys = new ArrayList<>(pending.size());
+        for (Object[] reservation : pending) {
+            keys.add(new Object[] {reservation[0], reservation[1]});
+        }
+        int[] claimed = jdbcTemplate.batchUpdate("UPDATE stock_reservations SET applied = TRUE WHERE order_number = ? "
+            + "AND medication_id = ? AND applied = FALSE", keys);
+
+        // Una actualización por medicamento, siempre en el mismo orden para no cruzarse con otra transacción
+        Map<String, Integer> byMedication = new TreeMap<>();
+        int flushed = 0;
+        for (int i = 0; i < claimed.length; i++) {
+            if (claimed[i] == 1) {
+                byMedication.merge((String) pending.get(i)[1], (Integer) pending.get(i)[2], Integer::sum);
+                flushed++;
+            }
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(byMedication.size());
+        for (Map.Entry<String, Integer> medication : byMedication.entrySet()) {
+            updates.add(new Object[] {medication.getValue(), now, medication.getKey()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE medication_stock SET on_hand = on_hand - ?, updated_at = ? WHERE medication_id = ?", updates);
+        return flushed;
+    }
+
+    // Decrementa solo si alcanza; si otro hilo cambió el contador entre la lectura y el cambio, reintenta
+    private static boolean take(AtomicInteger units, int quantity) {
+        int current;
+        do {
+            current = units.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!units.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private void giveBack(Map<String, Integer> units) {
+        for (Map.Entry<String, Integer> item : units.entrySet()) {
+            available.get(item.getKey()).addAndGet(item.getValue());
+        }
+    }
+
+    private boolean hasReservations(String orderNumber, String status) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM stock_reservations "
+            + "WHERE order_number = ? AND status = ?)", Boolean.class, orderNumber, status));
+    }
+
+    private long countUnapplied() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_reservations WHERE status = 'COMMITTED' AND applied = FALSE",
+            Long.class);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package app.clinic.infrastructure.persistence.summary;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import app.clinic.infrastructure.dto.PatientSummaryDTO;
+import app.clinic.infrastructure.dto.VitalSignsDTO;
+
+/**
+ * patient_summaries con JdbcTemplate, que participa en la transacción en curso.
+ *
+ * refresh recalcula la fila completa de los pacientes indicados con una sola consulta: cada dato sale
+ * de una búsqueda por índice sobre la tabla correspondiente (última fila de vital_signs por la clave
+ * primaria, órdenes sin facturar ni cancelar, próxima cita programada, copagos del año y último
+ * diagnóstico). La usan los adaptadores JPA tras cada escritura, después de volcarla (saveAndFlush) para
+ * que la consulta la vea, y PatientSummaryRebuildService por bloques.
+ */
+@Repository
+public class PatientSummaryRepository {
+
+    private static final String SUMMARY_COLUMNS = "patient_id, full_name, date_of_birth, gender, phone, email, "
+        + "insurance_company_name, insurance_policy_number, insurance_active, insurance_validity_date, last_vitals_at, "
+        + "last_blood_pressure, last_temperature, last_pulse, last_oxygen_level, open_orders, next_appointment_id, "
+        + "next_appointment_at, next_appointment_doctor_id, copay_year, copay_year_to_date, last_diagnosis, updated_at";
+
+    private static final String COMPUTE_SQL = "SELECT p.identification_number, p.full_name, p.date_of_birth, p.gender, p.phone, p.email, "
+        + "p.insurance_company_name, p.insurance_policy_number, p.insurance_active, p.insurance_validity_date, "
+        + "v.date_time, v.blood_pressure, v.temperature, v.pulse, v.oxygen_level, "
+        + "(SELECT COUNT(*) FROM orders o WHERE o.patient_identification_number = p.identification_number "
+        + "AND o.cancelled_at IS NULL AND NOT EXISTS (SELECT 1 FROM billings b WHERE b.order_number = o.order_number)), "
+        + "a.id, a.appointment_date, a.doctor_id, "
+        + "(SELECT COALESCE(SUM(b.copay), 0) FROM billings b WHERE b.identification_number = p.identification_number "
+        + "AND b.generated_at >= ?), "
+        + "COALESCE((SELECT o.diagnosis FROM orders o WHERE o.patient_identification_number = p.identification_number "
+        + "AND LENGTH(o.diagnosis) > 0 ORDER BY o.date DESC, o.order_number DESC LIMIT 1), "
+        + "(SELECT m.diagnosis FROM medical_records m WHERE m.patient_id = p.identification_number "
+        + "AND LENGTH(m.diagnosis) > 0 ORDER BY m.consultation_date DESC, m.id DESC LIMIT 1)) "
+        + "FROM patients p "
+        + "LEFT JOIN vital_signs v ON v.patient_identification_number = p.identification_number AND v.date_time = "
+        + "(SELECT MAX(v2.date_time) FROM vital_signs v2 WHERE v2.patient_identification_number = p.identification_number) "
+        + "LEFT JOIN appointments a ON a.id = (SELECT a2.id FROM appointments a2 WHERE a2.patient_id = p.identification_number "
+        + "AND a2.status = 'scheduled' AND a2.appointment_date > ? ORDER BY a2.appointment_date, a2.id LIMIT 1) "
+        + "WHERE p.identification_number IN ";
+
+    private static final String UPDATE_SQL = "UPDATE patient_summaries SET full_name = ?, date_of_birth = ?, gender = ?, "
+        + "phone = ?, email = ?, insurance_company_name = ?, insurance_policy_number = ?, insurance_active = ?, "
+        + "insurance_validity_date = ?, last_vitals_at = ?, last_blood_pressure = ?, last_temperature = ?, last_pulse = ?, "
+        + "last_oxygen_level = ?, open_orders = ?, next_appointment_id = ?, next_appointment_at = ?, "
+        + "next_appointment_doctor_id = ?, copay_year = ?, copay_year_to_date = ?, last_diagnosis = ?, updated_at = ? "
+        + "WHERE patient_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NextAppointment(String id, LocalDateTime at, String doctorId) {
+    }
+
+    public PatientSummaryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void refresh(String patientId) {
+        refresh(List.of(patientId));
+    }
+
+    /**
+     * Recalcula las filas de los pacientes indicados; las de pacientes que ya no existen se borran.
+     */
+    public void refresh(Collection<String> patientIds) {
+        Set<String> ids = new LinkedHashSet<>(patientIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int year = now.getYear();
+        List<Object[]> rows = jdbcTemplate.query(COMPUTE_SQL + placeholders(ids.size()),
+            (result, row) -> toRow(result, year, now), parameters(ids, Timestamp.valueOf(LocalDate.of(year, 1, 1).atStartOfDay()),
+                Timestamp.valueOf(now)));
+
+        Set<String> missing = new HashSet<>(ids);
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            missing.remove((String) row[0]);
+            updates.add(forUpdate(row));
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                inserts.add(rows.get(i));
+            }
+        }
+        insert(inserts);
+        if (!missing.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM patient_summaries WHERE patient_id IN " + placeholders(missing.size()), missing.toArray());
+        }
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO patient_summaries (" + SUMMARY_COLUMNS + ") VALUES (" + "?, ".repeat(22) + "?)";
+        try {
+            jdbcTemplate.batchUpdate(sql, rows);
+        } catch (DuplicateKeyException e) {
+            // Otra transacción creó la fila a la vez: fila a fila, actualizando las que ya existen
+            for (Object[] row : rows) {
+                if (jdbcTemplate.update(UPDATE_SQL, forUpdate(row)) == 0) {
+                    jdbcTemplate.update(sql, row);
+                }
+            }
+        }
+    }
+
+    public void delete(String patientId) {
+        jdbcTemplate.update("DELETE FROM patient_summaries WHERE patient_id = ?", patientId);
+    }
+
+    /**
+     * Borra los resúmenes de pacientes que ya no existen (la reconstrucción solo recorre pacientes).
+     */
+    public int deleteOrphans() {
+        return jdbcTemplate.update("DELETE FROM patient_summaries s WHERE NOT EXISTS "
+            + "(SELECT 1 FROM patients p WHERE p.identification_number = s.patient_id)");
+    }
+
+    /**
+     * Cédulas de pacientes posteriores a afterId en orden, para recorrer la tabla por bloques.
+     */
+    public List<String> findPatientIdsAfter(String afterId, int limit) {
+        return jdbcTemplate.queryForList("SELECT identification_number FROM patients WHERE identification_number > ? "
+            + "ORDER BY identification_number LIMIT ?", String.class, afterId, limit);
+    }
+
+    public long countPatients() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patients", Long.class);
+    }
+
+    public long countSummaries() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patient_summaries", Long.class);
+    }
+
+    public Optional<PatientSummaryDTO> findById(String patientId) {
+        List<PatientSummaryDTO> summaries = jdbcTemplate.query("SELECT " + SUMMARY_COLUMNS + " FROM patient_summaries WHERE patient_id = ?",
+            (result, row) -> toDto(result), patientId);
+        return summaries.stream().findFirst();
+    }
+
+    /**
+     * Próxima cita programada posterior a after; para cuando la guardada en el resumen ya pasó.
+     */
+    public Optional<NextAppointment> findNextAppointment(String patientId, LocalDateTime after) {
+        List<NextAppointment> appointments = jdbcTemplate.query("SELECT id, appointment_date, doctor_id FROM appointments "
+                + "WHERE patient_id = ? AND status = 'scheduled' AND appointment_date > ? ORDER BY appointment_date, id LIMIT 1",
+            (result, row) -> new NextAppointment(result.getString(1), result.getTimestamp(2).toLocalDateTime(), result.getString(3)),
+            patientId, Timestamp.valueOf(after));
+        return appointments.stream().findFirst();
+    }
+
+    private static String placeholders(int count) {
+        return "(" + "?, ".repeat(count - 1) + "?)";
+    }
+
+    private static Object[] parameters(Collection<String> ids, Object... leading) {
+        Object[] parameters = new Object[leading.length + ids.size()];
+        System.arraycopy(leading, 0, parameters, 0, leading.length);
+        int i = leading.length;
+        for (String id : ids) {
+            parameters[i++] = id;
+        }
+        return parameters;
+    }
+
+    // Valores en el orden de SUMMARY_COLUMNS
+    private static Object[] toRow(ResultSet result, int year, LocalDateTime now) throws SQLException {
+        return new Object[] {
+            result.getString(1), result.getString(2), result.getString(3), result.getString(4), result.getString(5),
+            result.getString(6), result.getString(7), result.getString(8), result.getBoolean(9), result.getString(10),
+            result.getTimestamp(11), result.getString(12), result.getObject(13), result.getObject(14), result.getObject(15),
+            result.getInt(16), result.getString(17), result.getTimestamp(18), result.getString(19), year,
+            result.getBigDecimal(20), result.getString(21), Timestamp.valueOf(now)
+        };
+    }
+
+    // Mismos valores con la clave al final, para UPDATE_SQL
+    private static Object[] forUpdate(Object[] row) {
+        Object[] parameters = new Object[row.length];
+        System.arraycopy(row, 1, parameters, 0, row.length - 1);
+        parameters[row.length - 1] = row[0];
+        return parameters;
+    }
+
+    private static PatientSummaryDTO toDto(ResultSet result) throws SQLException {
+        PatientSummaryDTO summary = new PatientSummaryDTO();
+        summary.setIdentificationNumber(result.getString("patient_id"));
+        summary.setFullName(result.getString("full_name"));
+        summary.setDateOfBirth(result.getString("date_of_birth"));
+        summary.setPhone(result.getString("phone"));
+        summary.setEmail(result.getString("email"));
+        summary.setCompanyName(result.getString("insurance_company_name"));
+        summary.setPolicyNumber(result.getString("insurance_policy_number"));
+        summary.applyStoredValues(result.getString("gender"), result.getBoolean("insurance_active"),
+            result.getString("insurance_validity_date"));
+        Timestamp vitalsAt = result.getTimestamp("last_vitals_at");
+        if (vitalsAt != null) {
+            summary.setLatestVitalSigns(new VitalSignsDTO(summary.getIdentificationNumber(), result.getString("last_blood_pressure"),
+                result.getDouble("last_temperature"), result.getInt("last_pulse"), result.getInt("last_oxygen_level"),
+                vitalsAt.toLocalDateTime()));
+        }
+        summary.setOpenOrders(result.getInt("open_orders"));
+        Timestamp nextAppointmentAt = result.getTimestamp("next_appointment_at");
+        if (nextAppointmentAt != null) {
+            summary.setNextAppointmentId(result.getString("next_appointment_id"));
+            summary.setNextAppointmentAt(nextAppointmentAt.toLocalDateTime());
+            summary.setNextAppointmentDoctorId(result.getString("next_appointment_doctor_id"));
+        }
+        // Sin ninguna escritura este año el resumen sigue con el año anterior: aún no hay copagos del año
+        summary.setCopayYearToDate(result.getInt("copay_year") == LocalDate.now().getYear()
+            ? result.getBigDecimal("copay_year_to_date").doubleValue() : 0.0);
+        summary.setLastDiagnosis(result.getString("last_diagnosis"));
+        summary.setUpdatedAt(result.getTimestamp("updated_at").toLocalDateTime());
+        return summary;
+    }
+}
@@ -5,8 +5,12 @@ import org.springframework.stereotype.Service;
 import app.clinic.domain.model.entities.User;
 import app.clinic.domain.model.valueobject.Username;
 import app.clinic.domain.repository.UserRepository;
+import app.clinic.domain.service.UserService;
 import app.clinic.infrastructure.dto.AuthResponseDTO;
+import app.clinic.infrastructure.persistence.revocation.RevokedSessionStore;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -14,20 +18,26 @@ import io.jsonwebtoken.security.Keys;
 public class AuthServiceImpl {
 
     private final UserRepository userRepository;
+    private final UserService userService;
     private final JwtService jwtService;
+    private final RevokedSessionStore revokedSessions;
 
     public AuthServiceImpl(UserRepository userRepository,
-                           JwtService jwtService) {
+                           UserService userService,
+                           JwtService jwtService,
+                           RevokedSessionStore revokedSessions) {
         this.userRepository = userRepository;
+        this.userService = userService;
         this.jwtService = jwtService;
+        this.revokedSessions = revokedSessions;
     }
 
     public AuthResponseDTO authenticate(String username, String password) {
         User user = userRepository.findByUsername(new Username(username))
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-        // Para desarrollo: comparar contraseñas en texto plano (como están en la DB)
-        if (!password.equals(user.getCredentials().getPassword().getValue())) {
+        // En el grupo de hilos del hash; reemplaza el texto plano o un hash de coste anterior
+        if (!userService.verifyPassword(user, password)) {
             throw new RuntimeException("Credenciales inválidas");
         }
 
@@ -37,8 +47,19 @@ public class AuthServiceImpl {
     }
 
     public void logout(String token) {
-        // En JWT, el logout se maneja del lado del cliente invalidando el token
-        // Opcionalmente, se puede implementar una lista negra de tokens
+        Claims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (ExpiredJwtException e) {
+            // El token ya no sirve: no hay nada que revocar
+            return;
+        }
+        String sessionId = claims.get("sessionId", String.class);
+        if (sessionId == null) {
+            throw new RuntimeException("Token inválido");
+        }
+        // Hasta que caduque el token; después ya lo rechaza la propia firma
+        revokedSessions.revoke(sessionId, claims.getExpiration().toInstant());
     }
 
     public User getProfile(String token) {
@@ -50,13 +71,22 @@ public class AuthServiceImpl {
 
     private String extractUsernameFromToken(String token) {
         try {
-            Claims claims = Jwts.parser()
+            return parseClaims(token).getSubject();
+        } catch (Exception e) {
+            throw new RuntimeException("Token inválido");
+        }
+    }
+
+    private Claims parseClaims(String token) {
+        try {
+            return Jwts.parser()
                     .verifyWith(Keys.hmacShaKeyFor(jwtService.getSecretKey().getBytes()))
                     .build()
                     .parseSignedClaims(token)
                     .getPayload();
-            return claims.getSubject();
-        } catch (Exception e) {
+        } catch (ExpiredJwtException e) {
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
             throw new RuntimeException("Token inválido");
         }
     }
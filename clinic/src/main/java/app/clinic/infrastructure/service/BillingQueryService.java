@@ -0,0 +1,32 @@
+package app.clinic.infrastructure.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.infrastructure.dto.BillingDTO;
+import app.clinic.infrastructure.persistence.jpa.BillingJpaRepository;
+
+/**
+ * Lado de lectura de facturación: proyecciones directas a BillingDTO.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BillingQueryService {
+    private final BillingJpaRepository billingJpaRepository;
+
+    public BillingQueryService(BillingJpaRepository billingJpaRepository) {
+        this.billingJpaRepository = billingJpaRepository;
+    }
+
+    public List<BillingDTO> listInvoices() {
+        return billingJpaRepository.findAllAsDto();
+    }
+
+    public Supplier<Stream<BillingDTO>> streamInvoices() {
+        return billingJpaRepository::streamAllAsDto;
+    }
+}
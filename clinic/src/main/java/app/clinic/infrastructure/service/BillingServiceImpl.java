@@ -5,7 +5,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import app.clinic.domain.model.InvalidOrderStateException;
 import app.clinic.domain.model.OrderNotFoundException;
 import app.clinic.domain.model.PatientNotFoundException;
 import app.clinic.domain.model.UserNotFoundException;
@@ -16,6 +18,7 @@ import app.clinic.domain.model.entities.User;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.model.valueobject.OrderNumber;
 import app.clinic.domain.repository.BillingRepository;
+import app.clinic.domain.repository.MedicationStockRepository;
 import app.clinic.domain.repository.OrderRepository;
 import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
@@ -28,16 +31,21 @@ public class BillingServiceImpl implements BillingService {
     private final PatientRepository patientRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final MedicationStockRepository medicationStockRepository;
 
     public BillingServiceImpl(BillingRepository billingRepository, PatientRepository patientRepository,
-                              OrderRepository orderRepository, UserRepository userRepository) {
+                              OrderRepository orderRepository, UserRepository userRepository,
+                              MedicationStockRepository medicationStockRepository) {
         this.billingRepository = billingRepository;
         this.patientRepository = patientRepository;
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
+        this.medicationStockRepository = medicationStockRepository;
     }
 
+    // La factura, el copago acumulado del paciente y la reserva de medicamentos se confirman juntos o no se confirma ninguno
     @Override
+    @Transactional
     public Billing generateBilling(Order order, Patient patient, User doctor, String generatedBy) {
         if (order == null) {
             throw new IllegalArgumentException("Order cannot be null");
@@ -52,6 +60,12 @@ public class BillingServiceImpl implements BillingService {
             throw new IllegalArgumentException("GeneratedBy cannot be null or empty");
         }
 
+        // Reclama la orden antes de tocar el stock: excluye una cancelación simultánea y una segunda facturación
+        if (!orderRepository.markBilled(order.getOrderNumber())) {
+            throw new InvalidOrderStateException("La orden " + order.getOrderNumber().getValue()
+                + (orderRepository.isCancelled(order.getOrderNumber()) ? " fue cancelada" : " ya fue facturada"));
+        }
+
         double totalCost = Billing.calculateTotalCostFromOrder(order);
         double copay = calculateCopay(totalCost, patient.getInsurance() != null && patient.getInsurance().isActive(), patient.getAnnualCopayTotal());
 
@@ -82,7 +96,8 @@ public class BillingServiceImpl implements BillingService {
             generatedBy
         );
 
-        // Save billing and update patient
+        // Save billing and update patient; los medicamentos reservados por la orden salen de farmacia
+        medicationStockRepository.commit(order.getOrderNumber());
         billingRepository.save(billing);
         patient.addToAnnualCopayTotal(copay);
         patientRepository.save(patient);
@@ -147,6 +162,7 @@ public class BillingServiceImpl implements BillingService {
     }
 
     @Override
+    @Transactional
     public Billing generateBillingFromOrder(String orderNumber, String adminId) {
         if (orderNumber == null || orderNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Order number cannot be null or empty");
@@ -0,0 +1,309 @@
+package app.clinic.infrastructure.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.domain.model.DomainException;
+import app.clinic.domain.model.entities.DiagnosticAid;
+import app.clinic.domain.model.entities.Medication;
+import app.clinic.domain.model.entities.Patient;
+import app.clinic.domain.model.entities.Procedure;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.service.PatientService;
+import app.clinic.infrastructure.config.ImportProperties;
+import app.clinic.infrastructure.dto.ImportErrorDTO;
+import app.clinic.infrastructure.dto.ImportJobDTO;
+import app.clinic.infrastructure.persistence.bulk.BulkImportRepository;
+import app.clinic.infrastructure.persistence.bulk.ImportFile;
+import app.clinic.infrastructure.persistence.bulk.ImportKind;
+import app.clinic.infrastructure.persistence.bulk.ImportRow;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Importación masiva de pacientes e ítems de inventario desde CSV o NDJSON.
+ *
+ * 1. Todos los registros se interpretan y validan en paralelo (ForkJoinPool) con las mismas reglas
+ *    que el alta individual, pero sin la consulta de cédula/código existente por fila.
+ * 2. Los duplicados dentro del propio archivo se rechazan en una pasada secuencial (gana el primero).
+ * 3. Los bloques se escriben en orden con BulkImportRepository.commitChunk: una consulta IN por
+ *    bloque para los ya existentes y un INSERT por lotes, todo en una transacción.
+ * 4. Tras cada bloque de pacientes se calculan sus filas de patient_summaries.
+ *
+ * El archivo subido se guarda en clinic.import.directory hasta que la importación termina, para
+ * poder reanudarla (resume) desde el último bloque confirmado si falla o se cae la aplicación.
+ */
+@Service
+public class BulkImportService {
+
+    // Registros por tarea hoja del fork/join
+    static final int VALIDATION_THRESHOLD = 256;
+
+    private final PatientService patientService;
+    private final BulkImportRepository repository;
+    private final PatientSummaryRepository patientSummaryRepository;
+    private final ImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool validationPool;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public BulkImportService(PatientService patientService, BulkImportRepository repository,
+                             PatientSummaryRepository patientSummaryRepository, ImportProperties properties,
+                             ObjectMapper objectMapper) {
+        this.patientService = patientService;
+        this.repository = repository;
+        this.patientSummaryRepository = patientSummaryRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        // La validación solo usa CPU (sin E/S ni base de datos), así que queda en los hilos de plataforma del
+        // ForkJoinPool también con el perfil virtual-threads: el robo de trabajo reparte los tramos desiguales
+        // y los hilos virtuales no aportarían nada sin bloqueos
+        this.validationPool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+    }
+
+    /**
+     * Importa el archivo completo y devuelve el resumen; el detalle de las filas rechazadas está en findErrors.
+     * @throws IllegalArgumentException si el archivo no se puede leer (p. ej. falta la columna clave)
+     */
+    public ImportJobDTO importFile(ImportKind kind, ImportFile.Format format, String fileName, byte[] content, String createdBy) {
+        if (properties.getChunkSize() < 1) {
+            throw new IllegalStateException("clinic.import.chunk-size must be positive");
+        }
+        ImportFile file = ImportFile.parse(format, kind, content, objectMapper);
+        String id = UUID.randomUUID().toString();
+        Path stored = storedFile(id, format);
+        try {
+            Files.createDirectories(stored.getParent());
+            Files.write(stored, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the uploaded file", e);
+        }
+        repository.createJob(id, kind, format, fileName, file.size(), properties.getChunkSize(), createdBy);
+        running.add(id);
+        return run(id, kind, file, 0, properties.getChunkSize(), stored);
+    }
+
+    /**
+     * Continúa una importación fallida o interrumpida desde el primer bloque sin confirmar.
+     * Una importación ya completada se devuelve tal cual.
+     */
+    public Optional<ImportJobDTO> resume(String id) {
+        Optional<ImportJobDTO> found = repository.findJob(id);
+        if (found.isEmpty() || "COMPLETED".equals(found.get().getStatus())) {
+            return found;
+        }
+        ImportJobDTO job = found.get();
+        if (!running.add(id)) {
+            throw new IllegalArgumentException("Import " + id + " is already running");
+        }
+        try {
+            ImportKind kind = ImportKind.valueOf(job.getKind());
+            ImportFile.Format format = ImportFile.Format.valueOf(job.getFormat());
+            Path stored = storedFile(id, format);
+            if (!Files.isRegularFile(stored)) {
+                throw new IllegalArgumentException("The uploaded file for import " + id + " is no longer available");
+            }
+            ImportFile file = ImportFile.parse(format, kind, Files.readAllBytes(stored), objectMapper);
+            repository.updateStatus(id, "RUNNING", null);
+            return Optional.of(run(id, kind, file, job.getCommittedChunks(), job.getChunkSize(), stored));
+        } catch (IOException e) {
+            running.remove(id);
+            throw new UncheckedIOException("Could not read the uploaded file for import " + id, e);
+        } catch (RuntimeException e) {
+            running.remove(id);
+            throw e;
+        }
+    }
+
+    public Optional<ImportJobDTO> findJob(String id) {
+        return repository.findJob(id);
+    }
+
+    public List<ImportErrorDTO> findErrors(String id) {
+        return repository.findErrors(id);
+    }
+
+    private ImportJobDTO run(String id, ImportKind kind, ImportFile file, int firstChunk, int chunkSize, Path stored) {
+        try {
+            ImportRow[] rows = validateAll(kind, file);
+            rejectDuplicatesInFile(kind, rows);
+            List<ImportRow> allRows = Arrays.asList(rows);
+            for (int chunk = firstChunk; (long) chunk * chunkSize < rows.length; chunk++) {
+                int from = chunk * chunkSize;
+                List<ImportRow> chunkRows = allRows.subList(from, Math.min(from + chunkSize, rows.length));
+                repository.commitChunk(id, kind, chunk, chunkRows);
+                if (kind == ImportKind.PATIENTS) {
+                    // Las filas rechazadas por duplicadas ya tienen su resumen; recalcularlo no cambia nada
+                    patientSummaryRepository.refresh(chunkRows.stream().filter(ImportRow::isValid).map(ImportRow::key).toList());
+                }
+            }
+            repository.updateStatus(id, "COMPLETED", null);
+            Files.deleteIfExists(stored);
+        } catch (IOException | RuntimeException e) {
+            repository.updateStatus(id, "FAILED", e.getMessage());
+        } finally {
+            running.remove(id);
+        }
+        return repository.findJob(id).orElseThrow(() -> new IllegalStateException("Import " + id + " disappeared"));
+    }
+
+    ImportRow[] validateAll(ImportKind kind, ImportFile file) {
+        ImportRow[] rows = new ImportRow[file.size()];
+        validationPool.invoke(new ValidateRecords(kind, file, rows, 0, rows.length));
+        return rows;
+    }
+
+    private void rejectDuplicatesInFile(ImportKind kind, ImportRow[] rows) {
+        Map<String, Long> firstLines = new HashMap<>();
+        for (int i = 0; i < rows.length; i++) {
+            ImportRow row = rows[i];
+            if (!row.isValid()) {
+                continue;
+            }
+            Long firstLine = firstLines.putIfAbsent(row.key(), row.line());
+            if (firstLine != null) {
+                rows[i] = ImportRow.rejected(row.line(), row.key(),
+                    "Duplicate " + kind.getKeyField() + " in file, first seen at line " + firstLine);
+            }
+        }
+    }
+
+    private ImportRow validate(ImportKind kind, ImportFile file, int index) {
+        long line = file.line(index);
+        String key = null;
+        try {
+            Map<String, String> fields = file.fields(index);
+            key = fields.get(kind.getKeyField());
+            switch (kind) {
+                case PATIENTS: {
+                    Patient patient = patientService.buildPatient(
+                        fields.get("identificationNumber"), fields.get("fullName"), fields.get("dateOfBirth"),
+                        fields.get("gender"), fields.get("address"), fields.get("phone"), fields.get("email"),
+                        fields.get("emergencyName"), fields.get("emergencyRelation"), fields.get("emergencyPhone"),
+                        fields.get("companyName"), fields.get("policyNumber"),
+                        parseBoolean(fields.get("insuranceActive"), "insuranceActive"), fields.get("validityDate"));
+                    return ImportRow.valid(line, patient.getIdentificationNumber().getValue(), patient);
+                }
+                default:
+                    return validateCatalogItem(kind, fields, line);
+            }
+        } catch (IllegalArgumentException | DomainException e) {
+            return ImportRow.rejected(line, key, e.getMessage());
+        } catch (RuntimeException e) {
+            return ImportRow.rejected(line, key, "Invalid record: " + e);
+        }
+    }
+
+    // Mismas reglas que InventoryController y InventoryService.add*
+    private static ImportRow validateCatalogItem(ImportKind kind, Map<String, String> fields, long line) {
+        String name = fields.get("name");
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        String costValue = fields.get("cost");
+        if (costValue == null) {
+            throw new IllegalArgumentException("Cost is required");
+        }
+        double cost;
+        try {
+            cost = Double.parseDouble(costValue.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cost must be a number");
+        }
+        if (cost < 0) {
+            throw new IllegalArgumentException("Cost must be non-negative");
+        }
+        boolean requiresSpecialist = parseBoolean(fields.get("requiresSpecialist"), "requiresSpecialist");
+        String specialistType = fields.get("specialistType");
+        if (requiresSpecialist && specialistType == null) {
+            throw new IllegalArgumentException("Specialist type is required");
+        }
+
+        Id id = new Id(fields.get("id"));
+        Id specialist = requiresSpecialist ? new Id(specialistType) : null;
+        Object item;
+        switch (kind) {
+            case MEDICATIONS:
+                item = new Medication(id, name, cost, requiresSpecialist, specialist);
+                break;
+            case PROCEDURES:
+                item = new Procedure(id, name, cost, requiresSpecialist, specialist);
+                break;
+            default:
+                item = new DiagnosticAid(id, name, cost, requiresSpecialist, specialist);
+                break;
+        }
+        return ImportRow.valid(line, id.getValue(), item);
+    }
+
+    private static boolean parseBoolean(String value, String field) {
+        if (value == null) {
+            return false;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException(field + " must be true or false");
+    }
+
+    private Path storedFile(String id, ImportFile.Format format) {
+        return Paths.get(properties.getDirectory()).toAbsolutePath().resolve(id + "." + format.name().toLowerCase());
+    }
+
+    /**
+     * Divide el rango de registros a la mitad hasta VALIDATION_THRESHOLD; cada hoja escribe en su
+     * propio tramo del arreglo, así que no hace falta sincronizar.
+     */
+    private final class ValidateRecords extends RecursiveAction {
+        private final ImportKind kind;
+        private final ImportFile file;
+        private final ImportRow[] rows;
+        private final int from;
+        private final int to;
+
+        ValidateRecords(ImportKind kind, ImportFile file, ImportRow[] rows, int from, int to) {
+            this.kind = kind;
+            this.file = file;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= VALIDATION_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    rows[i] = validate(kind, file, i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ValidateRecords(kind, file, rows, from, middle), new ValidateRecords(kind, file, rows, middle, to));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdownNow();
+    }
+}
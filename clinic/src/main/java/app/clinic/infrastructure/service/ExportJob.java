@@ -0,0 +1,166 @@
+package app.clinic.infrastructure.service;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import app.clinic.infrastructure.persistence.export.ExportDataset;
+import app.clinic.infrastructure.persistence.export.ExportFormat;
+import app.clinic.infrastructure.persistence.export.JdbcExporter;
+
+/**
+ * Estado de una exportación lanzada por ExportJobService. Los hilos de las particiones actualizan
+ * el progreso; el resto de campos solo los cambia el hilo del trabajo.
+ */
+public class ExportJob implements JdbcExporter.Progress {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final String id;
+    private final ExportDataset dataset;
+    private final ExportFormat format;
+    private final boolean compressed;
+    private final int partitions;
+    private final String requestedBy;
+    private final LocalDateTime createdAt;
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long totalRows = -1;
+    private volatile Path file;
+    private volatile long fileSize;
+    private volatile String error;
+    private volatile boolean cancelled;
+    private volatile Future<?> future;
+
+    ExportJob(String id, ExportDataset dataset, ExportFormat format, boolean compressed, int partitions, String requestedBy) {
+        this.id = id;
+        this.dataset = dataset;
+        this.format = format;
+        this.compressed = compressed;
+        this.partitions = partitions;
+        this.requestedBy = requestedBy;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @Override
+    public void rowsWritten(long rows) {
+        rowsWritten.addAndGet(rows);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void markRunning(long totalRows) {
+        this.totalRows = totalRows;
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    void markCompleted(Path file, long fileSize) {
+        this.file = file;
+        this.fileSize = fileSize;
+        finish(Status.COMPLETED);
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    void markCancelled() {
+        finish(Status.CANCELLED);
+    }
+
+    private void finish(Status status) {
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+    }
+
+    void requestCancel() {
+        this.cancelled = true;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    public boolean isFinished() {
+        Status current = status;
+        return current == Status.COMPLETED || current == Status.FAILED || current == Status.CANCELLED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ExportDataset getDataset() {
+        return dataset;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getFileName() {
+        return "export-" + dataset.name().toLowerCase() + "-" + id + "." + format.getExtension() + (compressed ? ".gz" : "");
+    }
+}
@@ -0,0 +1,168 @@
+package app.clinic.infrastructure.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import app.clinic.infrastructure.config.BatchExecutors;
+import app.clinic.infrastructure.config.ExportProperties;
+import app.clinic.infrastructure.persistence.export.ExportDataset;
+import app.clinic.infrastructure.persistence.export.ExportFormat;
+import app.clinic.infrastructure.persistence.export.JdbcExporter;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Exportaciones masivas (pacientes, órdenes, facturación, signos vitales) a archivos en
+ * clinic.export.directory, para volcados nocturnos y descargas bajo demanda.
+ *
+ * Los trabajos se ejecutan de uno en uno para no competir entre ellos por conexiones; dentro de
+ * un trabajo las particiones por rango de clave se reparten entre clinic.export.threads hilos.
+ * El estado de los trabajos vive en memoria: tras un reinicio los archivos siguen en disco pero
+ * ya no se listan.
+ */
+@Service
+public class ExportJobService {
+    private final ExportProperties properties;
+    private final JdbcExporter exporter;
+    private final Path directory;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService partitionExecutor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportJobService(ExportProperties properties, DataSource dataSource, BatchExecutors batchExecutors) {
+        this.properties = properties;
+        this.exporter = new JdbcExporter(dataSource, properties.getFetchSize(), properties.getBufferSize());
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+        this.jobExecutor = batchExecutors.newSingleThreadExecutor("export-job");
+        this.partitionExecutor = batchExecutors.newFixedThreadPool("export", properties.getThreads());
+    }
+
+    public ExportJob start(ExportDataset dataset, ExportFormat format, boolean compressed, int partitions, String requestedBy) {
+        if (partitions < 1 || partitions > properties.getMaxPartitions()) {
+            throw new IllegalArgumentException("Partitions must be between 1 and " + properties.getMaxPartitions());
+        }
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), dataset, format, compressed, partitions, requestedBy);
+        jobs.put(job.getId(), job);
+        pruneFinishedJobs();
+        job.setFuture(jobExecutor.submit(() -> run(job)));
+        return job;
+    }
+
+    public Optional<ExportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public List<ExportJob> list() {
+        List<ExportJob> result = new ArrayList<>(jobs.values());
+        result.sort(Comparator.comparing(ExportJob::getCreatedAt).reversed());
+        return result;
+    }
+
+    /**
+     * Los trabajos en cola se descartan sin ejecutarse; los que están corriendo se detienen en la
+     * siguiente comprobación (cada JdbcExporter.PROGRESS_EVERY filas) y borran sus archivos parciales.
+     */
+    public Optional<ExportJob> cancel(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (!job.isFinished()) {
+            job.requestCancel();
+            if (job.getFuture() != null && job.getFuture().cancel(false)) {
+                job.markCancelled();
+            }
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * Quita un trabajo terminado y borra su archivo.
+     * @return false si el trabajo no existe
+     */
+    public boolean delete(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        if (!job.isFinished()) {
+            throw new IllegalArgumentException("Export job " + id + " is still running; cancel it first");
+        }
+        jobs.remove(id);
+        if (job.getFile() != null) {
+            try {
+                Files.deleteIfExists(job.getFile());
+            } catch (IOException e) {
+                System.err.println("Could not delete export file " + job.getFile() + ": " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Volcado nocturno de todas las tablas, desactivado por defecto (clinic.export.nightly-cron=-).
+     */
+    @Scheduled(cron = "${clinic.export.nightly-cron:-}")
+    public void exportNightly() {
+        ExportFormat format = ExportFormat.valueOf(properties.getNightlyFormat().toUpperCase());
+        int partitions = Math.min(properties.getNightlyPartitions(), properties.getMaxPartitions());
+        for (ExportDataset dataset : ExportDataset.values()) {
+            start(dataset, format, properties.isNightlyCompressed(), partitions, "nightly");
+        }
+    }
+
+    private void run(ExportJob job) {
+        if (job.isCancelled()) {
+            job.markCancelled();
+            return;
+        }
+        Path target = directory.resolve(job.getFileName());
+        try {
+            Files.createDirectories(directory);
+            job.markRunning(exporter.countRows(job.getDataset()));
+            long rows = exporter.export(job.getDataset(), job.getFormat(), job.isCompressed(), job.getPartitions(),
+                job.getTotalRows(), target, partitionExecutor, job);
+            job.markCompleted(target, Files.size(target));
+            System.out.println("Exportación " + job.getId() + " de " + job.getDataset() + ": " + rows + " filas, " + job.getFileSize() + " bytes");
+        } catch (CancellationException e) {
+            job.markCancelled();
+        } catch (IOException | RuntimeException e) {
+            job.markFailed(e.getMessage());
+            System.err.println("Export " + job.getId() + " of " + job.getDataset() + " failed: " + e.getMessage());
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        int excess = jobs.size() - properties.getMaxRetainedJobs();
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+            .filter(ExportJob::isFinished)
+            .sorted(Comparator.comparing(ExportJob::getCreatedAt))
+            .limit(excess)
+            .forEach(job -> jobs.remove(job.getId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(ExportJob::requestCancel);
+        jobExecutor.shutdownNow();
+        partitionExecutor.shutdownNow();
+    }
+}
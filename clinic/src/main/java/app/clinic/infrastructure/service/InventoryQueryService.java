@@ -0,0 +1,55 @@
+package app.clinic.infrastructure.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
+import app.clinic.infrastructure.dto.DiagnosticAidDTO;
+import app.clinic.infrastructure.dto.MedicationDTO;
+import app.clinic.infrastructure.dto.ProcedureDTO;
+import app.clinic.infrastructure.persistence.jpa.DiagnosticAidJpaRepository;
+import app.clinic.infrastructure.persistence.jpa.MedicationJpaRepository;
+import app.clinic.infrastructure.persistence.jpa.ProcedureJpaRepository;
+
+/**
+ * Listados del inventario proyectados directamente a DTO. Aplica los mismos controles de acceso
+ * que ListMedicationsUseCase, ListProceduresUseCase y ListDiagnosticAidsUseCase.
+ */
+@Service
+@Transactional(readOnly = true)
+public class InventoryQueryService {
+    private final MedicationJpaRepository medicationJpaRepository;
+    private final ProcedureJpaRepository procedureJpaRepository;
+    private final DiagnosticAidJpaRepository diagnosticAidJpaRepository;
+    private final RoleBasedAccessService roleBasedAccessService;
+
+    public InventoryQueryService(MedicationJpaRepository medicationJpaRepository,
+                                 ProcedureJpaRepository procedureJpaRepository,
+                                 DiagnosticAidJpaRepository diagnosticAidJpaRepository,
+                                 RoleBasedAccessService roleBasedAccessService) {
+        this.medicationJpaRepository = medicationJpaRepository;
+        this.procedureJpaRepository = procedureJpaRepository;
+        this.diagnosticAidJpaRepository = diagnosticAidJpaRepository;
+        this.roleBasedAccessService = roleBasedAccessService;
+    }
+
+    public List<MedicationDTO> listMedications(Role userRole) {
+        roleBasedAccessService.checkAccess(userRole, Resource.MEDICATION, Operation.READ);
+        return medicationJpaRepository.findAllAsDto();
+    }
+
+    public List<ProcedureDTO> listProcedures(Role userRole) {
+        roleBasedAccessService.checkAccess(userRole, Resource.PROCEDURE, Operation.READ);
+        return procedureJpaRepository.findAllAsDto();
+    }
+
+    public List<DiagnosticAidDTO> listDiagnosticAids(Role userRole) {
+        roleBasedAccessService.checkAccess(userRole, Resource.DIAGNOSTIC_AID, Operation.READ);
+        return diagnosticAidJpaRepository.findAllAsDto();
+    }
+}
@@ -0,0 +1,146 @@
+package app.clinic.infrastructure.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import app.clinic.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+
+/**
+ * Respuestas de listados que se escriben fila a fila mientras se lee el cursor de la base de datos,
+ * en lugar de construir la lista completa y serializarla de una vez. La memoria por petición no
+ * depende del número de filas y el cliente recibe el primer bloque antes de que termine la consulta.
+ *
+ * Dos formatos: NDJSON (un objeto por línea) y un arreglo JSON normal enviado por chunks. En ambos
+ * casos sin indentación, aunque spring.jackson.serialization.indent_output esté activo.
+ *
+ * El Supplier se invoca en el hilo asíncrono que escribe la respuesta, dentro de una transacción de
+ * solo lectura (Spring Data exige una para los métodos que devuelven Stream). Los controles de
+ * acceso deben hacerse antes, en el hilo de la petición, para poder responder 403/400 normalmente.
+ *
+ * Con H2 la transacción activa LAZY_QUERY_EXECUTION solo en su conexión: sin ese modo H2 materializa
+ * el resultado completo antes de devolver la primera fila. No se activa en la URL de la base porque
+ * afectaría a todas las consultas de la aplicación, no solo a los listados que leen de un cursor.
+ */
+@Component
+public class JsonStreamingResponses {
+
+    // Filas entre flush explícitos; el buffer del contenedor envía chunks por su cuenta al llenarse
+    static final int FLUSH_EVERY = 200;
+
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JdbcTemplate jdbcTemplate;
+
+    public JsonStreamingResponses(ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                  DataSource dataSource) {
+        this.writer = objectMapper.writer()
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public ResponseEntity<StreamingResponseBody> ndjson(Supplier<? extends Stream<?>> rows) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(out -> writeReadOnly(rows, out, true));
+    }
+
+    public ResponseEntity<StreamingResponseBody> jsonArray(Supplier<? extends Stream<?>> rows) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> writeReadOnly(rows, out, false));
+    }
+
+    // Ámbito de lectura: con réplicas configuradas (ReadWriteRoutingDataSource) el cursor se abre en una de ellas
+    private void writeReadOnly(Supplier<? extends Stream<?>> rows, OutputStream out, boolean ndjson) {
+        ReadWriteRoutingDataSource.enterReadOnlyScope();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> withLazyExecution(() -> write(rows, out, ndjson)));
+        } finally {
+            ReadWriteRoutingDataSource.exitReadOnlyScope();
+        }
+    }
+
+    /**
+     * JdbcTemplate usa la conexión ligada a la transacción, la misma de los cursores de Spring Data.
+     * El modo se restablece antes de que la transacción devuelva la conexión al pool, para que la
+     * siguiente petición que la reciba no lo herede.
+     */
+    private void withLazyExecution(Runnable work) {
+        boolean h2 = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+            "H2".equals(connection.getMetaData().getDatabaseProductName())));
+        if (!h2) {
+            work.run();
+            return;
+        }
+        jdbcTemplate.execute("SET LAZY_QUERY_EXECUTION TRUE");
+        try {
+            work.run();
+        } finally {
+            jdbcTemplate.execute("SET LAZY_QUERY_EXECUTION FALSE");
+        }
+    }
+
+    /**
+     * La consulta se ejecuta y se lee la primera fila antes de escribir nada, así un error de SQL o
+     * de mapeo todavía produce una respuesta de error normal. Un fallo a mitad del cursor deja el
+     * cuerpo truncado: no se cierran el arreglo ni la línea pendiente para que el cliente no lo
+     * confunda con una respuesta completa.
+     */
+    void write(Supplier<? extends Stream<?>> rows, OutputStream out, boolean ndjson) {
+        ObjectWriter rowWriter = ndjson ? writer.withRootValueSeparator("\n") : writer;
+        try (Stream<?> stream = rows.get()) {
+            Iterator<?> iterator = stream.iterator();
+            boolean hasRows = iterator.hasNext();
+            try (JsonGenerator generator = rowWriter.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                if (!ndjson) {
+                    generator.writeStartArray();
+                }
+                int written = 0;
+                while (hasRows) {
+                    rowWriter.writeValue(generator, iterator.next());
+                    flushIfDue(generator, ++written);
+                    hasRows = iterator.hasNext();
+                }
+                if (!ndjson) {
+                    generator.writeEndArray();
+                } else if (written > 0) {
+                    generator.writeRaw('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // La primera fila se envía enseguida para que el cliente no espere a llenar el buffer
+    private static void flushIfDue(JsonGenerator generator, int written) throws IOException {
+        if (written == 1 || written % FLUSH_EVERY == 0) {
+            generator.flush();
+        }
+    }
+}
@@ -23,6 +23,8 @@ public class JwtService {
         return Jwts.builder()
             .subject(user.getCredentials().getUsername().getValue())
             .claim("role", user.getRole().toString())
+            // El filtro arma con esto el AuthenticatedUser de la petición sin consultar la base de datos
+            .claim("identificationNumber", user.getIdentificationNumber().getValue())
             .claim("sessionId", sessionId)
             .issuedAt(new Date())
             .expiration(new Date(System.currentTimeMillis() + jwtProperties.getExpirationTime()))
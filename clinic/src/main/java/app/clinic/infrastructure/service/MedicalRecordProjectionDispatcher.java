@@ -0,0 +1,205 @@
+package app.clinic.infrastructure.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.domain.model.entities.MedicalRecord;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.valueobject.OrderNumber;
+import app.clinic.domain.repository.MedicalRecordRepository;
+import app.clinic.domain.repository.OrderRepository;
+import app.clinic.infrastructure.config.OutboxProperties;
+import app.clinic.infrastructure.persistence.outbox.MedicalRecordEvent;
+import app.clinic.infrastructure.persistence.outbox.MedicalRecordOutboxJdbcRepository;
+import app.clinic.infrastructure.persistence.outbox.MedicalRecordOutboxJdbcRepository.Backlog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aplica a la historia clínica las órdenes que la creación de órdenes deja en medical_record_outbox,
+ * fuera de la petición del médico.
+ *
+ * Cada ronda lee un lote de eventos y los agrupa por paciente: los de un paciente se aplican en orden
+ * de creación y en una sola transacción, que también los marca como procesados, de modo que un evento
+ * nunca se aplica dos veces. Si el lote de un paciente falla se reintenta evento a evento hasta el que
+ * falla; los posteriores de ese paciente esperan a la siguiente ronda para no aplicarse desordenados.
+ *
+ * Métricas: clinic.outbox.events (result=applied|failed), clinic.outbox.lag (desde que se creó la orden
+ * hasta que quedó en la historia), clinic.outbox.pending, clinic.outbox.oldest.age (segundos) y
+ * clinic.outbox.abandoned (eventos que agotaron clinic.outbox.max-attempts).
+ */
+@Service
+public class MedicalRecordProjectionDispatcher {
+    public static final String EVENTS_METRIC = "clinic.outbox.events";
+    public static final String LAG_METRIC = "clinic.outbox.lag";
+    public static final String PENDING_METRIC = "clinic.outbox.pending";
+    public static final String OLDEST_AGE_METRIC = "clinic.outbox.oldest.age";
+    public static final String ABANDONED_METRIC = "clinic.outbox.abandoned";
+
+    private final MedicalRecordOutboxJdbcRepository outbox;
+    private final OrderRepository orderRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Counter applied;
+    private final Counter failed;
+    private final Timer lag;
+    private final AtomicReference<Backlog> backlog = new AtomicReference<>(new Backlog(0, null, 0));
+
+    public MedicalRecordProjectionDispatcher(MedicalRecordOutboxJdbcRepository outbox, OrderRepository orderRepository,
+                                             MedicalRecordRepository medicalRecordRepository,
+                                             PlatformTransactionManager transactionManager, OutboxProperties properties,
+                                             MeterRegistry registry) {
+        this.outbox = outbox;
+        this.orderRepository = orderRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.applied = Counter.builder(EVENTS_METRIC).tag("result", "applied")
+            .description("Órdenes anotadas en la historia clínica").register(registry);
+        this.failed = Counter.builder(EVENTS_METRIC).tag("result", "failed")
+            .description("Intentos fallidos de anotar una orden en la historia clínica").register(registry);
+        this.lag = Timer.builder(LAG_METRIC)
+            .description("Tiempo desde que se crea la orden hasta que aparece en la historia clínica")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+        Gauge.builder(PENDING_METRIC, backlog, b -> b.get().pending())
+            .description("Eventos de historia clínica pendientes de aplicar").register(registry);
+        Gauge.builder(OLDEST_AGE_METRIC, backlog, MedicalRecordProjectionDispatcher::oldestAgeSeconds)
+            .description("Antigüedad en segundos del evento pendiente más antiguo").baseUnit("seconds").register(registry);
+        Gauge.builder(ABANDONED_METRIC, backlog, b -> b.get().abandoned())
+            .description("Eventos que agotaron sus reintentos").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${clinic.outbox.poll-interval:500}")
+    public void dispatchPending() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            System.err.println("Medical record outbox dispatch failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recorre una vez los eventos pendientes, lote a lote. Devuelve el número de eventos aplicados.
+     */
+    public int dispatch() {
+        int total = 0;
+        long lastId = 0;
+        Set<String> failedPatients = new HashSet<>();
+        List<MedicalRecordEvent> batch;
+        do {
+            batch = outbox.findPending(lastId, properties.getBatchSize(), properties.getMaxAttempts());
+            for (Map.Entry<String, List<MedicalRecordEvent>> patient : byPatient(batch).entrySet()) {
+                if (failedPatients.contains(patient.getKey())) {
+                    continue;
+                }
+                int count = applyInOrder(patient.getValue());
+                if (count < patient.getValue().size()) {
+                    failedPatients.add(patient.getKey());
+                }
+                total += count;
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == properties.getBatchSize());
+        backlog.set(outbox.backlog(properties.getMaxAttempts()));
+        return total;
+    }
+
+    private static Map<String, List<MedicalRecordEvent>> byPatient(List<MedicalRecordEvent> batch) {
+        Map<String, List<MedicalRecordEvent>> byPatient = new LinkedHashMap<>();
+        for (MedicalRecordEvent event : batch) {
+            byPatient.computeIfAbsent(event.patientId(), k -> new ArrayList<>()).add(event);
+        }
+        return byPatient;
+    }
+
+    /**
+     * Aplica los eventos de un paciente y devuelve cuántos quedaron aplicados (o ya lo estaban).
+     */
+    private int applyInOrder(List<MedicalRecordEvent> events) {
+        try {
+            apply(events);
+            return events.size();
+        } catch (RuntimeException e) {
+            if (events.size() == 1) {
+                fail(events.get(0), e);
+                return 0;
+            }
+        }
+        // El lote completo se deshizo: evento a evento para localizar el que falla
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                apply(List.of(events.get(i)));
+            } catch (RuntimeException e) {
+                fail(events.get(i), e);
+                return i;
+            }
+        }
+        return events.size();
+    }
+
+    private void apply(List<MedicalRecordEvent> events) {
+        List<MedicalRecordEvent> claimed = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<MedicalRecordEvent> mine = new ArrayList<>();
+            for (MedicalRecordEvent event : events) {
+                if (!outbox.markProcessed(event.id(), now)) {
+                    continue; // otro despachador ya lo aplicó
+                }
+                Order order = orderRepository.findByOrderNumber(new OrderNumber(event.orderNumber()))
+                    .orElseThrow(() -> new IllegalStateException("Order not found: " + event.orderNumber()));
+                // Un registro por orden: la historia agrupa por fecha y dos órdenes del mismo día se pisarían
+                MedicalRecord entries = new MedicalRecord(event.patientId());
+                switch (event.type()) {
+                    case DIAGNOSTIC_AID_ORDER:
+                        entries.addDiagnosticAidOrder(order);
+                        break;
+                    case POST_DIAGNOSTIC_ORDER:
+                        entries.addPostDiagnosticOrder(order);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown medical record event: " + event.type());
+                }
+                medicalRecordRepository.append(entries);
+                mine.add(event);
+            }
+            return mine;
+        });
+        Instant committed = Instant.now();
+        for (MedicalRecordEvent event : claimed) {
+            applied.increment();
+            lag.record(Duration.between(event.createdAt(), committed));
+        }
+    }
+
+    private void fail(MedicalRecordEvent event, RuntimeException e) {
+        failed.increment();
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        outbox.recordFailure(event.id(), message);
+        if (event.attempts() + 1 >= properties.getMaxAttempts()) {
+            System.err.println("Giving up on medical record event " + event.id() + " for order " + event.orderNumber() + ": " + message);
+        }
+    }
+
+    private static double oldestAgeSeconds(AtomicReference<Backlog> backlog) {
+        Instant oldest = backlog.get().oldest();
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis() / 1000.0);
+    }
+}
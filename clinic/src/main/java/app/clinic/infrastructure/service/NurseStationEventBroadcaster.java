@@ -0,0 +1,280 @@
+package app.clinic.infrastructure.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import app.clinic.application.mapper.OrderMapper;
+import app.clinic.application.mapper.VitalSignsMapper;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.VitalSigns;
+import app.clinic.infrastructure.config.NurseStreamProperties;
+import app.clinic.infrastructure.dto.NurseStationEventDTO;
+import app.clinic.infrastructure.service.NurseStationSubscription.PublishedEvent;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Difunde signos vitales, órdenes y alertas a los tableros de enfermería suscritos por SSE.
+ *
+ * Los suscriptores inactivos no consumen hilos: cada uno es un SseEmitter asíncrono con un
+ * buffer acotado, y solo se usa un hilo del executor mientras haya eventos por escribir.
+ * Cada evento se serializa una sola vez (sin indentación) y se comparte entre suscriptores.
+ * Los últimos eventos se conservan en un buffer circular para reanudar con Last-Event-ID.
+ */
+@Service
+public class NurseStationEventBroadcaster {
+    public static final String VITAL_SIGNS_EVENT = "vital-signs";
+    public static final String ORDER_EVENT = "order";
+    public static final String ALERT_EVENT = "alert";
+
+    private final NurseStreamProperties properties;
+    private final Executor executor;
+    private final ObjectWriter eventWriter;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private final List<NurseStationSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final PublishedEvent[] history;
+    private long lastEventId;
+
+    public NurseStationEventBroadcaster(NurseStreamProperties properties,
+                                        @Qualifier("applicationTaskExecutor") Executor executor,
+                                        ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.executor = executor;
+        this.eventWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.history = new PublishedEvent[Math.max(1, properties.getReplayBufferSize())];
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nurse-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeatInterval();
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a dashboard. Events newer than lastEventId that are still in the replay buffer
+     * are queued before any live event, so a reconnecting client sees no gap or duplicate.
+     * @param patientIds patients to follow; empty means all patients
+     * @param lastEventIdHeader value of the Last-Event-ID header, or null for a fresh subscription
+     */
+    public SseEmitter subscribe(Collection<String> patientIds, String lastEventIdHeader) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout());
+        register(emitter, patientIds, lastEventIdHeader);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, Collection<String> patientIds, String lastEventIdHeader) {
+        Set<String> filter = patientIds == null ? Set.of() : patientIds.stream()
+            .filter(id -> id != null && !id.isBlank())
+            .map(String::trim)
+            .collect(Collectors.toUnmodifiableSet());
+        NurseStationSubscription subscription = new NurseStationSubscription(emitter, filter, properties.getSubscriberBufferSize());
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+
+        long resumeFrom = parseEventId(lastEventIdHeader);
+        publishLock.lock();
+        try {
+            if (resumeFrom >= 0) {
+                long first = Math.max(resumeFrom + 1, this.lastEventId - history.length + 1);
+                for (long id = first; id <= this.lastEventId; id++) {
+                    PublishedEvent event = history[(int) (id % history.length)];
+                    if (event != null && subscription.accepts(event.event())) {
+                        subscription.offer(event);
+                    }
+                }
+            }
+            subscriptions.add(subscription);
+        } finally {
+            publishLock.unlock();
+        }
+
+        // Comentario inicial para que el navegador reciba las cabeceras de inmediato
+        subscription.requestHeartbeat();
+        scheduleDrain(subscription);
+    }
+
+    public void publishVitalSigns(VitalSigns vitalSigns) {
+        String patientId = vitalSigns.getPatientIdentificationNumber();
+        publish(VITAL_SIGNS_EVENT, patientId, VitalSignsMapper.toDTO(vitalSigns));
+
+        List<String> alerts = detectAlerts(vitalSigns);
+        if (!alerts.isEmpty()) {
+            publish(ALERT_EVENT, patientId, alerts);
+        }
+    }
+
+    public void publishOrder(Order order) {
+        publish(ORDER_EVENT, order.getPatientIdentificationNumber(), OrderMapper.toDTO(order));
+    }
+
+    public void publishAlert(String patientId, String message) {
+        publish(ALERT_EVENT, patientId, List.of(message));
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        for (NurseStationSubscription subscription : subscriptions) {
+            subscription.close();
+            subscription.getEmitter().complete();
+        }
+        subscriptions.clear();
+    }
+
+    private void publish(String type, String patientId, Object payload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Dentro de un caso de uso transaccional solo se difunde lo que llega a confirmarse
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(type, patientId, payload);
+                }
+            });
+            return;
+        }
+        deliver(type, patientId, payload);
+    }
+
+    private void deliver(String type, String patientId, Object payload) {
+        List<NurseStationSubscription> toDrain = new ArrayList<>();
+        publishLock.lock();
+        try {
+            // El orden de los ids es el orden de entrega: asignar, guardar y encolar bajo el mismo lock
+            long id = ++lastEventId;
+            NurseStationEventDTO dto = new NurseStationEventDTO(id, type, patientId, LocalDateTime.now().toString(), payload);
+            PublishedEvent event = new PublishedEvent(dto, serialize(dto));
+            history[(int) (id % history.length)] = event;
+            for (NurseStationSubscription subscription : subscriptions) {
+                if (subscription.accepts(dto)) {
+                    subscription.offer(event);
+                    toDrain.add(subscription);
+                }
+            }
+        } finally {
+            publishLock.unlock();
+        }
+        for (NurseStationSubscription subscription : toDrain) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (NurseStationSubscription subscription : subscriptions) {
+            subscription.requestHeartbeat();
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void scheduleDrain(NurseStationSubscription subscription) {
+        if (subscription.isClosed() || !subscription.tryStartDrain()) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(subscription));
+        } catch (RuntimeException e) {
+            subscription.finishDrain();
+            System.err.println("No se pudo programar el envío SSE: " + e.getMessage());
+        }
+    }
+
+    private void drain(NurseStationSubscription subscription) {
+        SseEmitter emitter = subscription.getEmitter();
+        try {
+            List<PublishedEvent> events;
+            while (!subscription.isClosed() && !(events = subscription.pollPending()).isEmpty()) {
+                for (PublishedEvent event : events) {
+                    emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.event().getId()))
+                        .name(event.event().getType())
+                        .data(event.json(), MediaType.APPLICATION_JSON));
+                }
+                subscription.pollHeartbeat(); // un evento real ya sirve de latido
+            }
+            if (!subscription.isClosed() && subscription.pollHeartbeat()) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: liberar la suscripción
+            unsubscribe(subscription);
+            emitter.completeWithError(e);
+        } finally {
+            subscription.finishDrain();
+        }
+        // Un evento pudo llegar entre el último poll y finishDrain
+        if (!subscription.isClosed() && subscription.hasWork()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void unsubscribe(NurseStationSubscription subscription) {
+        subscription.close();
+        subscriptions.remove(subscription);
+    }
+
+    private String serialize(NurseStationEventDTO event) {
+        try {
+            return eventWriter.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de enfermería", e);
+        }
+    }
+
+    private long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private List<String> detectAlerts(VitalSigns vitalSigns) {
+        List<String> alerts = new ArrayList<>(2);
+        if (vitalSigns.getOxygenLevel() < 90) {
+            alerts.add("Saturación de oxígeno baja: " + vitalSigns.getOxygenLevel() + "%");
+        }
+        if (vitalSigns.getTemperature() >= 38.5) {
+            alerts.add("Fiebre: " + vitalSigns.getTemperature() + "°C");
+        } else if (vitalSigns.getTemperature() < 35.0) {
+            alerts.add("Hipotermia: " + vitalSigns.getTemperature() + "°C");
+        }
+        if (vitalSigns.getPulse() > 120) {
+            alerts.add("Taquicardia: " + vitalSigns.getPulse() + " lpm");
+        } else if (vitalSigns.getPulse() < 50) {
+            alerts.add("Bradicardia: " + vitalSigns.getPulse() + " lpm");
+        }
+        return alerts;
+    }
+}
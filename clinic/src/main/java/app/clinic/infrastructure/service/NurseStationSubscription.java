@@ -0,0 +1,149 @@
+package app.clinic.infrastructure.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import app.clinic.infrastructure.dto.NurseStationEventDTO;
+
+/**
+ * Suscripción de un tablero de enfermería. Mantiene un buffer acotado de eventos pendientes:
+ * si el cliente es lento y el buffer se llena, se descarta el evento más antiguo (drop-oldest)
+ * para que el publicador nunca se bloquee por un suscriptor.
+ */
+class NurseStationSubscription {
+    private final SseEmitter emitter;
+    private final Set<String> patientIds;
+    private final int capacity;
+    private final ArrayDeque<PublishedEvent> pending = new ArrayDeque<>(16);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private boolean heartbeatPending;
+    private long droppedEvents;
+    private volatile boolean closed;
+
+    /**
+     * Event serialized once at publication and shared by every subscriber buffer.
+     */
+    record PublishedEvent(NurseStationEventDTO event, String json) {
+    }
+
+    NurseStationSubscription(SseEmitter emitter, Set<String> patientIds, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Subscriber buffer size must be positive");
+        }
+        this.emitter = emitter;
+        this.patientIds = patientIds;
+        this.capacity = capacity;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Empty patient set means the subscriber follows every patient.
+     */
+    boolean accepts(NurseStationEventDTO event) {
+        return patientIds.isEmpty() || patientIds.contains(event.getPatientId());
+    }
+
+    /**
+     * Queues an event, evicting the oldest pending one when the buffer is full.
+     * @return true if an older event had to be dropped
+     */
+    boolean offer(PublishedEvent event) {
+        lock.lock();
+        try {
+            boolean dropped = false;
+            if (pending.size() >= capacity) {
+                pending.pollFirst();
+                droppedEvents++;
+                dropped = true;
+            }
+            pending.addLast(event);
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void requestHeartbeat() {
+        lock.lock();
+        try {
+            heartbeatPending = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes every pending event in publication order.
+     */
+    List<PublishedEvent> pollPending() {
+        lock.lock();
+        try {
+            List<PublishedEvent> events = new ArrayList<>(pending);
+            pending.clear();
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Consumes the heartbeat flag; only sent when there was nothing else to write.
+     */
+    boolean pollHeartbeat() {
+        lock.lock();
+        try {
+            boolean heartbeat = heartbeatPending;
+            heartbeatPending = false;
+            return heartbeat;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean hasWork() {
+        lock.lock();
+        try {
+            return !pending.isEmpty() || heartbeatPending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getDroppedEvents() {
+        lock.lock();
+        try {
+            return droppedEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Only one drain task may write to the emitter at a time.
+     */
+    boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void finishDrain() {
+        draining.set(false);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+}
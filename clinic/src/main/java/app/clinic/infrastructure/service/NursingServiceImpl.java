@@ -9,6 +9,8 @@ import app.clinic.domain.model.entities.VitalSigns;
 import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
 import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 import app.clinic.domain.service.VitalSignsService;
 
 @Service
@@ -33,7 +35,7 @@ public class NursingServiceImpl {
         // Validate nurse role
         var nurse = userRepository.findByIdentificationNumber(new app.clinic.domain.model.valueobject.Id(nurseId))
                 .orElseThrow(() -> new RuntimeException("Enfermera no encontrada"));
-        roleBasedAccessService.checkAccess(nurse.getRole(), "PATIENT_DATA");
+        roleBasedAccessService.checkAccess(nurse.getRole(), Resource.PATIENT, Operation.WRITE);
 
         // Validate patient exists
         patientRepository.findByIdentificationNumber(new app.clinic.domain.model.valueobject.Id(patientId))
@@ -67,7 +69,7 @@ public class NursingServiceImpl {
         // Validate nurse role
         var nurse = userRepository.findByIdentificationNumber(new app.clinic.domain.model.valueobject.Id(nurseId))
                 .orElseThrow(() -> new RuntimeException("Enfermera no encontrada"));
-        roleBasedAccessService.checkAccess(nurse.getRole(), "PATIENT_DATA");
+        roleBasedAccessService.checkAccess(nurse.getRole(), Resource.PATIENT, Operation.WRITE);
 
         // Validate patient exists
         patientRepository.findByIdentificationNumber(new app.clinic.domain.model.valueobject.Id(patientId))
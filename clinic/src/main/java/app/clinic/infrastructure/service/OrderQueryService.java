@@ -0,0 +1,84 @@
+package app.clinic.infrastructure.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.infrastructure.dto.OrderDTO;
+import app.clinic.infrastructure.persistence.jpa.OrderJpaRepository;
+
+/**
+ * Órdenes de un paciente en streaming. Se abren cuatro cursores ordenados por número de orden
+ * (cabeceras, medicamentos, procedimientos y ayudas diagnósticas) y se combinan avanzando en
+ * paralelo, así que en memoria solo está la orden que se está escribiendo. La lectura por la
+ * entidad cargaría las tres colecciones perezosas de cada orden con una consulta por colección.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderQueryService {
+    private final OrderJpaRepository orderJpaRepository;
+    private final RoleBasedAccessService roleBasedAccessService;
+
+    public OrderQueryService(OrderJpaRepository orderJpaRepository, RoleBasedAccessService roleBasedAccessService) {
+        this.orderJpaRepository = orderJpaRepository;
+        this.roleBasedAccessService = roleBasedAccessService;
+    }
+
+    /**
+     * Mismas reglas que ConsultPatientOrdersUseCase, validadas antes de devolver el Supplier.
+     */
+    public Supplier<Stream<OrderDTO>> streamPatientOrders(String patientId, Role currentUserRole) {
+        roleBasedAccessService.validatePatientDataAccess(currentUserRole, false);
+        String id = new Id(patientId).getValue();
+        return () -> mergeItems(
+            orderJpaRepository.streamDtoByPatientIdentificationNumber(id),
+            orderJpaRepository.streamMedicationItemsByPatient(id),
+            orderJpaRepository.streamProcedureItemsByPatient(id),
+            orderJpaRepository.streamDiagnosticAidItemsByPatient(id));
+    }
+
+    static Stream<OrderDTO> mergeItems(Stream<OrderDTO> orders, Stream<Object[]> medications,
+                                       Stream<Object[]> procedures, Stream<Object[]> diagnosticAids) {
+        ItemCursor medicationCursor = new ItemCursor(medications.iterator());
+        ItemCursor procedureCursor = new ItemCursor(procedures.iterator());
+        ItemCursor diagnosticAidCursor = new ItemCursor(diagnosticAids.iterator());
+        return orders
+            .map(order -> {
+                medicationCursor.drainInto(order.getOrderNumber(), order.getMedications());
+                procedureCursor.drainInto(order.getOrderNumber(), order.getProcedures());
+                diagnosticAidCursor.drainInto(order.getOrderNumber(), order.getDiagnosticAids());
+                return order;
+            })
+            .onClose(medications::close)
+            .onClose(procedures::close)
+            .onClose(diagnosticAids::close);
+    }
+
+    /**
+     * Filas [orderNumber, item] con una fila de anticipación. Las cabeceras y los ítems salen del
+     * mismo filtro y el mismo ORDER BY, así que basta con comparar por igualdad.
+     */
+    private static final class ItemCursor {
+        private final Iterator<Object[]> rows;
+        private Object[] next;
+
+        ItemCursor(Iterator<Object[]> rows) {
+            this.rows = rows;
+            this.next = rows.hasNext() ? rows.next() : null;
+        }
+
+        void drainInto(String orderNumber, List<String> items) {
+            while (next != null && orderNumber.equals(next[0])) {
+                items.add(String.valueOf(next[1]));
+                next = rows.hasNext() ? rows.next() : null;
+            }
+        }
+    }
+}
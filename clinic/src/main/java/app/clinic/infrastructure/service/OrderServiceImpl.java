@@ -1,8 +1,17 @@
 package app.clinic.infrastructure.service;
 
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 
+import app.clinic.domain.model.entities.DiagnosticAidOrder;
+import app.clinic.domain.model.entities.MedicationOrder;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.ProcedureOrder;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.repository.InventoryRepository;
+import app.clinic.domain.repository.MedicalRecordOutboxRepository;
+import app.clinic.domain.repository.MedicationStockRepository;
 import app.clinic.domain.repository.OrderRepository;
 import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
@@ -12,10 +21,60 @@ import app.clinic.domain.service.RoleBasedAccessService;
 @Service
 public class OrderServiceImpl extends OrderService {
 
-    public OrderServiceImpl(OrderRepository orderRepository, PatientRepository patientRepository, InventoryRepository inventoryRepository, UserRepository userRepository, RoleBasedAccessService roleBasedAccessService) {
+    private final NurseStationEventBroadcaster nurseStationEventBroadcaster;
+    private final MedicalRecordOutboxRepository medicalRecordOutboxRepository;
+    private final MedicationStockRepository medicationStockRepository;
+
+    public OrderServiceImpl(OrderRepository orderRepository, PatientRepository patientRepository, InventoryRepository inventoryRepository, UserRepository userRepository, RoleBasedAccessService roleBasedAccessService,
+                            NurseStationEventBroadcaster nurseStationEventBroadcaster, MedicalRecordOutboxRepository medicalRecordOutboxRepository,
+                            MedicationStockRepository medicationStockRepository) {
         super(orderRepository, patientRepository, inventoryRepository, userRepository, roleBasedAccessService);
+        this.nurseStationEventBroadcaster = nurseStationEventBroadcaster;
+        this.medicalRecordOutboxRepository = medicalRecordOutboxRepository;
+        this.medicationStockRepository = medicationStockRepository;
     }
 
     // Infrastructure layer service that extends the domain service
     // Can add infrastructure-specific concerns like logging, caching, etc.
-}
\ No newline at end of file
+    // Las variantes con doctorId buscan al médico y llaman a las de AuthenticatedUser: basta sobrescribir estas
+
+    @Override
+    public Order createDiagnosticAidOrder(String patientId, String doctorId, List<DiagnosticAidOrder> diagnosticAids) {
+        Order order = super.createDiagnosticAidOrder(patientId, doctorId, diagnosticAids);
+        // La historia clínica se actualiza en segundo plano (ver MedicalRecordProjectionDispatcher)
+        medicalRecordOutboxRepository.enqueueDiagnosticAidOrder(order);
+        return published(order);
+    }
+
+    @Override
+    public Order createPostDiagnosticOrder(String patientId, String doctorId, String diagnosis, List<MedicationOrder> medications, List<ProcedureOrder> procedures) {
+        Order order = super.createPostDiagnosticOrder(patientId, doctorId, diagnosis, medications, procedures);
+        medicationStockRepository.reserve(order);
+        medicalRecordOutboxRepository.enqueuePostDiagnosticOrder(order);
+        return published(order);
+    }
+
+    @Override
+    public Order createMedicationOrder(String patientId, AuthenticatedUser doctor, List<MedicationOrder> medications) {
+        Order order = super.createMedicationOrder(patientId, doctor, medications);
+        // Sin existencias la excepción deshace también la orden
+        medicationStockRepository.reserve(order);
+        return published(order);
+    }
+
+    @Override
+    public Order createProcedureOrder(String patientId, AuthenticatedUser doctor, List<ProcedureOrder> procedures) {
+        return published(super.createProcedureOrder(patientId, doctor, procedures));
+    }
+
+    @Override
+    public Order createStandaloneDiagnosticAidOrder(String patientId, AuthenticatedUser doctor, List<DiagnosticAidOrder> diagnosticAids) {
+        return published(super.createStandaloneDiagnosticAidOrder(patientId, doctor, diagnosticAids));
+    }
+
+    // Notifica a los tableros de enfermería una vez la orden quedó guardada
+    private Order published(Order order) {
+        nurseStationEventBroadcaster.publishOrder(order);
+        return order;
+    }
+}
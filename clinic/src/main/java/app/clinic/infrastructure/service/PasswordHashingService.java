@@ -0,0 +1,131 @@
+package app.clinic.infrastructure.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import app.clinic.domain.model.PasswordHashingUnavailableException;
+import app.clinic.domain.service.PasswordHasher;
+import app.clinic.infrastructure.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hash y verificación de contraseñas en un grupo de hilos propio y acotado.
+ *
+ * Un hash BCrypt ocupa un procesador durante todo su coste; en un cambio de turno cientos de inicios de
+ * sesión llegan a la vez. Con clinic.password-hashing.threads hilos y una cola de
+ * clinic.password-hashing.queue-capacity, el resto de la API conserva sus procesadores: cuando la cola
+ * está llena el inicio de sesión se rechaza al momento (PasswordHashingUnavailableException, 503) en vez
+ * de acumular hilos de petición esperando.
+ *
+ * Métricas: clinic.password-hashing.queue y clinic.password-hashing.active (tareas en cola y en curso),
+ * clinic.password-hashing.tasks (result=completed|rejected|timeout) y clinic.password-hashing.duration.
+ */
+@Service
+public class PasswordHashingService implements PasswordHasher {
+    public static final String QUEUE_METRIC = "clinic.password-hashing.queue";
+    public static final String ACTIVE_METRIC = "clinic.password-hashing.active";
+    public static final String TASKS_METRIC = "clinic.password-hashing.tasks";
+    public static final String DURATION_METRIC = "clinic.password-hashing.duration";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Counter completed;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final Timer duration;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, PasswordHashingProperties properties, MeterRegistry registry) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = properties.getTimeout();
+        this.completed = Counter.builder(TASKS_METRIC).tag("result", "completed")
+            .description("Hashes y verificaciones de contraseña terminados").register(registry);
+        this.rejected = Counter.builder(TASKS_METRIC).tag("result", "rejected")
+            .description("Inicios de sesión rechazados con la cola de hash llena").register(registry);
+        this.timedOut = Counter.builder(TASKS_METRIC).tag("result", "timeout")
+            .description("Inicios de sesión que agotaron la espera del hash").register(registry);
+        this.duration = Timer.builder(DURATION_METRIC)
+            .description("Tiempo de cálculo de un hash o verificación, sin la espera en cola")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+        Gauge.builder(QUEUE_METRIC, executor, e -> e.getQueue().size())
+            .description("Hashes de contraseña esperando hilo").register(registry);
+        Gauge.builder(ACTIVE_METRIC, executor, ThreadPoolExecutor::getActiveCount)
+            .description("Hashes de contraseña en curso").register(registry);
+    }
+
+    @Override
+    public String hash(String plainPassword) {
+        return run(() -> passwordEncoder.encode(plainPassword));
+    }
+
+    @Override
+    public Verification verify(String plainPassword, String storedHash) {
+        return run(() -> {
+            if (!passwordEncoder.matches(plainPassword, storedHash)) {
+                return new Verification(false, null);
+            }
+            return new Verification(true, passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(plainPassword) : null);
+        });
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> duration.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException();
+        }
+        try {
+            T result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            completed.increment();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new PasswordHashingUnavailableException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+package app.clinic.infrastructure.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.infrastructure.dto.PatientDTO;
+import app.clinic.infrastructure.dto.VitalSignsDTO;
+import app.clinic.infrastructure.persistence.jpa.PatientJpaRepository;
+import app.clinic.infrastructure.persistence.jpa.VitalSignsJpaRepository;
+
+/**
+ * Lado de lectura de pacientes: las consultas proyectan directamente a PatientDTO, sin cargar
+ * entidades administradas ni reconstruir el modelo de dominio. Las escrituras siguen pasando por
+ * PatientService y sus casos de uso.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PatientQueryService {
+    private final PatientJpaRepository patientJpaRepository;
+    private final VitalSignsJpaRepository vitalSignsJpaRepository;
+    private final RoleBasedAccessService roleBasedAccessService;
+
+    public PatientQueryService(PatientJpaRepository patientJpaRepository, VitalSignsJpaRepository vitalSignsJpaRepository,
+                               RoleBasedAccessService roleBasedAccessService) {
+        this.patientJpaRepository = patientJpaRepository;
+        this.vitalSignsJpaRepository = vitalSignsJpaRepository;
+        this.roleBasedAccessService = roleBasedAccessService;
+    }
+
+    public List<PatientDTO> listPatients() {
+        return patientJpaRepository.findAllAsDto();
+    }
+
+    /**
+     * Mismas reglas que PatientService.findPatientById: permisos del rol y cédula válida.
+     */
+    public PatientDTO findPatientById(String identificationNumber, Role currentUserRole) {
+        roleBasedAccessService.validatePatientDataAccess(currentUserRole, false);
+
+        Id id = new Id(identificationNumber);
+        return patientJpaRepository.findDtoByIdentificationNumber(id.getValue())
+            .orElseThrow(() -> new IllegalArgumentException("Patient not found"));
+    }
+
+    /**
+     * Cursor para JsonStreamingResponses; la consulta se abre al invocar el Supplier.
+     */
+    public Supplier<Stream<PatientDTO>> streamPatients() {
+        return patientJpaRepository::streamAllAsDto;
+    }
+
+    /**
+     * La cédula se valida de inmediato, igual que PatientService.findVitalSignsByPatientId.
+     */
+    public Supplier<Stream<VitalSignsDTO>> streamVitalSigns(String patientId) {
+        String id = new Id(patientId).getValue();
+        return () -> vitalSignsJpaRepository.streamDtoByPatientIdentificationNumber(id);
+    }
+}
@@ -0,0 +1,53 @@
+package app.clinic.infrastructure.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.infrastructure.dto.PatientSummaryDTO;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
+
+/**
+ * Resumen de un paciente leído de patient_summaries por clave primaria, sin recorrer signos vitales,
+ * órdenes, citas ni facturas.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PatientSummaryQueryService {
+    private final PatientSummaryRepository summaries;
+    private final RoleBasedAccessService roleBasedAccessService;
+
+    public PatientSummaryQueryService(PatientSummaryRepository summaries, RoleBasedAccessService roleBasedAccessService) {
+        this.summaries = summaries;
+        this.roleBasedAccessService = roleBasedAccessService;
+    }
+
+    /**
+     * Mismas reglas que PatientQueryService.findPatientById: permisos del rol y cédula válida.
+     */
+    public PatientSummaryDTO findSummary(String identificationNumber, Role currentUserRole) {
+        roleBasedAccessService.validatePatientDataAccess(currentUserRole, false);
+
+        Id id = new Id(identificationNumber);
+        PatientSummaryDTO summary = summaries.findById(id.getValue())
+            .orElseThrow(() -> new IllegalArgumentException("Patient not found"));
+
+        // La próxima cita guardada solo cambia al escribir; si ya pasó se busca la siguiente sin reescribir la fila
+        LocalDateTime now = LocalDateTime.now();
+        if (summary.getNextAppointmentAt() != null && !summary.getNextAppointmentAt().isAfter(now)) {
+            summary.setNextAppointmentId(null);
+            summary.setNextAppointmentAt(null);
+            summary.setNextAppointmentDoctorId(null);
+            summaries.findNextAppointment(id.getValue(), now).ifPresent(next -> {
+                summary.setNextAppointmentId(next.id());
+                summary.setNextAppointmentAt(next.at());
+                summary.setNextAppointmentDoctorId(next.doctorId());
+            });
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,161 @@
+package app.clinic.infrastructure.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.infrastructure.config.BatchExecutors;
+import app.clinic.infrastructure.config.PatientSummaryProperties;
+import app.clinic.infrastructure.dto.PatientSummaryRebuildDTO;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reconstrucción completa de patient_summaries, para cuando las filas se desalinearon (cargas por SQL
+ * directo, la migración que creó la tabla, cambios de cálculo) o como repaso programado.
+ *
+ * Recorre patients por clave en bloques de clinic.patient-summary.rebuild-chunk-size; cada bloque se
+ * recalcula y confirma en su propia transacción en uno de clinic.patient-summary.rebuild-threads hilos,
+ * así que la tabla sigue sirviendo lecturas y las escrituras normales siguen actualizándola mientras
+ * tanto. Al final se borran los resúmenes de pacientes que ya no existen.
+ */
+@Service
+public class PatientSummaryRebuildService {
+    private final PatientSummaryRepository summaries;
+    private final TransactionTemplate transactionTemplate;
+    private final PatientSummaryProperties properties;
+    private final ExecutorService rebuildExecutor;
+    private final ExecutorService chunkExecutor;
+    private final AtomicLong progress = new AtomicLong();
+    private volatile PatientSummaryRebuildDTO status = new PatientSummaryRebuildDTO();
+
+    public PatientSummaryRebuildService(PatientSummaryRepository summaries, PlatformTransactionManager transactionManager,
+                                        PatientSummaryProperties properties, BatchExecutors batchExecutors) {
+        this.summaries = summaries;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.rebuildExecutor = batchExecutors.newSingleThreadExecutor("patient-summary-rebuild");
+        this.chunkExecutor = batchExecutors.newFixedThreadPool("patient-summary", properties.getRebuildThreads());
+    }
+
+    /**
+     * Lanza la reconstrucción en segundo plano.
+     * @return false si ya hay una en curso
+     */
+    public synchronized boolean start() {
+        if (status.isRunning()) {
+            return false;
+        }
+        status = new PatientSummaryRebuildDTO(true, LocalDateTime.now(), null, 0, 0, null);
+        progress.set(0);
+        rebuildExecutor.submit(this::runTracked);
+        return true;
+    }
+
+    public PatientSummaryRebuildDTO getStatus() {
+        PatientSummaryRebuildDTO current = status;
+        if (!current.isRunning()) {
+            return current;
+        }
+        return new PatientSummaryRebuildDTO(true, current.getStartedAt(), null, progress.get(),
+            Duration.between(current.getStartedAt(), LocalDateTime.now()).toMillis(), null);
+    }
+
+    @Scheduled(cron = "${clinic.patient-summary.rebuild-cron:-}")
+    public void rebuildScheduled() {
+        start();
+    }
+
+    /**
+     * Al arrancar sobre una base que ya tenía pacientes (o cargada fuera de la aplicación) la tabla
+     * está vacía o incompleta; se reconstruye sin retrasar el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        if (properties.isRebuildOnStartup() && summaries.countSummaries() != summaries.countPatients()) {
+            start();
+        }
+    }
+
+    private void runTracked() {
+        PatientSummaryRebuildDTO started = status;
+        String error = null;
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            System.err.println("Patient summary rebuild failed: " + error);
+        }
+        LocalDateTime finished = LocalDateTime.now();
+        long duration = Duration.between(started.getStartedAt(), finished).toMillis();
+        status = new PatientSummaryRebuildDTO(false, started.getStartedAt(), finished, progress.get(), duration, error);
+        if (error == null) {
+            System.out.println("Resumen de pacientes reconstruido: " + progress.get() + " pacientes en " + duration + " ms");
+        }
+    }
+
+    /**
+     * Reconstruye en el hilo actual, repartiendo los bloques entre los hilos de la reconstrucción.
+     * Devuelve el número de pacientes recalculados.
+     */
+    public long rebuild() {
+        int chunkSize = Math.max(1, properties.getRebuildChunkSize());
+        // Como mucho dos bloques por hilo esperando, para no leer todas las cédulas por adelantado
+        Semaphore inFlight = new Semaphore(Math.max(1, properties.getRebuildThreads()) * 2);
+        List<Future<?>> chunks = new ArrayList<>();
+        long total = 0;
+        String lastId = "";
+        try {
+            List<String> ids;
+            do {
+                ids = summaries.findPatientIdsAfter(lastId, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                lastId = ids.get(ids.size() - 1);
+                total += ids.size();
+                inFlight.acquire();
+                List<String> chunk = ids;
+                chunks.add(chunkExecutor.submit(() -> {
+                    try {
+                        transactionTemplate.executeWithoutResult(s -> summaries.refresh(chunk));
+                        progress.addAndGet(chunk.size());
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            } while (ids.size() == chunkSize);
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Patient summary rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }
+        transactionTemplate.executeWithoutResult(s -> summaries.deleteOrphans());
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+        chunkExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package app.clinic.infrastructure.service;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.clinic.infrastructure.dto.SupportTicketDTO;
+import app.clinic.infrastructure.persistence.jpa.SupportTicketJpaRepository;
+
+/**
+ * Listados de tickets de soporte en streaming, proyectados directamente a SupportTicketDTO.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SupportTicketQueryService {
+    private final SupportTicketJpaRepository supportTicketJpaRepository;
+
+    public SupportTicketQueryService(SupportTicketJpaRepository supportTicketJpaRepository) {
+        this.supportTicketJpaRepository = supportTicketJpaRepository;
+    }
+
+    public Supplier<Stream<SupportTicketDTO>> streamTickets() {
+        return supportTicketJpaRepository::streamAllAsDto;
+    }
+
+    public Supplier<Stream<SupportTicketDTO>> streamTicketsByUser(String userId) {
+        return () -> supportTicketJpaRepository.streamDtoByUserId(userId);
+    }
+}
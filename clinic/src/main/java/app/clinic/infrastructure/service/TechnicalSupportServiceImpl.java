@@ -2,6 +2,7 @@ package app.clinic.infrastructure.service;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.domain.repository.SupportTicketQueue;
 import app.clinic.domain.repository.SupportTicketRepository;
 import app.clinic.domain.service.RoleBasedAccessService;
 import app.clinic.domain.service.TechnicalSupportService;
@@ -9,8 +10,9 @@ import app.clinic.domain.service.TechnicalSupportService;
 @Service
 public class TechnicalSupportServiceImpl extends TechnicalSupportService {
 
-    public TechnicalSupportServiceImpl(SupportTicketRepository supportTicketRepository, RoleBasedAccessService roleBasedAccessService) {
-        super(supportTicketRepository, roleBasedAccessService);
+    public TechnicalSupportServiceImpl(SupportTicketRepository supportTicketRepository, RoleBasedAccessService roleBasedAccessService,
+                                       SupportTicketQueue supportTicketQueue) {
+        super(supportTicketRepository, roleBasedAccessService, supportTicketQueue);
     }
 
     // Infrastructure layer service that extends the domain service
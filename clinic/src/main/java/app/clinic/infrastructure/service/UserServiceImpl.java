@@ -5,6 +5,7 @@ import org.springframework.stereotype.Service;
 
 import app.clinic.domain.model.entities.User;
 import app.clinic.domain.repository.UserRepository;
+import app.clinic.domain.service.PasswordHasher;
 import app.clinic.domain.service.RoleBasedAccessService;
 import app.clinic.domain.service.UserService;
 import app.clinic.domain.service.UserValidationService;
@@ -12,8 +13,9 @@ import app.clinic.domain.service.UserValidationService;
 @Service
 public class UserServiceImpl extends UserService {
 
-    public UserServiceImpl(UserRepository userRepository, UserValidationService validationService, RoleBasedAccessService roleBasedAccessService) {
-        super(userRepository, validationService, roleBasedAccessService);
+    public UserServiceImpl(UserRepository userRepository, UserValidationService validationService, RoleBasedAccessService roleBasedAccessService,
+                           PasswordHasher passwordHasher) {
+        super(userRepository, validationService, roleBasedAccessService, passwordHasher);
     }
 
     // Infrastructure layer service that extends the domain service
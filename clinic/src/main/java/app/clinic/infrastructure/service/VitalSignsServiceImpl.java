@@ -2,6 +2,7 @@ package app.clinic.infrastructure.service;
 
 import org.springframework.stereotype.Service;
 
+import app.clinic.domain.model.entities.VitalSigns;
 import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
 import app.clinic.domain.service.RoleBasedAccessService;
@@ -10,10 +11,21 @@ import app.clinic.domain.service.VitalSignsService;
 @Service
 public class VitalSignsServiceImpl extends VitalSignsService {
 
-    public VitalSignsServiceImpl(PatientRepository patientRepository, UserRepository userRepository, RoleBasedAccessService roleBasedAccessService) {
+    private final NurseStationEventBroadcaster nurseStationEventBroadcaster;
+
+    public VitalSignsServiceImpl(PatientRepository patientRepository, UserRepository userRepository, RoleBasedAccessService roleBasedAccessService,
+                                 NurseStationEventBroadcaster nurseStationEventBroadcaster) {
         super(patientRepository, userRepository, roleBasedAccessService);
+        this.nurseStationEventBroadcaster = nurseStationEventBroadcaster;
     }
 
     // Infrastructure layer service that extends the domain service
     // Can add infrastructure-specific concerns like logging, caching, etc.
-}
\ No newline at end of file
+
+    @Override
+    public VitalSigns recordVitalSignsWithObservations(String patientId, String bloodPressure, double temperature, int pulse, int oxygenLevel, String observations) {
+        VitalSigns vitalSigns = super.recordVitalSignsWithObservations(patientId, bloodPressure, temperature, pulse, oxygenLevel, observations);
+        nurseStationEventBroadcaster.publishVitalSigns(vitalSigns);
+        return vitalSigns;
+    }
+}
@@ -0,0 +1,128 @@
+package app.clinic.infrastructure.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Llamadas de calentamiento con nombre y su ejecución en tres fases:
+ *   1. fría: cada llamada una vez, en orden y en el hilo actual; es la latencia de la primera petición real.
+ *   2. calentamiento: iterations rondas de todas las llamadas repartidas entre threads hilos, para que el
+ *      JIT compile los caminos calientes y varios hilos tengan su conexión del pool a la vez.
+ *   3. caliente: samples rondas más en el hilo actual; la mediana por llamada es la latencia ya calentada.
+ *
+ * Cada llamada recibe el número de ronda para ir variando los datos. Una llamada que lanza una excepción
+ * cuenta como fallo pero no corta el calentamiento: el camino que recorrió hasta fallar queda igualmente
+ * caliente.
+ */
+public class WarmupPlan {
+    private final Map<String, IntConsumer> calls = new LinkedHashMap<>();
+    private final int iterations;
+    private final int threads;
+    private final int samples;
+
+    public WarmupPlan(int iterations, int threads, int samples) {
+        this.iterations = Math.max(0, iterations);
+        this.threads = Math.max(1, threads);
+        this.samples = Math.max(1, samples);
+    }
+
+    public WarmupPlan add(String name, IntConsumer call) {
+        calls.put(name, call);
+        return this;
+    }
+
+    public Report run() {
+        long started = System.nanoTime();
+        Map<String, AtomicLong> failures = new LinkedHashMap<>();
+        calls.keySet().forEach(name -> failures.put(name, new AtomicLong()));
+
+        Map<String, Long> cold = new LinkedHashMap<>();
+        calls.forEach((name, call) -> cold.put(name, timed(call, 0, failures.get(name))));
+
+        runConcurrently(failures);
+
+        Map<String, long[]> warm = new LinkedHashMap<>();
+        calls.keySet().forEach(name -> warm.put(name, new long[samples]));
+        for (int sample = 0; sample < samples; sample++) {
+            int round = iterations + 1 + sample;
+            for (Map.Entry<String, IntConsumer> call : calls.entrySet()) {
+                warm.get(call.getKey())[sample] = timed(call.getValue(), round, failures.get(call.getKey()));
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (String name : calls.keySet()) {
+            long[] times = warm.get(name);
+            Arrays.sort(times);
+            results.add(new Result(name, cold.get(name), times[times.length / 2], failures.get(name).get()));
+        }
+        long invocations = (long) calls.size() * (1 + iterations + samples);
+        return new Report((System.nanoTime() - started) / 1_000_000, invocations, results);
+    }
+
+    private void runConcurrently(Map<String, AtomicLong> failures) {
+        if (iterations == 0) {
+            return;
+        }
+        AtomicInteger nextRound = new AtomicInteger(1);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    int round;
+                    while ((round = nextRound.getAndIncrement()) <= iterations) {
+                        for (Map.Entry<String, IntConsumer> call : calls.entrySet()) {
+                            timed(call.getValue(), round, failures.get(call.getKey()));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(worker -> worker.cancel(true));
+            throw new IllegalStateException("Warm-up interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long timed(IntConsumer call, int round, AtomicLong failures) {
+        long started = System.nanoTime();
+        try {
+            call.accept(round);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+        }
+        return System.nanoTime() - started;
+    }
+
+    /**
+     * Latencias en nanosegundos: la primera llamada (fría) y la mediana de las últimas (caliente).
+     */
+    public record Result(String name, long coldNanos, long warmNanos, long failures) {
+    }
+
+    public record Report(long durationMillis, long invocations, List<Result> results) {
+    }
+}
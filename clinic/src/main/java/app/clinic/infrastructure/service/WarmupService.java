@@ -0,0 +1,201 @@
+package app.clinic.infrastructure.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.application.usecase.ConsultPatientBillingUseCase;
+import app.clinic.application.usecase.ConsultPatientOrdersUseCase;
+import app.clinic.application.usecase.ConsultPatientVitalSignsUseCase;
+import app.clinic.application.usecase.GetMedicalRecordUseCase;
+import app.clinic.application.usecase.GetPatientUseCase;
+import app.clinic.domain.model.entities.User;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.infrastructure.config.JwtAuthenticationFilter;
+import app.clinic.infrastructure.config.WarmupProperties;
+import app.clinic.infrastructure.persistence.generator.SyntheticDataGenerator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Calienta la instancia al arrancar con llamadas de solo lectura representativas de /api/patients,
+ * /api/medical y facturación: las primeras miles de peticiones tras un despliegue pagaban la compilación
+ * JIT de Jackson, Hibernate y jjwt, la interpretación de cada consulta JPQL (caché de planes de Hibernate),
+ * los patrones de los value objects y la apertura de las conexiones del pool.
+ *
+ * Corre como ApplicationRunner: Spring Boot publica ReadinessState.ACCEPTING_TRAFFIC después de que
+ * terminen todos los runners, así que /actuator/health/readiness responde OUT_OF_SERVICE hasta que acaba
+ * el calentamiento y el balanceador no envía tráfico antes. Las consultas se hacen sobre
+ * clinic.warmup.patients pacientes existentes (o cédulas sintéticas si la base está vacía: el camino hasta
+ * "Patient not found" también se calienta); los usuarios y tokens son sintéticos y no se guarda nada.
+ * Las llamadas a casos de uso cuentan en clinic.usecase como cualquier otra.
+ *
+ * Informe: tiempo total y latencia fría/caliente por llamada en el log y en las métricas
+ * clinic.warmup.duration y clinic.warmup.latency (call=..., phase=cold|warm).
+ */
+@Service
+public class WarmupService implements ApplicationRunner {
+    public static final String DURATION_METRIC = "clinic.warmup.duration";
+    public static final String LATENCY_METRIC = "clinic.warmup.latency";
+
+    private final WarmupProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final PatientQueryService patientQueryService;
+    private final PatientSummaryQueryService patientSummaryQueryService;
+    private final GetPatientUseCase getPatientUseCase;
+    private final GetMedicalRecordUseCase getMedicalRecordUseCase;
+    private final ConsultPatientVitalSignsUseCase consultPatientVitalSignsUseCase;
+    private final ConsultPatientOrdersUseCase consultPatientOrdersUseCase;
+    private final ConsultPatientBillingUseCase consultPatientBillingUseCase;
+    private final JwtService jwtService;
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry registry;
+    private volatile WarmupPlan.Report lastReport;
+
+    public WarmupService(WarmupProperties properties, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                         PatientQueryService patientQueryService, PatientSummaryQueryService patientSummaryQueryService,
+                         GetPatientUseCase getPatientUseCase, GetMedicalRecordUseCase getMedicalRecordUseCase,
+                         ConsultPatientVitalSignsUseCase consultPatientVitalSignsUseCase,
+                         ConsultPatientOrdersUseCase consultPatientOrdersUseCase,
+                         ConsultPatientBillingUseCase consultPatientBillingUseCase, JwtService jwtService,
+                         JwtAuthenticationFilter jwtAuthenticationFilter, ApplicationEventPublisher eventPublisher,
+                         MeterRegistry registry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.patientQueryService = patientQueryService;
+        this.patientSummaryQueryService = patientSummaryQueryService;
+        this.getPatientUseCase = getPatientUseCase;
+        this.getMedicalRecordUseCase = getMedicalRecordUseCase;
+        this.consultPatientVitalSignsUseCase = consultPatientVitalSignsUseCase;
+        this.consultPatientOrdersUseCase = consultPatientOrdersUseCase;
+        this.consultPatientBillingUseCase = consultPatientBillingUseCase;
+        this.jwtService = jwtService;
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.eventPublisher = eventPublisher;
+        this.registry = registry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // Ya es el estado inicial; se publica para que quede explícito en el registro de disponibilidad
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        try {
+            report(warmUp());
+        } catch (RuntimeException e) {
+            // Una instancia sin calentar sigue siendo mejor que una que no arranca
+            System.err.println("Warm-up failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ejecuta el calentamiento completo en el hilo actual y devuelve el informe.
+     */
+    public WarmupPlan.Report warmUp() {
+        List<String> patientIds = samplePatientIds();
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42L, 10, Math.max(1, patientIds.size()), 1, 3, 10,
+            LocalDate.now());
+
+        WarmupPlan plan = new WarmupPlan(properties.getIterations(), properties.getThreads(), properties.getSamples())
+            .add("connection", round -> validateConnection())
+            .add("jwt", round -> {
+                User user = generator.user(round % 10);
+                String token = jwtService.generateToken(user, jwtService.generateSessionId());
+                jwtAuthenticationFilter.parseToken(token);
+            })
+            .add("synthetic-data", round -> generator.patient(round))
+            .add("patients.find", round -> serialize(patientQueryService.findPatientById(patientId(patientIds, round), Role.MEDICO)))
+            .add("patients.summary", round -> serialize(patientSummaryQueryService.findSummary(patientId(patientIds, round), Role.MEDICO)))
+            .add("patients.get", round -> getPatientUseCase.execute(patientId(patientIds, round), Role.PERSONAL_ADMINISTRATIVO))
+            .add("medical.record", round -> getMedicalRecordUseCase.execute(Role.MEDICO, patientId(patientIds, round)))
+            .add("medical.vital-signs", round -> consultPatientVitalSignsUseCase.execute(patientId(patientIds, round)))
+            .add("orders.patient", round -> consultPatientOrdersUseCase.execute(Role.MEDICO, patientId(patientIds, round)))
+            .add("billing.patient", round -> consultPatientBillingUseCase.execute(Role.PERSONAL_ADMINISTRATIVO, patientId(patientIds, round)));
+        return plan.run();
+    }
+
+    public WarmupPlan.Report getLastReport() {
+        return lastReport;
+    }
+
+    private List<String> samplePatientIds() {
+        List<String> ids = new ArrayList<>(jdbcTemplate.queryForList(
+            "SELECT identification_number FROM patients ORDER BY identification_number LIMIT ?", String.class,
+            Math.max(1, properties.getPatients())));
+        if (ids.isEmpty()) {
+            for (int i = 0; i < Math.max(1, properties.getPatients()); i++) {
+                ids.add(SyntheticDataGenerator.patientId(i));
+            }
+        }
+        return ids;
+    }
+
+    private static String patientId(List<String> patientIds, int round) {
+        return patientIds.get(round % patientIds.size());
+    }
+
+    private void validateConnection() {
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            connection.isValid(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private void serialize(Object response) {
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private void report(WarmupPlan.Report report) {
+        lastReport = report;
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Calentamiento: %d llamadas en %d ms%n", report.invocations(), report.durationMillis()));
+        summary.append(String.format("%-22s %14s %14s %10s%n", "llamada", "fría (ms)", "caliente (ms)", "fallos"));
+        long cold = 0;
+        long warm = 0;
+        for (WarmupPlan.Result result : report.results()) {
+            summary.append(String.format("%-22s %14.3f %14.3f %10d%n", result.name(), result.coldNanos() / 1e6,
+                result.warmNanos() / 1e6, result.failures()));
+            cold += result.coldNanos();
+            warm += result.warmNanos();
+        }
+        summary.append(String.format("Una ronda de todas las llamadas: %.3f ms en frío, %.3f ms en caliente (%+.3f ms)%n",
+            cold / 1e6, warm / 1e6, (warm - cold) / 1e6));
+        System.out.print(summary);
+
+        Gauge.builder(DURATION_METRIC, this, service -> service.lastReport.durationMillis())
+            .description("Duración del calentamiento al arrancar").baseUnit("milliseconds").register(registry);
+        for (int i = 0; i < report.results().size(); i++) {
+            int index = i;
+            String call = report.results().get(i).name();
+            Gauge.builder(LATENCY_METRIC, this, service -> service.lastReport.results().get(index).coldNanos() / 1e6)
+                .tags("call", call, "phase", "cold").description("Latencia de la primera llamada al arrancar")
+                .baseUnit("milliseconds").register(registry);
+            Gauge.builder(LATENCY_METRIC, this, service -> service.lastReport.results().get(index).warmNanos() / 1e6)
+                .tags("call", call, "phase", "warm").description("Mediana de la latencia al terminar el calentamiento")
+                .baseUnit("milliseconds").register(registry);
+        }
+    }
+}
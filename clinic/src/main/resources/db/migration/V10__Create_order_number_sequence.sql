@@ -0,0 +1,7 @@
+-- V10__Create_order_number_sequence.sql
+-- Numeración de órdenes (ver OrderRepository.nextOrderNumber)
+
+-- Con MAX(order_number) + 1 dos órdenes creadas a la vez tomaban el mismo número; la secuencia da uno
+-- distinto a cada una. Sigue desde la mayor orden existente.
+CREATE SEQUENCE order_number_seq START WITH 1;
+ALTER SEQUENCE order_number_seq RESTART WITH (SELECT COALESCE(MAX(CAST(order_number AS BIGINT)), 0) + 1 FROM orders);
@@ -0,0 +1,10 @@
+-- V11__Add_order_billing_claim.sql
+-- Facturación y cancelación se excluyen en la propia fila de la orden (ver BillingServiceImpl y CancelOrderUseCase)
+
+-- La facturación reclama la orden con UPDATE ... WHERE billed_at IS NULL AND cancelled_at IS NULL y la
+-- cancelación con UPDATE ... WHERE cancelled_at IS NULL AND billed_at IS NULL: la primera en bloquear la
+-- fila gana y la otra no cambia ninguna. NULL es una orden sin facturar.
+ALTER TABLE orders ADD COLUMN billed_at TIMESTAMP;
+
+UPDATE orders o SET billed_at = (SELECT b.generated_at FROM billings b WHERE b.order_number = o.order_number)
+WHERE EXISTS (SELECT 1 FROM billings b WHERE b.order_number = o.order_number);
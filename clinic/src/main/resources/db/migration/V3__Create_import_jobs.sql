@@ -0,0 +1,32 @@
+-- V3__Create_import_jobs.sql
+-- Importaciones masivas de pacientes e inventario (ver BulkImportService)
+
+-- Una fila por archivo subido. committed_chunks es el número de bloques ya confirmados:
+-- una importación interrumpida se reanuda desde ese bloque.
+CREATE TABLE import_jobs (
+    id VARCHAR(50) PRIMARY KEY,
+    kind VARCHAR(20) NOT NULL CHECK (kind IN ('PATIENTS', 'MEDICATIONS', 'PROCEDURES', 'DIAGNOSTIC_AIDS')),
+    format VARCHAR(10) NOT NULL CHECK (format IN ('CSV', 'NDJSON')),
+    file_name VARCHAR(255),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    total_rows INT NOT NULL DEFAULT 0,
+    chunk_size INT NOT NULL,
+    committed_chunks INT NOT NULL DEFAULT 0,
+    imported_rows INT NOT NULL DEFAULT 0,
+    rejected_rows INT NOT NULL DEFAULT 0,
+    error TEXT,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Filas rechazadas; se escriben en la misma transacción que el bloque al que pertenecen
+CREATE TABLE import_errors (
+    job_id VARCHAR(50) NOT NULL,
+    line_number BIGINT NOT NULL,
+    record_key VARCHAR(100),
+    message TEXT NOT NULL,
+    PRIMARY KEY (job_id, line_number)
+);
+
+ALTER TABLE import_errors ADD CONSTRAINT fk_import_errors_job_id FOREIGN KEY (job_id) REFERENCES import_jobs(id) ON DELETE CASCADE;
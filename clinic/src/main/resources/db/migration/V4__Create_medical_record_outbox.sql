@@ -0,0 +1,17 @@
+-- V4__Create_medical_record_outbox.sql
+-- Órdenes pendientes de anotar en la historia clínica (ver MedicalRecordProjectionDispatcher)
+
+-- Se inserta en la misma transacción que la orden. processed_at se fija en la misma transacción
+-- que la escritura en la historia, así que cada evento se aplica una sola vez.
+CREATE TABLE medical_record_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(30) NOT NULL CHECK (event_type IN ('DIAGNOSTIC_AID_ORDER', 'POST_DIAGNOSTIC_ORDER')),
+    patient_id VARCHAR(20) NOT NULL,
+    order_number VARCHAR(10) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+CREATE INDEX idx_medical_record_outbox_pending ON medical_record_outbox (processed_at, id);
@@ -0,0 +1,35 @@
+-- V5__Create_patient_summaries.sql
+-- Resumen por paciente para GET /api/patients/{id}/summary (ver PatientSummaryRepository)
+
+-- Una fila por paciente, recalculada en la misma transacción que cada escritura que la afecta
+-- (paciente, signos vitales, órdenes, citas, facturas, historia clínica). Se llena y se repara con
+-- PatientSummaryRebuildService. open_orders cuenta las órdenes sin factura; copay_year_to_date es
+-- la suma de copagos facturados en copay_year.
+CREATE TABLE patient_summaries (
+    patient_id VARCHAR(20) PRIMARY KEY,
+    full_name VARCHAR(100) NOT NULL,
+    date_of_birth VARCHAR(10) NOT NULL,
+    gender VARCHAR(10) NOT NULL,
+    phone VARCHAR(15) NOT NULL,
+    email VARCHAR(100),
+    insurance_company_name VARCHAR(100),
+    insurance_policy_number VARCHAR(50),
+    insurance_active BOOLEAN NOT NULL DEFAULT FALSE,
+    insurance_validity_date VARCHAR(10),
+    last_vitals_at TIMESTAMP,
+    last_blood_pressure VARCHAR(20),
+    last_temperature DECIMAL(4,1),
+    last_pulse INTEGER,
+    last_oxygen_level INTEGER,
+    open_orders INTEGER NOT NULL DEFAULT 0,
+    next_appointment_id VARCHAR(50),
+    next_appointment_at TIMESTAMP,
+    next_appointment_doctor_id VARCHAR(20),
+    copay_year INTEGER NOT NULL,
+    copay_year_to_date DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    last_diagnosis TEXT,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Próxima cita de un paciente sin recorrer todas sus citas (los signos vitales ya tienen su clave primaria)
+CREATE INDEX idx_appointments_patient_date ON appointments(patient_id, appointment_date);
@@ -0,0 +1,36 @@
+-- V6__Create_medication_stock.sql
+-- Existencias de medicamentos y reservas por orden (ver MedicationStockStore)
+
+-- Unidades físicas en farmacia. Solo la actualiza el volcado en segundo plano de las reservas
+-- confirmadas y la reposición; la creación de órdenes nunca bloquea estas filas.
+-- Los medicamentos sin fila no llevan control de existencias.
+CREATE TABLE medication_stock (
+    medication_id VARCHAR(20) PRIMARY KEY,
+    on_hand INT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE medication_stock ADD CONSTRAINT fk_medication_stock_medication_id FOREIGN KEY (medication_id) REFERENCES medications(id) ON DELETE CASCADE;
+
+-- Una fila por orden y medicamento, insertada en la transacción de la orden. RESERVED pasa a COMMITTED
+-- al facturar y a RELEASED al cancelar; applied indica que la unidad ya se descontó de on_hand.
+CREATE TABLE stock_reservations (
+    order_number VARCHAR(10) NOT NULL,
+    medication_id VARCHAR(20) NOT NULL,
+    quantity INT NOT NULL,
+    status VARCHAR(10) NOT NULL CHECK (status IN ('RESERVED', 'COMMITTED', 'RELEASED')),
+    applied BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (order_number, medication_id)
+);
+
+CREATE INDEX idx_stock_reservations_pending ON stock_reservations (status, applied);
+
+ALTER TABLE stock_reservations ADD CONSTRAINT fk_stock_reservations_order_number FOREIGN KEY (order_number) REFERENCES orders(order_number) ON DELETE CASCADE;
+
+INSERT INTO medication_stock (medication_id, on_hand) VALUES
+('MED001', 500),
+('MED002', 500),
+('MED003', 200),
+('MED004', 300),
+('MED005', 100);
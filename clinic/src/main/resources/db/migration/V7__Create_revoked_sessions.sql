@@ -0,0 +1,13 @@
+-- V7__Create_revoked_sessions.sql
+-- Sesiones cerradas antes de que caduque su token (ver RevokedSessionStore)
+
+-- Una fila por sesión revocada mientras su token siga vigente. Cada instancia lee las filas nuevas
+-- por revoked_at, que siempre pone la base de datos para que todas compartan el mismo reloj.
+CREATE TABLE revoked_sessions (
+    session_id VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_revoked_sessions_revoked_at ON revoked_sessions (revoked_at);
+CREATE INDEX idx_revoked_sessions_expires_at ON revoked_sessions (expires_at);
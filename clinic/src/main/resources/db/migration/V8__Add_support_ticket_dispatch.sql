@@ -0,0 +1,10 @@
+-- V8__Add_support_ticket_dispatch.sql
+-- Prioridad y equipo de los tickets de soporte para el reparto automático (ver SupportTicketDispatcher)
+
+-- El plazo de atención (SLA) de cada ticket sale de created_at y de la prioridad; los tickets existentes
+-- quedan en prioridad normal y en el equipo general.
+ALTER TABLE support_tickets ADD COLUMN priority VARCHAR(10) NOT NULL DEFAULT 'NORMAL' CHECK (priority IN ('URGENT', 'HIGH', 'NORMAL', 'LOW'));
+ALTER TABLE support_tickets ADD COLUMN team VARCHAR(30) NOT NULL DEFAULT 'general';
+
+-- Tickets en curso de un agente (GET /api/support/tickets/assigned/{agentId})
+CREATE INDEX idx_support_tickets_assigned_to_status ON support_tickets (assigned_to, status);
@@ -0,0 +1,6 @@
+-- V9__Add_order_cancellation.sql
+-- Cancelación de órdenes sin facturar (ver CancelOrderUseCase)
+
+-- La cancelación queda en la propia orden, tenga o no medicamentos reservados: una orden cancelada no se
+-- factura y no cuenta en patient_summaries.open_orders. NULL es una orden vigente.
+ALTER TABLE orders ADD COLUMN cancelled_at TIMESTAMP;
@@ -66,6 +66,7 @@ class AuthenticateUserUseCaseTest {
     void execute_WithValidCredentials_ShouldReturnUser() {
         // Arrange
         when(userService.findUserByUsername(validUsername)).thenReturn(testUser);
+        when(userService.verifyPassword(testUser, validPassword)).thenReturn(true);
 
         // Act
         User result = authenticateUserUseCase.execute(validUsername, validPassword);
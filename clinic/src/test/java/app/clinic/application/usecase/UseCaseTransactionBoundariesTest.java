@@ -0,0 +1,76 @@
+package app.clinic.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+
+import app.clinic.domain.model.valueobject.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cuenta las conexiones que pide cada caso de uso al pool (hikaricp.connections.acquire) fuera de una
+ * petición web, donde no hay open-in-view que retenga la conexión: con la transacción del caso de uso
+ * todas sus consultas y escrituras comparten una sola; sin ella, cada llamada al repositorio pide la suya.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:use-case-transactions;DB_CLOSE_DELAY=-1",
+    // La reconstrucción de resúmenes al arrancar y las tareas periódicas pedirían conexiones en paralelo
+    // a las que se cuentan
+    "clinic.patient-summary.rebuild-on-startup=false",
+    "clinic.warmup.enabled=false",
+    "clinic.outbox.poll-interval=3600000",
+    "clinic.medication-stock.flush-interval=3600000",
+    "clinic.token-revocation.sync-interval=3600000"
+})
+@ActiveProfiles("loadtest")
+class UseCaseTransactionBoundariesTest {
+    private static final String PATIENT_ID = "1111111111";
+
+    @Autowired
+    private UpdatePatientUseCase updatePatientUseCase;
+
+    @Autowired
+    private GetPatientUseCase getPatientUseCase;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long acquisitions(Runnable useCase) {
+        double before = acquired();
+        useCase.run();
+        return Math.round(acquired() - before);
+    }
+
+    private double acquired() {
+        return meterRegistry.get("hikaricp.connections.acquire").timer().count();
+    }
+
+    private static void updatePatient(UpdatePatientUseCase useCase, String address) {
+        useCase.execute(PATIENT_ID, "Roberto Silva", "15/07/1985", "masculino", address, "3101234567",
+            "roberto.silva@clinica.com", "María Silva", "Esposa", "3117654321", "Seguros Salud Plus", "POL001234",
+            true, "31/12/2030");
+    }
+
+    @Test
+    void shouldUseOneConnectionPerWriteUseCase() {
+        UpdatePatientUseCase withoutTransaction = AopTestUtils.getUltimateTargetObject(updatePatientUseCase);
+
+        long perRepositoryCall = acquisitions(() -> updatePatient(withoutTransaction, "Calle 45 #67-90"));
+        long perUseCase = acquisitions(() -> updatePatient(updatePatientUseCase, "Calle 45 #67-91"));
+
+        assertEquals(1, perUseCase);
+        // Sin la transacción del caso de uso, al menos la lectura del paciente y su guardado piden cada uno la suya
+        assertTrue(perRepositoryCall >= 2, "expected one acquisition per repository call, got " + perRepositoryCall);
+        assertEquals("Calle 45 #67-91", getPatientUseCase.execute(PATIENT_ID, Role.MEDICO).getAddress().getValue());
+    }
+
+    @Test
+    void shouldUseOneConnectionPerReadOnlyUseCase() {
+        assertEquals(1, acquisitions(() -> getPatientUseCase.execute(PATIENT_ID, Role.MEDICO)));
+    }
+}
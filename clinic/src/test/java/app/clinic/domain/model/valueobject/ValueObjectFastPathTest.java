@@ -0,0 +1,98 @@
+package app.clinic.domain.model.valueobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Los validadores escritos a mano deben aceptar y rechazar exactamente lo mismo que las
+ * expresiones regulares y el DateTimeFormatter que reemplazan.
+ */
+class ValueObjectFastPathTest {
+
+    private static final Pattern ID_REGEX = Pattern.compile("^\\d{1,10}$");
+    private static final Pattern EMAIL_REGEX = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Test
+    void idShouldMatchRegexSemantics() {
+        List<String> inputs = List.of("1", "1234567890", " 1234567890 ", "12345678901", "12a4", "١٢٣", "-1", "0000000000", "12 34");
+        for (String input : inputs) {
+            boolean expected = ID_REGEX.matcher(input.trim()).matches();
+            assertEquals(expected, accepts(() -> new Id(input)), input);
+        }
+    }
+
+    @Test
+    void phoneShouldMatchRegexSemantics() {
+        List<String> inputs = List.of("3101234567", "(310) 123-4567", "310\t123\n4567", "31012345678", "310-123-456a", "6012345", "--", "()");
+        for (String input : inputs) {
+            String clean = input.replaceAll("[\\s\\-\\(\\)]", "");
+            boolean expected = ID_REGEX.matcher(clean).matches();
+            assertEquals(expected, accepts(() -> new Phone(input)), input);
+            if (expected) {
+                assertEquals(clean, new Phone(input).getValue());
+            }
+        }
+    }
+
+    @Test
+    void emailFormatShouldMatchRegexSemantics() {
+        List<String> inputs = List.of(
+            "roberto.silva@clinica.com", "a@b.co", "a@.co", "@b.co", "a@b.c", "a@b.c1", "a@b..co", "a@b.co.",
+            "a.b+c_d-e@sub.clinica.com", "a@b@c.com", "a b@c.com", " a@b.com", "a@b-c.com", "a@b.c-m", "a@bcom", "ñ@b.com", "a@b.COM");
+        for (String input : inputs) {
+            assertEquals(EMAIL_REGEX.matcher(input).matches(), Email.isWellFormed(input), input);
+        }
+    }
+
+    @Test
+    void dateParseShouldMatchFormatterIncludingSmartResolution() {
+        List<String> inputs = List.of("15/07/1985", "31/02/2001", "29/02/2024", "29/02/2023", "31/04/2020", "32/01/2020",
+            "00/01/2020", "15/13/2020", "15/00/2020", "01/01/0000", "1/01/2020", "15-07-1985", "15/07/85", "15/07/19851", "ab/cd/efgh");
+        for (String input : inputs) {
+            LocalDate expected = parseOrNull(() -> LocalDate.parse(input, FORMATTER));
+            LocalDate actual = parseOrNull(() -> DateOfBirth.parse(input));
+            assertEquals(expected, actual, input);
+        }
+    }
+
+    @Test
+    void trustedFactoriesShouldKeepPersistedValues() {
+        assertEquals("1111111111", Id.ofTrusted("1111111111").getValue());
+        assertEquals("3101234567", Phone.ofTrusted("3101234567").getValue());
+        assertEquals("roberto.silva@clinica.com", Email.ofTrusted("roberto.silva@clinica.com").getValue());
+        // Sin control de rango: una fila antigua se sigue pudiendo leer
+        assertEquals(LocalDate.of(1850, 1, 1), DateOfBirth.ofTrusted("01/01/1850").getValue());
+        assertThrows(IllegalArgumentException.class, () -> new DateOfBirth("01/01/1850"));
+        assertThrows(NullPointerException.class, () -> Id.ofTrusted(null));
+    }
+
+    private static boolean accepts(Runnable construction) {
+        try {
+            construction.run();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private interface DateParser {
+        LocalDate parse();
+    }
+
+    private static LocalDate parseOrNull(DateParser parser) {
+        try {
+            return parser.parse();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -8,9 +8,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 
+import app.clinic.domain.model.InvalidOrderStateException;
 import app.clinic.domain.model.entities.Billing;
 import app.clinic.domain.model.entities.Insurance;
 import app.clinic.domain.model.entities.Order;
@@ -29,6 +33,7 @@ import app.clinic.domain.model.valueobject.Phone;
 import app.clinic.domain.model.valueobject.Role;
 import app.clinic.domain.model.valueobject.Username;
 import app.clinic.domain.repository.BillingRepository;
+import app.clinic.domain.repository.MedicationStockRepository;
 import app.clinic.domain.repository.OrderRepository;
 import app.clinic.domain.repository.PatientRepository;
 import app.clinic.domain.repository.UserRepository;
@@ -48,12 +53,16 @@ class BillingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MedicationStockRepository medicationStockRepository;
+
     private BillingService billingService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        billingService = new BillingServiceImpl(billingRepository, patientRepository, orderRepository, userRepository);
+        billingService = new BillingServiceImpl(billingRepository, patientRepository, orderRepository, userRepository, medicationStockRepository);
+        when(orderRepository.markBilled(any())).thenReturn(true);
     }
 
     @Test
@@ -76,6 +85,7 @@ class BillingServiceTest {
         assertEquals(0.0, billing.getTotalCost()); // Order has no items, so total cost is 0
         verify(billingRepository).save(billing);
         verify(patientRepository).save(patient);
+        verify(medicationStockRepository).commit(orderNumber);
     }
 
     @Test
@@ -116,6 +126,23 @@ class BillingServiceTest {
         assertEquals(0.0, billing.getInsuranceCoverage());
     }
 
+    @Test
+    void shouldRefuseToBillCancelledOrder() {
+        // Given
+        OrderNumber orderNumber = new OrderNumber("000001");
+        Order order = new Order(orderNumber, "123456789", "doctor123", LocalDate.now(), "Diagnosis");
+        when(orderRepository.markBilled(orderNumber)).thenReturn(false);
+        when(orderRepository.isCancelled(orderNumber)).thenReturn(true);
+
+        Patient patient = new Patient(new Id("123456789"), "John Doe", new DateOfBirth("01/01/1990"), Gender.MASCULINO, new Address("123 Main St"), new Phone("3123456789"), new Email("john@example.com"), new EmergencyContact("Jane Doe", "Sister", new Phone("3123456789")), null);
+        User doctor = new User(new Credentials(new Username("doctor"), new Password("password")), "Dr. Smith", new Id("123456789"), new Email("doctor@example.com"), new Phone("3123456789"), new DateOfBirth("01/01/1980"), new Address("456 Main St"), Role.MEDICO);
+
+        // When & Then
+        assertThrows(InvalidOrderStateException.class, () -> billingService.generateBilling(order, patient, doctor, "admin-id"));
+        verify(billingRepository, never()).save(any());
+        verify(medicationStockRepository, never()).commit(any());
+    }
+
     @Test
     void shouldThrowExceptionForNullOrder() {
         // Given
@@ -2,6 +2,7 @@ package app.clinic.domain.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
@@ -19,6 +22,7 @@ import app.clinic.domain.model.entities.MedicationOrder;
 import app.clinic.domain.model.entities.Order;
 import app.clinic.domain.model.entities.ProcedureOrder;
 import app.clinic.domain.model.entities.User;
+import app.clinic.domain.model.valueobject.AuthenticatedUser;
 import app.clinic.domain.model.valueobject.Id;
 import app.clinic.domain.model.valueobject.OrderNumber;
 import app.clinic.domain.model.valueobject.Role;
@@ -62,14 +66,10 @@ class OrderServiceTest {
         String doctorId = "987654321";
         List<DiagnosticAidOrder> diagnosticAids = List.of(new DiagnosticAidOrder(new OrderNumber("000001"), 1, new Id("1234567933"), "1", false, null, 50000.0));
 
-        when(patientRepository.existsByIdentificationNumber(any(Id.class))).thenReturn(true);
-        when(orderRepository.existsByOrderNumber(any(OrderNumber.class))).thenReturn(false);
-        when(inventoryRepository.existsDiagnosticAidById(any(Id.class))).thenReturn(true);
-
         // Given
         when(patientRepository.existsByIdentificationNumber(any(Id.class))).thenReturn(true);
-        when(orderRepository.existsByOrderNumber(any(OrderNumber.class))).thenReturn(false);
-        when(inventoryRepository.existsDiagnosticAidById(any(Id.class))).thenReturn(true);
+        when(orderRepository.nextOrderNumber()).thenReturn(1L);
+        when(inventoryRepository.findExistingDiagnosticAidIds(any())).thenAnswer(invocation -> Set.copyOf(invocation.<Set<Id>>getArgument(0)));
         when(userRepository.findByIdentificationNumber(any(Id.class))).thenReturn(Optional.of(mockUser));
         when(mockUser.getRole()).thenReturn(Role.MEDICO);
         // Mock role check to do nothing
@@ -82,6 +82,24 @@ class OrderServiceTest {
         verify(orderRepository).save(order);
     }
 
+    @Test
+    void shouldCheckAuthenticatedDoctorWithoutLookingUpTheUser() {
+        // Given
+        AuthenticatedUser doctor = new AuthenticatedUser(new Id("987654321"), Role.MEDICO);
+        List<ProcedureOrder> procedures = List.of(new ProcedureOrder(new OrderNumber("000001"), 1, new Id("1234567935"), "1", "Daily", false, null, 20000.0));
+        when(patientRepository.existsByIdentificationNumber(any(Id.class))).thenReturn(true);
+        when(orderRepository.nextOrderNumber()).thenReturn(1L);
+        when(inventoryRepository.findExistingProcedureIds(any())).thenAnswer(invocation -> Set.copyOf(invocation.<Set<Id>>getArgument(0)));
+
+        // When
+        Order order = orderService.createProcedureOrder("123456789", doctor, procedures);
+
+        // Then: el rol viene del token y la orden queda a nombre del médico autenticado
+        assertEquals("987654321", order.getDoctorIdentificationNumber());
+        verify(roleBasedAccessService).checkAccess(Role.MEDICO, RoleBasedAccessService.Resource.ORDER, RoleBasedAccessService.Operation.WRITE);
+        verify(userRepository, never()).findByIdentificationNumber(any(Id.class));
+    }
+
     @Test
     void shouldThrowExceptionForNonExistentPatient() {
         // Given
@@ -104,14 +122,12 @@ class OrderServiceTest {
 
         // Mock patient and inventory existence
         when(patientRepository.existsByIdentificationNumber(any(Id.class))).thenReturn(true);
-        when(orderRepository.existsByOrderNumber(any(OrderNumber.class))).thenReturn(false);
-        when(inventoryRepository.existsMedicationById(any(Id.class))).thenReturn(true);
-        when(inventoryRepository.existsProcedureById(any(Id.class))).thenReturn(true);
+        when(orderRepository.nextOrderNumber()).thenReturn(1L);
+        when(inventoryRepository.findExistingMedicationIds(any())).thenAnswer(invocation -> Set.copyOf(invocation.<Set<Id>>getArgument(0)));
+        when(inventoryRepository.findExistingProcedureIds(any())).thenAnswer(invocation -> Set.copyOf(invocation.<Set<Id>>getArgument(0)));
 
         // Mock that patient has diagnostic aid orders
-        Order diagnosticOrder = new Order(new OrderNumber("000002"), patientId, doctorId, java.time.LocalDate.now());
-        diagnosticOrder.addDiagnosticAid(new DiagnosticAidOrder(new OrderNumber("000002"), 1, new Id("1234567937"), "1", false, null, 30000.0));
-        when(orderRepository.findByPatientIdentificationNumber(patientId)).thenReturn(List.of(diagnosticOrder));
+        when(orderRepository.existsDiagnosticAidOnlyOrderByPatient(patientId)).thenReturn(true);
 
         // When
         Order order = orderService.createPostDiagnosticOrder(patientId, doctorId, diagnosis, medications, procedures);
@@ -126,10 +142,47 @@ class OrderServiceTest {
     void shouldThrowExceptionForNonExistentMedication() {
         // Given
         when(patientRepository.existsByIdentificationNumber(any(Id.class))).thenReturn(true);
-        when(orderRepository.existsByOrderNumber(any(OrderNumber.class))).thenReturn(false);
-        when(inventoryRepository.existsMedicationById(any(Id.class))).thenReturn(false);
+        when(orderRepository.nextOrderNumber()).thenReturn(1L);
+        when(orderRepository.existsDiagnosticAidOnlyOrderByPatient("123456789")).thenReturn(true);
+        when(inventoryRepository.findExistingMedicationIds(any())).thenReturn(Set.of());
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> orderService.createPostDiagnosticOrder("123456789", "987654321", "Diagnosis", List.of(new MedicationOrder(new OrderNumber("000001"), 1, new Id("1234567936"), "10mg", "7 days", 10000.0)), List.of()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldValidateAllLinesWithOneQueryPerKind() {
+        // Given
+        String patientId = "123456789";
+        OrderNumber draft = new OrderNumber("000001");
+        List<MedicationOrder> medications = List.of(
+            new MedicationOrder(draft, 1, new Id("101"), "10mg", "7 days", 10000.0),
+            new MedicationOrder(draft, 2, new Id("102"), "5mg", "7 days", 10000.0),
+            new MedicationOrder(draft, 3, new Id("101"), "10mg", "3 days", 10000.0));
+        List<ProcedureOrder> procedures = List.of(
+            new ProcedureOrder(draft, 4, new Id("201"), "1", "Daily", false, null, 20000.0),
+            new ProcedureOrder(draft, 5, new Id("202"), "1", "Daily", false, null, 20000.0));
+
+        when(patientRepository.existsByIdentificationNumber(any(Id.class))).thenReturn(true);
+        when(orderRepository.existsDiagnosticAidOnlyOrderByPatient(patientId)).thenReturn(true);
+        when(orderRepository.nextOrderNumber()).thenReturn(42L);
+        when(inventoryRepository.findExistingMedicationIds(any())).thenReturn(Set.of(new Id("101"), new Id("102")));
+        when(inventoryRepository.findExistingProcedureIds(any())).thenReturn(Set.of(new Id("201"), new Id("202")));
+
+        // When
+        Order order = orderService.createPostDiagnosticOrder(patientId, "987654321", "Hypertension", medications, procedures);
+
+        // Then
+        assertEquals("000042", order.getOrderNumber().getValue());
+        verify(inventoryRepository, times(1)).findExistingMedicationIds(Set.of(new Id("101"), new Id("102")));
+        verify(inventoryRepository, times(1)).findExistingProcedureIds(Set.of(new Id("201"), new Id("202")));
+        verify(inventoryRepository, never()).existsMedicationById(any(Id.class));
+        verify(orderRepository, never()).existsByOrderNumber(any(OrderNumber.class));
+        verify(orderRepository, never()).findByPatientIdentificationNumber(patientId);
+
+        // Una sola línea inexistente rechaza la orden
+        when(inventoryRepository.findExistingProcedureIds(any())).thenReturn(Set.of(new Id("201")));
+        assertThrows(IllegalArgumentException.class,
+            () -> orderService.createPostDiagnosticOrder(patientId, "987654321", "Hypertension", medications, procedures));
+    }
+}
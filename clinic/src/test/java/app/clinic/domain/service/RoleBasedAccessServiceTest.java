@@ -1,12 +1,16 @@
 package app.clinic.domain.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import app.clinic.domain.model.DomainException;
 import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService.Operation;
+import app.clinic.domain.service.RoleBasedAccessService.Resource;
 
 class RoleBasedAccessServiceTest {
 
@@ -145,4 +149,35 @@ class RoleBasedAccessServiceTest {
         // When & Then
         assertThrows(DomainException.class, () -> roleBasedAccessService.checkAccess(role, resource));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldLetNursesReadButNotWriteOrders() {
+        assertTrue(roleBasedAccessService.isAllowed(Role.ENFERMERA, Resource.ORDER, Operation.READ));
+        assertFalse(roleBasedAccessService.isAllowed(Role.ENFERMERA, Resource.ORDER, Operation.WRITE));
+        assertThrows(DomainException.class, () -> roleBasedAccessService.checkAccess(Role.ENFERMERA, Resource.ORDER, Operation.WRITE));
+        assertDoesNotThrow(() -> roleBasedAccessService.checkAccess(Role.MEDICO, Resource.ORDER, Operation.WRITE));
+    }
+
+    @Test
+    void shouldGrantEveryResourceToDoctorsAndNoPatientDataToHROrSupport() {
+        for (Resource resource : Resource.values()) {
+            for (Operation operation : Operation.values()) {
+                assertTrue(roleBasedAccessService.isAllowed(Role.MEDICO, resource, operation));
+            }
+        }
+        for (Role role : new Role[] {Role.RECURSOS_HUMANOS, Role.SOPORTE_DE_INFORMACION}) {
+            assertFalse(roleBasedAccessService.isAllowed(role, Resource.PATIENT, Operation.READ));
+            assertThrows(DomainException.class, () -> roleBasedAccessService.validatePatientDataAccess(role, false));
+        }
+        assertTrue(roleBasedAccessService.isAllowed(Role.SOPORTE_DE_INFORMACION, Resource.SUPPORT_TICKET, Operation.WRITE));
+        assertFalse(roleBasedAccessService.isAllowed(Role.ENFERMERA, Resource.SUPPORT_TICKET, Operation.WRITE));
+    }
+
+    @Test
+    void shouldReserveFullMedicalRecordsToDoctors() {
+        assertDoesNotThrow(() -> roleBasedAccessService.validatePatientDataAccess(Role.MEDICO, true));
+        assertDoesNotThrow(() -> roleBasedAccessService.validatePatientDataAccess(Role.ENFERMERA, false));
+        assertThrows(DomainException.class, () -> roleBasedAccessService.validatePatientDataAccess(Role.ENFERMERA, true));
+        assertThrows(DomainException.class, () -> roleBasedAccessService.validatePatientDataAccess(Role.PERSONAL_ADMINISTRATIVO, true));
+    }
+}
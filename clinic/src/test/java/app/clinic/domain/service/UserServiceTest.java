@@ -1,13 +1,17 @@
 package app.clinic.domain.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
@@ -30,12 +34,15 @@ class UserServiceTest {
     @Mock
     private RoleBasedAccessService roleBasedAccessService;
 
+    @Mock
+    private PasswordHasher passwordHasher;
+
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserService(userRepository, validationService, roleBasedAccessService);
+        userService = new UserService(userRepository, validationService, roleBasedAccessService, passwordHasher);
     }
 
     @Test
@@ -52,12 +59,14 @@ class UserServiceTest {
         String password = "Password123!";
 
         when(userRepository.existsByIdentificationNumber(any(Id.class))).thenReturn(false);
+        when(passwordHasher.hash(password)).thenReturn("{bcrypt}$2a$10$hash");
 
         // When
         User user = userService.createUser(fullName, identificationNumber, email, phone, dateOfBirth, address, role, username, password);
 
         // Then
         assertNotNull(user);
+        assertEquals("{bcrypt}$2a$10$hash", user.getPassword().getValue());
         verify(userRepository).save(user);
         verify(validationService).validateCredentialsUniqueness(any(Credentials.class));
     }
@@ -114,4 +123,20 @@ class UserServiceTest {
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> userService.deleteUser("123456789"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReplaceOutdatedPasswordHashOnSuccessfulLogin() {
+        // Given
+        User user = mock(User.class);
+        when(user.getIdentificationNumber()).thenReturn(new Id("123456789"));
+        when(user.getPassword()).thenReturn(new Password("Password123!", true));
+        when(passwordHasher.verify("Password123!", "Password123!")).thenReturn(new PasswordHasher.Verification(true, "{bcrypt}$2a$12$new"));
+        when(passwordHasher.verify("Wrong123!", "Password123!")).thenReturn(new PasswordHasher.Verification(false, null));
+
+        // When & Then
+        assertFalse(userService.verifyPassword(user, "Wrong123!"));
+        verify(userRepository, never()).updatePasswordHash(any(), any());
+        assertTrue(userService.verifyPassword(user, "Password123!"));
+        verify(userRepository).updatePasswordHash(new Id("123456789"), "{bcrypt}$2a$12$new");
+    }
+}
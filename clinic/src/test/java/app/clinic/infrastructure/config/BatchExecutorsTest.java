@@ -0,0 +1,53 @@
+package app.clinic.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.mock.env.MockEnvironment;
+
+class BatchExecutorsTest {
+
+    @Test
+    void shouldUseDaemonPlatformThreadsByDefault() throws Exception {
+        BatchExecutors executors = new BatchExecutors(new MockEnvironment());
+        assertFalse(executors.isVirtualThreads());
+
+        ExecutorService pool = executors.newFixedThreadPool("export", 2);
+        try {
+            Thread worker = pool.submit(Thread::currentThread).get();
+            assertEquals("export-1", worker.getName());
+            assertTrue(worker.isDaemon());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldIgnoreTheVirtualThreadsFlagBeforeJava21() {
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+        // Igual que Spring Boot: en JDK 17 la propiedad no tiene efecto
+        assertEquals(Runtime.version().feature() >= 21, new BatchExecutors(environment).isVirtualThreads());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldRunBatchPoolsOnVirtualThreadsWhenEnabled() throws Exception {
+        BatchExecutors executors = new BatchExecutors(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+
+        ExecutorService pool = executors.newFixedThreadPool("datagen", 2);
+        try {
+            Thread worker = pool.submit(Thread::currentThread).get();
+            assertTrue(worker.getName().startsWith("datagen-"));
+            // Thread.isVirtual() no existe al compilar con release 17
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(worker));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package app.clinic.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import app.clinic.application.usecase.GetPatientUseCase;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.repository.PatientRepository;
+import app.clinic.domain.service.PatientService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LatencyMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private LatencyMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new LatencyMetricsAspect(registry);
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Test
+    void shouldTimeUseCaseExecutionsByOutcome() {
+        PatientService patientService = mock(PatientService.class);
+        when(patientService.findPatientById(anyString(), any())).thenReturn(null)
+            .thenThrow(new IllegalArgumentException("Patient not found"));
+        GetPatientUseCase useCase = proxy(new GetPatientUseCase(patientService));
+
+        useCase.execute("123", Role.MEDICO);
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute("123", Role.MEDICO));
+
+        Timer success = registry.find(LatencyMetricsAspect.USE_CASE_METRIC)
+            .tags("usecase", "GetPatientUseCase", "outcome", "success").timer();
+        Timer error = registry.find(LatencyMetricsAspect.USE_CASE_METRIC)
+            .tags("usecase", "GetPatientUseCase", "outcome", "error").timer();
+        assertNotNull(success);
+        assertNotNull(error);
+        assertEquals(1, success.count());
+        assertEquals(1, error.count());
+    }
+
+    @Test
+    void shouldTimeRepositoryPortMethodsWithMethodTag() {
+        PatientRepository repository = proxy(mock(PatientRepository.class));
+
+        repository.existsByIdentificationNumber(new Id("123"));
+        repository.existsByIdentificationNumber(new Id("456"));
+        repository.findAll();
+
+        Timer exists = registry.find(LatencyMetricsAspect.REPOSITORY_METRIC)
+            .tags("method", "existsByIdentificationNumber", "outcome", "success").timer();
+        Timer findAll = registry.find(LatencyMetricsAspect.REPOSITORY_METRIC)
+            .tags("method", "findAll", "outcome", "success").timer();
+        assertNotNull(exists);
+        assertNotNull(findAll);
+        assertEquals(2, exists.count());
+        assertEquals(1, findAll.count());
+    }
+}
@@ -179,4 +179,18 @@ class AuthControllerTest {
         verify(authService, never()).authenticate(anyString(), anyString());
     }
 
-}
\ No newline at end of file
+    @Test
+    void logout_WithBearerToken_ShouldRevokeSession() {
+        ResponseEntity<Void> response = authController.logout("Bearer jwt-token");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(authService).logout("jwt-token");
+    }
+
+    @Test
+    void logout_WithoutToken_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> authController.logout(null));
+
+        verify(authService, never()).logout(anyString());
+    }
+}
@@ -0,0 +1,28 @@
+package app.clinic.infrastructure.persistence;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+
+/**
+ * Base de datos H2 en memoria con las migraciones de Flyway aplicadas, para las pruebas de los repositorios
+ * y servicios JDBC. Cada llamada crea una base nueva, así que cada prueba parte del esquema recién migrado
+ * con los datos iniciales de V2.
+ */
+public final class H2TestDatabase {
+
+    private H2TestDatabase() {
+    }
+
+    /**
+     * @param name prefijo del nombre de la base, solo para identificarla en los errores de H2
+     */
+    public static DataSource migrated(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        return dataSource;
+    }
+}
@@ -0,0 +1,160 @@
+package app.clinic.infrastructure.persistence.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.domain.model.entities.SupportTicket;
+import app.clinic.domain.model.valueobject.SupportTicketId;
+import app.clinic.domain.model.valueobject.SupportTicketPriority;
+import app.clinic.infrastructure.config.SupportDispatchProperties;
+import app.clinic.infrastructure.persistence.H2TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SupportTicketDispatcherTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = H2TestDatabase.migrated("dispatch");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        // Los tickets de ejemplo de V2 no intervienen
+        jdbcTemplate.update("DELETE FROM support_tickets");
+    }
+
+    private void insertOpenTicket(String id, String team, SupportTicketPriority priority, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO support_tickets (id, user_id, issue_description, created_at, status, priority, team) "
+            + "VALUES (?, '1234567890', 'Incidencia', ?, 'open', ?, ?)", id, Timestamp.valueOf(createdAt), priority.name(), team);
+    }
+
+    private String assignee(String id) {
+        return jdbcTemplate.queryForObject("SELECT assigned_to FROM support_tickets WHERE id = ? AND status = 'in_progress'",
+            String.class, id);
+    }
+
+    private static String next(SupportTicketDispatcher dispatcher, String agentId, String team) {
+        return dispatcher.dispatchNext(agentId, team).map(SupportTicketId::getValue).orElse(null);
+    }
+
+    @Test
+    void shouldDispatchEarliestDeadlineOfTheAgentTeamAndStealWhenItRunsDry() {
+        LocalDateTime now = LocalDateTime.now();
+        // NORMAL vence a las 4 h de crearse y URGENT a los 15 min: el urgente reciente va antes que el normal antiguo
+        insertOpenTicket("1", "redes", SupportTicketPriority.NORMAL, now.minusHours(2));
+        insertOpenTicket("2", "redes", SupportTicketPriority.URGENT, now);
+        insertOpenTicket("3", "redes", SupportTicketPriority.LOW, now.minusHours(1));
+        insertOpenTicket("4", "historias", SupportTicketPriority.HIGH, now);
+        insertOpenTicket("5", "historias", SupportTicketPriority.NORMAL, now);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SupportTicketDispatcher dispatcher = new SupportTicketDispatcher(jdbcTemplate, new SupportDispatchProperties(), registry);
+        dispatcher.load();
+        assertEquals(5, dispatcher.queuedTickets());
+
+        assertEquals("2", next(dispatcher, "9988776655", "redes"));
+        assertEquals("9988776655", assignee("2"));
+        assertEquals("1", next(dispatcher, "9988776655", "redes"));
+
+        // Asignado a mano en otra instancia: el UPDATE condicionado lo descarta y sigue con el siguiente
+        jdbcTemplate.update("UPDATE support_tickets SET status = 'in_progress', assigned_to = '1122334455' WHERE id = '3'");
+        // Un equipo sin cola roba de la que vence antes
+        assertEquals("4", next(dispatcher, "5566778899", "facturacion"));
+        assertEquals("1122334455", jdbcTemplate.queryForObject("SELECT assigned_to FROM support_tickets WHERE id = '3'", String.class));
+
+        // Cerrado desde la aplicación: sale de la cola sin esperar a llegar a la cabeza
+        dispatcher.remove(new SupportTicketId("5"));
+        assertEquals(Optional.empty(), dispatcher.dispatchNext("9988776655", "redes"));
+        assertEquals(0, dispatcher.queuedTickets());
+
+        assertEquals(2, registry.get(SupportTicketDispatcher.DISPATCH_METRIC).tag("result", "own-team").counter().count());
+        assertEquals(1, registry.get(SupportTicketDispatcher.DISPATCH_METRIC).tag("result", "stolen").counter().count());
+        assertEquals(1, registry.get(SupportTicketDispatcher.DISPATCH_METRIC).tag("result", "empty").counter().count());
+    }
+
+    @Test
+    void shouldCountBreachesOnlyForTicketsStillQueuedAtTheirDeadline() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SupportTicketDispatcher dispatcher = new SupportTicketDispatcher(jdbcTemplate, new SupportDispatchProperties(), registry);
+        LocalDateTime createdAt = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+        insertOpenTicket("10", "general", SupportTicketPriority.URGENT, createdAt);
+        insertOpenTicket("11", "general", SupportTicketPriority.URGENT, createdAt);
+        dispatcher.enqueue(new SupportTicket(new SupportTicketId("10"), "1234567890", "Incidencia", createdAt,
+            SupportTicketPriority.URGENT, "General"));
+        dispatcher.enqueue(new SupportTicket(new SupportTicketId("11"), "1234567890", "Incidencia", createdAt,
+            SupportTicketPriority.URGENT, "general"));
+        assertEquals("10", next(dispatcher, "9988776655", "general"));
+
+        assertEquals(0, dispatcher.checkSlaDeadlines(start + 60_000L));
+        // 15 minutos después, el ticket 11 sigue sin asignar; el 10 se tomó a tiempo
+        assertEquals(1, dispatcher.checkSlaDeadlines(start + 16 * 60_000L));
+        assertEquals(1, registry.get(SupportTicketDispatcher.SLA_BREACHES_METRIC).tag("priority", "urgent").counter().count());
+        assertEquals(0, dispatcher.checkSlaDeadlines(start + 60 * 60_000L));
+        assertEquals("11", next(dispatcher, "9988776655", "general"));
+    }
+
+    @Test
+    void shouldKeepTicketsQueuedWhenTheTransactionRollsBack() {
+        SupportTicketDispatcher dispatcher = new SupportTicketDispatcher(jdbcTemplate, new SupportDispatchProperties(),
+            new SimpleMeterRegistry());
+        long start = System.currentTimeMillis();
+        insertOpenTicket("20", "redes", SupportTicketPriority.URGENT, LocalDateTime.now());
+        insertOpenTicket("21", "redes", SupportTicketPriority.LOW, LocalDateTime.now());
+        dispatcher.load();
+
+        // Asignación deshecha, como cuando falla el resto del caso de uso: la fila sigue abierta
+        transactionTemplate.executeWithoutResult(status -> {
+            assertEquals("20", next(dispatcher, "9988776655", "redes"));
+            status.setRollbackOnly();
+        });
+        // Cierre deshecho
+        transactionTemplate.executeWithoutResult(status -> {
+            dispatcher.remove(new SupportTicketId("21"));
+            status.setRollbackOnly();
+        });
+        assertEquals(2, dispatcher.queuedTickets());
+        // El plazo del ticket devuelto a la cola se sigue vigilando
+        assertEquals(1, dispatcher.checkSlaDeadlines(start + 16 * 60_000L));
+
+        // Confirmada, la asignación lo saca de la cola y de los plazos
+        assertEquals("20", transactionTemplate.execute(status -> next(dispatcher, "9988776655", "redes")));
+        assertEquals("9988776655", assignee("20"));
+        assertEquals(1, dispatcher.queuedTickets());
+        assertEquals("21", next(dispatcher, "9988776655", "redes"));
+        assertEquals(0, dispatcher.checkSlaDeadlines(start + 24 * 60 * 60_000L));
+    }
+
+    @Test
+    void shouldFireTimersAfterSeveralWheelTurnsAndSkipCancelledOnes() {
+        SlaTimerWheel wheel = new SlaTimerWheel(1000L, 8, 0L);
+        wheel.schedule("corto", 2500L);
+        wheel.schedule("largo", 20_500L);
+        wheel.schedule("cancelado", 3500L);
+        assertTrue(wheel.cancel("cancelado"));
+        assertFalse(wheel.cancel("cancelado"));
+
+        assertEquals(List.of(), wheel.advance(2999L));
+        assertEquals(List.of("corto"), wheel.advance(3000L));
+        // Ranura del largo visitada en vueltas anteriores sin dispararse
+        assertEquals(List.of(), wheel.advance(20_999L));
+        assertEquals(1, wheel.size());
+        // Un salto de más de una vuelta recorre cada ranura una vez
+        assertEquals(List.of("largo"), wheel.advance(100_000L));
+        assertEquals(0, wheel.size());
+    }
+}
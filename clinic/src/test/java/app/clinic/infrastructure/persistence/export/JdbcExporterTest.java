@@ -0,0 +1,284 @@
+package app.clinic.infrastructure.persistence.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JdbcExporterTest {
+
+    private static final int ORDERS = 2500;
+    private static final int PATIENTS = 1000;
+    private static final int READINGS_PER_PATIENT = 10;
+    private static final LocalDateTime FIRST_READING = LocalDateTime.of(2026, 1, 15, 8, 30, 0, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    private JdbcDataSource dataSource;
+    private ExecutorService executor;
+    private JdbcExporter exporter;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:export-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders (order_number VARCHAR(10) PRIMARY KEY, patient_identification_number VARCHAR(20) NOT NULL, "
+                + "doctor_identification_number VARCHAR(20) NOT NULL, date DATE NOT NULL, diagnosis TEXT)");
+            statement.execute("CREATE TABLE vital_signs (patient_identification_number VARCHAR(20) NOT NULL, date_time TIMESTAMP NOT NULL, "
+                + "blood_pressure VARCHAR(20), temperature DECIMAL(4,1), pulse INTEGER, oxygen_level INTEGER, observations TEXT, "
+                + "PRIMARY KEY (patient_identification_number, date_time))");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO orders VALUES (?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < ORDERS; i++) {
+                    insert.setString(1, String.format("%06d", i));
+                    insert.setString(2, "P" + (i % 97));
+                    insert.setString(3, "D1");
+                    insert.setObject(4, LocalDate.of(2026, 1, 1).plusDays(i % 365));
+                    insert.setString(5, diagnosis(i));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO vital_signs VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int p = 0; p < PATIENTS; p++) {
+                    for (int r = 0; r < READINGS_PER_PATIENT; r++) {
+                        insert.setString(1, String.format("%08d", p));
+                        insert.setObject(2, FIRST_READING.plusHours(r));
+                        insert.setString(3, r % 3 == 0 ? null : "120/80");
+                        insert.setBigDecimal(4, new BigDecimal("36.5").add(BigDecimal.valueOf(r, 1)));
+                        if (r == 5) {
+                            insert.setNull(5, Types.INTEGER);
+                        } else {
+                            insert.setInt(5, 60 + r);
+                        }
+                        insert.setInt(6, 98);
+                        insert.setString(7, "Observación ñ " + r);
+                        insert.addBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        }
+        executor = Executors.newFixedThreadPool(3);
+        exporter = new JdbcExporter(dataSource, 100, 4096);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.shutdownNow();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    private static String diagnosis(int i) {
+        switch (i % 4) {
+            case 0:
+                return null;
+            case 1:
+                return "Gripe, leve";
+            case 2:
+                return "Dijo \"dolor\"\nen la noche";
+            default:
+                return "Control";
+        }
+    }
+
+    @Test
+    void shouldWriteSameCsvWithCompressedParallelPartitions() throws IOException {
+        Path single = directory.resolve("orders.csv");
+        Path parallel = directory.resolve("orders.csv.gz");
+        CountingProgress progress = new CountingProgress();
+
+        long total = exporter.countRows(ExportDataset.ORDERS);
+        assertEquals(ORDERS, exporter.export(ExportDataset.ORDERS, ExportFormat.CSV, false, 1, total, single, executor, new CountingProgress()));
+        assertEquals(ORDERS, exporter.export(ExportDataset.ORDERS, ExportFormat.CSV, true, 3, total, parallel, executor, progress));
+        assertEquals(ORDERS, progress.rows.get());
+
+        // Cada partición es un miembro gzip; GZIPInputStream los lee de corrido
+        byte[] expected = Files.readAllBytes(single);
+        byte[] actual;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(parallel))) {
+            actual = in.readAllBytes();
+        }
+        assertArrayEquals(expected, actual);
+
+        String csv = new String(expected, StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("order_number,patient_identification_number,doctor_identification_number,date,diagnosis\n"
+            + "000000,P0,D1,2026-01-01,\n"
+            + "000001,P1,D1,2026-01-02,\"Gripe, leve\"\n"
+            + "000002,P2,D1,2026-01-03,\"Dijo \"\"dolor\"\"\nen la noche\"\n"));
+        assertTrue(csv.endsWith("002499,P74,D1," + LocalDate.of(2026, 1, 1).plusDays(2499 % 365) + ",Control\n"));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count(), "partial files must be removed");
+        }
+    }
+
+    @Test
+    void shouldWriteColumnarBlocksAcrossPartitions() throws IOException {
+        Path target = directory.resolve("vital_signs.ccol");
+        long total = exporter.countRows(ExportDataset.VITAL_SIGNS);
+
+        assertEquals(PATIENTS * READINGS_PER_PATIENT,
+            exporter.export(ExportDataset.VITAL_SIGNS, ExportFormat.COLUMNAR, false, 2, total, target, executor, new CountingProgress()));
+
+        List<Object[]> rows = readColumnar(Files.readAllBytes(target));
+        assertEquals(PATIENTS * READINGS_PER_PATIENT, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            int patient = i / READINGS_PER_PATIENT;
+            int reading = i % READINGS_PER_PATIENT;
+            Object[] row = rows.get(i);
+            assertEquals(String.format("%08d", patient), row[0]);
+            assertEquals(FIRST_READING.plusHours(reading).withNano(123_456_000), row[1]);
+            assertEquals(reading % 3 == 0 ? null : "120/80", row[2]);
+            assertEquals(new BigDecimal("36.5").add(BigDecimal.valueOf(reading, 1)), row[3]);
+            assertEquals(reading == 5 ? null : 60L + reading, row[4]);
+            assertEquals("Observación ñ " + reading, row[6]);
+        }
+    }
+
+    @Test
+    void shouldStopAndRemovePartialFilesWhenCancelled() throws IOException {
+        Path target = directory.resolve("vital_signs.csv");
+        CountingProgress progress = new CountingProgress();
+        progress.cancelled = true;
+        long total = exporter.countRows(ExportDataset.VITAL_SIGNS);
+
+        assertThrows(CancellationException.class,
+            () -> exporter.export(ExportDataset.VITAL_SIGNS, ExportFormat.CSV, true, 3, total, target, executor, progress));
+
+        assertFalse(Files.exists(target));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static class CountingProgress implements JdbcExporter.Progress {
+        private final AtomicLong rows = new AtomicLong();
+        private volatile boolean cancelled;
+
+        @Override
+        public void rowsWritten(long rows) {
+            this.rows.addAndGet(rows);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    // Lector mínimo del formato descrito en ColumnarRowWriter
+    private static List<Object[]> readColumnar(byte[] file) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file));
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        assertArrayEquals(ColumnarRowWriter.MAGIC, magic);
+        assertEquals(ColumnarRowWriter.VERSION, in.readUnsignedByte());
+
+        int columnCount = (int) readVarLong(in);
+        ExportColumn.Type[] types = new ExportColumn.Type[columnCount];
+        int[] scales = new int[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            in.readNBytes((int) readVarLong(in));
+            types[c] = ExportColumn.Type.values()[in.readUnsignedByte()];
+            if (types[c] == ExportColumn.Type.DECIMAL) {
+                scales[c] = in.readUnsignedByte();
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        int blockRows;
+        while ((blockRows = (int) readVarLong(in)) > 0) {
+            assertTrue(blockRows <= ColumnarRowWriter.BLOCK_ROWS);
+            Object[][] block = new Object[blockRows][columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                byte[] nulls = in.readNBytes((blockRows + 7) / 8);
+                DataInputStream values = new DataInputStream(new ByteArrayInputStream(in.readNBytes((int) readVarLong(in))));
+                byte[] booleans = types[c] == ExportColumn.Type.BOOLEAN ? values.readAllBytes() : null;
+                for (int r = 0; r < blockRows; r++) {
+                    if ((nulls[r >>> 3] & (1 << (r & 7))) != 0) {
+                        continue;
+                    }
+                    block[r][c] = readValue(values, types[c], scales[c], booleans, r);
+                }
+            }
+            rows.addAll(List.of(block));
+        }
+        assertEquals(-1, in.read(), "trailer must be the last byte");
+        return rows;
+    }
+
+    private static Object readValue(DataInputStream values, ExportColumn.Type type, int scale, byte[] booleans, int row) throws IOException {
+        switch (type) {
+            case STRING:
+                return new String(values.readNBytes((int) readVarLong(values)), StandardCharsets.UTF_8);
+            case LONG:
+                return unzigzag(readVarLong(values));
+            case DECIMAL:
+                return new BigDecimal(BigInteger.valueOf(unzigzag(readVarLong(values))), scale);
+            case BOOLEAN:
+                return (booleans[row >>> 3] & (1 << (row & 7))) != 0;
+            case DATE:
+                return LocalDate.ofEpochDay(unzigzag(readVarLong(values)));
+            case TIMESTAMP: {
+                long micros = unzigzag(readVarLong(values));
+                return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            }
+            default:
+                throw new IllegalStateException("Unknown type " + type);
+        }
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,105 @@
+package app.clinic.infrastructure.persistence.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import app.clinic.domain.model.entities.Billing;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.entities.Patient;
+import app.clinic.domain.model.entities.VitalSigns;
+import app.clinic.domain.model.valueobject.Role;
+
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2026, 1, 15);
+
+    private SyntheticDataGenerator generator(long seed) {
+        return new SyntheticDataGenerator(seed, 100, 1000, 1, 3, 20, REFERENCE_DATE);
+    }
+
+    @Test
+    void shouldGenerateSameEntitiesForSameSeedInAnyOrder() {
+        SyntheticDataGenerator first = generator(7);
+        SyntheticDataGenerator second = generator(7);
+
+        // Orden inverso: cada índice es independiente de los anteriores
+        Patient later = second.patient(500);
+        Patient earlier = second.patient(3);
+
+        assertEquals(first.patient(3).getFullName(), earlier.getFullName());
+        assertEquals(first.patient(500).getEmail().getValue(), later.getEmail().getValue());
+        assertEquals(first.order(42).getPatientIdentificationNumber(), second.order(42).getPatientIdentificationNumber());
+        assertEquals(Billing.calculateTotalCostFromOrder(first.order(42)), Billing.calculateTotalCostFromOrder(second.order(42)));
+    }
+
+    @Test
+    void shouldGenerateDifferentDataForDifferentSeeds() {
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            first.append(generator(1).patient(i).getPhone().getValue());
+            second.append(generator(2).patient(i).getPhone().getValue());
+        }
+        assertNotEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    void shouldReferenceOnlyGeneratedPatientsAndDoctors() {
+        SyntheticDataGenerator generator = generator(42);
+        for (int i = 0; i < 2000; i++) {
+            Order order = generator.order(i);
+            long patientIndex = Long.parseLong(order.getPatientIdentificationNumber()) - SyntheticDataGenerator.PATIENT_ID_BASE;
+            long doctorIndex = Long.parseLong(order.getDoctorIdentificationNumber()) - SyntheticDataGenerator.USER_ID_BASE;
+
+            assertTrue(patientIndex >= 0 && patientIndex < 1000);
+            assertTrue(doctorIndex >= 0 && doctorIndex < 100);
+            assertEquals(Role.MEDICO, SyntheticDataGenerator.roleOf(doctorIndex));
+            assertFalse(order.getMedications().isEmpty() && order.getProcedures().isEmpty() && order.getDiagnosticAids().isEmpty());
+        }
+    }
+
+    @Test
+    void shouldNumberOrdersFromFirstOrderNumber() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42, 100, 1000, 4, 3, 20, REFERENCE_DATE);
+
+        assertEquals("000004", generator.order(0).getOrderNumber().getValue());
+        assertEquals("000104", generator.order(100).getOrderNumber().getValue());
+    }
+
+    @Test
+    void shouldKeepVitalSignsKeysUniquePerPatient() {
+        SyntheticDataGenerator generator = generator(42);
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            VitalSigns signs = generator.vitalSigns(i);
+            assertTrue(keys.add(signs.getPatientIdentificationNumber() + "|" + signs.getDateTime()));
+        }
+    }
+
+    @Test
+    void shouldBillOrderTotalsWithDomainCopayRules() {
+        SyntheticDataGenerator generator = generator(42);
+        for (int i = 0; i < 200; i++) {
+            Billing billing = generator.billing(i);
+            Order order = generator.order(i);
+
+            assertEquals(order.getOrderNumber(), billing.getOrderNumber());
+            assertEquals(Billing.calculateTotalCostFromOrder(order), billing.getTotalCost(), 0.001);
+            assertEquals(order.getPatientIdentificationNumber(), billing.getIdentificationNumber());
+        }
+    }
+
+    @Test
+    void shouldRejectTooFewUsers() {
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataGenerator(42, 5, 1000, 1, 3, 20, REFERENCE_DATE));
+    }
+}
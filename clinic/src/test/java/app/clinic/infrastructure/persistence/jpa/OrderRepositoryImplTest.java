@@ -0,0 +1,100 @@
+package app.clinic.infrastructure.persistence.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.domain.model.valueobject.OrderNumber;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
+
+/**
+ * Facturación y cancelación de una misma orden desde transacciones distintas, como dos peticiones
+ * simultáneas: sin la transacción de prueba de @DataJpaTest, cada una confirma por su cuenta.
+ */
+@DataJpaTest
+@Import({OrderRepositoryImpl.class, PatientSummaryRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderRepositoryImplTest {
+    private static final OrderNumber ORDER = new OrderNumber("900001");
+
+    @Autowired
+    private OrderRepositoryImpl orders;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM orders WHERE order_number = ?", ORDER.getValue());
+        jdbcTemplate.update("INSERT INTO orders (order_number, patient_identification_number, doctor_identification_number, date) "
+            + "VALUES (?, '1111111111', '1234567890', CURRENT_DATE)", ORDER.getValue());
+    }
+
+    private boolean inTransaction(BooleanSupplier work) {
+        return transactionTemplate.execute(status -> work.getAsBoolean());
+    }
+
+    @Test
+    void shouldNotCancelAnOrderWhoseBillingCommitsFirst() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch cancelStarted = new CountDownLatch(1);
+        CompletableFuture<Boolean> billing = CompletableFuture.supplyAsync(() -> inTransaction(() -> {
+            boolean billed = orders.markBilled(ORDER);
+            claimed.countDown();
+            try {
+                // La fila sigue bloqueada por la facturación mientras la cancelación intenta cambiarla
+                cancelStarted.await(5, TimeUnit.SECONDS);
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return billed;
+        }));
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> cancel = CompletableFuture.supplyAsync(() -> {
+            cancelStarted.countDown();
+            return inTransaction(() -> orders.cancel(ORDER));
+        });
+
+        assertTrue(billing.get(10, TimeUnit.SECONDS));
+        assertFalse(cancel.get(10, TimeUnit.SECONDS));
+        assertTrue(orders.isBilled(ORDER));
+        assertFalse(orders.isCancelled(ORDER));
+    }
+
+    @Test
+    void shouldNotBillACancelledOrderNorBillTwice() {
+        assertTrue(inTransaction(() -> orders.cancel(ORDER)));
+        assertFalse(inTransaction(() -> orders.markBilled(ORDER)));
+        assertFalse(orders.isBilled(ORDER));
+
+        jdbcTemplate.update("UPDATE orders SET cancelled_at = NULL WHERE order_number = ?", ORDER.getValue());
+        assertTrue(inTransaction(() -> orders.markBilled(ORDER)));
+        assertFalse(inTransaction(() -> orders.markBilled(ORDER)));
+        assertFalse(inTransaction(() -> orders.cancel(ORDER)));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE order_number = ? AND billed_at IS NOT NULL",
+            Integer.class, ORDER.getValue()));
+    }
+}
@@ -0,0 +1,108 @@
+package app.clinic.infrastructure.persistence.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.infrastructure.config.JwtProperties;
+import app.clinic.infrastructure.config.TokenRevocationProperties;
+import app.clinic.infrastructure.persistence.H2TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RevokedSessionStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = H2TestDatabase.migrated("revocation");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // Cada instancia sobre la misma base de datos equivale a otro nodo de la aplicación
+    private RevokedSessionStore openStore(SimpleMeterRegistry registry) {
+        RevokedSessionStore store = new RevokedSessionStore(jdbcTemplate, new JwtProperties(), new TokenRevocationProperties(), registry);
+        store.load();
+        return store;
+    }
+
+    @Test
+    void shouldRejectRevokedSessionsOnEveryInstanceOnceSynced() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RevokedSessionStore local = openStore(registry);
+        RevokedSessionStore remote = openStore(new SimpleMeterRegistry());
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        local.revoke("session-1", expiresAt);
+        local.revoke("session-1", expiresAt);
+        assertTrue(local.isRevoked("session-1"));
+        assertFalse(local.isRevoked("session-2"));
+        assertEquals(1, registry.get(RevokedSessionStore.LOOKUPS_METRIC).tag("result", "revoked").counter().count());
+
+        // La otra instancia solo se entera en su siguiente lectura de la tabla
+        assertFalse(remote.isRevoked("session-1"));
+        assertEquals(1, remote.sync());
+        assertTrue(remote.isRevoked("session-1"));
+
+        // Al arrancar se cargan las revocaciones vigentes; las de tokens caducados no se guardan
+        local.revoke("session-expired", Instant.now().minusSeconds(1));
+        assertTrue(openStore(new SimpleMeterRegistry()).isRevoked("session-1"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revoked_sessions", Integer.class));
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeTheUserWasRevoked() {
+        RevokedSessionStore store = openStore(new SimpleMeterRegistry());
+        // iat del token en segundos, como en el JWT
+        Instant issuedBefore = Instant.now().minusSeconds(5).truncatedTo(ChronoUnit.SECONDS);
+
+        assertFalse(store.isUserRevoked("1234567890", issuedBefore));
+        store.revokeUserSessions(new Id("1234567890"));
+        store.revokeUserSessions(new Id("1234567890"));
+
+        assertTrue(store.isUserRevoked("1234567890", issuedBefore));
+        assertFalse(store.isUserRevoked("1234567890", Instant.now().plusSeconds(1)));
+        assertFalse(store.isUserRevoked("1234567891", issuedBefore));
+        // Misma tabla, clave propia: no se confunde con un identificador de sesión
+        assertFalse(store.isRevoked("1234567890"));
+    }
+
+    @Test
+    void shouldKeepKeysForAllButTheLastRotationWithoutFalseNegatives() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(4, 1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("session-" + i);
+        }
+        for (int rotation = 0; rotation < 3; rotation++) {
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(filter.mightContain("session-" + i));
+            }
+            filter.rotate();
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("session-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            falsePositives += filter.mightContain(UUID.randomUUID().toString()) ? 1 : 0;
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+
+        // La generación más antigua sale al rotar otra vez
+        filter.rotate();
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.mightContain("session-" + i));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package app.clinic.infrastructure.persistence.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final long WINDOW_MILLIS = 5000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private SwitchableDataSource replica1;
+    private SwitchableDataSource replica2;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    // Réplica que se puede "apagar" para simular una caída
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+        volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLTransientConnectionException("replica unreachable");
+            }
+            return super.getConnection();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        registry = new SimpleMeterRegistry();
+        replica1 = new SwitchableDataSource(database("replica-1"));
+        replica2 = new SwitchableDataSource(database("replica-2"));
+        LinkedHashMap<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routing = new ReadWriteRoutingDataSource(database("primary"), replicas, WINDOW_MILLIS, registry, clock::get);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        dataSource.checkDefaultConnectionProperties();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Cada base en memoria responde con su propio nombre a SELECT name FROM origin
+    private static DataSource database(String name) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE origin (name VARCHAR(20))");
+            statement.execute("INSERT INTO origin VALUES ('" + name + "')");
+            statement.execute("CREATE TABLE notes (text VARCHAR(20))");
+        }
+        return dataSource;
+    }
+
+    private String readInScope() {
+        ReadWriteRoutingDataSource.enterReadOnlyScope();
+        try {
+            return readOnly.execute(status -> origin());
+        } finally {
+            ReadWriteRoutingDataSource.exitReadOnlyScope();
+        }
+    }
+
+    private String origin() {
+        return jdbc.queryForObject("SELECT name FROM origin", String.class);
+    }
+
+    private void write() {
+        readWrite.executeWithoutResult(status -> jdbc.update("INSERT INTO notes VALUES ('x')"));
+    }
+
+    private double routed(String target, String reason) {
+        return registry.get(ReadWriteRoutingDataSource.ROUTE_METRIC).tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            username, null, List.of(new SimpleGrantedAuthority("ROLE_MEDICO"))));
+    }
+
+    @Test
+    void shouldSendOnlyReadOnlyScopedTransactionsToReplicas() {
+        double nonTransactionalBefore = routed("primary", "non-transactional");
+        assertEquals("replica-1", readInScope());
+        assertEquals("replica-2", readInScope());
+        assertEquals("replica-1", readInScope());
+
+        // Transacción de solo lectura fuera de un caso de uso de consulta, sin transacción y de escritura
+        assertEquals("primary", readOnly.execute(status -> origin()));
+        assertEquals("primary", origin());
+        ReadWriteRoutingDataSource.enterReadOnlyScope();
+        try {
+            assertEquals("primary", readWrite.execute(status -> origin()));
+        } finally {
+            ReadWriteRoutingDataSource.exitReadOnlyScope();
+        }
+
+        assertEquals(2, routed("replica-1", "read"));
+        assertEquals(1, routed("replica-2", "read"));
+        assertEquals(1, routed("primary", "read"));
+        assertEquals(1, routed("primary", "write"));
+        assertEquals(1, routed("primary", "non-transactional") - nonTransactionalBefore);
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimaryDuringWindow() {
+        authenticate("jperez");
+        assertEquals("replica-1", readInScope());
+
+        write();
+        assertEquals("primary", readInScope());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS - 1));
+        assertEquals("primary", readInScope());
+
+        // Otro usuario no se ve afectado por la escritura de jperez
+        authenticate("mgonzalez");
+        assertEquals("replica-2", readInScope());
+
+        authenticate("jperez");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals("replica-1", readInScope());
+        assertEquals(2, routed("primary", "read-your-writes"));
+
+        // Una transacción que se deshace no cuenta como escritura
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("INSERT INTO notes VALUES ('y')");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica-2", readInScope());
+    }
+
+    @Test
+    void shouldNotStickToPrimaryAfterReadsOnIt() {
+        authenticate("jperez");
+
+        // Lectura sin transacción y transacción de lectura/escritura que solo lee: ambas en el primario
+        assertEquals("primary", origin());
+        assertEquals("primary", readWrite.execute(status -> origin()));
+        assertEquals("replica-1", readInScope());
+
+        // La escritura por un Statement también cuenta, no solo las sentencias preparadas
+        readWrite.executeWithoutResult(status -> jdbc.execute("INSERT INTO notes VALUES ('z')"));
+        assertEquals("primary", readInScope());
+    }
+
+    @Test
+    void shouldDiscardExpiredWriteMarksWithoutHealthChecks() {
+        for (int i = 0; i < 50; i++) {
+            authenticate("user-" + i);
+            write();
+        }
+        assertEquals(50, routing.trackedWriters());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS));
+        authenticate("jperez");
+        write();
+        assertEquals(1, routing.trackedWriters());
+    }
+
+    @Test
+    void shouldFailOverToHealthyReplicaThenPrimaryAndRecover() {
+        replica1.down = true;
+        assertEquals("replica-2", readInScope());
+        assertEquals("replica-2", readInScope());
+        assertEquals(0, registry.get(ReadWriteRoutingDataSource.REPLICA_UP_METRIC).tag("replica", "replica-1").gauge().value());
+
+        replica2.down = true;
+        assertEquals("primary", readInScope());
+        routing.checkReplicas(1);
+        assertEquals("primary", readInScope());
+        assertEquals(2, routed("primary", "failover"));
+
+        replica1.down = false;
+        replica2.down = false;
+        assertEquals("primary", readInScope());
+        routing.checkReplicas(1);
+        assertEquals(1, registry.get(ReadWriteRoutingDataSource.REPLICA_UP_METRIC).tag("replica", "replica-1").gauge().value());
+        assertEquals(1, registry.get(ReadWriteRoutingDataSource.REPLICA_UP_METRIC).tag("replica", "replica-2").gauge().value());
+        String first = readInScope();
+        String second = readInScope();
+        assertEquals(List.of("replica-1", "replica-2"), List.of(first, second).stream().sorted().toList());
+    }
+}
@@ -0,0 +1,141 @@
+package app.clinic.infrastructure.persistence.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.clinic.domain.model.entities.PatientMedicalState;
+import app.clinic.domain.model.valueobject.CurrentDiagnosis;
+import app.clinic.domain.model.valueobject.HospitalizationDetails;
+import app.clinic.infrastructure.config.MedicalStateProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PatientMedicalStateStoreTest {
+
+    @TempDir
+    Path directory;
+
+    // Cada instancia abierta sin close() simula una caída: lo escrito solo está en los segmentos mapeados
+    private PatientMedicalStateStore openStore(int segmentSize) {
+        MedicalStateProperties properties = new MedicalStateProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        PatientMedicalStateStore store = new PatientMedicalStateStore(properties, new SimpleMeterRegistry());
+        store.open();
+        return store;
+    }
+
+    private static PatientMedicalState inpatient(String patientId, String diagnosis) {
+        PatientMedicalState state = new PatientMedicalState(patientId);
+        state.updateCurrentDiagnosis(new CurrentDiagnosis(diagnosis));
+        state.updateCurrentProcedures("PROC001");
+        state.updateHospitalizationDetails(new HospitalizationDetails(true, "Habitación " + patientId.charAt(0)));
+        return state;
+    }
+
+    private List<String> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).filter(name -> name.startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    @Test
+    void shouldRecoverFromLogAfterCrash() {
+        PatientMedicalStateStore store = openStore(4096);
+        store.save(inpatient("1111111111", "Neumonía"));
+        store.save(inpatient("2222222222", "Apendicitis"));
+        store.save(inpatient("1111111111", "Neumonía en resolución"));
+        store.deleteByPatientId("2222222222");
+        for (int i = 0; i < 100; i++) { // varios segmentos de 4 KB
+            store.save(inpatient(String.format("3%09d", i), "Observación " + i));
+        }
+
+        PatientMedicalStateStore recovered = openStore(4096);
+
+        assertEquals(101, recovered.findHospitalized().size());
+        assertEquals("Neumonía en resolución", recovered.findByPatientId("1111111111").orElseThrow().getCurrentDiagnosis().getValue());
+        assertEquals("Habitación 1", recovered.findByPatientId("1111111111").orElseThrow().getHospitalizationDetails().getDetails());
+        assertFalse(recovered.findByPatientId("2222222222").isPresent());
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotPlusLaterRecordsAndDropCoveredSegments() throws IOException {
+        PatientMedicalStateStore store = openStore(4096);
+        for (int i = 0; i < 100; i++) {
+            store.save(inpatient(String.format("3%09d", i), "Observación " + i));
+        }
+        store.snapshot();
+        assertEquals(0, store.pendingLogRecords());
+        assertEquals(List.of(), files("wal-"));
+        assertEquals(1, files("snapshot-").size());
+
+        store.deleteByPatientId("3000000000");
+        store.save(inpatient("1111111111", "Neumonía"));
+
+        PatientMedicalStateStore recovered = openStore(4096);
+        assertEquals(100, recovered.findHospitalized().size());
+        assertFalse(recovered.findByPatientId("3000000000").isPresent());
+        assertTrue(recovered.findByPatientId("1111111111").isPresent());
+        assertEquals(2, recovered.pendingLogRecords());
+
+        // Un segundo snapshot reemplaza al primero
+        recovered.close();
+        assertEquals(1, files("snapshot-").size());
+        assertEquals(100, openStore(4096).findHospitalized().size());
+    }
+
+    @Test
+    void shouldStopAtTornRecordAndKeepWritingAfterIt() throws IOException {
+        PatientMedicalStateStore store = openStore(1 << 20);
+        store.save(inpatient("1111111111", "Neumonía"));
+        store.save(inpatient("2222222222", "Apendicitis"));
+        // La caída deja a medias el último registro: se corrompe su último byte
+        Path segment = directory.resolve(files("wal-").get(0));
+        long end = 0;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            for (long i = file.length() - 1; i >= 0; i--) {
+                file.seek(i);
+                if (file.read() != 0) {
+                    end = i;
+                    break;
+                }
+            }
+            file.seek(end);
+            file.write(0x7F);
+        }
+
+        PatientMedicalStateStore recovered = openStore(1 << 20);
+        assertTrue(recovered.findByPatientId("1111111111").isPresent());
+        assertFalse(recovered.findByPatientId("2222222222").isPresent());
+
+        recovered.save(inpatient("2222222222", "Apendicitis"));
+        PatientMedicalStateStore again = openStore(1 << 20);
+        assertEquals(2, again.findHospitalized().size());
+    }
+
+    @Test
+    void shouldApplyChangeOnlyWhenTransactionCommits() {
+        PatientMedicalStateStore store = openStore(4096);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.save(inpatient("1111111111", "Neumonía"));
+            assertFalse(store.findByPatientId("1111111111").isPresent());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(store.findByPatientId("1111111111").isPresent());
+    }
+}
@@ -0,0 +1,168 @@
+package app.clinic.infrastructure.persistence.stock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.domain.model.InsufficientStockException;
+import app.clinic.domain.model.InvalidOrderStateException;
+import app.clinic.domain.model.entities.MedicationOrder;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.valueobject.Id;
+import app.clinic.domain.model.valueobject.OrderNumber;
+import app.clinic.infrastructure.config.MedicationStockProperties;
+import app.clinic.infrastructure.persistence.H2TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MedicationStockStoreTest {
+
+    private static final Id AMOXICILLIN = new Id("101");
+    private static final Id INSULIN = new Id("102");
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry registry;
+    private MedicationStockStore store;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = H2TestDatabase.migrated("stock");
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("INSERT INTO medications (id, name, cost) VALUES ('101', 'Amoxicilina 500mg', 4500), ('102', 'Insulina Humana', 15000)");
+        registry = new SimpleMeterRegistry();
+        store = openStore(registry);
+    }
+
+    // Una instancia nueva sobre la misma base de datos equivale a reiniciar la aplicación
+    private MedicationStockStore openStore(SimpleMeterRegistry meters) {
+        MedicationStockStore opened = new MedicationStockStore(jdbcTemplate, transactionManager, new MedicationStockProperties(), meters);
+        opened.load();
+        return opened;
+    }
+
+    // La orden y su reserva en la misma transacción, como en OrderServiceImpl
+    private Order createOrder(String orderNumber, boolean commit, Id... medications) {
+        Order order = new Order(new OrderNumber(orderNumber), "1111111111", "1234567890", LocalDate.now(), "Diagnóstico");
+        for (int i = 0; i < medications.length; i++) {
+            order.addMedication(new MedicationOrder(order.getOrderNumber(), i + 1, medications[i], "1 cada 8 horas", "7 días", 0));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO orders (order_number, patient_identification_number, doctor_identification_number, date) "
+                + "VALUES (?, '1111111111', '1234567890', CURRENT_DATE)", orderNumber);
+            store.reserve(order);
+            if (!commit) {
+                status.setRollbackOnly();
+            }
+        });
+        return order;
+    }
+
+    private int available(Id medication) {
+        return store.findAvailable(medication).orElseThrow();
+    }
+
+    private int onHand(Id medication) {
+        return jdbcTemplate.queryForObject("SELECT on_hand FROM medication_stock WHERE medication_id = ?", Integer.class, medication.getValue());
+    }
+
+    @Test
+    void shouldNeverOvercommitUnderConcurrentOrders() throws Exception {
+        store.restock(AMOXICILLIN, 100);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 1; i <= 150; i++) {
+            String orderNumber = String.format("%06d", i);
+            results.add(pool.submit(() -> {
+                try {
+                    createOrder(orderNumber, true, AMOXICILLIN);
+                    return true;
+                } catch (InsufficientStockException e) {
+                    return false;
+                }
+            }));
+        }
+        int reserved = 0;
+        for (Future<Boolean> result : results) {
+            reserved += result.get() ? 1 : 0;
+        }
+        pool.shutdown();
+
+        assertEquals(100, reserved);
+        assertEquals(0, available(AMOXICILLIN));
+        assertEquals(100, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_reservations WHERE status = 'RESERVED'", Integer.class));
+        assertEquals(50, registry.get(MedicationStockStore.RESERVATIONS_METRIC).tag("result", "rejected").counter().count());
+        // Reservar no toca la fila de existencias
+        assertEquals(100, onHand(AMOXICILLIN));
+    }
+
+    @Test
+    void shouldReturnUnitsWhenOrderRollsBackFailsOrIsCancelled() {
+        store.restock(AMOXICILLIN, 5);
+        store.restock(INSULIN, 1);
+
+        createOrder("000001", false, AMOXICILLIN, AMOXICILLIN, INSULIN);
+        assertEquals(5, available(AMOXICILLIN));
+        assertEquals(1, available(INSULIN));
+
+        createOrder("000002", true, AMOXICILLIN, INSULIN);
+        assertEquals(4, available(AMOXICILLIN));
+        assertEquals(0, available(INSULIN));
+
+        // Sin insulina la orden no reserva nada, tampoco la amoxicilina que sí alcanzaba
+        assertThrows(InsufficientStockException.class, () -> createOrder("000003", true, AMOXICILLIN, INSULIN));
+        assertEquals(4, available(AMOXICILLIN));
+        assertFalse(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM orders WHERE order_number = '000003')", Boolean.class));
+
+        transactionTemplate.executeWithoutResult(status -> store.release(new OrderNumber("000002")));
+        assertEquals(5, available(AMOXICILLIN));
+        assertEquals(1, available(INSULIN));
+        // Cancelar dos veces no devuelve las unidades dos veces, y una orden cancelada no se factura
+        store.release(new OrderNumber("000002"));
+        assertEquals(5, available(AMOXICILLIN));
+        assertThrows(InvalidOrderStateException.class, () -> store.commit(new OrderNumber("000002")));
+    }
+
+    @Test
+    void shouldApplyBilledReservationsInBackgroundAndRecoverAfterRestart() {
+        store.restock(AMOXICILLIN, 10);
+        createOrder("000001", true, AMOXICILLIN, AMOXICILLIN);
+        createOrder("000002", true, AMOXICILLIN);
+        store.commit(new OrderNumber("000001"));
+        assertThrows(InvalidOrderStateException.class, () -> store.release(new OrderNumber("000001")));
+
+        // Facturada pero aún sin volcar: las existencias siguen igual y la recuperación la descuenta
+        assertEquals(10, onHand(AMOXICILLIN));
+        assertEquals(7, openStore(new SimpleMeterRegistry()).findAvailable(AMOXICILLIN).orElseThrow());
+
+        assertEquals(1, store.flush());
+        assertEquals(8, onHand(AMOXICILLIN));
+        assertEquals(0, registry.get(MedicationStockStore.UNAPPLIED_METRIC).gauge().value());
+        assertEquals(0, store.flush());
+        assertEquals(7, available(AMOXICILLIN));
+        assertEquals(7, openStore(new SimpleMeterRegistry()).findAvailable(AMOXICILLIN).orElseThrow());
+
+        // Un medicamento sin existencias registradas no se controla
+        assertEquals(Optional.empty(), store.findAvailable(new Id("103")));
+    }
+}
@@ -0,0 +1,141 @@
+package app.clinic.infrastructure.persistence.summary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import app.clinic.infrastructure.config.BatchExecutors;
+import app.clinic.infrastructure.config.PatientSummaryProperties;
+import app.clinic.infrastructure.dto.PatientSummaryDTO;
+import app.clinic.infrastructure.persistence.H2TestDatabase;
+import app.clinic.infrastructure.service.PatientSummaryRebuildService;
+
+class PatientSummaryRepositoryTest {
+    private static final String PATIENT_ID = "1111111111";
+
+    private JdbcTemplate jdbcTemplate;
+    private PatientSummaryRepository summaries;
+    private PatientSummaryRebuildService rebuildService;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = H2TestDatabase.migrated("summary");
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        summaries = new PatientSummaryRepository(jdbcTemplate);
+        PatientSummaryProperties properties = new PatientSummaryProperties();
+        properties.setRebuildThreads(3);
+        properties.setRebuildChunkSize(7);
+        rebuildService = new PatientSummaryRebuildService(summaries, new DataSourceTransactionManager(dataSource), properties,
+            BatchExecutors.platformThreads());
+    }
+
+    @AfterEach
+    void tearDown() {
+        rebuildService.shutdown();
+    }
+
+    private PatientSummaryDTO summary() {
+        return summaries.findById(PATIENT_ID).orElseThrow();
+    }
+
+    private void insertOrder(String orderNumber, LocalDate date, String diagnosis) {
+        jdbcTemplate.update("INSERT INTO orders (order_number, patient_identification_number, doctor_identification_number, date, diagnosis) "
+            + "VALUES (?, ?, '1234567890', ?, ?)", orderNumber, PATIENT_ID, date, diagnosis);
+    }
+
+    private void insertBilling(String orderNumber, LocalDateTime generatedAt, double copay) {
+        jdbcTemplate.update("INSERT INTO billings (order_number, patient_name, age, identification_number, doctor_name, total_cost, "
+            + "copay, generated_at, generated_by) VALUES (?, 'Roberto Silva', 40, ?, 'Dr. Juan Pérez', 100000, ?, ?, '1122334455')",
+            orderNumber, PATIENT_ID, copay, Timestamp.valueOf(generatedAt));
+    }
+
+    private void insertPatient(String id) {
+        jdbcTemplate.update("INSERT INTO patients (identification_number, full_name, date_of_birth, gender, address, phone, email, "
+            + "emergency_contact_name, emergency_contact_relation, emergency_contact_phone) "
+            + "VALUES (?, 'Paciente', '01/01/1990', 'femenino', 'Calle 1', '3101234567', 'p@clinica.com', 'Ana', 'Madre', '3117654321')", id);
+    }
+
+    @Test
+    void shouldRecomputeSummaryFromEachTable() {
+        summaries.refresh(PATIENT_ID);
+        PatientSummaryDTO initial = summary();
+        assertEquals("Roberto Silva", initial.getFullName());
+        assertEquals("MASCULINO", initial.getGender());
+        assertEquals("120/80", initial.getLatestVitalSigns().getBloodPressure());
+        assertEquals(0, initial.getOpenOrders());
+        assertNull(initial.getLastDiagnosis());
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO vital_signs (patient_identification_number, date_time, blood_pressure, temperature, pulse, "
+            + "oxygen_level) VALUES (?, ?, '140/90', 38.1, 95, 94)", PATIENT_ID, Timestamp.valueOf(now.minusHours(1)));
+        insertOrder("000099", LocalDate.now().withDayOfYear(1).minusDays(1), "Gripe");
+        insertOrder("000001", LocalDate.now().minusDays(2), "Hipertensión");
+        insertOrder("000002", LocalDate.now(), "Control");
+        insertOrder("000003", LocalDate.now(), "");
+        insertOrder("000004", LocalDate.now().minusDays(3), "");
+        jdbcTemplate.update("UPDATE orders SET cancelled_at = ? WHERE order_number = '000004'", Timestamp.valueOf(now)); // cancelada: no cuenta
+        insertBilling("000001", now.minusDays(1), 50000);
+        insertBilling("000099", now.withDayOfYear(1).minusDays(1), 70000); // año anterior: no suma
+        jdbcTemplate.update("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, reason, status) VALUES "
+            + "('APPT100', ?, '1234567890', ?, 'Control', 'scheduled'), "
+            + "('APPT101', ?, '1234567890', ?, 'Control', 'scheduled'), "
+            + "('APPT102', ?, '1234567890', ?, 'Control', 'cancelled')",
+            PATIENT_ID, Timestamp.valueOf(now.plusDays(3)), PATIENT_ID, Timestamp.valueOf(now.plusDays(9)),
+            PATIENT_ID, Timestamp.valueOf(now.plusDays(1)));
+
+        summaries.refresh(List.of(PATIENT_ID));
+        PatientSummaryDTO refreshed = summary();
+        assertEquals("140/90", refreshed.getLatestVitalSigns().getBloodPressure());
+        assertEquals(38.1, refreshed.getLatestVitalSigns().getTemperature());
+        assertEquals(2, refreshed.getOpenOrders());
+        assertEquals("APPT100", refreshed.getNextAppointmentId());
+        assertEquals(50000.0, refreshed.getCopayYearToDate());
+        assertEquals("Control", refreshed.getLastDiagnosis());
+        assertEquals(1, summaries.countSummaries());
+    }
+
+    @Test
+    void shouldDeleteSummaryOfRemovedPatient() {
+        summaries.refresh(List.of(PATIENT_ID, "2222222222"));
+        assertEquals(2, summaries.countSummaries());
+
+        jdbcTemplate.update("DELETE FROM vital_signs WHERE patient_identification_number = '2222222222'");
+        jdbcTemplate.update("DELETE FROM patients WHERE identification_number = '2222222222'");
+        summaries.refresh("2222222222");
+
+        assertFalse(summaries.findById("2222222222").isPresent());
+        assertTrue(summaries.findById(PATIENT_ID).isPresent());
+    }
+
+    @Test
+    void shouldRebuildAllPatientsInParallelChunks() {
+        for (int i = 0; i < 50; i++) {
+            insertPatient(String.format("5%09d", i));
+        }
+        // Resumen huérfano de un paciente que ya no existe
+        summaries.refresh(PATIENT_ID);
+        jdbcTemplate.update("UPDATE patient_summaries SET patient_id = '9999999999'");
+
+        long rebuilt = rebuildService.rebuild();
+
+        assertEquals(summaries.countPatients(), rebuilt);
+        assertEquals(summaries.countPatients(), summaries.countSummaries());
+        assertFalse(summaries.findById("9999999999").isPresent());
+        assertEquals("Paciente", summaries.findById("5000000049").orElseThrow().getFullName());
+    }
+}
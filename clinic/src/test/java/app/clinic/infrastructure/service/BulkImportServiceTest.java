@@ -0,0 +1,219 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.domain.repository.PatientRepository;
+import app.clinic.domain.service.PatientService;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.infrastructure.config.ImportProperties;
+import app.clinic.infrastructure.dto.ImportErrorDTO;
+import app.clinic.infrastructure.dto.ImportJobDTO;
+import app.clinic.infrastructure.persistence.H2TestDatabase;
+import app.clinic.infrastructure.persistence.bulk.BulkImportRepository;
+import app.clinic.infrastructure.persistence.bulk.ImportFile;
+import app.clinic.infrastructure.persistence.bulk.ImportKind;
+import app.clinic.infrastructure.persistence.summary.PatientSummaryRepository;
+
+class BulkImportServiceTest {
+
+    private static final String PATIENT_HEADER = "identificationNumber,fullName,dateOfBirth,gender,address,phone,email,"
+        + "emergencyName,emergencyRelation,emergencyPhone,companyName,policyNumber,insuranceActive,validityDate\n";
+
+    @TempDir
+    Path directory;
+
+    private DataSource dataSource;
+    private BulkImportService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = H2TestDatabase.migrated("import");
+
+        service = newService(new BulkImportRepository(dataSource), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private BulkImportService newService(BulkImportRepository repository, int chunkSize) {
+        ImportProperties properties = new ImportProperties();
+        properties.setDirectory(directory.toString());
+        properties.setChunkSize(chunkSize);
+        properties.setParallelism(4);
+        // La importación nunca debe consultar cédulas fila a fila
+        PatientService patientService = new PatientService(mock(PatientRepository.class), mock(RoleBasedAccessService.class));
+        return new BulkImportService(patientService, repository, new PatientSummaryRepository(new JdbcTemplate(dataSource)),
+            properties, new ObjectMapper());
+    }
+
+    private static String patientLine(int i) {
+        return String.format("%010d,Paciente %d,15/07/1985,femenino,Calle %d,3101234567,p%d@clinica.com,"
+            + "Contacto,Hermano,3117654321,Seguros Salud Plus,POL%d,true,31/12/2030\n", 3_000_000_000L + i, i, i, i, i);
+    }
+
+    @Test
+    void shouldImportPatientsAndReportRejectedRowsByLine() throws SQLException {
+        StringBuilder csv = new StringBuilder(PATIENT_HEADER);
+        for (int i = 0; i < 2500; i++) {
+            csv.append(patientLine(i));
+        }
+        // línea 2502: dirección citada con coma y salto de línea, ocupa dos líneas
+        csv.append("4000000001,\"Torres, Ana\",01/02/1990,femenino,\"Calle 1, apto 2\nTorre B\",3101234567,ana@clinica.com,"
+            + "Contacto,Hermana,3117654321,Seguros,POL1,false,31/12/2030\n");
+        csv.append("4000000002,Sin Correo,01/02/1990,femenino,Calle 3,3101234567,no-es-correo,"
+            + "Contacto,Hermana,3117654321,Seguros,POL2,false,\n"); // línea 2504
+        csv.append(patientLine(7)); // línea 2505: repetido en el archivo
+        csv.append("1111111111,Roberto Silva,15/07/1985,masculino,Calle 45,3101234567,r@clinica.com,"
+            + "Contacto,Esposa,3117654321,Seguros,POL3,true,31/12/2030\n"); // línea 2506: ya existe (V2)
+        csv.append("4000000003,Pocas Columnas\n"); // línea 2507
+
+        ImportJobDTO job = service.importFile(ImportKind.PATIENTS, ImportFile.Format.CSV, "pacientes.csv",
+            csv.toString().getBytes(StandardCharsets.UTF_8), "crodriguez");
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2505, job.getTotalRows());
+        assertEquals(3, job.getCommittedChunks());
+        assertEquals(2501, job.getImportedRows());
+        assertEquals(4, job.getRejectedRows());
+
+        List<ImportErrorDTO> errors = service.findErrors(job.getId());
+        assertEquals(List.of(2504L, 2505L, 2506L, 2507L), errors.stream().map(ImportErrorDTO::getLine).toList());
+        assertEquals("Duplicate identificationNumber in file, first seen at line 9", errors.get(1).getMessage());
+        assertEquals("Identification number already exists: 1111111111", errors.get(2).getMessage());
+        assertEquals("Expected 14 columns but found 2", errors.get(3).getMessage());
+
+        assertEquals("Calle 1, apto 2\nTorre B", queryString("SELECT address FROM patients WHERE identification_number = '4000000001'"));
+        assertEquals("15/07/1985", queryString("SELECT date_of_birth FROM patients WHERE identification_number = '3000000000'"));
+        assertFalse(Files.exists(directory.resolve(job.getId() + ".csv")));
+    }
+
+    @Test
+    void shouldResumeFromLastCommittedChunkAfterFailure() throws SQLException {
+        BulkImportRepository failing = spy(new BulkImportRepository(dataSource));
+        // El segundo bloque falla una vez, como si la aplicación se hubiera caído a mitad de la importación
+        doThrow(new IllegalStateException("connection lost")).doCallRealMethod()
+            .when(failing).commitChunk(anyString(), any(ImportKind.class), eq(1), anyList());
+        service.shutdown();
+        service = newService(failing, 100);
+
+        StringBuilder csv = new StringBuilder(PATIENT_HEADER);
+        for (int i = 0; i < 250; i++) {
+            csv.append(patientLine(i));
+        }
+        csv.append(patientLine(3));
+        ImportJobDTO failed = service.importFile(ImportKind.PATIENTS, ImportFile.Format.CSV, null,
+            csv.toString().getBytes(StandardCharsets.UTF_8), "crodriguez");
+
+        assertEquals("FAILED", failed.getStatus());
+        assertEquals("connection lost", failed.getError());
+        assertEquals(1, failed.getCommittedChunks());
+        assertEquals(100, failed.getImportedRows());
+        assertTrue(Files.exists(directory.resolve(failed.getId() + ".csv")));
+
+        ImportJobDTO resumed = service.resume(failed.getId()).orElseThrow();
+
+        assertEquals("COMPLETED", resumed.getStatus());
+        assertEquals(3, resumed.getCommittedChunks());
+        assertEquals(250, resumed.getImportedRows());
+        assertEquals(1, resumed.getRejectedRows());
+        assertEquals(250, queryInt("SELECT COUNT(*) FROM patients WHERE identification_number LIKE '30%'"));
+        assertEquals(resumed, service.resume(failed.getId()).orElseThrow());
+    }
+
+    @Test
+    void shouldImportCatalogFromNdjson() throws SQLException {
+        String ndjson = "{\"id\":\"900\",\"name\":\"Amoxicilina 500mg\",\"cost\":3200,\"requiresSpecialist\":false}\n"
+            + "\n"
+            + "{\"id\":\"901\",\"name\":\"Insulina\",\"cost\":\"45000.50\",\"requiresSpecialist\":true,\"specialistType\":\"12\"}\n"
+            + "{\"id\":\"MED001\",\"name\":\"Paracetamol 500mg\",\"cost\":2500}\n"
+            + "{\"id\":\"902\",\"name\":\"Sin costo\"}\n"
+            + "{\"id\":\"903\",\"name\":\"Especial\",\"cost\":10,\"requiresSpecialist\":true}\n"
+            + "[1, 2]\n"
+            + "{\"id\":\"904\",\"name\":\"Negativo\",\"cost\":-1}\n"
+            + "{\"id\":\"905\",\"name\":\"Mal\",\"cost\":1,\"requiresSpecialist\":\"si\"}\n"
+            + "{\"id\":\"906\", \"name\":\n"
+            + "{\"id\":\"900\",\"name\":\"Amoxicilina 875mg\",\"cost\":4100}\n";
+
+        ImportJobDTO job = service.importFile(ImportKind.MEDICATIONS, ImportFile.Format.NDJSON, "medicamentos.ndjson",
+            ndjson.getBytes(StandardCharsets.UTF_8), "soporte");
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(10, job.getTotalRows());
+        assertEquals(2, job.getImportedRows());
+        List<ImportErrorDTO> errors = service.findErrors(job.getId());
+        assertEquals(List.of(4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L), errors.stream().map(ImportErrorDTO::getLine).toList());
+        assertEquals("ID must contain only digits and be 1-10 characters long", errors.get(0).getMessage());
+        assertEquals("Cost is required", errors.get(1).getMessage());
+        assertEquals("Specialist type is required", errors.get(2).getMessage());
+        assertEquals("Each line must be a JSON object", errors.get(3).getMessage());
+        assertEquals("Cost must be non-negative", errors.get(4).getMessage());
+        assertEquals("requiresSpecialist must be true or false", errors.get(5).getMessage());
+        assertTrue(errors.get(6).getMessage().startsWith("Invalid JSON"));
+        assertEquals("Duplicate id in file, first seen at line 1", errors.get(7).getMessage());
+
+        assertEquals("12", queryString("SELECT specialist_type FROM medications WHERE id = '901'"));
+        assertEquals(null, queryString("SELECT specialist_type FROM medications WHERE id = '900'"));
+    }
+
+    @Test
+    void shouldRejectCsvWithoutKeyColumn() {
+        byte[] csv = "name,cost\nAspirina,100\n".getBytes(StandardCharsets.UTF_8);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+            service.importFile(ImportKind.PROCEDURES, ImportFile.Format.CSV, null, csv, "soporte"));
+
+        assertEquals("The CSV header must include the column id", error.getMessage());
+        assertEquals(0, queryInt("SELECT COUNT(*) FROM import_jobs"));
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet result = statement.executeQuery()) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private int queryInt(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet result = statement.executeQuery()) {
+            result.next();
+            return result.getInt(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
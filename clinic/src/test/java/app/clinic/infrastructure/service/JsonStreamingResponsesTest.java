@@ -0,0 +1,89 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import app.clinic.infrastructure.dto.VitalSignsDTO;
+
+class JsonStreamingResponsesTest {
+
+    private JsonStreamingResponses responses;
+    private ByteArrayOutputStream out;
+
+    @BeforeEach
+    void setUp() {
+        // Igual que la configuración de la aplicación: indent_output activo
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        responses = new JsonStreamingResponses(objectMapper, mock(PlatformTransactionManager.class), mock(DataSource.class));
+        out = new ByteArrayOutputStream();
+    }
+
+    private static VitalSignsDTO vitals(int pulse) {
+        return new VitalSignsDTO("1111111111", "120/80", 36.5, pulse, 98, "2026-01-01T10:00");
+    }
+
+    private String written() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldWriteOneCompactObjectPerLineAndCloseTheCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        responses.write(() -> Stream.of(vitals(70), vitals(71)).onClose(() -> closed.set(true)), out, true);
+
+        assertEquals("{\"patientId\":\"1111111111\",\"bloodPressure\":\"120/80\",\"temperature\":36.5,\"pulse\":70,"
+            + "\"oxygenLevel\":98,\"recordedAt\":\"2026-01-01T10:00\"}\n"
+            + "{\"patientId\":\"1111111111\",\"bloodPressure\":\"120/80\",\"temperature\":36.5,\"pulse\":71,"
+            + "\"oxygenLevel\":98,\"recordedAt\":\"2026-01-01T10:00\"}\n", written());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void shouldWriteJsonArrayIncludingEmptyResults() {
+        responses.write(() -> Stream.of(vitals(70), vitals(71)), out, false);
+        assertTrue(written().startsWith("[{\"patientId\""));
+        assertTrue(written().endsWith("\"recordedAt\":\"2026-01-01T10:00\"}]"));
+
+        out.reset();
+        responses.write(Stream::empty, out, false);
+        assertEquals("[]", written());
+
+        out.reset();
+        responses.write(Stream::empty, out, true);
+        assertEquals("", written());
+    }
+
+    @Test
+    void shouldNotWriteAnythingWhenFirstRowFailsAndLeaveArrayOpenOnLaterFailure() {
+        assertThrows(IllegalStateException.class, () -> responses.write(
+            () -> Stream.<VitalSignsDTO>generate(() -> { throw new IllegalStateException("fila inválida"); }), out, false));
+        assertEquals("", written());
+
+        int[] rows = {0};
+        assertThrows(IllegalStateException.class, () -> responses.write(() -> Stream.generate(() -> {
+            if (++rows[0] > 3) {
+                throw new IllegalStateException("cursor cerrado");
+            }
+            return vitals(70 + rows[0]);
+        }), out, false));
+        assertTrue(written().startsWith("["));
+        assertTrue(written().endsWith("}"), "un arreglo truncado no debe parecer completo");
+    }
+}
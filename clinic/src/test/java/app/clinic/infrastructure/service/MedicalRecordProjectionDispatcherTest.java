@@ -0,0 +1,157 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.clinic.domain.model.entities.MedicalRecord;
+import app.clinic.domain.model.entities.Order;
+import app.clinic.domain.model.valueobject.OrderNumber;
+import app.clinic.domain.repository.MedicalRecordRepository;
+import app.clinic.domain.repository.OrderRepository;
+import app.clinic.infrastructure.config.OutboxProperties;
+import app.clinic.infrastructure.persistence.H2TestDatabase;
+import app.clinic.infrastructure.persistence.outbox.MedicalRecordOutboxJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MedicalRecordProjectionDispatcherTest {
+
+    private final Map<String, Order> orders = new HashMap<>();
+    private final List<String> history = new ArrayList<>(); // "paciente:diagnóstico" en el orden en que se anotan
+    private final List<String> failingOrders = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private MedicalRecordOutboxJdbcRepository outbox;
+    private SimpleMeterRegistry registry;
+    private OutboxProperties properties;
+    private MedicalRecordProjectionDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = H2TestDatabase.migrated("outbox");
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        outbox = new MedicalRecordOutboxJdbcRepository(jdbcTemplate);
+
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findByOrderNumber(any())).thenAnswer(invocation ->
+            Optional.ofNullable(orders.get(invocation.getArgument(0, OrderNumber.class).getValue())));
+        MedicalRecordRepository medicalRecordRepository = mock(MedicalRecordRepository.class);
+        doAnswer(invocation -> {
+            MedicalRecord entries = invocation.getArgument(0);
+            String diagnosis = (String) entries.getRecords().values().iterator().next().get("diagnostico");
+            if (failingOrders.contains(diagnosis)) {
+                throw new IllegalStateException("history unavailable");
+            }
+            history.add(entries.getPatientIdentificationNumber() + ":" + diagnosis);
+            return null;
+        }).when(medicalRecordRepository).append(any());
+
+        registry = new SimpleMeterRegistry();
+        properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        properties.setMaxAttempts(3);
+        dispatcher = new MedicalRecordProjectionDispatcher(outbox, orderRepository, medicalRecordRepository,
+            transactionManager, properties, registry);
+    }
+
+    // La orden y su evento se guardan en la misma transacción, como hace OrderServiceImpl
+    private void createOrder(String orderNumber, String patientId, boolean postDiagnostic, boolean commit) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = new Order(new OrderNumber(orderNumber), patientId, "1234567890", LocalDate.now(), orderNumber);
+            if (postDiagnostic) {
+                outbox.enqueuePostDiagnosticOrder(order);
+            } else {
+                outbox.enqueueDiagnosticAidOrder(order);
+            }
+            if (commit) {
+                orders.put(orderNumber, order);
+            } else {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private double events(String result) {
+        return registry.get(MedicalRecordProjectionDispatcher.EVENTS_METRIC).tag("result", result).counter().count();
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    @Test
+    void shouldApplyEachCommittedOrderOnceInPatientOrder() {
+        createOrder("000001", "1111111111", false, true);
+        createOrder("000002", "2222222222", true, true);
+        createOrder("000003", "1111111111", true, true);
+        createOrder("000004", "1111111111", true, false); // deshecha: su evento no existe
+        createOrder("000005", "2222222222", false, true);
+
+        assertEquals(4, dispatcher.dispatch());
+        assertEquals(List.of("1111111111:000001", "2222222222:000002", "1111111111:000003", "2222222222:000005"), history);
+
+        // Un evento ya marcado no se vuelve a aplicar
+        assertEquals(0, dispatcher.dispatch());
+        assertEquals(4, history.size());
+        assertEquals(4, events("applied"));
+        assertEquals(4, registry.get(MedicalRecordProjectionDispatcher.LAG_METRIC).timer().count());
+        assertEquals(0, gauge(MedicalRecordProjectionDispatcher.PENDING_METRIC));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM medical_record_outbox WHERE processed_at IS NULL", Integer.class));
+    }
+
+    @Test
+    void shouldHoldLaterEventsOfPatientWhenOneFails() {
+        createOrder("000001", "1111111111", true, true);
+        createOrder("000002", "1111111111", true, true);
+        createOrder("000003", "2222222222", true, true);
+        failingOrders.add("000001");
+
+        // El fallo de 000001 retiene 000002 (mismo paciente) pero no al otro paciente
+        assertEquals(1, dispatcher.dispatch());
+        assertEquals(List.of("2222222222:000003"), history);
+        assertEquals(1, events("failed"));
+        assertEquals(2, gauge(MedicalRecordProjectionDispatcher.PENDING_METRIC));
+        assertEquals("history unavailable", jdbcTemplate.queryForObject(
+            "SELECT last_error FROM medical_record_outbox WHERE order_number = '000001'", String.class));
+
+        failingOrders.clear();
+        assertEquals(2, dispatcher.dispatch());
+        assertEquals(List.of("2222222222:000003", "1111111111:000001", "1111111111:000002"), history);
+        assertEquals(0, gauge(MedicalRecordProjectionDispatcher.PENDING_METRIC));
+    }
+
+    @Test
+    void shouldAbandonEventAfterMaxAttempts() {
+        createOrder("000001", "1111111111", true, true);
+        failingOrders.add("000001");
+
+        for (int i = 0; i < properties.getMaxAttempts(); i++) {
+            assertEquals(0, dispatcher.dispatch());
+        }
+        assertEquals(0, dispatcher.dispatch());
+        assertEquals(3, events("failed"));
+        assertEquals(0, gauge(MedicalRecordProjectionDispatcher.PENDING_METRIC));
+        assertEquals(1, gauge(MedicalRecordProjectionDispatcher.ABANDONED_METRIC));
+    }
+}
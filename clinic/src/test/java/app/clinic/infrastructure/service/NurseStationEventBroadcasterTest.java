@@ -0,0 +1,141 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import app.clinic.domain.model.entities.VitalSigns;
+import app.clinic.infrastructure.config.NurseStreamProperties;
+import app.clinic.infrastructure.dto.NurseStationEventDTO;
+import app.clinic.infrastructure.service.NurseStationSubscription.PublishedEvent;
+
+class NurseStationEventBroadcasterTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    private NurseStationEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        NurseStreamProperties properties = new NurseStreamProperties();
+        properties.setReplayBufferSize(8);
+        properties.setHeartbeatInterval(60000L);
+        broadcaster = new NurseStationEventBroadcaster(properties, Runnable::run, MAPPER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void shouldPushVitalSignsOnlyToSubscribersOfThatPatient() {
+        CapturingEmitter all = new CapturingEmitter();
+        CapturingEmitter other = new CapturingEmitter();
+        broadcaster.register(all, null, null);
+        broadcaster.register(other, List.of("999"), null);
+
+        broadcaster.publishVitalSigns(vitalSigns("123", 36.5, 80, 98));
+
+        assertEquals(1, all.events.size());
+        assertEquals(NurseStationEventBroadcaster.VITAL_SIGNS_EVENT, all.events.get(0).getType());
+        assertTrue(other.events.isEmpty());
+    }
+
+    @Test
+    void shouldPublishAlertForAbnormalVitalSigns() {
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.register(emitter, List.of("123"), null);
+
+        broadcaster.publishVitalSigns(vitalSigns("123", 39.2, 80, 85));
+
+        assertEquals(2, emitter.events.size());
+        assertEquals(NurseStationEventBroadcaster.ALERT_EVENT, emitter.events.get(1).getType());
+        assertEquals(2, ((List<?>) emitter.events.get(1).getPayload()).size());
+    }
+
+    @Test
+    void shouldResumeAfterLastEventId() {
+        broadcaster.publishAlert("123", "a");
+        broadcaster.publishAlert("123", "b");
+        broadcaster.publishAlert("123", "c");
+
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.register(emitter, null, "1");
+
+        assertEquals(List.of(2L, 3L), emitter.events.stream().map(NurseStationEventDTO::getId).toList());
+    }
+
+    @Test
+    void shouldOnlyReplayEventsStillInHistory() {
+        for (int i = 0; i < 20; i++) {
+            broadcaster.publishAlert("123", "alert " + i);
+        }
+
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.register(emitter, null, "0");
+
+        assertEquals(8, emitter.events.size());
+        assertEquals(13L, emitter.events.get(0).getId());
+    }
+
+    @Test
+    void shouldDropOldestEventWhenSubscriberBufferIsFull() {
+        NurseStationSubscription subscription = new NurseStationSubscription(new SseEmitter(), Set.of(), 2);
+
+        assertFalse(subscription.offer(event(1)));
+        assertFalse(subscription.offer(event(2)));
+        assertTrue(subscription.offer(event(3)));
+
+        assertEquals(List.of(2L, 3L), subscription.pollPending().stream().map(e -> e.event().getId()).toList());
+        assertEquals(1, subscription.getDroppedEvents());
+    }
+
+    @Test
+    void shouldRemoveSubscriberWhenSendFails() {
+        CapturingEmitter emitter = new CapturingEmitter();
+        emitter.failing = true;
+        broadcaster.register(emitter, null, null);
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    private VitalSigns vitalSigns(String patientId, double temperature, int pulse, int oxygenLevel) {
+        return new VitalSigns(patientId, LocalDateTime.now(), "120/80", temperature, pulse, oxygenLevel);
+    }
+
+    private PublishedEvent event(long id) {
+        return new PublishedEvent(new NurseStationEventDTO(id, NurseStationEventBroadcaster.ALERT_EVENT, "123", LocalDateTime.now().toString(), null), "{}");
+    }
+
+    private static class CapturingEmitter extends SseEmitter {
+        private final List<NurseStationEventDTO> events = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws java.io.IOException {
+            if (failing) {
+                throw new java.io.IOException("Broken pipe");
+            }
+            for (DataWithMediaType part : builder.build()) {
+                if (MediaType.APPLICATION_JSON.equals(part.getMediaType())) {
+                    events.add(MAPPER.readValue((String) part.getData(), NurseStationEventDTO.class));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.infrastructure.dto.OrderDTO;
+import app.clinic.infrastructure.persistence.jpa.OrderJpaRepository;
+
+/**
+ * Los cuatro cursores de OrderQueryService abiertos a la vez sobre la misma conexión, leídos de forma
+ * intercalada con LAZY_QUERY_EXECUTION activo, tal como los recorre JsonStreamingResponses. Sin la
+ * transacción de prueba de @DataJpaTest, el listado abre la suya como en una petición real.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderQueryServiceStreamingTest {
+    private static final String PATIENT = "1111111111";
+    private static final int ORDERS = 300;
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderQueryService orderQueryService;
+    private JsonStreamingResponses responses;
+
+    @BeforeEach
+    void setUp() {
+        orderQueryService = new OrderQueryService(orderJpaRepository, new RoleBasedAccessService());
+        responses = new JsonStreamingResponses(objectMapper, transactionManager, dataSource);
+        jdbcTemplate.update("DELETE FROM orders WHERE order_number LIKE '91%'");
+
+        String medication = jdbcTemplate.queryForObject("SELECT MIN(id) FROM medications", String.class);
+        String procedure = jdbcTemplate.queryForObject("SELECT MIN(id) FROM procedures", String.class);
+        String diagnosticAid = jdbcTemplate.queryForObject("SELECT MIN(id) FROM diagnostic_aids", String.class);
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> medications = new ArrayList<>();
+        List<Object[]> procedures = new ArrayList<>();
+        List<Object[]> diagnosticAids = new ArrayList<>();
+        // Cantidades distintas por orden, con órdenes sin ítems de algún tipo, para que los cursores avancen a ritmos distintos
+        for (int i = 0; i < ORDERS; i++) {
+            String orderNumber = String.format("91%04d", i);
+            orders.add(new Object[] {orderNumber, PATIENT});
+            for (int item = 1; item <= i % 3; item++) {
+                medications.add(new Object[] {orderNumber, item, medication});
+            }
+            for (int item = 1; item <= i % 2; item++) {
+                procedures.add(new Object[] {orderNumber, item, procedure});
+            }
+            if (i % 4 == 0) {
+                diagnosticAids.add(new Object[] {orderNumber, 1, diagnosticAid});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_number, patient_identification_number, doctor_identification_number, date) "
+            + "VALUES (?, ?, '1234567890', CURRENT_DATE)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO medication_orders (order_number, item, medication_id, dosage, duration, cost) "
+            + "VALUES (?, ?, ?, '1 tableta', '5 días', 1000)", medications);
+        jdbcTemplate.batchUpdate("INSERT INTO procedure_orders (order_number, item, procedure_id, quantity, frequency, cost) "
+            + "VALUES (?, ?, ?, '1', 'única', 1000)", procedures);
+        jdbcTemplate.batchUpdate("INSERT INTO diagnostic_aid_orders (order_number, item, diagnostic_aid_id, quantity, cost) "
+            + "VALUES (?, ?, ?, '1', 1000)", diagnosticAids);
+    }
+
+    // H2 no publica el modo en INFORMATION_SCHEMA; se lee de la sesión de la conexión ligada a la transacción
+    private SessionLocal session() {
+        return jdbcTemplate.execute((ConnectionCallback<SessionLocal>) connection ->
+            (SessionLocal) connection.unwrap(JdbcConnection.class).getSession());
+    }
+
+    private Map<String, List<String>> expectedItems(String table) {
+        Map<String, List<String>> items = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT t.order_number, t.item FROM " + table + " t JOIN orders o ON o.order_number = t.order_number "
+            + "WHERE o.patient_identification_number = ? ORDER BY t.order_number, t.item", row -> {
+                items.computeIfAbsent(row.getString(1), key -> new ArrayList<>()).add(row.getString(2));
+            }, PATIENT);
+        return items;
+    }
+
+    private static List<String> texts(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+
+    @Test
+    void shouldStreamInterleavedCursorsWithLazyExecutionOnTheirConnection() throws Exception {
+        List<SessionLocal> sessions = new ArrayList<>();
+        List<Boolean> lazyDuringStream = new ArrayList<>();
+        Supplier<Stream<OrderDTO>> patientOrders = orderQueryService.streamPatientOrders(PATIENT, Role.MEDICO);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        responses.ndjson(() -> {
+            // Misma conexión que los cursores: JdbcTemplate usa la ligada a la transacción del listado
+            sessions.add(session());
+            lazyDuringStream.add(sessions.get(0).isLazyQueryExecution());
+            return patientOrders.get();
+        }).getBody().writeTo(out);
+
+        assertEquals(List.of(true), lazyDuringStream);
+        // La conexión no vuelve al pool con el modo activo
+        assertFalse(sessions.get(0).isLazyQueryExecution());
+        List<String> orderNumbers = jdbcTemplate.queryForList(
+            "SELECT order_number FROM orders WHERE patient_identification_number = ? ORDER BY order_number", String.class, PATIENT);
+        Map<String, List<String>> medications = expectedItems("medication_orders");
+        Map<String, List<String>> procedures = expectedItems("procedure_orders");
+        Map<String, List<String>> diagnosticAids = expectedItems("diagnostic_aid_orders");
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(orderNumbers.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode order = objectMapper.readTree(lines[i]);
+            String orderNumber = orderNumbers.get(i);
+            assertEquals(orderNumber, order.get("orderNumber").asText());
+            assertEquals(medications.getOrDefault(orderNumber, List.of()), texts(order.get("medications")), orderNumber);
+            assertEquals(procedures.getOrDefault(orderNumber, List.of()), texts(order.get("procedures")), orderNumber);
+            assertEquals(diagnosticAids.getOrDefault(orderNumber, List.of()), texts(order.get("diagnosticAids")), orderNumber);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import app.clinic.domain.model.DomainException;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.infrastructure.dto.OrderDTO;
+import app.clinic.infrastructure.persistence.jpa.OrderJpaRepository;
+
+class OrderQueryServiceTest {
+
+    private static OrderDTO header(String orderNumber) {
+        return new OrderDTO(orderNumber, "1111111111", "2222222222", LocalDate.of(2026, 1, 1), "Control");
+    }
+
+    private static Object[] item(String orderNumber, int item) {
+        return new Object[] {orderNumber, item};
+    }
+
+    @Test
+    void shouldAttachItemsOfEachOrderWhileReadingTheCursors() {
+        AtomicInteger closedCursors = new AtomicInteger();
+        Stream<Object[]> medications = Stream.of(item("000001", 1), item("000001", 2), item("000003", 1))
+            .onClose(closedCursors::incrementAndGet);
+        Stream<Object[]> procedures = Stream.<Object[]>of(item("000003", 2)).onClose(closedCursors::incrementAndGet);
+        Stream<Object[]> diagnosticAids = Stream.<Object[]>of(item("000002", 1)).onClose(closedCursors::incrementAndGet);
+
+        List<OrderDTO> orders;
+        try (Stream<OrderDTO> merged = OrderQueryService.mergeItems(
+                Stream.of(header("000001"), header("000002"), header("000003")), medications, procedures, diagnosticAids)) {
+            orders = merged.toList();
+        }
+
+        assertEquals(List.of("1", "2"), orders.get(0).getMedications());
+        assertTrue(orders.get(0).getDiagnosticAids().isEmpty());
+        assertEquals(List.of("1"), orders.get(1).getDiagnosticAids());
+        assertTrue(orders.get(1).getMedications().isEmpty());
+        assertEquals(List.of("1"), orders.get(2).getMedications());
+        assertEquals(List.of("2"), orders.get(2).getProcedures());
+        assertEquals(3, closedCursors.get());
+    }
+
+    @Test
+    void shouldValidateAccessBeforeOpeningAnyCursor() {
+        OrderJpaRepository repository = mock(OrderJpaRepository.class);
+        OrderQueryService service = new OrderQueryService(repository, new RoleBasedAccessService());
+
+        assertThrows(DomainException.class, () -> service.streamPatientOrders("1111111111", Role.SOPORTE_DE_INFORMACION));
+        assertThrows(IllegalArgumentException.class, () -> service.streamPatientOrders("12a4", Role.MEDICO));
+        service.streamPatientOrders("1111111111", Role.MEDICO);
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,96 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import app.clinic.domain.model.PasswordHashingUnavailableException;
+import app.clinic.domain.service.PasswordHasher.Verification;
+import app.clinic.infrastructure.config.PasswordHashingProperties;
+import app.clinic.infrastructure.config.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingServiceTest {
+
+    private static PasswordHashingProperties properties(int strength) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(strength);
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        return properties;
+    }
+
+    // El mismo codificador que usa la aplicación
+    private static PasswordHashingService service(PasswordHashingProperties properties, SimpleMeterRegistry registry) {
+        return new PasswordHashingService(new SecurityConfig(null).passwordEncoder(properties), properties, registry);
+    }
+
+    @Test
+    void shouldMigratePlainTextAndLowerCostHashesOnSuccessfulVerification() {
+        PasswordHashingService cost4 = service(properties(4), new SimpleMeterRegistry());
+
+        // Usuario de antes del hash: la contraseña guardada es el texto plano
+        assertFalse(cost4.verify("Wrong123!", "Password123!").matches());
+        Verification migrated = cost4.verify("Password123!", "Password123!");
+        assertTrue(migrated.matches());
+        assertTrue(migrated.upgradedHash().startsWith("{bcrypt}$2a$04$"));
+        assertNull(cost4.verify("Password123!", migrated.upgradedHash()).upgradedHash());
+
+        // Tras subir el coste, el hash anterior sigue valiendo y se reemplaza
+        Verification upgraded = service(properties(5), new SimpleMeterRegistry()).verify("Password123!", migrated.upgradedHash());
+        assertTrue(upgraded.matches());
+        assertTrue(upgraded.upgradedHash().startsWith("{bcrypt}$2a$05$"));
+        assertFalse(cost4.verify("Wrong123!", upgraded.upgradedHash()).matches());
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenWorkersAndQueueAreBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(slowEncoder, properties(4), registry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.hash("uno"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.hash("dos"));
+        while (registry.get(PasswordHashingService.QUEUE_METRIC).gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> service.hash("tres"));
+        assertEquals(1, registry.get(PasswordHashingService.TASKS_METRIC).tag("result", "rejected").counter().count());
+        assertEquals(1, registry.get(PasswordHashingService.ACTIVE_METRIC).gauge().value());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, registry.get(PasswordHashingService.TASKS_METRIC).tag("result", "completed").counter().count());
+        service.shutdown();
+    }
+}
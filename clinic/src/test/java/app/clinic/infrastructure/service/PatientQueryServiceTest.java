@@ -0,0 +1,72 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import app.clinic.domain.model.DomainException;
+import app.clinic.domain.model.valueobject.Gender;
+import app.clinic.domain.model.valueobject.Role;
+import app.clinic.domain.service.RoleBasedAccessService;
+import app.clinic.infrastructure.dto.PatientDTO;
+import app.clinic.infrastructure.persistence.jpa.PatientJpaRepository;
+import app.clinic.infrastructure.persistence.jpa.VitalSignsJpaRepository;
+
+class PatientQueryServiceTest {
+
+    private PatientJpaRepository patientJpaRepository;
+    private PatientQueryService patientQueryService;
+
+    @BeforeEach
+    void setUp() {
+        patientJpaRepository = mock(PatientJpaRepository.class);
+        patientQueryService = new PatientQueryService(patientJpaRepository, mock(VitalSignsJpaRepository.class), new RoleBasedAccessService());
+    }
+
+    private static PatientDTO projected(boolean insuranceActive, String validityDate) {
+        return new PatientDTO("1111111111", "Roberto Silva", "15/07/1985", Gender.MASCULINO, "Calle 45 #67-89",
+            "3101234567", "roberto.silva@clinica.com", "María Silva", "Esposa", "3117654321",
+            "Seguros Salud Plus", "POL001234", insuranceActive, validityDate);
+    }
+
+    @Test
+    void projectionShouldMatchDomainMapping() {
+        String nextYear = LocalDate.now().plusYears(1).getYear() + "";
+
+        PatientDTO legacyFormat = projected(true, "31/12/" + nextYear);
+        PatientDTO expired = projected(true, "2020-01-01");
+        PatientDTO withoutValidity = projected(false, null);
+
+        assertEquals("MASCULINO", legacyFormat.getGender());
+        assertEquals(nextYear + "-12-31", legacyFormat.getValidityDate());
+        assertTrue(legacyFormat.isInsuranceActive());
+        assertFalse(expired.isInsuranceActive());
+        assertNull(withoutValidity.getValidityDate());
+    }
+
+    @Test
+    void shouldReturnProjectedPatientById() {
+        PatientDTO dto = projected(true, "2030-12-31");
+        when(patientJpaRepository.findDtoByIdentificationNumber("1111111111")).thenReturn(Optional.of(dto));
+
+        assertEquals(dto, patientQueryService.findPatientById(" 1111111111 ", Role.ENFERMERA));
+        assertThrows(IllegalArgumentException.class, () -> patientQueryService.findPatientById("2222222222", Role.MEDICO));
+    }
+
+    @Test
+    void shouldDenyPatientDataToSupportStaff() {
+        assertThrows(DomainException.class, () -> patientQueryService.findPatientById("1111111111", Role.SOPORTE_DE_INFORMACION));
+        verifyNoInteractions(patientJpaRepository);
+    }
+}
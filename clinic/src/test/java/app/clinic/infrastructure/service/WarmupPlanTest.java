@@ -0,0 +1,55 @@
+package app.clinic.infrastructure.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class WarmupPlanTest {
+
+    @Test
+    void shouldReportColdAndWarmLatencyPerCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        WarmupPlan.Report report = new WarmupPlan(40, 4, 5)
+            .add("slow-start", round -> {
+                calls.incrementAndGet();
+                threads.add(Thread.currentThread().getName());
+                // Solo la primera llamada paga la inicialización
+                if (round == 0) {
+                    sleep(30);
+                }
+            })
+            .add("failing", round -> {
+                throw new IllegalArgumentException("Patient not found");
+            })
+            .run();
+
+        // Una fría, 40 de calentamiento y 5 de muestra por llamada
+        assertEquals(46, calls.get());
+        assertEquals(92, report.invocations());
+        assertTrue(threads.stream().anyMatch(name -> name.startsWith("warmup-")));
+
+        WarmupPlan.Result slowStart = report.results().get(0);
+        assertEquals("slow-start", slowStart.name());
+        assertTrue(slowStart.coldNanos() >= 30_000_000L, "cold: " + slowStart.coldNanos());
+        assertTrue(slowStart.warmNanos() < slowStart.coldNanos(), "warm: " + slowStart.warmNanos());
+        assertEquals(0, slowStart.failures());
+
+        // Las excepciones se cuentan sin cortar el calentamiento
+        assertEquals(46, report.results().get(1).failures());
+        assertTrue(report.durationMillis() >= 30);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package app.clinic.performance;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.infrastructure.config.BatchExecutors;
+import app.clinic.infrastructure.config.DataGeneratorProperties;
+import app.clinic.infrastructure.persistence.generator.SyntheticDataLoader;
+
+/**
+ * Prueba de carga de extremo a extremo: arranca la aplicación completa contra una H2 en archivo
+ * sembrada a escala y ejecuta una mezcla de flujos clínicos por HTTP con autenticación JWT.
+ *
+ * Solo se ejecuta con el perfil de rendimiento:
+ *   mvn -Pperformance verify -Dclinic.load.rate=100 -Dclinic.load.duration=120
+ *
+ * Con clinic.load.clients=N la fase medida usa un modelo cerrado de N clientes concurrentes
+ * (ClosedLoopLoadGenerator) en lugar de la tasa fija; así se comparan los modos de hilos del servidor:
+ *   mvn -Pvirtual-threads,performance verify -Dclinic.load.clients=1000 [-Dspring.threads.virtual.enabled=true]
+ * Con miles de clientes el generador compite con el servidor dentro del mismo JVM; para esas comparaciones,
+ * RemoteLoadGenerator ejecuta la misma mezcla desde otro proceso.
+ *
+ * El informe (percentiles por endpoint y throughput por segundo) se imprime y se guarda en target/load-report.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@EnabledIfSystemProperty(named = "clinic.load.enabled", matches = "true")
+class ClinicLoadPerformanceTest {
+    private static final Path DATABASE_DIR = Path.of("target", "loadtest");
+    private static final Path REPORT_DIR = Path.of("target", "load-report");
+
+    private static final int PATIENTS = intProperty("clinic.load.patients", 20_000);
+    private static final int ORDERS = intProperty("clinic.load.orders", 20_000);
+    private static final int VITAL_SIGNS = intProperty("clinic.load.vital-signs", 100_000);
+    private static final double RATE = Double.parseDouble(System.getProperty("clinic.load.rate", "50"));
+    private static final int DURATION = intProperty("clinic.load.duration", 60);
+    private static final int WARMUP = intProperty("clinic.load.warmup", 10);
+    private static final int CONCURRENCY = intProperty("clinic.load.concurrency", 64);
+    private static final int CLIENTS = intProperty("clinic.load.clients", 0);
+    private static final long SEED = Long.parseLong(System.getProperty("clinic.load.seed", "42"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BatchExecutors batchExecutors;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatThreads;
+
+    @DynamicPropertySource
+    static void loadTestDatabase(DynamicPropertyRegistry registry) throws IOException {
+        // Base de datos nueva en cada ejecución para que los resultados sean comparables
+        if (Files.exists(DATABASE_DIR)) {
+            try (Stream<Path> files = Files.walk(DATABASE_DIR)) {
+                for (Path file : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+        Files.createDirectories(DATABASE_DIR);
+        registry.add("spring.datasource.url",
+            () -> "jdbc:h2:file:" + DATABASE_DIR.toAbsolutePath().resolve("clinic") + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void mixedClinicalWorkload() throws Exception {
+        long seedStart = System.nanoTime();
+        DataGeneratorProperties dataset = new DataGeneratorProperties();
+        dataset.setSeed(SEED);
+        dataset.setPatients(PATIENTS);
+        dataset.setAppointments(PATIENTS);
+        dataset.setOrders(ORDERS);
+        // OrderRepositoryImpl rehidrata todas las órdenes con la estrategia de medicamentos/procedimientos,
+        // así que una orden de ayudas diagnósticas no se puede facturar: solo se siembran las que sí
+        dataset.setDiagnosticAidOrderPercent(0);
+        dataset.setVitalSigns(VITAL_SIGNS);
+        dataset.setMedicalRecords(ORDERS / 2);
+        dataset.setBillings(0); // la facturación se genera durante la prueba
+        new SyntheticDataLoader(dataSource, dataset, objectMapper, batchExecutors).load();
+        // Los endpoints de facturación registran generated_by = 'system', que es clave foránea a users
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, phone, date_of_birth, address, role, username, password_hash) "
+            + "VALUES ('system', 'Sistema', 'sistema@clinica.com', '3000000000', '01/01/2000', 'N/A', 'PERSONAL_ADMINISTRATIVO', "
+            + "'system', 'disabled')");
+        long seedMillis = (System.nanoTime() - seedStart) / 1_000_000;
+
+        ClinicWorkload workload = new ClinicWorkload(URI.create("http://localhost:" + port), objectMapper, PATIENTS, ORDERS);
+        workload.login();
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        if (WARMUP > 0) {
+            long warmupStart = System.nanoTime();
+            new FixedRateLoadGenerator(RATE, WARMUP, CONCURRENCY)
+                .run(sequence -> workload.select(random, sequence), new LatencyRecorder(warmupStart, WARMUP), warmupStart);
+        }
+
+        long start = System.nanoTime();
+        LatencyRecorder recorder = new LatencyRecorder(start, DURATION);
+        long offset = (long) (RATE * WARMUP);
+        int backlog = 0;
+        if (CLIENTS > 0) {
+            // Los clientes eligen su operación a la vez; SplittableRandom no es seguro entre hilos
+            new ClosedLoopLoadGenerator(CLIENTS, DURATION).run(sequence -> {
+                synchronized (random) {
+                    return workload.select(random, offset + sequence);
+                }
+            }, recorder, start);
+        } else {
+            backlog = new FixedRateLoadGenerator(RATE, DURATION, CONCURRENCY)
+                .run(sequence -> workload.select(random, offset + sequence), recorder, start);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        String report = writeReport(recorder, seedMillis, elapsedMillis, backlog);
+        System.out.println(report);
+
+        long completed = recorder.getEndpoints().values().stream().mapToLong(stats -> stats.summarize().count()).sum();
+        assertTrue(completed > 0, "La prueba de carga no completó ninguna petición");
+    }
+
+    private String writeReport(LatencyRecorder recorder, long seedMillis, long elapsedMillis, int backlog) throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append(CLIENTS > 0 ? "=== Prueba de carga: modelo cerrado de clientes concurrentes ===\n"
+            : "=== Prueba de carga: modelo abierto a tasa fija ===\n");
+        report.append(String.format("Servidor: JDK %s, %s%n", Runtime.version().feature(), batchExecutors.isVirtualThreads()
+            ? "hilos virtuales" : "hilos de plataforma (Tomcat hasta " + tomcatThreads + ")"));
+        report.append(String.format("Datos: %d pacientes, %d órdenes, %d signos vitales (sembrados en %d ms)%n",
+            PATIENTS, ORDERS, VITAL_SIGNS, seedMillis));
+        if (CLIENTS > 0) {
+            report.append(String.format("Carga: %d clientes durante %d s (calentamiento a %.1f req/s durante %d s)%n",
+                CLIENTS, DURATION, RATE, WARMUP));
+            report.append(String.format("Duración real: %d ms%n", elapsedMillis));
+            report.append("Latencias en ms medidas desde el envío de cada petición\n\n");
+        } else {
+            report.append(String.format("Carga: %.1f req/s durante %d s (calentamiento %d s), hasta %d peticiones concurrentes%n",
+                RATE, DURATION, WARMUP, CONCURRENCY));
+            report.append(String.format("Duración real: %d ms; peticiones aún en cola al terminar las llegadas: %d%n", elapsedMillis, backlog));
+            report.append("Latencias en ms medidas desde el instante programado de cada petición\n\n");
+        }
+        return LoadReport.write(report, recorder, REPORT_DIR);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
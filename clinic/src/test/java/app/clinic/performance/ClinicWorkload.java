@@ -0,0 +1,170 @@
+package app.clinic.performance;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.clinic.infrastructure.persistence.generator.SyntheticDataGenerator;
+import app.clinic.performance.FixedRateLoadGenerator.Selected;
+
+/**
+ * Mezcla de flujos clínicos por HTTP con autenticación JWT contra un servidor sembrado con
+ * SyntheticDataLoader (misma semilla y volúmenes). La usan ClinicLoadPerformanceTest, con el servidor
+ * en el mismo JVM, y RemoteLoadGenerator, contra un servidor arrancado en otro proceso.
+ */
+class ClinicWorkload {
+    private static final String ADMIN_ID = "1122334455";
+    private static final String DOCTOR_ID = "1234567890";
+    private static final long NEW_PATIENT_ID_BASE = 8_000_000_000L;
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final int patients;
+    private final int orders;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    private String adminToken;
+    private String doctorToken;
+    private String nurseToken;
+
+    /**
+     * @param patients pacientes y órdenes sembrados, de los que se eligen los de cada petición
+     */
+    ClinicWorkload(URI baseUri, ObjectMapper objectMapper, int patients, int orders) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.patients = patients;
+        this.orders = orders;
+    }
+
+    void login() throws Exception {
+        adminToken = login("crodriguez");
+        doctorToken = login("jperez");
+        nurseToken = login("mgonzalez");
+    }
+
+    /**
+     * Mezcla de la jornada: mayoría de registros de signos vitales y consultas de facturación,
+     * con altas de pacientes, citas y órdenes médicas intercaladas.
+     */
+    Selected select(SplittableRandom random, long sequence) {
+        int roll = random.nextInt(100);
+        String patientId = SyntheticDataGenerator.patientId(random.nextInt(patients));
+        if (roll < 10) {
+            return new Selected("POST /api/patients", () -> registerPatient(sequence));
+        } else if (roll < 25) {
+            return new Selected("POST /api/appointments", () -> scheduleAppointment(patientId, sequence));
+        } else if (roll < 40) {
+            String medicationId = SyntheticDataGenerator.MEDICATIONS.get(random.nextInt(SyntheticDataGenerator.MEDICATIONS.size())).id();
+            return new Selected("POST /api/medical/orders/medications", () -> createMedicationOrder(patientId, medicationId));
+        } else if (roll < 75) {
+            int pulse = 55 + random.nextInt(80);
+            int oxygen = 85 + random.nextInt(15);
+            return new Selected("POST /api/nurse/vital-signs", () -> recordVitalSigns(patientId, pulse, oxygen));
+        }
+        // Base de datos nueva: las órdenes sintéticas se numeran desde 000001
+        String orderNumber = String.format("%06d", 1 + random.nextInt(orders));
+        return new Selected("GET /api/billing/order/{orderNumber}", () -> getBilling(orderNumber));
+    }
+
+    private int registerPatient(long sequence) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("identificationNumber", String.valueOf(NEW_PATIENT_ID_BASE + sequence));
+        body.put("fullName", "Paciente Nuevo " + sequence);
+        body.put("dateOfBirth", "15/06/1985");
+        body.put("gender", "femenino");
+        body.put("address", "Carrera 10 #20-30");
+        body.put("phone", "3001234567");
+        body.put("email", "nuevo" + sequence + "@example.com");
+        body.put("emergencyName", "Contacto");
+        body.put("emergencyRelation", "Hermana");
+        body.put("emergencyPhone", "3007654321");
+        body.put("companyName", "Seguros Carga");
+        body.put("policyNumber", "POLN" + sequence);
+        body.put("insuranceActive", true);
+        body.put("validityDate", "31/12/2030");
+        return post("/api/patients", adminToken, body);
+    }
+
+    private int scheduleAppointment(String patientId, long sequence) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("patientId", patientId);
+        body.put("adminId", ADMIN_ID);
+        body.put("doctorId", DOCTOR_ID);
+        body.put("dateTime", LocalDateTime.now().plusDays(1).plusMinutes(sequence).withNano(0)
+            .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        body.put("reason", "Control de carga");
+        return post("/api/appointments", adminToken, body);
+    }
+
+    private int createMedicationOrder(String patientId, String medicationId) throws Exception {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("orderNumber", "1");
+        item.put("item", 1);
+        item.put("medicationId", medicationId);
+        item.put("dosage", "1 tableta");
+        item.put("duration", "5 días");
+        item.put("cost", 1_000.0);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("patientId", patientId);
+        body.put("doctorId", DOCTOR_ID);
+        body.put("medications", List.of(item));
+        return post("/api/medical/orders/medications", doctorToken, body);
+    }
+
+    private int recordVitalSigns(String patientId, int pulse, int oxygen) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("patientId", patientId);
+        body.put("bloodPressure", "120/80");
+        body.put("temperature", 36.8);
+        body.put("pulse", pulse);
+        body.put("oxygenLevel", oxygen);
+        return post("/api/nurse/vital-signs", nurseToken, body);
+    }
+
+    private int getBilling(String orderNumber) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/billing/order/" + orderNumber))
+            .header("Authorization", "Bearer " + adminToken)
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int post(String path, String token, Object body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String login(String username) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(
+                Map.of("username", username, "password", "Password123!"))))
+            .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        String token = response.statusCode() == 200 ? objectMapper.readTree(response.body()).path("token").asText(null) : null;
+        if (token == null) {
+            throw new IllegalStateException("No se pudo iniciar sesión como " + username + ": HTTP " + response.statusCode());
+        }
+        return token;
+    }
+}
@@ -0,0 +1,85 @@
+package app.clinic.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import app.clinic.performance.FixedRateLoadGenerator.OperationSelector;
+import app.clinic.performance.FixedRateLoadGenerator.Selected;
+
+/**
+ * Generador de carga de modelo cerrado: clients clientes concurrentes, cada uno envía su siguiente
+ * petición en cuanto recibe la respuesta de la anterior, durante durationSeconds segundos.
+ *
+ * Es el modelo de "N usuarios conectados" con el que se comparan los modos de hilos del servidor: la
+ * concurrencia la fija el número de clientes y el throughput es lo que el servidor da de sí. A diferencia
+ * de FixedRateLoadGenerator, la latencia se mide desde el envío; un servidor saturado se nota en el
+ * throughput y en los errores, no en una cola de llegadas.
+ *
+ * Con JDK 21 cada cliente es un hilo virtual, para que 10.000 clientes no compitan con el servidor por
+ * memoria y planificación; con JDK 17, un hilo de plataforma por cliente.
+ */
+class ClosedLoopLoadGenerator {
+    private final int clients;
+    private final int durationSeconds;
+
+    ClosedLoopLoadGenerator(int clients, int durationSeconds) {
+        if (clients <= 0 || durationSeconds <= 0) {
+            throw new IllegalArgumentException("Clients and duration must be positive");
+        }
+        this.clients = clients;
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Ejecuta la carga y espera a que cada cliente termine su última petición.
+     * @return peticiones completadas
+     */
+    long run(OperationSelector selector, LatencyRecorder recorder, long startNanos) throws InterruptedException {
+        long endNanos = startNanos + durationSeconds * 1_000_000_000L;
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong completed = new AtomicLong();
+        ThreadFactory threads = clientThreads();
+        List<Thread> running = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Thread client = threads.newThread(() -> {
+                while (System.nanoTime() < endNanos) {
+                    Selected selected = selector.select(sequence.getAndIncrement());
+                    long sent = System.nanoTime();
+                    int status;
+                    try {
+                        status = selected.operation().execute();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long now = System.nanoTime();
+                    recorder.record(selected.endpoint(), now - sent, status, now);
+                    completed.incrementAndGet();
+                }
+            });
+            client.start();
+            running.add(client);
+        }
+        for (Thread client : running) {
+            client.join();
+        }
+        return completed.get();
+    }
+
+    private static ThreadFactory clientThreads() {
+        if (JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            return new VirtualThreadTaskExecutor("load-client-").getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "load-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
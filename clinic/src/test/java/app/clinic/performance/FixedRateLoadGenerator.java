@@ -0,0 +1,96 @@
+package app.clinic.performance;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto: las peticiones se programan a una tasa fija,
+ * independientemente de cuánto tarde el servidor en responder.
+ *
+ * Evita la omisión coordinada: la latencia de cada petición se mide desde el instante en que
+ * debía enviarse según la tasa, no desde que un hilo libre la envió. Si el servidor se atasca,
+ * las peticiones esperan en la cola del pool y ese tiempo de espera se cuenta en la latencia,
+ * como le ocurriría a un usuario real que llegó en ese momento.
+ */
+class FixedRateLoadGenerator {
+
+    /**
+     * Una operación de la mezcla de carga. Devuelve el código HTTP obtenido.
+     */
+    interface Operation {
+        int execute() throws Exception;
+    }
+
+    interface OperationSelector {
+        /**
+         * @return nombre del endpoint para el informe y la operación a ejecutar para esta llegada
+         */
+        Selected select(long sequence);
+    }
+
+    record Selected(String endpoint, Operation operation) {
+    }
+
+    private final double requestsPerSecond;
+    private final int durationSeconds;
+    private final int maxConcurrency;
+
+    FixedRateLoadGenerator(double requestsPerSecond, int durationSeconds, int maxConcurrency) {
+        if (requestsPerSecond <= 0 || durationSeconds <= 0 || maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Rate, duration and concurrency must be positive");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.durationSeconds = durationSeconds;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Ejecuta la carga y espera a que terminen todas las peticiones programadas.
+     * @return número de llegadas que seguían en cola al acabar el periodo de llegadas
+     */
+    int run(OperationSelector selector, LatencyRecorder recorder, long startNanos) throws InterruptedException {
+        long intervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        long totalArrivals = (long) (requestsPerSecond * durationSeconds);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "load-worker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            for (long sequence = 0; sequence < totalArrivals; sequence++) {
+                long intendedStart = startNanos + sequence * intervalNanos;
+                long wait;
+                while ((wait = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Selected selected = selector.select(sequence);
+                inFlight.incrementAndGet();
+                workers.execute(() -> {
+                    int status;
+                    try {
+                        status = selected.operation().execute();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long now = System.nanoTime();
+                    recorder.record(selected.endpoint(), now - intendedStart, status, now);
+                    inFlight.decrementAndGet();
+                });
+            }
+            int backlog = inFlight.get();
+            workers.shutdown();
+            if (!workers.awaitTermination(5, TimeUnit.MINUTES)) {
+                workers.shutdownNow();
+            }
+            return backlog;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+}
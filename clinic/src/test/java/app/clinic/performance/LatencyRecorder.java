@@ -0,0 +1,106 @@
+package app.clinic.performance;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registra latencias por endpoint y el throughput por segundo de la prueba de carga.
+ * Guarda cada muestra (no un histograma aproximado) porque una ejecución local produce pocos millones como máximo.
+ */
+class LatencyRecorder {
+    private final long startNanos;
+    private final int seconds;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentSkipListMap<>();
+
+    LatencyRecorder(long startNanos, int seconds) {
+        this.startNanos = startNanos;
+        this.seconds = seconds;
+    }
+
+    /**
+     * @param latencyNanos medida desde el instante programado de la petición, no desde que se envió
+     * @param status código HTTP, o -1 si la petición falló sin respuesta
+     */
+    void record(String endpoint, long latencyNanos, int status, long completedAtNanos) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats(seconds));
+        int second = (int) ((completedAtNanos - startNanos) / 1_000_000_000L);
+        stats.record(latencyNanos, status, second);
+    }
+
+    Map<String, EndpointStats> getEndpoints() {
+        return endpoints;
+    }
+
+    static class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Integer> statusCounts = new TreeMap<>();
+        private final AtomicLongArray completedPerSecond;
+        private final AtomicLongArray errorsPerSecond;
+
+        EndpointStats(int seconds) {
+            // Margen para las respuestas que llegan después del último arribo programado
+            this.completedPerSecond = new AtomicLongArray(seconds * 2 + 60);
+            this.errorsPerSecond = new AtomicLongArray(seconds * 2 + 60);
+        }
+
+        void record(long latencyNanos, int status, int second) {
+            synchronized (this) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = latencyNanos;
+                statusCounts.merge(status, 1, Integer::sum);
+            }
+            int bucket = Math.min(Math.max(second, 0), completedPerSecond.length() - 1);
+            completedPerSecond.incrementAndGet(bucket);
+            if (!isSuccess(status)) {
+                errorsPerSecond.incrementAndGet(bucket);
+            }
+        }
+
+        synchronized Summary summarize() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            long errors = statusCounts.entrySet().stream()
+                .filter(entry -> !isSuccess(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+            return new Summary(count, errors, percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                count == 0 ? 0 : sorted[count - 1], new TreeMap<>(statusCounts));
+        }
+
+        long completedInSecond(int second) {
+            return completedPerSecond.get(second);
+        }
+
+        long errorsInSecond(int second) {
+            return errorsPerSecond.get(second);
+        }
+
+        int trackedSeconds() {
+            return completedPerSecond.length();
+        }
+
+        private static boolean isSuccess(int status) {
+            return status >= 200 && status < 300;
+        }
+
+        /**
+         * Percentil por rango más cercano sobre las muestras ordenadas.
+         */
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+    record Summary(long count, long errors, long p50, long p95, long p99, long max, Map<Integer, Integer> statusCounts) {
+    }
+}
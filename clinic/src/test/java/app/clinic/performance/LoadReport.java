@@ -0,0 +1,70 @@
+package app.clinic.performance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import app.clinic.performance.LatencyRecorder.EndpointStats;
+import app.clinic.performance.LatencyRecorder.Summary;
+
+/**
+ * Informe de una ejecución de carga: percentiles por endpoint y throughput por segundo, en summary.txt
+ * y throughput.csv. La cabecera (servidor, datos, modelo de carga) la escribe quien ejecuta la carga.
+ */
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    /**
+     * @return el informe completo, cabecera incluida
+     */
+    static String write(CharSequence header, LatencyRecorder recorder, Path directory) throws IOException {
+        StringBuilder report = new StringBuilder(header);
+        report.append(String.format("%-40s %8s %7s %9s %9s %9s %9s  %s%n", "endpoint", "count", "errors", "p50", "p95", "p99", "max", "status"));
+
+        StringBuilder csv = new StringBuilder("second,endpoint,completed,errors\n");
+        int lastSecond = 0;
+        long totalCompleted = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, EndpointStats> entry : recorder.getEndpoints().entrySet()) {
+            Summary summary = entry.getValue().summarize();
+            totalCompleted += summary.count();
+            totalErrors += summary.errors();
+            report.append(String.format("%-40s %8d %7d %9.2f %9.2f %9.2f %9.2f  %s%n", entry.getKey(), summary.count(), summary.errors(),
+                millis(summary.p50()), millis(summary.p95()), millis(summary.p99()), millis(summary.max()), summary.statusCounts()));
+            for (int second = 0; second < entry.getValue().trackedSeconds(); second++) {
+                if (entry.getValue().completedInSecond(second) > 0) {
+                    lastSecond = Math.max(lastSecond, second);
+                }
+            }
+        }
+        report.append(String.format("%-40s %8d %7d%n", "total", totalCompleted, totalErrors));
+
+        report.append("\nThroughput (respuestas completadas por segundo)\n");
+        for (int second = 0; second <= lastSecond; second++) {
+            long completed = 0;
+            long errors = 0;
+            for (Map.Entry<String, EndpointStats> entry : recorder.getEndpoints().entrySet()) {
+                long endpointCompleted = entry.getValue().completedInSecond(second);
+                long endpointErrors = entry.getValue().errorsInSecond(second);
+                completed += endpointCompleted;
+                errors += endpointErrors;
+                csv.append(second).append(',').append(entry.getKey()).append(',')
+                    .append(endpointCompleted).append(',').append(endpointErrors).append('\n');
+            }
+            report.append(String.format("  t=%3ds %6d req/s (%d errores)%n", second, completed, errors));
+        }
+
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("summary.txt"), report, StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("throughput.csv"), csv, StandardCharsets.UTF_8);
+        return report.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,93 @@
+package app.clinic.performance;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * La mezcla de ClinicLoadPerformanceTest en modelo cerrado contra un servidor arrancado en otro proceso.
+ * Para comparar modos de hilos del servidor: con clientes y servidor en el mismo JVM comparten heap, GC,
+ * planificador y límite de descriptores, y con miles de clientes eso pesa tanto como el servidor.
+ *
+ * Preparación (mismos volúmenes y semilla que se pasan aquí; la facturación registra generated_by =
+ * 'system', que es clave foránea a users):
+ *   mvn -B package -DskipTests
+ *   java -jar target/clinic-0.0.1-SNAPSHOT.jar --spring.profiles.active=loadtest,datagen \
+ *       --spring.config.additional-location=file:src/test/resources/ \
+ *       --spring.datasource.url="jdbc:h2:file:./target/remote-load/clinic;DB_CLOSE_DELAY=-1" \
+ *       --clinic.datagen.patients=2000 --clinic.datagen.appointments=2000 --clinic.datagen.orders=2000 \
+ *       --clinic.datagen.diagnostic-aid-order-percent=0 --clinic.datagen.vital-signs=5000 \
+ *       --clinic.datagen.medical-records=1000 --clinic.datagen.billings=0
+ *   java -cp ~/.m2/repository/com/h2database/h2/2.3.232/h2-2.3.232.jar org.h2.tools.Shell \
+ *       -url jdbc:h2:file:./target/remote-load/clinic -user sa -sql "INSERT INTO users (id, full_name, email, phone, \
+ *       date_of_birth, address, role, username, password_hash) VALUES ('system', 'Sistema', 'sistema@clinica.com', \
+ *       '3000000000', '01/01/2000', 'N/A', 'PERSONAL_ADMINISTRATIVO', 'system', 'disabled')"
+ *
+ * Servidor (sin datagen) y generador, cada uno en su JVM:
+ *   java -jar target/clinic-0.0.1-SNAPSHOT.jar --spring.profiles.active=loadtest \
+ *       --spring.config.additional-location=file:src/test/resources/ \
+ *       --spring.datasource.url="jdbc:h2:file:./target/remote-load/clinic;DB_CLOSE_DELAY=-1" \
+ *       --spring.threads.virtual.enabled=true|false --server.tomcat.max-connections=20000
+ *   mvn -B dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *       -Dclinic.load.base-url=http://localhost:8080 -Dclinic.load.clients=1000 \
+ *       -Dclinic.load.patients=2000 -Dclinic.load.orders=2000 app.clinic.performance.RemoteLoadGenerator
+ *
+ * El informe se imprime y se guarda en target/load-report-remote.
+ */
+public final class RemoteLoadGenerator {
+    private static final Path REPORT_DIR = Path.of("target", "load-report-remote");
+
+    private RemoteLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("clinic.load.base-url", "http://localhost:8080");
+        int patients = intProperty("clinic.load.patients", 20_000);
+        int orders = intProperty("clinic.load.orders", 20_000);
+        int clients = intProperty("clinic.load.clients", 1000);
+        int duration = intProperty("clinic.load.duration", 30);
+        int warmup = intProperty("clinic.load.warmup", 5);
+        double rate = Double.parseDouble(System.getProperty("clinic.load.rate", "50"));
+        int concurrency = intProperty("clinic.load.concurrency", 64);
+        long seed = Long.parseLong(System.getProperty("clinic.load.seed", "42"));
+
+        ClinicWorkload workload = new ClinicWorkload(URI.create(baseUrl), new ObjectMapper(), patients, orders);
+        workload.login();
+
+        SplittableRandom random = new SplittableRandom(seed);
+        if (warmup > 0) {
+            long warmupStart = System.nanoTime();
+            new FixedRateLoadGenerator(rate, warmup, concurrency)
+                .run(sequence -> workload.select(random, sequence), new LatencyRecorder(warmupStart, warmup), warmupStart);
+        }
+
+        long start = System.nanoTime();
+        LatencyRecorder recorder = new LatencyRecorder(start, duration);
+        long offset = (long) (rate * warmup);
+        // Los clientes eligen su operación a la vez; SplittableRandom no es seguro entre hilos
+        new ClosedLoopLoadGenerator(clients, duration).run(sequence -> {
+            synchronized (random) {
+                return workload.select(random, offset + sequence);
+            }
+        }, recorder, start);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        StringBuilder header = new StringBuilder("=== Prueba de carga: modelo cerrado contra un servidor externo ===\n");
+        header.append(String.format("Servidor: %s (otro proceso); generador: JDK %s%n", baseUrl, Runtime.version().feature()));
+        header.append(String.format("Datos: %d pacientes, %d órdenes%n", patients, orders));
+        header.append(String.format("Carga: %d clientes durante %d s (calentamiento a %.1f req/s durante %d s)%n",
+            clients, duration, rate, warmup));
+        header.append(String.format("Duración real: %d ms%n", elapsedMillis));
+        header.append("Latencias en ms medidas desde el envío de cada petición\n\n");
+        System.out.println(LoadReport.write(header, recorder, REPORT_DIR));
+        // Sin esperar a que el HttpClient cierre las conexiones abiertas con el servidor
+        System.exit(0);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,145 @@
+package app.clinic.performance;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+/**
+ * Arranque antes/después del perfil fast-start: lanza el jar empaquetado tal cual y el extraído con el
+ * procesado AOT y el archivo AppCDS, y mide para cada uno el tiempo hasta la primera petición atendida
+ * (desde que se lanza el proceso hasta el primer 200 de /api/public/health) y la memoria residente (VmRSS)
+ * en ese momento.
+ *
+ * Solo se ejecuta con los perfiles fast-start y de rendimiento, que empaquetan ambos artefactos antes:
+ *   mvn -Pfast-start,performance verify -Dit.test=StartupPerformanceTest [-Dclinic.startup.runs=5]
+ *
+ * Las dos variantes usan una H2 en memoria para que la base de datos no influya. El informe (mediana de
+ * clinic.startup.runs arranques) se imprime y se guarda en target/startup-report.
+ */
+@EnabledIfSystemProperty(named = "clinic.startup.enabled", matches = "true")
+@EnabledOnOs(OS.LINUX)
+class StartupPerformanceTest {
+    private static final Path REPORT_DIR = Path.of("target", "startup-report");
+    private static final int RUNS = Integer.parseInt(System.getProperty("clinic.startup.runs", "3"));
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void shouldReportTimeToFirstRequestAndResidentMemoryBeforeAndAfter() throws Exception {
+        Path jar = Path.of(System.getProperty("clinic.startup.jar"));
+        Path fastStartDirectory = Path.of(System.getProperty("clinic.startup.fast-start-directory"));
+        assertTrue(Files.exists(jar), "No existe " + jar);
+        assertTrue(Files.exists(fastStartDirectory.resolve("application.jsa")), "No existe el archivo AppCDS en " + fastStartDirectory);
+
+        List<Sample> baseline = new ArrayList<>();
+        List<Sample> fastStart = new ArrayList<>();
+        for (int run = 0; run < RUNS; run++) {
+            // Alternados para que el estado de la máquina afecte igual a ambos
+            baseline.add(start(jar.getParent(), List.of("-jar", jar.toAbsolutePath().toString())));
+            fastStart.add(start(fastStartDirectory, List.of("-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=off",
+                "-Dspring.aot.enabled=true", "-jar", jar.getFileName().toString(), "--spring.profiles.active=fast-start")));
+        }
+
+        Sample before = median(baseline);
+        Sample after = median(fastStart);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Arranque: mediana de %d ejecuciones%n", RUNS));
+        report.append(String.format("%-12s %22s %12s%n", "variante", "primera petición (ms)", "RSS (MB)"));
+        report.append(String.format("%-12s %22d %12d%n", "jar", before.timeToFirstRequestMillis, before.rssKb / 1024));
+        report.append(String.format("%-12s %22d %12d%n", "fast-start", after.timeToFirstRequestMillis, after.rssKb / 1024));
+        report.append(String.format("Diferencia: %+d ms (%.0f%%), %+d MB%n",
+            after.timeToFirstRequestMillis - before.timeToFirstRequestMillis,
+            100.0 * (after.timeToFirstRequestMillis - before.timeToFirstRequestMillis) / before.timeToFirstRequestMillis,
+            (after.rssKb - before.rssKb) / 1024));
+        System.out.println(report);
+
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("summary.txt"), report, StandardCharsets.UTF_8);
+    }
+
+    private Sample start(Path workingDirectory, List<String> launch) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(launch);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup-" + port + ";DB_CLOSE_DELAY=-1");
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(workingDirectory.toFile())
+            .redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/public/health"))
+                .timeout(Duration.ofSeconds(1)).build();
+            long deadline = started + START_TIMEOUT.toNanos();
+            while (true) {
+                assertTrue(process.isAlive(), "La aplicación terminó al arrancar: " + String.join(" ", command));
+                assertTrue(System.nanoTime() < deadline, "La aplicación no respondió en " + START_TIMEOUT);
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // Aún sin escuchar
+                }
+                Thread.sleep(20);
+            }
+            long timeToFirstRequest = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            return new Sample(timeToFirstRequest, residentKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long residentKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Sample median(List<Sample> samples) {
+        long[] times = samples.stream().mapToLong(sample -> sample.timeToFirstRequestMillis).sorted().toArray();
+        long[] rss = samples.stream().mapToLong(sample -> sample.rssKb).sorted().toArray();
+        return new Sample(times[times.length / 2], rss[rss.length / 2]);
+    }
+
+    private static final class Sample {
+        private final long timeToFirstRequestMillis;
+        private final long rssKb;
+
+        private Sample(long timeToFirstRequestMillis, long rssKb) {
+            this.timeToFirstRequestMillis = timeToFirstRequestMillis;
+            this.rssKb = rssKb;
+        }
+    }
+}